@@ -0,0 +1,31 @@
+package de.thatsich.solartime.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler attached, so every result reports the
+ * allocation per call ({@code gc.alloc.rate.norm}) next to the time per call.
+ * Accepts the regular JMH command line, e.g. a benchmark regex or {@code -rff file.json}.
+ */
+public class BenchmarkRunner {
+
+    private static final String DEFAULT_RESULT = "benchmarks/results/latest.json";
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        final var commandLine = new CommandLineOptions(args);
+        final var options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(commandLine.getResult().orElse(DEFAULT_RESULT))
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,108 @@
+package de.thatsich.solartime.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Worldwide benchmark samples. Every location of {@code locations.csv} is combined with every
+ * {@value #DAY_STEP}th day of {@value #YEAR}, so the samples cover polar day and polar night at
+ * the arctic and antarctic sites as well as the equinoxes. The time of day is spread over the
+ * whole day so that the {@code SunStateChecker} benchmarks hit every {@code DayPeriod}.
+ */
+public class Dataset {
+
+    private static final int YEAR = 2019;
+    private static final int DAY_STEP = 7;
+    private static final String LOCATIONS = "locations.csv";
+
+    private final ZonedDateTime[] dateTimes;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final long[] epochDays;
+
+    private Dataset(ZonedDateTime[] dateTimes, double[] latitudes, double[] longitudes) {
+        this.dateTimes = dateTimes;
+        this.epochDays = new long[dateTimes.length];
+        for (var i = 0; i < dateTimes.length; i++) {
+            this.epochDays[i] = dateTimes[i].toLocalDate().toEpochDay();
+        }
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+    }
+
+    public static Dataset load() {
+        final var locations = readLocations();
+        final var days = (LocalDate.of(YEAR, 12, 31).getDayOfYear() + DAY_STEP - 1) / DAY_STEP;
+        final var size = locations.size() * days;
+
+        final var dateTimes = new ZonedDateTime[size];
+        final var latitudes = new double[size];
+        final var longitudes = new double[size];
+
+        var index = 0;
+        for (var day = 0; day < days; day++) {
+            final var date = LocalDate.ofYearDay(YEAR, 1 + day * DAY_STEP);
+            for (var location = 0; location < locations.size(); location++) {
+                final var columns = locations.get(location);
+                final var time = LocalTime.of((day * 5 + location * 7) % 24, (day * 13 + location) % 60);
+
+                dateTimes[index] = ZonedDateTime.of(date, time, ZoneId.of(columns[3]));
+                latitudes[index] = Double.parseDouble(columns[1]);
+                longitudes[index] = Double.parseDouble(columns[2]);
+                index++;
+            }
+        }
+
+        return new Dataset(dateTimes, latitudes, longitudes);
+    }
+
+    private static List<String[]> readLocations() {
+        final var stream = Dataset.class.getResourceAsStream(LOCATIONS);
+        try (var reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            final var locations = new ArrayList<String[]>();
+            reader.readLine(); // header
+            for (var line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (!line.isBlank()) {
+                    final var columns = line.split(",");
+                    for (var i = 0; i < columns.length; i++) {
+                        columns[i] = columns[i].strip();
+                    }
+                    locations.add(columns);
+                }
+            }
+
+            return locations;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int size() {
+        return this.dateTimes.length;
+    }
+
+    public ZonedDateTime getDateTime(int index) {
+        return this.dateTimes[index];
+    }
+
+    public long getEpochDay(int index) {
+        return this.epochDays[index];
+    }
+
+    public double getLatitude(int index) {
+        return this.latitudes[index];
+    }
+
+    public double getLongitude(int index) {
+        return this.longitudes[index];
+    }
+}
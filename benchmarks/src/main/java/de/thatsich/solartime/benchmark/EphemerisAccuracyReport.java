@@ -0,0 +1,100 @@
+package de.thatsich.solartime.benchmark;
+
+import de.thatsich.solartime.boundary.API;
+import de.thatsich.solartime.control.DateConverter;
+import de.thatsich.solartime.control.EphemerisSolarEquationVariableCalculator;
+import de.thatsich.solartime.control.EphemerisTable;
+import de.thatsich.solartime.control.SolarEquationVariableCalculator;
+import de.thatsich.solartime.entity.PolarSentinel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/**
+ * Compares the bundled ephemeris with the formulas from 1900 to 2100: declination and solar transit per Julian cycle,
+ * sunrise per latitude band. Prints the report and writes it to the file given as first argument.
+ */
+public class EphemerisAccuracyReport {
+
+    private static final double[] LATITUDE_BANDS = {30, 50, 60, 66, 80};
+
+    public static void main(String[] args) throws IOException {
+        final var out = new ByteArrayOutputStream();
+        final var report = new PrintStream(out, true, StandardCharsets.UTF_8);
+        final var table = EphemerisTable.openBundled();
+
+        report.printf("Ephemeris cycles %d to %d%n%n", table.getFirstCycle(), table.getLastCycle());
+        reportVariables(report, table);
+        reportSunrise(report, table);
+
+        System.out.print(out.toString(StandardCharsets.UTF_8));
+        if (args.length > 0) {
+            Files.write(Path.of(args[0]), out.toByteArray());
+        }
+    }
+
+    private static void reportVariables(PrintStream report, EphemerisTable table) {
+        final var dateConverter = new DateConverter();
+        final var formulas = new SolarEquationVariableCalculator(dateConverter);
+        final var ephemeris = new EphemerisSolarEquationVariableCalculator(dateConverter, table);
+
+        var maxDeclination = 0d;
+        var sumDeclination = 0d;
+        var maxTransit = 0d;
+        var sumTransit = 0d;
+        var count = 0;
+        for (var n = table.getFirstCycle() + 1; n < table.getLastCycle(); n++) {
+            for (var longitude = -180d; longitude <= 180; longitude += 7.5) {
+                final var expected = formulas.calculateSolarEquationVariables(n, longitude);
+                final var actual = ephemeris.calculateSolarEquationVariables(n, longitude);
+
+                final var declination = Math.toDegrees(Math.abs(actual.getDelta() - expected.getDelta())) * 3600;
+                final var transit = Math.abs(actual.getJtransit() - expected.getJtransit()) * 86400;
+                maxDeclination = Math.max(maxDeclination, declination);
+                sumDeclination += declination;
+                maxTransit = Math.max(maxTransit, transit);
+                sumTransit += transit;
+                count++;
+            }
+        }
+
+        report.printf("declination   max %.4f arcsec, mean %.4f arcsec%n", maxDeclination, sumDeclination / count);
+        report.printf("solar transit max %.4f s, mean %.4f s%n%n", maxTransit, sumTransit / count);
+    }
+
+    private static void reportSunrise(PrintStream report, EphemerisTable table) {
+        final var formulas = new API().getEpochSolarTime();
+        final var ephemeris = new API(table).getEpochSolarTime();
+        final var firstDay = LocalDate.of(1900, 1, 1).toEpochDay();
+        final var lastDay = LocalDate.of(2100, 12, 31).toEpochDay();
+
+        report.println("sunrise, every 5th day, 5 degree longitude steps");
+        for (final var band : LATITUDE_BANDS) {
+            var max = 0L;
+            var sum = 0L;
+            var count = 0L;
+            for (var epochDay = firstDay; epochDay <= lastDay; epochDay += 5) {
+                for (var latitude = -band; latitude <= band; latitude += band / 8) {
+                    for (var longitude = -180d; longitude < 180; longitude += 5) {
+                        final var expected = formulas.sunriseEpochSecond(epochDay, latitude, longitude);
+                        final var actual = ephemeris.sunriseEpochSecond(epochDay, latitude, longitude);
+                        if (PolarSentinel.isPolar(expected) || PolarSentinel.isPolar(actual)) {
+                            continue;
+                        }
+
+                        final var difference = Math.abs(actual - expected);
+                        max = Math.max(max, difference);
+                        sum += difference;
+                        count++;
+                    }
+                }
+            }
+            report.printf("|latitude| <= %2.0f  max %d s, mean %.4f s%n", band, max, (double) sum / count);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package de.thatsich.solartime.benchmark;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Per thread cursor over the {@link Dataset}. Every call of {@link #next()} advances to the
+ * following sample, so consecutive invocations neither hit the same location nor the same day.
+ */
+@State(Scope.Thread)
+public class Samples {
+
+    private Dataset dataset;
+    private int index;
+
+    @Setup
+    public void setup() {
+        this.dataset = Dataset.load();
+        this.index = 0;
+    }
+
+    public void next() {
+        this.index++;
+        if (this.index == this.dataset.size()) {
+            this.index = 0;
+        }
+    }
+
+    public ZonedDateTime dateTime() {
+        return this.dataset.getDateTime(this.index);
+    }
+
+    public long epochDay() {
+        return this.dataset.getEpochDay(this.index);
+    }
+
+    public double latitude() {
+        return this.dataset.getLatitude(this.index);
+    }
+
+    public double longitude() {
+        return this.dataset.getLongitude(this.index);
+    }
+}
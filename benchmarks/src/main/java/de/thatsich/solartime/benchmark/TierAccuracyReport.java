@@ -0,0 +1,131 @@
+package de.thatsich.solartime.benchmark;
+
+import de.thatsich.solartime.boundary.SolarEngine;
+import de.thatsich.solartime.control.DateConverter;
+import de.thatsich.solartime.control.PreciseSolarEquationVariableCalculator;
+import de.thatsich.solartime.entity.Altitude;
+import de.thatsich.solartime.entity.AlgorithmTier;
+import de.thatsich.solartime.entity.PolarSentinel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static de.thatsich.solartime.entity.JulianConstants.CONST_0009;
+import static de.thatsich.solartime.entity.JulianConstants.JULIAN_DATE_2000_01_01;
+
+/**
+ * Compares the sunrise and sunset of every {@link AlgorithmTier} on the samples of the {@link Dataset} with a reference:
+ * the instant the sun crosses the altitude, found by bisection on the elevation of the precise solar coordinates at
+ * that very instant. Prints the report and writes it to the file given as first argument.
+ */
+public class TierAccuracyReport {
+
+    private static final double SECONDS_PER_DAY = 86400;
+    // the instant of the Julian date 2451545
+    private static final long EPOCH_SECOND_2000_01_01_NOON = 946728000;
+    private static final double BRACKET_DAYS = 1 / 24d;
+    private static final int BISECTIONS = 40;
+    private static final double[] LATITUDE_BANDS = {50, 60, 90};
+
+    private final PreciseSolarEquationVariableCalculator reference = new PreciseSolarEquationVariableCalculator(new DateConverter());
+
+    public static void main(String[] args) throws IOException {
+        final var out = new ByteArrayOutputStream();
+        final var report = new PrintStream(out, true, StandardCharsets.UTF_8);
+        final var dataset = Dataset.load();
+        final var tierAccuracyReport = new TierAccuracyReport();
+
+        report.printf("%d samples of %s, sunrise and sunset against the crossing of the precise coordinates%n%n", dataset.size(), Dataset.class.getSimpleName());
+        for (final var tier : AlgorithmTier.values()) {
+            tierAccuracyReport.reportTier(report, dataset, tier);
+        }
+
+        System.out.print(out.toString(StandardCharsets.UTF_8));
+        if (args.length > 0) {
+            Files.write(Path.of(args[0]), out.toByteArray());
+        }
+    }
+
+    private void reportTier(PrintStream report, Dataset dataset, AlgorithmTier tier) {
+        final var epochSolarTime = SolarEngine.builder().algorithmTier(tier).build().getEpochSolarTime();
+
+        final var max = new double[LATITUDE_BANDS.length];
+        final var sum = new double[LATITUDE_BANDS.length];
+        final var count = new int[LATITUDE_BANDS.length];
+        for (var i = 0; i < dataset.size(); i++) {
+            final var epochDay = dataset.getEpochDay(i);
+            final var latitude = dataset.getLatitude(i);
+            final var longitude = dataset.getLongitude(i);
+            final var events = new long[]{
+                    epochSolarTime.sunriseEpochSecond(epochDay, latitude, longitude),
+                    epochSolarTime.sunsetEpochSecond(epochDay, latitude, longitude)
+            };
+            for (final var event : events) {
+                if (PolarSentinel.isPolar(event)) {
+                    continue;
+                }
+
+                final var crossing = this.findCrossing(event, latitude, longitude);
+                if (Double.isNaN(crossing)) {
+                    continue;
+                }
+
+                final var difference = Math.abs(event - crossing);
+                for (var band = 0; band < LATITUDE_BANDS.length; band++) {
+                    if (Math.abs(latitude) <= LATITUDE_BANDS[band]) {
+                        max[band] = Math.max(max[band], difference);
+                        sum[band] += difference;
+                        count[band]++;
+                    }
+                }
+            }
+        }
+
+        report.println(tier);
+        for (var band = 0; band < LATITUDE_BANDS.length; band++) {
+            report.printf("|latitude| <= %2.0f  max %7.1f s, mean %5.1f s over %d events%n", LATITUDE_BANDS[band], max[band], sum[band] / count[band], count[band]);
+        }
+        report.println();
+    }
+
+    /**
+     * @return the crossing of the sunrise altitude closest to the event in seconds since the epoch,
+     * NaN if the sun does not cross it within an hour of the event
+     */
+    private double findCrossing(long event, double latitude, double longitude) {
+        final var julianEvent = JULIAN_DATE_2000_01_01 + (event - EPOCH_SECOND_2000_01_01_NOON) / SECONDS_PER_DAY;
+        var lower = julianEvent - BRACKET_DAYS;
+        var upper = julianEvent + BRACKET_DAYS;
+        final var lowerAbove = this.isAbove(lower, latitude, longitude);
+        if (lowerAbove == this.isAbove(upper, latitude, longitude)) {
+            return Double.NaN;
+        }
+
+        for (var i = 0; i < BISECTIONS; i++) {
+            final var middle = (lower + upper) / 2;
+            if (this.isAbove(middle, latitude, longitude) == lowerAbove) {
+                lower = middle;
+            } else {
+                upper = middle;
+            }
+        }
+
+        return ((lower + upper) / 2 - JULIAN_DATE_2000_01_01) * SECONDS_PER_DAY + EPOCH_SECOND_2000_01_01_NOON;
+    }
+
+    private boolean isAbove(double julianDate, double latitude, double longitude) {
+        final var variables = this.reference.calculateSolarEquationVariablesAt(julianDate);
+        // the solar transit at Greenwich is early by the equation of time
+        final var equationOfTime = julianDate - CONST_0009 - variables.getJtransit();
+        final var hourAngle = 2 * Math.PI * (julianDate - JULIAN_DATE_2000_01_01 + equationOfTime) + Math.toRadians(longitude);
+        final var latitudeRad = Math.toRadians(latitude);
+        final var sinElevation = Math.sin(latitudeRad) * Math.sin(variables.getDelta())
+                + Math.cos(latitudeRad) * Math.cos(variables.getDelta()) * Math.cos(hourAngle);
+
+        return sinElevation > Math.sin(Math.toRadians(Altitude.SUNRISE_SUNSET.getValue()));
+    }
+}
@@ -0,0 +1,62 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.benchmark.Samples;
+import de.thatsich.solartime.control.Trigonometry;
+import de.thatsich.solartime.entity.AlgorithmTier;
+import de.thatsich.solartime.entity.SolarEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the {@link AlgorithmTier}s with either {@link Trigonometry}, the error of the tiers is reported by
+ * {@link de.thatsich.solartime.benchmark.TierAccuracyReport}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlgorithmTierBenchmark {
+
+    private static final EnumSet<SolarEvent> ALL_EVENTS = EnumSet.allOf(SolarEvent.class);
+
+    @Param({"FAST", "STANDARD", "PRECISE"})
+    private AlgorithmTier tier;
+
+    @Param({"JDK", "FAST"})
+    private Trigonometry trigonometry;
+
+    private EpochSolarTime epochSolarTime;
+    private final long[] events = new long[SolarEvent.values().length];
+
+    @Setup
+    public void setup() {
+        this.epochSolarTime = SolarEngine.builder().algorithmTier(this.tier).trigonometry(this.trigonometry).build().getEpochSolarTime();
+    }
+
+    @Benchmark
+    public long sunriseEpochSecond(Samples samples) {
+        samples.next();
+        return this.epochSolarTime.sunriseEpochSecond(samples.epochDay(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public long[] calculateDay(Samples samples) {
+        samples.next();
+        this.epochSolarTime.calculateDay(samples.epochDay(), samples.latitude(), samples.longitude(), ALL_EVENTS, this.events);
+        return this.events;
+    }
+}
@@ -0,0 +1,78 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.benchmark.Dataset;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sunrise and sunset of one date for {@value #LOCATIONS} locations, reported per location.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchSolarTimeBenchmark {
+
+    private static final int LOCATIONS = 4096;
+
+    private BatchSolarTime batchSolarTime;
+    private EpochSolarTime epochSolarTime;
+    private long epochDay;
+    private double[] latitudes;
+    private double[] longitudes;
+    private long[] sunrises;
+    private long[] sunsets;
+    private byte[] polarStatus;
+
+    @Setup
+    public void setup() {
+        final var api = new API();
+        this.batchSolarTime = api.getBatchSolarTime();
+        this.epochSolarTime = api.getEpochSolarTime();
+        this.epochDay = LocalDate.of(2019, 3, 1).toEpochDay();
+
+        // the dataset locations, spread by a few kilometers to mimic a fleet of devices
+        final var dataset = Dataset.load();
+        this.latitudes = new double[LOCATIONS];
+        this.longitudes = new double[LOCATIONS];
+        for (var i = 0; i < LOCATIONS; i++) {
+            final var sample = i % dataset.size();
+            this.latitudes[i] = Math.max(-90, Math.min(90, dataset.getLatitude(sample) + (i % 7) * 0.01));
+            this.longitudes[i] = dataset.getLongitude(sample) + (i % 11) * 0.01;
+        }
+        this.sunrises = new long[LOCATIONS];
+        this.sunsets = new long[LOCATIONS];
+        this.polarStatus = new byte[LOCATIONS];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOCATIONS)
+    public long[] batch() {
+        this.batchSolarTime.calculateSunriseSunset(this.epochDay, this.latitudes, this.longitudes, this.sunrises, this.sunsets, this.polarStatus);
+        return this.sunsets;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOCATIONS)
+    public long[] singleLocations() {
+        for (var i = 0; i < LOCATIONS; i++) {
+            this.sunrises[i] = this.epochSolarTime.sunriseEpochSecond(this.epochDay, this.latitudes[i], this.longitudes[i]);
+            this.sunsets[i] = this.epochSolarTime.sunsetEpochSecond(this.epochDay, this.latitudes[i], this.longitudes[i]);
+        }
+        return this.sunsets;
+    }
+}
@@ -0,0 +1,66 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.entity.SolarEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sunrises of ten years, interpolated against calculating every day, reported per day.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalendarSolarTimeBenchmark {
+
+    private static final int DAYS = 3653;
+    private static final double LONGITUDE = 6.973370;
+
+    @Param({"0", "51.45", "66"})
+    private double latitude;
+
+    private CalendarSolarTime calendarSolarTime;
+    private EpochSolarTime epochSolarTime;
+    private long firstEpochDay;
+    private long[] sunrises;
+
+    @Setup
+    public void setup() {
+        final var api = new API();
+        this.calendarSolarTime = api.getCalendarSolarTime();
+        this.epochSolarTime = api.getEpochSolarTime();
+        this.firstEpochDay = LocalDate.of(2020, 1, 1).toEpochDay();
+        this.sunrises = new long[DAYS];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DAYS)
+    public long[] interpolated() {
+        this.calendarSolarTime.calculateCalendar(SolarEvent.SUNRISE, this.firstEpochDay, this.latitude, LONGITUDE, this.sunrises);
+        return this.sunrises;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DAYS)
+    public long[] exact() {
+        for (var day = 0; day < DAYS; day++) {
+            this.sunrises[day] = this.epochSolarTime.sunriseEpochSecond(this.firstEpochDay + day, this.latitude, LONGITUDE);
+        }
+        return this.sunrises;
+    }
+}
@@ -0,0 +1,67 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.benchmark.Samples;
+import de.thatsich.solartime.entity.SolarEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EpochSolarTimeBenchmark {
+
+    private static final EnumSet<SolarEvent> ALL_EVENTS = EnumSet.allOf(SolarEvent.class);
+
+    private EpochSolarTime epochSolarTime;
+    private final long[] events = new long[SolarEvent.values().length];
+
+    @Setup
+    public void setup() {
+        this.epochSolarTime = new API().getEpochSolarTime();
+    }
+
+    @Benchmark
+    public long sunriseEpochSecond(Samples samples) {
+        samples.next();
+        return this.epochSolarTime.sunriseEpochSecond(samples.epochDay(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public long solarNoonEpochSecond(Samples samples) {
+        samples.next();
+        return this.epochSolarTime.solarNoonEpochSecond(samples.epochDay(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public long sunsetEpochSecond(Samples samples) {
+        samples.next();
+        return this.epochSolarTime.sunsetEpochSecond(samples.epochDay(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public long astronomicalDuskEpochSecond(Samples samples) {
+        samples.next();
+        return this.epochSolarTime.astronomicalDuskEpochSecond(samples.epochDay(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public long[] calculateDay(Samples samples) {
+        samples.next();
+        this.epochSolarTime.calculateDay(samples.epochDay(), samples.latitude(), samples.longitude(), ALL_EVENTS, this.events);
+        return this.events;
+    }
+}
@@ -0,0 +1,92 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.control.SpatialEventCache;
+import de.thatsich.solartime.entity.SolarEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 65536 devices in clusters of 500 metres around 1000 sites, all events of the same day, with and without a
+ * {@link SpatialEventCache} of 5 seconds. Prints hit ratio and measured worst error at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EpochSolarTimeQuantizedBenchmark {
+
+    private static final EnumSet<SolarEvent> ALL_EVENTS = EnumSet.allOf(SolarEvent.class);
+    private static final int DEVICES = 1 << 16;
+    private static final int SITES = 1000;
+    private static final double SPREAD = 0.0025;
+    private static final long EPOCH_DAY = LocalDate.of(2019, 6, 1).toEpochDay();
+
+    private final double[] latitudes = new double[DEVICES];
+    private final double[] longitudes = new double[DEVICES];
+    private final long[] events = new long[SolarEvent.values().length];
+    private int index;
+
+    private SpatialEventCache cache;
+    private EpochSolarTime exact;
+    private EpochSolarTime quantized;
+
+    @Setup
+    public void setup() {
+        final var random = new Random(42);
+        final var siteLatitudes = new double[SITES];
+        final var siteLongitudes = new double[SITES];
+        for (var site = 0; site < SITES; site++) {
+            siteLatitudes[site] = random.nextDouble() * 120 - 60;
+            siteLongitudes[site] = random.nextDouble() * 360 - 180;
+        }
+        for (var device = 0; device < DEVICES; device++) {
+            final var site = random.nextInt(SITES);
+            this.latitudes[device] = siteLatitudes[site] + (random.nextDouble() * 2 - 1) * SPREAD;
+            this.longitudes[device] = siteLongitudes[site] + (random.nextDouble() * 2 - 1) * SPREAD;
+        }
+
+        this.cache = new SpatialEventCache(5, 1 << 16, 1024);
+        this.exact = new API().getEpochSolarTime();
+        this.quantized = new API(this.cache).getEpochSolarTime();
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("hit ratio %.3f, worst measured error %d s of %d samples%n", this.cache.getHitRatio(), this.cache.getWorstMeasuredErrorSeconds(), this.cache.getSampleCount());
+    }
+
+    @Benchmark
+    public long[] calculateDay() {
+        final var device = this.next();
+        this.exact.calculateDay(EPOCH_DAY, this.latitudes[device], this.longitudes[device], ALL_EVENTS, this.events);
+        return this.events;
+    }
+
+    @Benchmark
+    public long[] calculateDayQuantized() {
+        final var device = this.next();
+        this.quantized.calculateDay(EPOCH_DAY, this.latitudes[device], this.longitudes[device], ALL_EVENTS, this.events);
+        return this.events;
+    }
+
+    private int next() {
+        this.index = (this.index + 1) & (DEVICES - 1);
+        return this.index;
+    }
+}
@@ -0,0 +1,68 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.entity.Grid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sunrise and sunset raster of a global 0.1 degree grid (6.48M cells) per call.
+ * {@code parallelism} 0 uses all available processors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class GridSolarTimeBenchmark {
+
+    @Param({"1", "0"})
+    private int parallelism;
+
+    @Param({"3600", "16384", "262144"})
+    private int cellsPerTask;
+
+    private ForkJoinPool pool;
+    private GridSolarTime gridSolarTime;
+    private Grid grid;
+    private long epochDay;
+    private long[] sunrises;
+    private long[] sunsets;
+    private byte[] polarStatus;
+
+    @Setup
+    public void setup() {
+        this.pool = new ForkJoinPool(this.parallelism == 0 ? Runtime.getRuntime().availableProcessors() : this.parallelism);
+        this.gridSolarTime = new API().getGridSolarTime(this.pool, this.cellsPerTask);
+        this.grid = Grid.global(0.1);
+        this.epochDay = LocalDate.of(2019, 3, 1).toEpochDay();
+        this.sunrises = new long[this.grid.size()];
+        this.sunsets = new long[this.grid.size()];
+        this.polarStatus = new byte[this.grid.size()];
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    @Benchmark
+    public long[] global() {
+        this.gridSolarTime.calculateSunriseSunset(this.epochDay, this.grid, this.sunrises, this.sunsets, this.polarStatus);
+        return this.sunsets;
+    }
+}
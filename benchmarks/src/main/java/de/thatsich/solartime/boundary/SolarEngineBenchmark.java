@@ -0,0 +1,50 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.benchmark.Samples;
+import de.thatsich.solartime.entity.DayPeriod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A request asking for the period of the day, answered by an engine shared by all request threads or by
+ * an object graph built for each request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class SolarEngineBenchmark {
+
+    private SolarEngine solarEngine;
+
+    @Setup
+    public void setup() {
+        this.solarEngine = SolarEngine.builder().build();
+    }
+
+    @Benchmark
+    public DayPeriod sharedEngine(Samples samples) {
+        samples.next();
+        return this.solarEngine.getSunStateChecker().getDayPeriod(samples.dateTime(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public DayPeriod enginePerRequest(Samples samples) {
+        samples.next();
+        return SolarEngine.builder().build().getSunStateChecker().getDayPeriod(samples.dateTime(), samples.latitude(), samples.longitude());
+    }
+}
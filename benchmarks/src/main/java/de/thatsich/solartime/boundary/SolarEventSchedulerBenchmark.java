@@ -0,0 +1,101 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.entity.SolarEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Subscribing a million random locations and firing a whole day of their events, one advance per second.
+ * Listeners run on the ticking thread and only count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SolarEventSchedulerBenchmark {
+
+    private static final Instant START = Instant.parse("2019-06-01T00:00:00Z");
+
+    @Param({"1000000"})
+    private int subscriptions;
+
+    private SteppingClock clock;
+    private SolarEventScheduler scheduler;
+    private final LongAdder fired = new LongAdder();
+
+    private static final class SteppingClock extends Clock {
+
+        private Instant instant = START;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return this.instant;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        this.clock = new SteppingClock();
+        this.scheduler = new API().getSolarEventScheduler(this.clock, Runnable::run);
+        this.subscribe();
+    }
+
+    @Benchmark
+    public SolarEventScheduler subscribeAll() {
+        this.clock = new SteppingClock();
+        this.scheduler = new API().getSolarEventScheduler(this.clock, Runnable::run);
+        this.subscribe();
+
+        return this.scheduler;
+    }
+
+    @Benchmark
+    public long fireDay() {
+        for (var second = 0; second < 86400; second++) {
+            this.clock.instant = this.clock.instant.plus(Duration.ofSeconds(1));
+            this.scheduler.advance();
+        }
+
+        return this.fired.sum();
+    }
+
+    private void subscribe() {
+        final var random = new Random(42);
+        final var events = SolarEvent.values();
+        final SolarEventListener listener = (subscription, occurrence) -> this.fired.increment();
+        for (var i = 0; i < this.subscriptions; i++) {
+            this.scheduler.subscribe(random.nextDouble() * 120 - 60, random.nextDouble() * 360 - 180, events[random.nextInt(events.length)], listener);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.benchmark.Samples;
+import de.thatsich.solartime.entity.DayPeriod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The overhead of the metrics on request threads sharing one engine, all of them counting the same methods.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class SolarMetricsBenchmark {
+
+    @Param({"false", "true"})
+    private boolean metrics;
+
+    private SolarEngine solarEngine;
+
+    @Setup
+    public void setup() {
+        this.solarEngine = SolarEngine.builder().metrics(this.metrics).build();
+    }
+
+    @Benchmark
+    public Optional<ZonedDateTime> calculateSunrise(Samples samples) {
+        samples.next();
+        return this.solarEngine.getSolarTime().calculateSunrise(samples.dateTime(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public DayPeriod getDayPeriod(Samples samples) {
+        samples.next();
+        return this.solarEngine.getSunStateChecker().getDayPeriod(samples.dateTime(), samples.latitude(), samples.longitude());
+    }
+}
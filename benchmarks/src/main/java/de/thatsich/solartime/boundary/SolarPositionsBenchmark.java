@@ -0,0 +1,71 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.control.Trigonometry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Elevation and azimuth of every minute of a week, as a series against a single calculation per minute,
+ * reported per sample.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolarPositionsBenchmark {
+
+    private static final int SAMPLES = 7 * 1440;
+    private static final long STEP_SECONDS = 60;
+    private static final double LATITUDE = 51.449680;
+    private static final double LONGITUDE = 6.973370;
+
+    @Param({"JDK", "FAST"})
+    private Trigonometry trigonometry;
+
+    private SolarPositions solarPositions;
+    private long start;
+    private double[] elevations;
+    private double[] azimuths;
+
+    @Setup
+    public void setup() {
+        this.solarPositions = SolarEngine.builder().trigonometry(this.trigonometry).build().getSolarPositions();
+        this.start = LocalDate.of(2019, 3, 1).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+        this.elevations = new double[SAMPLES];
+        this.azimuths = new double[SAMPLES];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public double[] series() {
+        this.solarPositions.calculateSeries(this.start, STEP_SECONDS, LATITUDE, LONGITUDE, this.elevations, this.azimuths);
+        return this.elevations;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public double[] singleInstants() {
+        for (var i = 0; i < SAMPLES; i++) {
+            final var position = this.solarPositions.calculatePosition(this.start + i * STEP_SECONDS, LATITUDE, LONGITUDE);
+            this.elevations[i] = position.getElevation();
+            this.azimuths[i] = position.getAzimuth();
+        }
+        return this.elevations;
+    }
+}
@@ -0,0 +1,110 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.benchmark.Samples;
+import de.thatsich.solartime.entity.SolarDay;
+import de.thatsich.solartime.entity.SolarEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolarTimeBenchmark {
+
+    private static final EnumSet<SolarEvent> ALL_EVENTS = EnumSet.allOf(SolarEvent.class);
+
+    private SolarTime solarTime;
+
+    @Setup
+    public void setup() {
+        this.solarTime = new API().getSolarTime();
+    }
+
+    @Benchmark
+    public Optional<ZonedDateTime> calculatePreviousSolarMidnight(Samples samples) {
+        samples.next();
+        return this.solarTime.calculatePreviousSolarMidnight(samples.dateTime(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public Optional<ZonedDateTime> calculateAstronomicalDawn(Samples samples) {
+        samples.next();
+        return this.solarTime.calculateAstronomicalDawn(samples.dateTime(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public Optional<ZonedDateTime> calculateNauticalDawn(Samples samples) {
+        samples.next();
+        return this.solarTime.calculateNauticalDawn(samples.dateTime(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public Optional<ZonedDateTime> calculateCivilDawn(Samples samples) {
+        samples.next();
+        return this.solarTime.calculateCivilDawn(samples.dateTime(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public Optional<ZonedDateTime> calculateSunrise(Samples samples) {
+        samples.next();
+        return this.solarTime.calculateSunrise(samples.dateTime(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public Optional<ZonedDateTime> calculateSolarNoon(Samples samples) {
+        samples.next();
+        return this.solarTime.calculateSolarNoon(samples.dateTime(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public Optional<ZonedDateTime> calculateSunset(Samples samples) {
+        samples.next();
+        return this.solarTime.calculateSunset(samples.dateTime(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public Optional<ZonedDateTime> calculateCivilDusk(Samples samples) {
+        samples.next();
+        return this.solarTime.calculateCivilDusk(samples.dateTime(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public Optional<ZonedDateTime> calculateNauticalDusk(Samples samples) {
+        samples.next();
+        return this.solarTime.calculateNauticalDusk(samples.dateTime(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public Optional<ZonedDateTime> calculateAstronomicalDusk(Samples samples) {
+        samples.next();
+        return this.solarTime.calculateAstronomicalDusk(samples.dateTime(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public Optional<ZonedDateTime> calculateNextSolarMidnight(Samples samples) {
+        samples.next();
+        return this.solarTime.calculateNextSolarMidnight(samples.dateTime(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public SolarDay calculateDay(Samples samples) {
+        samples.next();
+        return this.solarTime.calculateDay(samples.dateTime(), samples.latitude(), samples.longitude(), ALL_EVENTS);
+    }
+}
@@ -0,0 +1,82 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.entity.SolarDay;
+import de.thatsich.solartime.entity.SolarEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calendar of a year in Berlin: nine single event calls per day, one {@link SolarTime#calculateDay} per day
+ * and {@link SolarTime#stream}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolarTimeStreamBenchmark {
+
+    private static final EnumSet<SolarEvent> ALL_EVENTS = EnumSet.allOf(SolarEvent.class);
+    private static final ZoneId ZONE = ZoneId.of("Europe/Berlin");
+    private static final LocalDate FROM = LocalDate.of(2020, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2021, 1, 1);
+    private static final double LATITUDE = 52.52;
+    private static final double LONGITUDE = 13.40;
+
+    private SolarTime solarTime;
+
+    @Setup
+    public void setup() {
+        this.solarTime = new API().getSolarTime();
+    }
+
+    @Benchmark
+    public void singleEvents(Blackhole blackhole) {
+        for (var day = ZonedDateTime.of(FROM, LocalTime.NOON, ZONE); day.toLocalDate().isBefore(TO); day = day.plusDays(1)) {
+            blackhole.consume(this.solarTime.calculateAstronomicalDawn(day, LATITUDE, LONGITUDE));
+            blackhole.consume(this.solarTime.calculateNauticalDawn(day, LATITUDE, LONGITUDE));
+            blackhole.consume(this.solarTime.calculateCivilDawn(day, LATITUDE, LONGITUDE));
+            blackhole.consume(this.solarTime.calculateSunrise(day, LATITUDE, LONGITUDE));
+            blackhole.consume(this.solarTime.calculateSolarNoon(day, LATITUDE, LONGITUDE));
+            blackhole.consume(this.solarTime.calculateSunset(day, LATITUDE, LONGITUDE));
+            blackhole.consume(this.solarTime.calculateCivilDusk(day, LATITUDE, LONGITUDE));
+            blackhole.consume(this.solarTime.calculateNauticalDusk(day, LATITUDE, LONGITUDE));
+            blackhole.consume(this.solarTime.calculateAstronomicalDusk(day, LATITUDE, LONGITUDE));
+        }
+    }
+
+    @Benchmark
+    public void calculateDay(Blackhole blackhole) {
+        for (var day = ZonedDateTime.of(FROM, LocalTime.NOON, ZONE); day.toLocalDate().isBefore(TO); day = day.plusDays(1)) {
+            blackhole.consume(this.solarTime.calculateDay(day, LATITUDE, LONGITUDE, ALL_EVENTS));
+        }
+    }
+
+    @Benchmark
+    public void stream(Blackhole blackhole) {
+        this.solarTime.stream(FROM, TO, LATITUDE, LONGITUDE, ZONE).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public Optional<SolarDay> streamParallel() {
+        return this.solarTime.stream(FROM, TO, LATITUDE, LONGITUDE, ZONE).parallel().reduce((first, second) -> second);
+    }
+}
@@ -0,0 +1,146 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.benchmark.Samples;
+import de.thatsich.solartime.control.SolarEquationVariablesCache;
+import de.thatsich.solartime.entity.ClassificationMode;
+import de.thatsich.solartime.entity.DayPeriod;
+import de.thatsich.solartime.entity.DayPeriodTransition;
+import de.thatsich.solartime.entity.EvictionPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SunStateCheckerBenchmark {
+
+    private static final Instant POLAR_DAY = Instant.parse("2019-05-01T00:00:00Z");
+    // Alert, Nunavut, in the polar night and in the polar day
+    private static final ZonedDateTime ALERT_WINTER = ZonedDateTime.parse("2019-01-15T12:00:00-05:00[America/Iqaluit]");
+    private static final ZonedDateTime ALERT_SUMMER = ZonedDateTime.parse("2019-06-15T12:00:00-04:00[America/Iqaluit]");
+    private static final double ALERT_LATITUDE = 82.5;
+    private static final double ALERT_LONGITUDE = -62.3;
+
+    private SunStateChecker sunStateChecker;
+    private SunStateChecker solarElevationChecker;
+    // large enough for all samples, measures the hit path
+    private SunStateChecker cachedChecker;
+
+    @Setup
+    public void setup() {
+        this.sunStateChecker = new API().getSunStateChecker();
+        this.solarElevationChecker = new API().getSunStateChecker(ClassificationMode.SOLAR_ELEVATION);
+        this.cachedChecker = new API(new SolarEquationVariablesCache(1 << 16, EvictionPolicy.LEAST_RECENTLY_USED)).getSunStateChecker();
+    }
+
+    @Benchmark
+    public boolean isDay(Samples samples) {
+        samples.next();
+        return this.sunStateChecker.isDay(samples.dateTime(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public boolean isNight(Samples samples) {
+        samples.next();
+        return this.sunStateChecker.isNight(samples.dateTime(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public boolean isCivilTwilight(Samples samples) {
+        samples.next();
+        return this.sunStateChecker.isCivilTwilight(samples.dateTime(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public boolean isNauticalTwilight(Samples samples) {
+        samples.next();
+        return this.sunStateChecker.isNauticalTwilight(samples.dateTime(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public boolean isAstronomicalTwilight(Samples samples) {
+        samples.next();
+        return this.sunStateChecker.isAstronomicalTwilight(samples.dateTime(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public boolean isTwilight(Samples samples) {
+        samples.next();
+        return this.sunStateChecker.isTwilight(samples.dateTime(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public DayPeriod getDayPeriod(Samples samples) {
+        samples.next();
+        return this.sunStateChecker.getDayPeriod(samples.dateTime(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public DayPeriod getDayPeriodCached(Samples samples) {
+        samples.next();
+        return this.cachedChecker.getDayPeriod(samples.dateTime(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public DayPeriod getDayPeriodBySolarElevation(Samples samples) {
+        samples.next();
+        return this.solarElevationChecker.getDayPeriod(samples.dateTime(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public boolean is24HourDayTime(Samples samples) {
+        samples.next();
+        return this.sunStateChecker.is24HourDayTime(samples.dateTime(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public boolean is24HourNightTime(Samples samples) {
+        samples.next();
+        return this.sunStateChecker.is24HourNightTime(samples.dateTime(), samples.latitude(), samples.longitude());
+    }
+
+    @Benchmark
+    public Optional<DayPeriodTransition> nextTransition(Samples samples) {
+        samples.next();
+        return this.sunStateChecker.nextTransition(samples.dateTime().toInstant(), samples.latitude(), samples.longitude());
+    }
+
+    /**
+     * Svalbard at the beginning of the polar day, the next transition is the first sunset in August.
+     */
+    @Benchmark
+    public Optional<DayPeriodTransition> nextTransitionPolarDay() {
+        return this.sunStateChecker.nextTransition(POLAR_DAY, 78.22, 15.65);
+    }
+
+    @Benchmark
+    public boolean isDayPolarNight() {
+        return this.sunStateChecker.isDay(ALERT_WINTER, ALERT_LATITUDE, ALERT_LONGITUDE);
+    }
+
+    @Benchmark
+    public DayPeriod getDayPeriodPolarNight() {
+        return this.sunStateChecker.getDayPeriod(ALERT_WINTER, ALERT_LATITUDE, ALERT_LONGITUDE);
+    }
+
+    @Benchmark
+    public DayPeriod getDayPeriodPolarDay() {
+        return this.sunStateChecker.getDayPeriod(ALERT_SUMMER, ALERT_LATITUDE, ALERT_LONGITUDE);
+    }
+}
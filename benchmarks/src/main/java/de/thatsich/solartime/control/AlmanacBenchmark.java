@@ -0,0 +1,90 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.boundary.API;
+import de.thatsich.solartime.boundary.EpochSolarTime;
+import de.thatsich.solartime.entity.SolarEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sunrise of a random location and day of 2019 and 2020, looked up in an almanac of 1024 locations
+ * compared to calculating it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlmanacBenchmark {
+
+    private static final int LOCATIONS = 1024;
+    private static final int QUERIES = 4096;
+
+    private Path file;
+    private Almanac almanac;
+    private EpochSolarTime epochSolarTime;
+    private final int[] locations = new int[QUERIES];
+    private final long[] epochDays = new long[QUERIES];
+    private int index;
+
+    @Setup
+    public void setup() throws IOException {
+        final var random = new Random(42);
+        final var latitudes = new double[LOCATIONS];
+        final var longitudes = new double[LOCATIONS];
+        for (var location = 0; location < LOCATIONS; location++) {
+            latitudes[location] = random.nextDouble() * 180 - 90;
+            longitudes[location] = random.nextDouble() * 360 - 180;
+        }
+
+        this.file = Files.createTempFile("almanac", ".bin");
+        new API().getAlmanacGenerator().generate(this.file, latitudes, longitudes, 2019, 2020);
+        this.almanac = Almanac.open(this.file);
+        this.epochSolarTime = new API().getEpochSolarTime();
+
+        final var days = (int) (this.almanac.getLastEpochDay() - this.almanac.getFirstEpochDay() + 1);
+        for (var query = 0; query < QUERIES; query++) {
+            this.locations[query] = random.nextInt(LOCATIONS);
+            this.epochDays[query] = this.almanac.getFirstEpochDay() + random.nextInt(days);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.file);
+    }
+
+    @Benchmark
+    public long lookup() {
+        final var query = this.next();
+        return this.almanac.getEpochSecond(this.locations[query], this.epochDays[query], SolarEvent.SUNRISE);
+    }
+
+    @Benchmark
+    public long calculate() {
+        final var query = this.next();
+        final var location = this.locations[query];
+        return this.epochSolarTime.sunriseEpochSecond(this.epochDays[query], this.almanac.getLatitude(location), this.almanac.getLongitude(location));
+    }
+
+    private int next() {
+        this.index = (this.index + 1) & (QUERIES - 1);
+        return this.index;
+    }
+}
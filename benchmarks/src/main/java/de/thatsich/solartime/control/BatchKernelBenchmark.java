@@ -0,0 +1,77 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.Altitude;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Locations per second of the scalar and the SIMD batch kernel.
+ * <br>
+ * Compare AVX2 and AVX-512 on one machine by restricting the JIT. A command line {@code -jvmArgsAppend} replaces
+ * the one below, so repeat the module: {@code -jvmArgsAppend "--add-modules=jdk.incubator.vector -XX:UseAVX=2"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BatchKernelBenchmark {
+
+    private static final int LOCATIONS = 4096;
+
+    @Param({"scalar", "vector"})
+    private String kernel;
+
+    private BatchKernel batchKernel;
+    private DailySolarTerms terms;
+    private double sinAltitude;
+    private double[] latitudes;
+    private double[] longitudes;
+    private long[] dawns;
+    private long[] dusks;
+    private byte[] polarStatus;
+
+    @Setup
+    public void setup() {
+        this.batchKernel = "vector".equals(this.kernel) ? BatchKernels.createVectorKernel() : BatchKernels.createScalarKernel();
+        if (this.batchKernel == null) {
+            throw new IllegalStateException("vector kernel not available, needs Java 16+ and a library built on Java 16+");
+        }
+
+        final var dateConverter = new DateConverter();
+        final var epochSecond = LocalDate.of(2019, 3, 1).toEpochDay() * 86400 + 43200;
+        this.terms = new DailySolarTerms(new SolarEquationVariableCalculator(dateConverter), dateConverter.toJulianDate(epochSecond));
+        this.sinAltitude = Math.sin(Math.toRadians(Altitude.SUNRISE_SUNSET.getValue()));
+
+        this.latitudes = new double[LOCATIONS];
+        this.longitudes = new double[LOCATIONS];
+        for (var i = 0; i < LOCATIONS; i++) {
+            this.latitudes[i] = -80 + (i % 161);
+            this.longitudes[i] = -180 + (i * 0.0879) % 360;
+        }
+        this.dawns = new long[LOCATIONS];
+        this.dusks = new long[LOCATIONS];
+        this.polarStatus = new byte[LOCATIONS];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOCATIONS)
+    public long[] calculateEvents() {
+        this.batchKernel.calculateEvents(this.terms, this.sinAltitude, this.latitudes, this.longitudes, 0, LOCATIONS, this.dawns, this.dusks, this.polarStatus);
+        return this.dusks;
+    }
+}
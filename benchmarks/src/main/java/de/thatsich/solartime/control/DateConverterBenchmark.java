@@ -0,0 +1,55 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.benchmark.Samples;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lives in the control package, because the conversions are package private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateConverterBenchmark {
+
+    private DateConverter dateConverter;
+    private double[] julianDates;
+    private int index;
+
+    @Setup
+    public void setup(Samples samples) {
+        this.dateConverter = new DateConverter();
+        this.julianDates = new double[1024];
+        for (var i = 0; i < this.julianDates.length; i++) {
+            samples.next();
+            this.julianDates[i] = this.dateConverter.toJulianDate(samples.dateTime());
+        }
+    }
+
+    @Benchmark
+    public double toJulianDate(Samples samples) {
+        samples.next();
+        return this.dateConverter.toJulianDate(samples.dateTime());
+    }
+
+    @Benchmark
+    public ZonedDateTime toGregorianDate() {
+        this.index = (this.index + 1) & (this.julianDates.length - 1);
+        return this.dateConverter.toGregorianDate(this.julianDates[this.index], ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,137 @@
+package de.thatsich.solartime.control;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nanoseconds per call of {@link FastMath} against {@link Math} and {@link StrictMath} over arrays of arguments
+ * in the ranges of the solar calculations: angles up to a few full circles, cosines in [-1, 1]
+ * and angles in degrees of a few decades of mean anomaly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FastMathBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private final double[] angles = new double[SIZE];
+    private final double[] cosines = new double[SIZE];
+    private final double[] degrees = new double[SIZE];
+    private final double[] results = new double[SIZE];
+
+    @Setup
+    public void setup() {
+        final var random = new SplittableRandom(42);
+        for (var i = 0; i < SIZE; i++) {
+            this.angles[i] = random.nextDouble(-4 * Math.PI, 4 * Math.PI);
+            this.cosines[i] = random.nextDouble(-1, 1);
+            this.degrees[i] = random.nextDouble(-10000, 10000);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] sinMath() {
+        for (var i = 0; i < SIZE; i++) {
+            this.results[i] = Math.sin(this.angles[i]);
+        }
+        return this.results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] sinStrictMath() {
+        for (var i = 0; i < SIZE; i++) {
+            this.results[i] = StrictMath.sin(this.angles[i]);
+        }
+        return this.results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] sinFastMath() {
+        for (var i = 0; i < SIZE; i++) {
+            this.results[i] = FastMath.sin(this.angles[i]);
+        }
+        return this.results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] acosMath() {
+        for (var i = 0; i < SIZE; i++) {
+            this.results[i] = Math.acos(this.cosines[i]);
+        }
+        return this.results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] acosStrictMath() {
+        for (var i = 0; i < SIZE; i++) {
+            this.results[i] = StrictMath.acos(this.cosines[i]);
+        }
+        return this.results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] acosFastMath() {
+        for (var i = 0; i < SIZE; i++) {
+            this.results[i] = FastMath.acos(this.cosines[i]);
+        }
+        return this.results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] asinMath() {
+        for (var i = 0; i < SIZE; i++) {
+            this.results[i] = Math.asin(this.cosines[i]);
+        }
+        return this.results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] asinFastMath() {
+        for (var i = 0; i < SIZE; i++) {
+            this.results[i] = FastMath.asin(this.cosines[i]);
+        }
+        return this.results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] remainderOperator() {
+        for (var i = 0; i < SIZE; i++) {
+            this.results[i] = this.degrees[i] % 360;
+        }
+        return this.results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] remainderFastMath() {
+        for (var i = 0; i < SIZE; i++) {
+            this.results[i] = FastMath.remainder(this.degrees[i], 360);
+        }
+        return this.results;
+    }
+}
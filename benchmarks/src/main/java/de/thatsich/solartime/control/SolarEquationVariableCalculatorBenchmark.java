@@ -0,0 +1,55 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.benchmark.Samples;
+import de.thatsich.solartime.entity.SolarEquationVariables;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolarEquationVariableCalculatorBenchmark {
+
+    // days between 1970-01-01 and 2000-01-01, the epoch of the Julian cycle
+    private static final long EPOCH_DAY_2000_01_01 = 10957;
+
+    private SolarEquationVariableCalculator calculator;
+    private SolarEquationVariableCalculator ephemerisCalculator;
+
+    @Setup
+    public void setup() {
+        this.calculator = new SolarEquationVariableCalculator(new DateConverter());
+        this.ephemerisCalculator = new EphemerisSolarEquationVariableCalculator(new DateConverter(), EphemerisTable.openBundled());
+    }
+
+    @Benchmark
+    public SolarEquationVariables calculateSolarEquationVariables(Samples samples) {
+        samples.next();
+        return this.calculator.calculateSolarEquationVariables(samples.dateTime(), samples.longitude());
+    }
+
+    @Benchmark
+    public SolarEquationVariables calculateByJulianCycle(Samples samples) {
+        samples.next();
+        return this.calculator.calculateSolarEquationVariables(samples.epochDay() - EPOCH_DAY_2000_01_01, samples.longitude());
+    }
+
+    @Benchmark
+    public SolarEquationVariables calculateByEphemeris(Samples samples) {
+        samples.next();
+        return this.ephemerisCalculator.calculateSolarEquationVariables(samples.epochDay() - EPOCH_DAY_2000_01_01, samples.longitude());
+    }
+}
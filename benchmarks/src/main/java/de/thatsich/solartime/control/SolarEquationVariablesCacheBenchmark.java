@@ -0,0 +1,68 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.EvictionPolicy;
+import de.thatsich.solartime.entity.SolarEquationVariables;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hits of one or four threads on the same hot entries, the time per hit stays flat if hits do not contend.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolarEquationVariablesCacheBenchmark {
+
+    private static final int HOT_KEYS = 64;
+
+    @Param({"LEAST_RECENTLY_USED", "FIRST_IN_FIRST_OUT"})
+    public EvictionPolicy evictionPolicy;
+
+    private SolarEquationVariablesCache cache;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int key;
+
+        private int next() {
+            this.key = (this.key + 1) & (HOT_KEYS - 1);
+            return this.key;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        final var calculator = new SolarEquationVariableCalculator(new DateConverter());
+        this.cache = new SolarEquationVariablesCache(4096, this.evictionPolicy);
+        for (var n = 0; n < HOT_KEYS; n++) {
+            this.cache.put(7000 + n, 13.4, calculator.calculateSolarEquationVariables(7000 + n, 13.4));
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public SolarEquationVariables hit(Cursor cursor) {
+        return this.cache.get(7000 + cursor.next(), 13.4);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public SolarEquationVariables hitContended(Cursor cursor) {
+        return this.cache.get(7000 + cursor.next(), 13.4);
+    }
+}
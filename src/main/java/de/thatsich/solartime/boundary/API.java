@@ -1,41 +1,167 @@
 package de.thatsich.solartime.boundary;
 
-import de.thatsich.solartime.control.DateConverter;
-import de.thatsich.solartime.control.DawnCalculator;
-import de.thatsich.solartime.control.DuskCalculator;
-import de.thatsich.solartime.control.HourAngleCalculator;
-import de.thatsich.solartime.control.JulianSunriseCalculator;
-import de.thatsich.solartime.control.JulianSunsetCalculator;
-import de.thatsich.solartime.control.SolarEquationVariableCalculator;
-import de.thatsich.solartime.control.SolarNoonCalculator;
-import de.thatsich.solartime.control.TimeZoneShifter;
+import de.thatsich.solartime.control.AlmanacGenerator;
+import de.thatsich.solartime.control.EphemerisTable;
+import de.thatsich.solartime.control.SolarEquationVariablesCache;
+import de.thatsich.solartime.control.SpatialEventCache;
+import de.thatsich.solartime.entity.ClassificationMode;
 
+import java.time.Clock;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Entrypoint of the library. Each API builds one {@link SolarEngine} and hands out its shared, thread-safe
+ * calculators, so an API is meant to be created once and kept, not created per request.
+ */
 @SuppressWarnings("WeakerAccess")
 public class API {
 
+    private final SolarEngine solarEngine;
+
+    public API() {
+        this(SolarEngine.builder().build());
+    }
+
+    /**
+     * @param solarEquationVariablesCache shared by all objects created by this API, repeated queries for the same
+     *                                    day and place are answered from it
+     */
+    public API(SolarEquationVariablesCache solarEquationVariablesCache) {
+        this(SolarEngine.builder().solarEquationVariablesCache(solarEquationVariablesCache).build());
+    }
+
+    /**
+     * @param ephemerisTable replaces the trigonometry of the solar equation variables with a table lookup,
+     *                       see {@link EphemerisTable#openBundled()}. Events differ by one second below
+     *                       60 degrees of latitude and by a few seconds close to the polar circles.
+     */
+    public API(EphemerisTable ephemerisTable) {
+        this(SolarEngine.builder().ephemerisTable(ephemerisTable).build());
+    }
+
+    /**
+     * @param spatialEventCache shared by all objects created by this API, nearby locations share their events
+     *                          within the maximal error of the cache
+     */
+    public API(SpatialEventCache spatialEventCache) {
+        this(SolarEngine.builder().spatialEventCache(spatialEventCache).build());
+    }
+
+    /**
+     * @param solarEngine built by {@link SolarEngine#builder()}, for combinations of the options above
+     */
+    public API(SolarEngine solarEngine) {
+        this.solarEngine = solarEngine;
+    }
+
+    public SolarEngine getSolarEngine() {
+        return this.solarEngine;
+    }
+
     public SolarTime getSolarTime() {
-        final var dateConverter = new DateConverter();
-        final var solarEquationVariableCalculator = new SolarEquationVariableCalculator(dateConverter);
-        final var hourAngleCalculator = new HourAngleCalculator();
-        final var julianSunsetCalculator = new JulianSunsetCalculator(solarEquationVariableCalculator, hourAngleCalculator);
-        final var julianSunriseCalculator = new JulianSunriseCalculator(julianSunsetCalculator, solarEquationVariableCalculator);
-        final var timeZoneShifter = new TimeZoneShifter();
-        final var duskCalculator = new DuskCalculator(julianSunsetCalculator, dateConverter, timeZoneShifter);
-        final var dawnCalculator = new DawnCalculator(julianSunriseCalculator, dateConverter, timeZoneShifter);
-        final var solarNoonCalculator = new SolarNoonCalculator(solarEquationVariableCalculator, hourAngleCalculator, dateConverter);
-        final var solarTime = new SolarTime(dawnCalculator, duskCalculator, solarNoonCalculator);
+        return this.solarEngine.getSolarTime();
+    }
+
+    public EpochSolarTime getEpochSolarTime() {
+        return this.solarEngine.getEpochSolarTime();
+    }
+
+    public BatchSolarTime getBatchSolarTime() {
+        return this.solarEngine.getBatchSolarTime();
+    }
+
+    /**
+     * @return a grid calculator on the common fork-join pool
+     */
+    public GridSolarTime getGridSolarTime() {
+        return this.solarEngine.getGridSolarTime();
+    }
+
+    /**
+     * @param pool         the pool calculating the rows
+     * @param cellsPerTask the cells a task calculates without splitting further, whole rows are kept together.
+     *                     Small values balance better, large values have less overhead
+     * @return a grid calculator on the given pool
+     */
+    public GridSolarTime getGridSolarTime(ForkJoinPool pool, int cellsPerTask) {
+        return this.solarEngine.getGridSolarTime(pool, cellsPerTask);
+    }
+
+    public CalendarSolarTime getCalendarSolarTime() {
+        return this.solarEngine.getCalendarSolarTime();
+    }
+
+    /**
+     * @return a generator of almanacs which are read with {@link de.thatsich.solartime.control.Almanac#open}
+     */
+    public AlmanacGenerator getAlmanacGenerator() {
+        return this.solarEngine.getAlmanacGenerator();
+    }
+
+    /**
+     * @return a new scheduler on the clock of the engine, calling listeners on the common fork-join pool
+     */
+    public SolarEventScheduler getSolarEventScheduler() {
+        return this.solarEngine.createSolarEventScheduler();
+    }
+
+    /**
+     * @param clock    the clock the scheduler fires by, tests may pass a clock they control
+     * @param executor runs the listeners, e.g. {@code Executors.newVirtualThreadPerTaskExecutor()} on JDK 21
+     * @return a new scheduler which is not started yet
+     */
+    public SolarEventScheduler getSolarEventScheduler(Clock clock, Executor executor) {
+        return this.solarEngine.createSolarEventScheduler(clock, executor);
+    }
+
+    /**
+     * @return a new publisher on the clock of the engine, signalling subscribers on the common fork-join pool
+     */
+    public DayPeriodTransitionPublisher getDayPeriodTransitionPublisher() {
+        return this.solarEngine.createDayPeriodTransitionPublisher();
+    }
+
+    /**
+     * @param clock    the clock the publisher delivers by, e.g. a faster one starting in the past for a replay
+     * @param executor signals the subscribers
+     * @return a new publisher without locations which is not started yet
+     */
+    public DayPeriodTransitionPublisher getDayPeriodTransitionPublisher(Clock clock, Executor executor) {
+        return this.solarEngine.createDayPeriodTransitionPublisher(clock, executor);
+    }
 
-        return solarTime;
+    /**
+     * @param classificationMode how to decide the day period of the rows
+     * @param threads            the number of workers
+     * @return a new enricher of CSV files of timestamps and locations
+     */
+    public CsvEnricher getCsvEnricher(ClassificationMode classificationMode, int threads) {
+        return this.solarEngine.createCsvEnricher(classificationMode, threads);
+    }
+
+    public SolarPositions getSolarPositions() {
+        return this.solarEngine.getSolarPositions();
+    }
+
+    /**
+     * @return the metrics of the engine, enabled by {@link SolarEngine.Builder#metrics(boolean)}
+     */
+    public SolarMetrics getSolarMetrics() {
+        return this.solarEngine.getSolarMetrics();
     }
 
     public SunStateChecker getSunStateChecker() {
-        final var solarTime = this.getSolarTime();
-        final var hourAngleCalculator = new HourAngleCalculator();
-        final var dateConverter = new DateConverter();
-        final var solarEquationVariableCalculator = new SolarEquationVariableCalculator(dateConverter);
-        final var sunStateChecker = new SunStateChecker(solarTime, hourAngleCalculator, solarEquationVariableCalculator);
+        return this.solarEngine.getSunStateChecker();
+    }
 
-        return sunStateChecker;
+    /**
+     * @param classificationMode how to decide the period of the day, {@link ClassificationMode#SOLAR_ELEVATION}
+     *                           needs a single calculation per classification
+     * @return a checker using the given mode
+     */
+    public SunStateChecker getSunStateChecker(ClassificationMode classificationMode) {
+        return this.solarEngine.getSunStateChecker(classificationMode);
     }
 
 }
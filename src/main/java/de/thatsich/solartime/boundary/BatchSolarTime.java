@@ -0,0 +1,59 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.control.BatchEventCalculator;
+import de.thatsich.solartime.entity.Altitude;
+import de.thatsich.solartime.entity.PolarSentinel;
+import de.thatsich.solartime.entity.PolarStatus;
+
+/**
+ * Calculates events of one date for many locations at once. Locations and results are passed as
+ * parallel primitive arrays (structure of arrays), nothing is allocated per location.
+ * <br>
+ * The date dependent part of the sunrise equation is calculated once per call and interpolated
+ * for the individual longitudes, thus the results may differ by one second from {@link EpochSolarTime}.
+ * {@link de.thatsich.solartime.entity.AlgorithmTier#PRECISE} refines every event on its own and
+ * calculates location by location, its results equal {@link EpochSolarTime}.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class BatchSolarTime {
+
+    private static final long SECONDS_PER_DAY = 86400;
+
+    private final BatchEventCalculator batchEventCalculator;
+
+    BatchSolarTime(BatchEventCalculator batchEventCalculator) {
+        this.batchEventCalculator = batchEventCalculator;
+    }
+
+    /**
+     * @param epochDay    the day as days since 1970-01-01
+     * @param latitudes   the latitudes of the locations in degrees
+     * @param longitudes  the longitudes of the locations in degrees (West is negative)
+     * @param sunrises    receives the sunrises in seconds since the epoch or a {@link PolarSentinel}
+     * @param sunsets     receives the sunsets in seconds since the epoch or a {@link PolarSentinel}
+     * @param polarStatus receives the {@link PolarStatus} of every location
+     */
+    public void calculateSunriseSunset(long epochDay, double[] latitudes, double[] longitudes, long[] sunrises, long[] sunsets, byte[] polarStatus) {
+        this.calculateEvents(epochDay, Altitude.SUNRISE_SUNSET, latitudes, longitudes, sunrises, sunsets, polarStatus);
+    }
+
+    /**
+     * @param epochDay    the day as days since 1970-01-01
+     * @param altitude    the altitude the sun crosses at dawn and dusk
+     * @param latitudes   the latitudes of the locations in degrees
+     * @param longitudes  the longitudes of the locations in degrees (West is negative)
+     * @param dawns       receives the dawns in seconds since the epoch or a {@link PolarSentinel}
+     * @param dusks       receives the dusks in seconds since the epoch or a {@link PolarSentinel}
+     * @param polarStatus receives the {@link PolarStatus} of every location
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public void calculateEvents(long epochDay, Altitude altitude, double[] latitudes, double[] longitudes, long[] dawns, long[] dusks, byte[] polarStatus) {
+        final var length = latitudes.length;
+        if (longitudes.length != length || dawns.length != length || dusks.length != length || polarStatus.length != length) {
+            throw new IllegalArgumentException("all arrays need the same length as the " + length + " latitudes");
+        }
+
+        final var terms = this.batchEventCalculator.calculateDailySolarTerms(epochDay * SECONDS_PER_DAY + SECONDS_PER_DAY / 2);
+        this.batchEventCalculator.calculateEvents(terms, altitude, latitudes, longitudes, 0, length, dawns, dusks, polarStatus);
+    }
+}
@@ -0,0 +1,35 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.control.ChebyshevEventCalculator;
+import de.thatsich.solartime.entity.PolarSentinel;
+import de.thatsich.solartime.entity.SolarEvent;
+
+/**
+ * Calculates an event for every day of a long range, e.g. the sunrises of ten years. Instead of every day only
+ * a dozen days per segment of about four months are calculated exactly, the days in between are interpolated.
+ * Segments are shortened around polar days and nights, which come from the exact calculation.
+ * <br>
+ * Events agree with {@link EpochSolarTime} except for a rare difference of one second, when the rounding
+ * to whole seconds tips over.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class CalendarSolarTime {
+
+    private final ChebyshevEventCalculator chebyshevEventCalculator;
+
+    CalendarSolarTime(ChebyshevEventCalculator chebyshevEventCalculator) {
+        this.chebyshevEventCalculator = chebyshevEventCalculator;
+    }
+
+    /**
+     * @param event         the event of every day
+     * @param firstEpochDay the first day as days since 1970-01-01
+     * @param latitude      the latitude of the location in degrees.
+     * @param longitude     the longitude of the location in degrees (West is negative)
+     * @param target        receives the event of each day in seconds since the epoch or a {@link PolarSentinel},
+     *                      one element per day starting with the first day
+     */
+    public void calculateCalendar(SolarEvent event, long firstEpochDay, double latitude, double longitude, long[] target) {
+        this.chebyshevEventCalculator.calculateCalendar(event, firstEpochDay, latitude, longitude, target);
+    }
+}
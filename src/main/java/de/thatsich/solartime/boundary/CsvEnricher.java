@@ -0,0 +1,405 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.control.CsvCodec;
+import de.thatsich.solartime.entity.ClassificationMode;
+import de.thatsich.solartime.entity.DayPeriod;
+import de.thatsich.solartime.entity.PolarSentinel;
+import de.thatsich.solartime.entity.SolarEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Appends sunrise, sunset and {@link DayPeriod} to every row of a CSV file of {@code timestamp,latitude,longitude}
+ * rows, e.g. {@code 2019-06-25T12:00:00Z,51.45,6.97} becomes
+ * {@code 2019-06-25T12:00:00Z,51.45,6.97,2019-06-25T03:17:20Z,2019-06-25T19:54:26Z,DAY}.
+ * <br>
+ * Sunrise and sunset are those of the UTC date of the timestamp, see {@link EpochSolarTime}, polar days and nights
+ * are written as {@code POLAR_DAY} and {@code POLAR_NIGHT}. Timestamps are seconds since the epoch or ISO-8601,
+ * see {@link CsvCodec#parseTimestamp}, further fields of a row are kept. A first line which does not start with a
+ * timestamp is taken as header and extended by the names of the new fields.
+ * <br>
+ * Files are memory mapped in chunks ending at a line break, other input is read in chunks of the same size. Workers
+ * parse and enrich whole chunks on bytes, the rows are written in their order while later chunks are still
+ * processed. At most two chunks per worker are in flight, which bounds the memory independent of the file size.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class CsvEnricher {
+
+    static final int DEFAULT_CHUNK_BYTES = 16 << 20;
+
+    private static final long SECONDS_PER_DAY = 86400;
+    private static final byte[] HEADER_FIELDS = ",sunrise,sunset,day_period".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] POLAR_DAY = "POLAR_DAY".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] POLAR_NIGHT = "POLAR_NIGHT".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[][] DAY_PERIODS = new byte[DayPeriod.values().length][];
+    // the appended fields take at most three commas, two instants of other years and the longest period
+    private static final int MAX_APPENDED_BYTES = 3 + 2 * 30 + 32;
+
+    static {
+        for (final var dayPeriod : DayPeriod.values()) {
+            DAY_PERIODS[dayPeriod.ordinal()] = dayPeriod.name().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private final EpochSolarTime epochSolarTime;
+    private final SunStateChecker sunStateChecker;
+    // sunrise, sunset and the events the day period is classified by, calculated once per row
+    private final EnumSet<SolarEvent> events;
+    private final EnumSet<SolarEvent> classificationEvents;
+    private final CsvCodec csvCodec = new CsvCodec();
+    private final int threads;
+    private final int chunkBytes;
+
+    CsvEnricher(EpochSolarTime epochSolarTime, SunStateChecker sunStateChecker, int threads, int chunkBytes) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("at least one thread is needed, but was " + threads);
+        }
+
+        this.epochSolarTime = epochSolarTime;
+        this.sunStateChecker = sunStateChecker;
+        this.classificationEvents = sunStateChecker.getClassificationEvents();
+        this.events = EnumSet.copyOf(this.classificationEvents);
+        this.events.add(SolarEvent.SUNRISE);
+        this.events.add(SolarEvent.SUNSET);
+        this.threads = threads;
+        this.chunkBytes = chunkBytes;
+    }
+
+    /**
+     * Reports the rows per second on standard error.
+     *
+     * @param args the input file, the output file, optionally the number of workers (all processors if not given)
+     *             and the {@link ClassificationMode} of the day period ({@code EVENT_TIMES} if not given).
+     *             {@code -} reads from standard input or writes to standard output.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: CsvEnricher <input.csv|-> <output.csv|-> [threads] [EVENT_TIMES|SOLAR_ELEVATION]");
+            System.exit(2);
+        }
+
+        final var threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        final var classificationMode = args.length > 3 ? ClassificationMode.valueOf(args[3]) : ClassificationMode.EVENT_TIMES;
+        final var csvEnricher = SolarEngine.builder().build().createCsvEnricher(classificationMode, threads);
+
+        final var start = System.nanoTime();
+        final long rows;
+        try (var output = openOutput(args[1])) {
+            rows = "-".equals(args[0])
+                    ? csvEnricher.enrich(Channels.newChannel(System.in), output)
+                    : csvEnricher.enrich(Path.of(args[0]), output);
+        }
+        final var seconds = (System.nanoTime() - start) / 1e9;
+
+        System.err.printf(Locale.ROOT, "%,d rows in %.1f s, %,.0f rows/s%n", rows, seconds, rows / seconds);
+    }
+
+    /**
+     * @param input  a file, memory mapped in chunks
+     * @param output receives the enriched rows, it is not closed
+     * @return the number of enriched rows
+     * @throws IllegalArgumentException if a row is malformed or longer than a chunk
+     */
+    public long enrich(Path input, WritableByteChannel output) throws IOException {
+        try (var channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            return this.enrich(new MappedChunkReader(channel, this.chunkBytes), output);
+        }
+    }
+
+    /**
+     * @param input  read in chunks, it is not closed
+     * @param output receives the enriched rows, it is not closed
+     * @return the number of enriched rows
+     * @throws IllegalArgumentException if a row is malformed or longer than a chunk
+     */
+    public long enrich(ReadableByteChannel input, WritableByteChannel output) throws IOException {
+        return this.enrich(new ChannelChunkReader(input, this.chunkBytes), output);
+    }
+
+    private interface ChunkReader {
+
+        /**
+         * @param position the number of bytes read before
+         * @return the next chunk ending at a line break or at the end of the input, null at the end
+         */
+        ByteBuffer read(long position) throws IOException;
+    }
+
+    private static final class MappedChunkReader implements ChunkReader {
+
+        private final FileChannel channel;
+        private final int chunkBytes;
+        private final long size;
+
+        private MappedChunkReader(FileChannel channel, int chunkBytes) throws IOException {
+            this.channel = channel;
+            this.chunkBytes = chunkBytes;
+            this.size = channel.size();
+        }
+
+        @Override
+        public ByteBuffer read(long position) throws IOException {
+            if (position >= this.size) {
+                return null;
+            }
+
+            final var length = Math.min(this.chunkBytes, this.size - position);
+            final var mapped = this.channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+            return position + length == this.size ? mapped : mapped.limit(lastLineEnd(mapped, position));
+        }
+    }
+
+    /**
+     * Copies the incomplete last row of a chunk to the start of the next one.
+     */
+    private static final class ChannelChunkReader implements ChunkReader {
+
+        private final ReadableByteChannel channel;
+        private final int chunkBytes;
+        private ByteBuffer rest = ByteBuffer.allocate(0);
+
+        private ChannelChunkReader(ReadableByteChannel channel, int chunkBytes) {
+            this.channel = channel;
+            this.chunkBytes = chunkBytes;
+        }
+
+        @Override
+        public ByteBuffer read(long position) throws IOException {
+            final var chunk = ByteBuffer.allocate(this.chunkBytes).put(this.rest);
+            while (chunk.hasRemaining() && this.channel.read(chunk) >= 0) {
+                // until the chunk is full or the input ends
+            }
+            chunk.flip();
+            if (!chunk.hasRemaining()) {
+                return null;
+            }
+            if (chunk.limit() < chunk.capacity()) {
+                this.rest = ByteBuffer.allocate(0);
+                return chunk;
+            }
+
+            // the worker only reads the chunk up to the end, the rest is read here
+            final var end = lastLineEnd(chunk, position);
+            this.rest = chunk.duplicate().position(end);
+            return chunk.limit(end);
+        }
+    }
+
+    /**
+     * The enriched rows of a chunk.
+     */
+    private static final class Result {
+
+        private final byte[] bytes;
+        private final int length;
+        private final long rows;
+
+        private Result(byte[] bytes, int length, long rows) {
+            this.bytes = bytes;
+            this.length = length;
+            this.rows = rows;
+        }
+    }
+
+    private long enrich(ChunkReader reader, WritableByteChannel output) throws IOException {
+        final var workers = Executors.newFixedThreadPool(this.threads, runnable -> {
+            final var thread = new Thread(runnable, "csv-enricher");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            final var pending = new ArrayDeque<Future<Result>>();
+            var rows = 0L;
+            var position = 0L;
+            for (var chunk = reader.read(position); chunk != null; chunk = reader.read(position)) {
+                final var first = position == 0;
+                final var submitted = chunk;
+                position += chunk.remaining();
+                pending.add(workers.submit(() -> this.enrichChunk(submitted, first)));
+                while (pending.size() > 2 * this.threads) {
+                    rows += write(pending.poll(), output);
+                }
+            }
+            while (!pending.isEmpty()) {
+                rows += write(pending.poll(), output);
+            }
+
+            return rows;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private static long write(Future<Result> future, WritableByteChannel output) throws IOException {
+        final Result result;
+        try {
+            result = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while enriching", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+
+        final var buffer = ByteBuffer.wrap(result.bytes, 0, result.length);
+        while (buffer.hasRemaining()) {
+            output.write(buffer);
+        }
+
+        return result.rows;
+    }
+
+    private Result enrichChunk(ByteBuffer chunk, boolean first) {
+        final var end = chunk.limit();
+        var rows = 0L;
+        var bytes = new byte[chunk.remaining() + chunk.remaining() / 2 + MAX_APPENDED_BYTES];
+        var length = 0;
+        final var events = new long[SolarEvent.values().length];
+
+        // only the first line of the input may be a header
+        var header = first;
+        var lineStart = chunk.position();
+        while (lineStart < end) {
+            var lineEnd = lineStart;
+            while (lineEnd < end && chunk.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            final var next = lineEnd + 1;
+            if (lineEnd > lineStart && chunk.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+
+            if (lineEnd > lineStart) {
+                if (bytes.length - length < lineEnd - lineStart + MAX_APPENDED_BYTES + 1) {
+                    bytes = Arrays.copyOf(bytes, 2 * bytes.length + lineEnd - lineStart + MAX_APPENDED_BYTES + 1);
+                }
+                for (var index = lineStart; index < lineEnd; index++) {
+                    bytes[length++] = chunk.get(index);
+                }
+
+                if (header && isHeader(chunk.get(lineStart))) {
+                    System.arraycopy(HEADER_FIELDS, 0, bytes, length, HEADER_FIELDS.length);
+                    length += HEADER_FIELDS.length;
+                } else {
+                    length = this.enrichRow(chunk, lineStart, lineEnd, events, bytes, length);
+                    rows++;
+                }
+                bytes[length++] = '\n';
+                header = false;
+            }
+
+            lineStart = next;
+        }
+
+        return new Result(bytes, length, rows);
+    }
+
+    /**
+     * Appends the fields of the row at the given offset.
+     *
+     * @param events receives the events of the row, reused for every row of a chunk
+     * @return the index after the appended fields
+     */
+    private int enrichRow(ByteBuffer chunk, int start, int end, long[] events, byte[] target, int offset) {
+        final var firstComma = indexOf(chunk, start, end);
+        final var secondComma = firstComma < 0 ? -1 : indexOf(chunk, firstComma + 1, end);
+        if (secondComma < 0) {
+            // the row is already copied to the target
+            throw new IllegalArgumentException("expected timestamp,latitude,longitude but was: " + new String(target, offset - (end - start), end - start, StandardCharsets.US_ASCII));
+        }
+        final var thirdComma = indexOf(chunk, secondComma + 1, end);
+
+        final var epochSecond = this.csvCodec.parseTimestamp(chunk, start, firstComma);
+        final var latitude = this.csvCodec.parseDouble(chunk, firstComma + 1, secondComma);
+        final var longitude = this.csvCodec.parseDouble(chunk, secondComma + 1, thirdComma < 0 ? end : thirdComma);
+
+        final var epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+        this.epochSolarTime.calculateDay(epochDay, latitude, longitude, this.events, events);
+        final var sunrise = events[SolarEvent.SUNRISE.ordinal()];
+        final var sunset = events[SolarEvent.SUNSET.ordinal()];
+        // the day period is classified by the solar day around the instant, which differs from the UTC date far from Greenwich
+        if (!this.classificationEvents.isEmpty() && !this.epochSolarTime.isSameSolarDay(epochDay, epochSecond, longitude)) {
+            this.epochSolarTime.calculateDayAround(epochSecond, latitude, longitude, this.classificationEvents, events);
+        }
+        final var dayPeriod = this.sunStateChecker.getDayPeriod(epochSecond, latitude, longitude, events);
+
+        var index = offset;
+        target[index++] = ',';
+        index = this.putEvent(sunrise, target, index);
+        target[index++] = ',';
+        index = this.putEvent(sunset, target, index);
+        target[index++] = ',';
+        final var name = DAY_PERIODS[dayPeriod.ordinal()];
+        System.arraycopy(name, 0, target, index, name.length);
+
+        return index + name.length;
+    }
+
+    private int putEvent(long epochSecond, byte[] target, int offset) {
+        if (PolarSentinel.isPolar(epochSecond)) {
+            final var name = epochSecond == PolarSentinel.POLAR_DAY ? POLAR_DAY : POLAR_NIGHT;
+            System.arraycopy(name, 0, target, offset, name.length);
+            return offset + name.length;
+        }
+
+        return this.csvCodec.formatInstant(epochSecond, target, offset);
+    }
+
+    private static int indexOf(ByteBuffer chunk, int from, int to) {
+        for (var index = from; index < to; index++) {
+            if (chunk.get(index) == ',') {
+                return index;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean isHeader(byte first) {
+        return !(first >= '0' && first <= '9' || first == '-' || first == ' ');
+    }
+
+    /**
+     * @return the index after the last line break of the chunk
+     * @throws IllegalArgumentException if there is none, the row is longer than the chunk
+     */
+    private static int lastLineEnd(ByteBuffer chunk, long position) {
+        for (var index = chunk.limit() - 1; index >= chunk.position(); index--) {
+            if (chunk.get(index) == '\n') {
+                return index + 1;
+            }
+        }
+
+        throw new IllegalArgumentException("the row at byte " + position + " is longer than a chunk of " + chunk.capacity() + " bytes");
+    }
+
+    private static WritableByteChannel openOutput(String name) throws IOException {
+        if ("-".equals(name)) {
+            return Channels.newChannel(System.out);
+        }
+
+        return Files.newByteChannel(Path.of(name), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+}
@@ -0,0 +1,300 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.control.DayPeriodTransitionCalculator;
+import de.thatsich.solartime.entity.DayPeriodTransition;
+import de.thatsich.solartime.entity.DayPeriodTransitionEvent;
+
+import java.time.Clock;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the {@link DayPeriodTransition}s of a set of locations in time order, as soon as the clock passes them.
+ * <br>
+ * Every subscriber has its own cursor per location holding the next transition only, which is calculated when the
+ * previous one is delivered. Nothing is calculated or buffered beyond what the subscriber {@link Flow.Subscription#request
+ * requested}: a slow subscriber lets due transitions wait in its cursors and receives them late, still in order.
+ * Subscribers are signalled on the executor, one signal at a time each.
+ * <br>
+ * The clock drives the publisher like the {@link SolarEventScheduler}: {@link #advance()} delivers everything due up
+ * to the instant of the clock, {@link #start()} does so every second. A clock running faster than the system clock
+ * and starting in the past replays history accelerated, a clock the caller moves replays it step by step.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class DayPeriodTransitionPublisher implements Flow.Publisher<DayPeriodTransitionEvent>, AutoCloseable {
+
+    // locations without a transition within a year, e.g. at the poles, search again a year later
+    private static final long PROBE_SECONDS = 365L * 24 * 60 * 60;
+
+    private final DayPeriodTransitionCalculator dayPeriodTransitionCalculator;
+    private final Clock clock;
+    private final Executor executor;
+    // latitude and longitude of every location, in the order they were added
+    private final List<double[]> locations = new CopyOnWriteArrayList<>();
+    private final List<TransitionSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    // null while the ticker is not started
+    private ScheduledExecutorService ticker;
+    // guarded by the subscriptions, later subscribers are completed right away
+    private boolean closed;
+
+    DayPeriodTransitionPublisher(DayPeriodTransitionCalculator dayPeriodTransitionCalculator, Clock clock, Executor executor) {
+        this.dayPeriodTransitionCalculator = dayPeriodTransitionCalculator;
+        this.clock = clock;
+        this.executor = executor;
+    }
+
+    /**
+     * Adds a location to all current and future subscribers, its transitions are published from the current
+     * instant of the clock on.
+     *
+     * @param latitude  the latitude of the location in degrees.
+     * @param longitude the longitude of the location in degrees (West is negative)
+     */
+    public void addLocation(double latitude, double longitude) {
+        final var location = new double[]{latitude, longitude};
+        final var from = this.clock.instant().getEpochSecond();
+        synchronized (this.subscriptions) {
+            final var index = this.locations.size();
+            this.locations.add(location);
+            for (final var subscription : this.subscriptions) {
+                subscription.added.add(new Cursor(index, latitude, longitude, from));
+            }
+        }
+
+        this.subscriptions.forEach(TransitionSubscription::signal);
+    }
+
+    /**
+     * Publishes the transitions of all locations after the current instant of the clock to the subscriber.
+     * A subscriber of a closed publisher is completed right away.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super DayPeriodTransitionEvent> subscriber) {
+        final var subscription = new TransitionSubscription(Objects.requireNonNull(subscriber));
+        final var from = this.clock.instant().getEpochSecond();
+        // onSubscribe comes first, nothing else signals the subscription before it is visible
+        subscriber.onSubscribe(subscription);
+
+        synchronized (this.subscriptions) {
+            if (!this.closed) {
+                for (var index = 0; index < this.locations.size(); index++) {
+                    final var location = this.locations.get(index);
+                    subscription.added.add(new Cursor(index, location[0], location[1], from));
+                }
+                this.subscriptions.add(subscription);
+                // a subscriber cancelling before it was added must not stay in the subscriptions
+                if (subscription.done) {
+                    this.subscriptions.remove(subscription);
+                }
+                subscription.signal();
+                return;
+            }
+        }
+
+        subscription.complete();
+    }
+
+    /**
+     * Delivers all transitions due up to the current instant of the clock, as far as the subscribers requested them.
+     */
+    public void advance() {
+        this.subscriptions.forEach(TransitionSubscription::signal);
+    }
+
+    /**
+     * Starts a daemon thread advancing the publisher every second. Does nothing if already started.
+     */
+    public synchronized void start() {
+        if (this.ticker != null) {
+            return;
+        }
+
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "day-period-transition-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ticker.scheduleAtFixedRate(this::tick, 0, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the ticker and completes all current and future subscribers.
+     */
+    @Override
+    public synchronized void close() {
+        if (this.ticker != null) {
+            this.ticker.shutdownNow();
+            this.ticker = null;
+        }
+        synchronized (this.subscriptions) {
+            this.closed = true;
+        }
+
+        for (final var subscription : this.subscriptions) {
+            subscription.complete();
+        }
+    }
+
+    private void tick() {
+        try {
+            this.advance();
+        } catch (RuntimeException e) {
+            // an exception would stop the periodic task for good, report it and tick again
+            final var thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        }
+    }
+
+    /**
+     * @return the number of subscribers which did not cancel
+     */
+    public int getSubscriberCount() {
+        return this.subscriptions.size();
+    }
+
+    /**
+     * The next transition of a location for one subscriber.
+     */
+    private static final class Cursor {
+
+        private final int index;
+        private final double latitude;
+        private final double longitude;
+        // the instant of the transition or of the next search
+        private long due;
+        // null if the next search is a probe
+        private DayPeriodTransition transition;
+
+        private Cursor(int index, double latitude, double longitude, long from) {
+            this.index = index;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.due = from;
+        }
+    }
+
+    /**
+     * Serializes the signals of one subscriber: whoever increments the work counter from 0 drains,
+     * everyone else only leaves the work for the drain to pick up.
+     */
+    private final class TransitionSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super DayPeriodTransitionEvent> subscriber;
+        // cursors of new locations, handed over to the drain
+        private final Queue<Cursor> added = new ConcurrentLinkedQueue<>();
+        // accessed by the drain only, ordered by instant and then by the order the locations were added
+        private final PriorityQueue<Cursor> cursors = new PriorityQueue<>(Comparator.<Cursor>comparingLong(cursor -> cursor.due).thenComparingInt(cursor -> cursor.index));
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger work = new AtomicInteger();
+
+        private volatile boolean done;
+        private volatile Throwable error;
+        private volatile boolean completed;
+
+        private TransitionSubscription(Flow.Subscriber<? super DayPeriodTransitionEvent> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                this.error = new IllegalArgumentException("non-positive request: " + n);
+            } else {
+                // saturates at Long.MAX_VALUE, which means unbounded
+                this.demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+
+            this.signal();
+        }
+
+        @Override
+        public void cancel() {
+            this.done = true;
+            DayPeriodTransitionPublisher.this.subscriptions.remove(this);
+        }
+
+        private void complete() {
+            this.completed = true;
+            this.signal();
+        }
+
+        private void signal() {
+            if (this.work.getAndIncrement() == 0) {
+                DayPeriodTransitionPublisher.this.executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            var missed = 1;
+            do {
+                if (this.done) {
+                    this.cursors.clear();
+                    this.added.clear();
+                } else if (this.error != null) {
+                    this.cancel();
+                    this.subscriber.onError(this.error);
+                } else if (this.completed) {
+                    this.cancel();
+                    this.subscriber.onComplete();
+                } else {
+                    try {
+                        this.deliver();
+                    } catch (RuntimeException e) {
+                        // a failed search or onNext ends the subscription instead of leaving the work counter up
+                        this.cancel();
+                        this.subscriber.onError(e);
+                    }
+                }
+
+                missed = this.work.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void deliver() {
+            for (var cursor = this.added.poll(); cursor != null; cursor = this.added.poll()) {
+                this.search(cursor, cursor.due);
+            }
+
+            final var now = DayPeriodTransitionPublisher.this.clock.instant().getEpochSecond();
+            while (!this.done && this.error == null && this.demand.get() > 0) {
+                final var cursor = this.cursors.peek();
+                if (cursor == null || cursor.due > now) {
+                    return;
+                }
+
+                this.cursors.poll();
+                final var transition = cursor.transition;
+                this.search(cursor, cursor.due);
+                if (transition != null) {
+                    if (this.demand.get() != Long.MAX_VALUE) {
+                        this.demand.decrementAndGet();
+                    }
+                    this.subscriber.onNext(new DayPeriodTransitionEvent(cursor.latitude, cursor.longitude, transition));
+                }
+            }
+        }
+
+        /**
+         * Moves the cursor to the first transition strictly after the given instant and queues it again.
+         */
+        private void search(Cursor cursor, long after) {
+            final var next = DayPeriodTransitionPublisher.this.dayPeriodTransitionCalculator.calculateNextTransition(after, cursor.latitude, cursor.longitude);
+            cursor.transition = next.orElse(null);
+            cursor.due = next.map(transition -> transition.getInstant().getEpochSecond()).orElse(after + PROBE_SECONDS);
+            this.cursors.add(cursor);
+        }
+    }
+}
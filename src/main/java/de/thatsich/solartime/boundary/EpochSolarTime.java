@@ -0,0 +1,130 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.control.EpochEventCalculator;
+import de.thatsich.solartime.entity.Altitude;
+import de.thatsich.solartime.entity.PolarSentinel;
+import de.thatsich.solartime.entity.SolarEvent;
+
+import java.util.EnumSet;
+
+/**
+ * Allocation free counterpart of {@link SolarTime}. Days are given as days since the epoch
+ * ({@link java.time.LocalDate#toEpochDay()}) and events are returned as seconds since the epoch.
+ * Events which do not happen on the given day are returned as {@link PolarSentinel#POLAR_DAY}
+ * or {@link PolarSentinel#POLAR_NIGHT} instead of an empty {@link java.util.Optional}.
+ * <br>
+ * The events belong to the solar day whose solar noon at the given longitude falls on the given date.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class EpochSolarTime {
+
+    private static final long SECONDS_PER_DAY = 86400;
+
+    private final EpochEventCalculator epochEventCalculator;
+
+    EpochSolarTime(EpochEventCalculator epochEventCalculator) {
+        this.epochEventCalculator = epochEventCalculator;
+    }
+
+    public long astronomicalDawnEpochSecond(final long epochDay, final double latitude, double longitude) {
+        return this.dawnEpochSecond(epochDay, latitude, longitude, Altitude.ASTRONOMICAL);
+    }
+
+    public long nauticalDawnEpochSecond(final long epochDay, final double latitude, double longitude) {
+        return this.dawnEpochSecond(epochDay, latitude, longitude, Altitude.NAUTICAL);
+    }
+
+    public long civilDawnEpochSecond(final long epochDay, final double latitude, double longitude) {
+        return this.dawnEpochSecond(epochDay, latitude, longitude, Altitude.CIVIL);
+    }
+
+    public long sunriseEpochSecond(final long epochDay, final double latitude, double longitude) {
+        return this.dawnEpochSecond(epochDay, latitude, longitude, Altitude.SUNRISE_SUNSET);
+    }
+
+    public long solarNoonEpochSecond(final long epochDay, final double latitude, double longitude) {
+        return this.epochEventCalculator.calculateSolarNoon(toNoon(epochDay), latitude, longitude);
+    }
+
+    public long sunsetEpochSecond(final long epochDay, final double latitude, double longitude) {
+        return this.duskEpochSecond(epochDay, latitude, longitude, Altitude.SUNRISE_SUNSET);
+    }
+
+    public long civilDuskEpochSecond(final long epochDay, final double latitude, double longitude) {
+        return this.duskEpochSecond(epochDay, latitude, longitude, Altitude.CIVIL);
+    }
+
+    public long nauticalDuskEpochSecond(final long epochDay, final double latitude, double longitude) {
+        return this.duskEpochSecond(epochDay, latitude, longitude, Altitude.NAUTICAL);
+    }
+
+    public long astronomicalDuskEpochSecond(final long epochDay, final double latitude, double longitude) {
+        return this.duskEpochSecond(epochDay, latitude, longitude, Altitude.ASTRONOMICAL);
+    }
+
+    /**
+     * @param epochDay  the day as days since 1970-01-01
+     * @param latitude  the latitude of the location in degrees.
+     * @param longitude the longitude of the location in degrees (West is negative)
+     * @param altitude  the altitude the sun crosses while rising
+     * @return the dawn event in seconds since the epoch or a {@link PolarSentinel}
+     */
+    public long dawnEpochSecond(final long epochDay, final double latitude, double longitude, Altitude altitude) {
+        return this.epochEventCalculator.calculateDawnEvent(toNoon(epochDay), latitude, longitude, altitude);
+    }
+
+    /**
+     * @param epochDay  the day as days since 1970-01-01
+     * @param latitude  the latitude of the location in degrees.
+     * @param longitude the longitude of the location in degrees (West is negative)
+     * @param altitude  the altitude the sun crosses while setting
+     * @return the dusk event in seconds since the epoch or a {@link PolarSentinel}
+     */
+    public long duskEpochSecond(final long epochDay, final double latitude, double longitude, Altitude altitude) {
+        return this.epochEventCalculator.calculateDuskEvent(toNoon(epochDay), latitude, longitude, altitude);
+    }
+
+    /**
+     * Calculates several events of the same day in a single pass.
+     *
+     * @param epochDay  the day as days since 1970-01-01
+     * @param latitude  the latitude of the location in degrees.
+     * @param longitude the longitude of the location in degrees (West is negative)
+     * @param events    the events to calculate
+     * @param target    receives the events in seconds since the epoch or as {@link PolarSentinel},
+     *                  indexed by {@link SolarEvent#ordinal()}. Entries of other events are left untouched.
+     */
+    public void calculateDay(final long epochDay, final double latitude, double longitude, EnumSet<SolarEvent> events, long[] target) {
+        this.epochEventCalculator.calculateEvents(toNoon(epochDay), latitude, longitude, events, target);
+    }
+
+    /**
+     * Calculates several events of the solar day whose solar noon is closest to the given instant in a single pass,
+     * these are the events {@link SunStateChecker#getDayPeriod(long, double, double, long[])} classifies the instant by.
+     *
+     * @param epochSecond the instant in seconds since the epoch
+     * @param latitude    the latitude of the location in degrees.
+     * @param longitude   the longitude of the location in degrees (West is negative)
+     * @param events      the events to calculate
+     * @param target      receives the events in seconds since the epoch or as {@link PolarSentinel},
+     *                    indexed by {@link SolarEvent#ordinal()}. Entries of other events are left untouched.
+     */
+    public void calculateDayAround(final long epochSecond, final double latitude, double longitude, EnumSet<SolarEvent> events, long[] target) {
+        this.epochEventCalculator.calculateEvents(epochSecond, latitude, longitude, events, target);
+    }
+
+    /**
+     * @param epochDay    the day as days since 1970-01-01
+     * @param epochSecond the instant in seconds since the epoch
+     * @param longitude   the longitude of the location in degrees (West is negative)
+     * @return true if {@link #calculateDay} of the day and {@link #calculateDayAround} of the instant calculate the same events
+     */
+    public boolean isSameSolarDay(final long epochDay, final long epochSecond, double longitude) {
+        return this.epochEventCalculator.calculateJulianCycle(toNoon(epochDay), longitude) == this.epochEventCalculator.calculateJulianCycle(epochSecond, longitude);
+    }
+
+    private static long toNoon(long epochDay) {
+        // noon UTC selects the solar transit on that date for every longitude in [-180, 180)
+        return epochDay * SECONDS_PER_DAY + SECONDS_PER_DAY / 2;
+    }
+}
@@ -0,0 +1,63 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.control.GridEventCalculator;
+import de.thatsich.solartime.entity.Altitude;
+import de.thatsich.solartime.entity.Grid;
+import de.thatsich.solartime.entity.PolarSentinel;
+import de.thatsich.solartime.entity.PolarStatus;
+
+/**
+ * Calculates event rasters of one date for every cell of a {@link Grid} in parallel.
+ * Results are written row by row starting in the north-west into arrays of {@link Grid#size()},
+ * which can be reused for every date.
+ * <br>
+ * Same precision as {@link BatchSolarTime}.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class GridSolarTime {
+
+    private static final long SECONDS_PER_DAY = 86400;
+
+    private final GridEventCalculator gridEventCalculator;
+
+    GridSolarTime(GridEventCalculator gridEventCalculator) {
+        this.gridEventCalculator = gridEventCalculator;
+    }
+
+    /**
+     * @param epochDay    the day as days since 1970-01-01
+     * @param grid        the cells
+     * @param sunrises    receives the sunrises in seconds since the epoch or a {@link PolarSentinel}
+     * @param sunsets     receives the sunsets in seconds since the epoch or a {@link PolarSentinel}
+     * @param polarStatus receives the {@link PolarStatus} of every cell
+     * @throws IllegalArgumentException if an array does not match the size of the grid
+     */
+    public void calculateSunriseSunset(long epochDay, Grid grid, long[] sunrises, long[] sunsets, byte[] polarStatus) {
+        this.calculateEvents(epochDay, Altitude.SUNRISE_SUNSET, grid, sunrises, sunsets, polarStatus);
+    }
+
+    /**
+     * @param epochDay    the day as days since 1970-01-01
+     * @param altitude    the altitude the sun crosses at dawn and dusk
+     * @param grid        the cells
+     * @param dawns       receives the dawns in seconds since the epoch or a {@link PolarSentinel}
+     * @param dusks       receives the dusks in seconds since the epoch or a {@link PolarSentinel}
+     * @param polarStatus receives the {@link PolarStatus} of every cell
+     * @throws IllegalArgumentException if an array does not match the size of the grid
+     */
+    public void calculateEvents(long epochDay, Altitude altitude, Grid grid, long[] dawns, long[] dusks, byte[] polarStatus) {
+        final var size = grid.size();
+        if (dawns.length != size || dusks.length != size || polarStatus.length != size) {
+            throw new IllegalArgumentException("all arrays need the " + size + " cells of the grid as length");
+        }
+
+        this.gridEventCalculator.calculateEvents(epochDay * SECONDS_PER_DAY + SECONDS_PER_DAY / 2, altitude, grid, dawns, dusks, polarStatus);
+    }
+
+    /**
+     * @return the cells a parallel task calculates at once
+     */
+    public int getCellsPerTask() {
+        return this.gridEventCalculator.getCellsPerTask();
+    }
+}
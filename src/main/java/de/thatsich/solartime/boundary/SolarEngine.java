@@ -0,0 +1,388 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.control.AlmanacGenerator;
+import de.thatsich.solartime.control.BatchEventCalculator;
+import de.thatsich.solartime.control.BatchKernels;
+import de.thatsich.solartime.control.CachingSolarEquationVariableCalculator;
+import de.thatsich.solartime.control.ChebyshevEventCalculator;
+import de.thatsich.solartime.control.DateConverter;
+import de.thatsich.solartime.control.DawnCalculator;
+import de.thatsich.solartime.control.DayPeriodTransitionCalculator;
+import de.thatsich.solartime.control.DuskCalculator;
+import de.thatsich.solartime.control.EphemerisSolarEquationVariableCalculator;
+import de.thatsich.solartime.control.EphemerisTable;
+import de.thatsich.solartime.control.EpochEventCalculator;
+import de.thatsich.solartime.control.FastSolarEquationVariableCalculator;
+import de.thatsich.solartime.control.GridEventCalculator;
+import de.thatsich.solartime.control.HourAngleCalculator;
+import de.thatsich.solartime.control.MetricsListener;
+import de.thatsich.solartime.control.MetricsRecorder;
+import de.thatsich.solartime.control.NextEventCalculator;
+import de.thatsich.solartime.control.PolarSeasonTable;
+import de.thatsich.solartime.control.PreciseSolarEquationVariableCalculator;
+import de.thatsich.solartime.control.QuantizingEpochEventCalculator;
+import de.thatsich.solartime.control.SolarDayCalculator;
+import de.thatsich.solartime.control.SolarEquationVariableCalculator;
+import de.thatsich.solartime.control.SolarEquationVariablesCache;
+import de.thatsich.solartime.control.SolarNoonCalculator;
+import de.thatsich.solartime.control.SolarPositionCalculator;
+import de.thatsich.solartime.control.SpatialEventCache;
+import de.thatsich.solartime.control.TimeZoneShifter;
+import de.thatsich.solartime.control.Trigonometry;
+import de.thatsich.solartime.entity.AlgorithmTier;
+import de.thatsich.solartime.entity.ClassificationMode;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The object graph of all calculators, built once by {@link #builder()} and shared by all threads.
+ * Every calculator is stateless or, like the caches, safe for concurrent use, so the getters return
+ * the same instances on every call and request threads do not construct anything.
+ * <br>
+ * Only the {@code create} methods construct a new object per call: {@link SolarEventScheduler}s,
+ * {@link DayPeriodTransitionPublisher}s and {@link CsvEnricher}s own tickers, subscriptions or workers of their own.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class SolarEngine {
+
+    private static final int DEFAULT_CELLS_PER_TASK = 16384;
+
+    private final Clock clock;
+    private final AlgorithmTier algorithmTier;
+    private final SolarEquationVariableCalculator solarEquationVariableCalculator;
+    private final HourAngleCalculator hourAngleCalculator;
+    private final EpochEventCalculator epochEventCalculator;
+    private final BatchEventCalculator batchEventCalculator;
+    private final NextEventCalculator nextEventCalculator;
+    private final DayPeriodTransitionCalculator dayPeriodTransitionCalculator;
+    private final SolarTime solarTime;
+    private final EpochSolarTime epochSolarTime;
+    private final BatchSolarTime batchSolarTime;
+    private final GridSolarTime gridSolarTime;
+    private final CalendarSolarTime calendarSolarTime;
+    private final AlmanacGenerator almanacGenerator;
+    private final SolarPositions solarPositions;
+    private final SolarMetrics solarMetrics;
+    private final Map<ClassificationMode, SunStateChecker> sunStateCheckers;
+
+    private SolarEngine(Builder builder) {
+        final var dateConverter = new DateConverter();
+        this.clock = builder.clock;
+        this.algorithmTier = builder.algorithmTier;
+        this.solarEquationVariableCalculator = createSolarEquationVariableCalculator(builder, dateConverter);
+        this.hourAngleCalculator = new HourAngleCalculator();
+        this.epochEventCalculator = createEpochEventCalculator(builder, this.solarEquationVariableCalculator, this.hourAngleCalculator, dateConverter);
+        this.batchEventCalculator = new BatchEventCalculator(this.solarEquationVariableCalculator, this.epochEventCalculator, dateConverter, BatchKernels.select(builder.trigonometry));
+        this.nextEventCalculator = new NextEventCalculator(this.solarEquationVariableCalculator, this.epochEventCalculator, this.hourAngleCalculator);
+
+        final var timeZoneShifter = new TimeZoneShifter();
+        final var dawnCalculator = new DawnCalculator(this.epochEventCalculator, timeZoneShifter);
+        final var duskCalculator = new DuskCalculator(this.epochEventCalculator, timeZoneShifter);
+        final var solarNoonCalculator = new SolarNoonCalculator(this.epochEventCalculator, timeZoneShifter);
+        final var solarDayCalculator = new SolarDayCalculator(this.epochEventCalculator);
+        final var metricsRecorder = builder.metrics ? new MetricsRecorder(builder.metricsListeners) : MetricsRecorder.DISABLED;
+        this.solarMetrics = new SolarMetrics(metricsRecorder, builder.solarEquationVariablesCache, builder.spatialEventCache);
+        this.solarTime = new SolarTime(dawnCalculator, duskCalculator, solarNoonCalculator, solarDayCalculator, metricsRecorder);
+        // the checkers count their own calls, not the events they ask for
+        final var uncountedSolarTime = metricsRecorder.isEnabled()
+                ? new SolarTime(dawnCalculator, duskCalculator, solarNoonCalculator, solarDayCalculator, MetricsRecorder.DISABLED)
+                : this.solarTime;
+        this.epochSolarTime = new EpochSolarTime(this.epochEventCalculator);
+        this.batchSolarTime = new BatchSolarTime(this.batchEventCalculator);
+        this.gridSolarTime = new GridSolarTime(new GridEventCalculator(this.batchEventCalculator, ForkJoinPool.commonPool(), DEFAULT_CELLS_PER_TASK));
+        this.calendarSolarTime = new CalendarSolarTime(new ChebyshevEventCalculator(this.solarEquationVariableCalculator, this.epochEventCalculator, this.hourAngleCalculator, dateConverter));
+        this.almanacGenerator = new AlmanacGenerator(this.epochEventCalculator);
+
+        final var solarPositionCalculator = new SolarPositionCalculator(this.solarEquationVariableCalculator, dateConverter);
+        this.solarPositions = new SolarPositions(solarPositionCalculator);
+        this.dayPeriodTransitionCalculator = new DayPeriodTransitionCalculator(this.solarEquationVariableCalculator, this.epochEventCalculator, this.hourAngleCalculator);
+        // the table samples two centuries, which would only flood a cache
+        final var polarSeasonTable = new PolarSeasonTable(this.solarEquationVariableCalculator instanceof CachingSolarEquationVariableCalculator
+                ? new SolarEquationVariableCalculator(dateConverter, builder.trigonometry)
+                : this.solarEquationVariableCalculator, dateConverter);
+        this.sunStateCheckers = new EnumMap<>(ClassificationMode.class);
+        for (final var classificationMode : ClassificationMode.values()) {
+            this.sunStateCheckers.put(classificationMode, new SunStateChecker(uncountedSolarTime, this.hourAngleCalculator, this.solarEquationVariableCalculator, solarPositionCalculator, this.dayPeriodTransitionCalculator, polarSeasonTable, classificationMode, metricsRecorder));
+        }
+    }
+
+    /**
+     * @return a builder of an engine calculating by the formulas without any cache
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Clock getClock() {
+        return this.clock;
+    }
+
+    public AlgorithmTier getAlgorithmTier() {
+        return this.algorithmTier;
+    }
+
+    public SolarTime getSolarTime() {
+        return this.solarTime;
+    }
+
+    public EpochSolarTime getEpochSolarTime() {
+        return this.epochSolarTime;
+    }
+
+    public BatchSolarTime getBatchSolarTime() {
+        return this.batchSolarTime;
+    }
+
+    /**
+     * @return a grid calculator on the common fork-join pool
+     */
+    public GridSolarTime getGridSolarTime() {
+        return this.gridSolarTime;
+    }
+
+    /**
+     * @param pool         the pool calculating the rows
+     * @param cellsPerTask the cells a task calculates without splitting further, whole rows are kept together.
+     *                     Small values balance better, large values have less overhead
+     * @return a new grid calculator on the given pool sharing the calculators of this engine
+     */
+    public GridSolarTime getGridSolarTime(ForkJoinPool pool, int cellsPerTask) {
+        final var gridEventCalculator = new GridEventCalculator(this.batchEventCalculator, pool, cellsPerTask);
+
+        return new GridSolarTime(gridEventCalculator);
+    }
+
+    public CalendarSolarTime getCalendarSolarTime() {
+        return this.calendarSolarTime;
+    }
+
+    /**
+     * @return a generator of almanacs which are read with {@link de.thatsich.solartime.control.Almanac#open}
+     */
+    public AlmanacGenerator getAlmanacGenerator() {
+        return this.almanacGenerator;
+    }
+
+    public SolarPositions getSolarPositions() {
+        return this.solarPositions;
+    }
+
+    /**
+     * @return the metrics of {@link SolarTime} and {@link SunStateChecker}, all 0 unless enabled by
+     * {@link Builder#metrics(boolean)}
+     */
+    public SolarMetrics getSolarMetrics() {
+        return this.solarMetrics;
+    }
+
+    public SunStateChecker getSunStateChecker() {
+        return this.getSunStateChecker(ClassificationMode.EVENT_TIMES);
+    }
+
+    /**
+     * @param classificationMode how to decide the period of the day, {@link ClassificationMode#SOLAR_ELEVATION}
+     *                           needs a single calculation per classification
+     * @return a checker using the given mode
+     */
+    public SunStateChecker getSunStateChecker(ClassificationMode classificationMode) {
+        return this.sunStateCheckers.get(Objects.requireNonNull(classificationMode));
+    }
+
+    /**
+     * @return a new scheduler on the clock of this engine, calling listeners on the common fork-join pool
+     */
+    public SolarEventScheduler createSolarEventScheduler() {
+        return this.createSolarEventScheduler(this.clock, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param clock    the clock the scheduler fires by, tests may pass a clock they control
+     * @param executor runs the listeners, e.g. {@code Executors.newVirtualThreadPerTaskExecutor()} on JDK 21
+     * @return a new scheduler which is not started yet
+     */
+    public SolarEventScheduler createSolarEventScheduler(Clock clock, Executor executor) {
+        return new SolarEventScheduler(this.nextEventCalculator, clock, executor);
+    }
+
+    /**
+     * @return a new publisher on the clock of this engine, signalling subscribers on the common fork-join pool
+     */
+    public DayPeriodTransitionPublisher createDayPeriodTransitionPublisher() {
+        return this.createDayPeriodTransitionPublisher(this.clock, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param clock    the clock the publisher delivers by, e.g. a faster one starting in the past for a replay
+     * @param executor signals the subscribers
+     * @return a new publisher without locations which is not started yet
+     */
+    public DayPeriodTransitionPublisher createDayPeriodTransitionPublisher(Clock clock, Executor executor) {
+        return new DayPeriodTransitionPublisher(this.dayPeriodTransitionCalculator, clock, executor);
+    }
+
+    /**
+     * @param classificationMode how to decide the day period of the rows
+     * @param threads            the number of workers
+     * @return a new enricher of CSV files of timestamps and locations
+     */
+    public CsvEnricher createCsvEnricher(ClassificationMode classificationMode, int threads) {
+        return new CsvEnricher(this.epochSolarTime, this.getSunStateChecker(classificationMode), threads, CsvEnricher.DEFAULT_CHUNK_BYTES);
+    }
+
+    private static SolarEquationVariableCalculator createSolarEquationVariableCalculator(Builder builder, DateConverter dateConverter) {
+        if (builder.algorithmTier == AlgorithmTier.FAST) {
+            return new FastSolarEquationVariableCalculator(dateConverter, builder.trigonometry);
+        }
+        if (builder.algorithmTier == AlgorithmTier.PRECISE) {
+            return new PreciseSolarEquationVariableCalculator(dateConverter, builder.trigonometry);
+        }
+        if (builder.ephemerisTable != null) {
+            return new EphemerisSolarEquationVariableCalculator(dateConverter, builder.trigonometry, builder.ephemerisTable);
+        }
+        if (builder.solarEquationVariablesCache != null) {
+            return new CachingSolarEquationVariableCalculator(dateConverter, builder.trigonometry, builder.solarEquationVariablesCache);
+        }
+
+        return new SolarEquationVariableCalculator(dateConverter, builder.trigonometry);
+    }
+
+    private static EpochEventCalculator createEpochEventCalculator(Builder builder, SolarEquationVariableCalculator solarEquationVariableCalculator, HourAngleCalculator hourAngleCalculator, DateConverter dateConverter) {
+        if (builder.spatialEventCache != null) {
+            return new QuantizingEpochEventCalculator(solarEquationVariableCalculator, hourAngleCalculator, dateConverter, builder.spatialEventCache);
+        }
+
+        return new EpochEventCalculator(solarEquationVariableCalculator, hourAngleCalculator, dateConverter);
+    }
+
+    /**
+     * Collects the options of a {@link SolarEngine}. A builder is not thread-safe, the engine it builds is.
+     */
+    public static final class Builder {
+
+        private Clock clock = Clock.systemUTC();
+        private AlgorithmTier algorithmTier = AlgorithmTier.STANDARD;
+        private Trigonometry trigonometry = Trigonometry.JDK;
+        private SolarEquationVariablesCache solarEquationVariablesCache;
+        private EphemerisTable ephemerisTable;
+        private SpatialEventCache spatialEventCache;
+        private boolean metrics;
+        private final List<MetricsListener> metricsListeners = new ArrayList<>();
+
+        private Builder() {
+            // use SolarEngine.builder()
+        }
+
+        /**
+         * @param clock the default clock of the schedulers, the system clock in UTC if not set
+         * @return this builder
+         */
+        public Builder clock(Clock clock) {
+            this.clock = Objects.requireNonNull(clock);
+
+            return this;
+        }
+
+        /**
+         * @param algorithmTier how the position of the sun is calculated, {@link AlgorithmTier#STANDARD} if not set
+         * @return this builder
+         */
+        public Builder algorithmTier(AlgorithmTier algorithmTier) {
+            this.algorithmTier = Objects.requireNonNull(algorithmTier);
+
+            return this;
+        }
+
+        /**
+         * @param trigonometry the sines and cosines of every tier, {@link Trigonometry#JDK} if not set.
+         *                     {@link Trigonometry#FAST} calculates an event up to twice as fast
+         * @return this builder
+         */
+        public Builder trigonometry(Trigonometry trigonometry) {
+            this.trigonometry = Objects.requireNonNull(trigonometry);
+
+            return this;
+        }
+
+        /**
+         * @param solarEquationVariablesCache repeated queries for the same day and place are answered from it,
+         *                                    cannot be combined with an ephemeris table or another tier
+         *                                    than {@link AlgorithmTier#STANDARD}
+         * @return this builder
+         */
+        public Builder solarEquationVariablesCache(SolarEquationVariablesCache solarEquationVariablesCache) {
+            this.solarEquationVariablesCache = solarEquationVariablesCache;
+
+            return this;
+        }
+
+        /**
+         * @param ephemerisTable replaces the trigonometry of the solar equation variables with a table lookup,
+         *                       see {@link EphemerisTable#openBundled()}. Events differ by one second below
+         *                       60 degrees of latitude and by a few seconds close to the polar circles.
+         *                       The table holds the variables of {@link AlgorithmTier#STANDARD}.
+         * @return this builder
+         */
+        public Builder ephemerisTable(EphemerisTable ephemerisTable) {
+            this.ephemerisTable = ephemerisTable;
+
+            return this;
+        }
+
+        /**
+         * @param spatialEventCache nearby locations share their events within the maximal error of the cache,
+         *                          combines with either of the other options
+         * @return this builder
+         */
+        public Builder spatialEventCache(SpatialEventCache spatialEventCache) {
+            this.spatialEventCache = spatialEventCache;
+
+            return this;
+        }
+
+        /**
+         * @param metrics counts the calls of {@link SolarTime} and {@link SunStateChecker}, their empty results and
+         *                durations, see {@link SolarEngine#getSolarMetrics()}. Disabled if not set
+         * @return this builder
+         */
+        public Builder metrics(boolean metrics) {
+            this.metrics = metrics;
+
+            return this;
+        }
+
+        /**
+         * @param metricsListener receives every counted call on the calling thread, enables the metrics
+         * @return this builder
+         */
+        public Builder metricsListener(MetricsListener metricsListener) {
+            this.metricsListeners.add(Objects.requireNonNull(metricsListener));
+            this.metrics = true;
+
+            return this;
+        }
+
+        /**
+         * @return a new engine with the options of this builder
+         * @throws IllegalStateException if both a cache of the solar equation variables and an ephemeris table
+         *                               are set, a table lookup is not worth caching, or if either is combined
+         *                               with another tier than {@link AlgorithmTier#STANDARD}
+         */
+        public SolarEngine build() {
+            if (this.solarEquationVariablesCache != null && this.ephemerisTable != null) {
+                throw new IllegalStateException("solar equation variables are either cached or looked up, not both");
+            }
+            if (this.algorithmTier != AlgorithmTier.STANDARD && (this.solarEquationVariablesCache != null || this.ephemerisTable != null)) {
+                throw new IllegalStateException("solar equation variables are only cached or looked up for the standard tier");
+            }
+
+            return new SolarEngine(this);
+        }
+    }
+}
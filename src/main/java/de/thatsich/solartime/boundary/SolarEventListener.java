@@ -0,0 +1,17 @@
+package de.thatsich.solartime.boundary;
+
+import java.time.Instant;
+
+/**
+ * Receives the occurrences of a {@link SolarEventSubscription}. A single listener may serve any number of
+ * subscriptions, which saves a lambda per subscription.
+ */
+@FunctionalInterface
+public interface SolarEventListener {
+
+    /**
+     * @param subscription the subscription whose event occurred, it is already armed for the next occurrence
+     * @param occurrence   the calculated instant of the event
+     */
+    void onSolarEvent(SolarEventSubscription subscription, Instant occurrence);
+}
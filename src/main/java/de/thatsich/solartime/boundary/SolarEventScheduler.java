@@ -0,0 +1,166 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.control.NextEventCalculator;
+import de.thatsich.solartime.control.TimingWheel;
+import de.thatsich.solartime.entity.SolarEvent;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires {@link SolarEvent}s of any number of subscriptions, e.g. switching lights at civil dusk for millions of
+ * locations. Subscriptions wait in a hierarchical {@link TimingWheel} for their next occurrence only, which is
+ * calculated again each time they fire. A single ticker advances the wheel once a second, listeners run on the
+ * given executor, one occurrence at a time per subscription and in their order. On JDK 21 and later {@code Executors.newVirtualThreadPerTaskExecutor()} gives every listener
+ * its own virtual thread, so blocking listeners do not hold up others.
+ * <br>
+ * The clock drives the scheduler: {@link #advance()} fires everything due up to the instant of the clock.
+ * Tests may call it directly with a clock they control instead of {@link #start() starting} the ticker.
+ * Occurrences missed while the scheduler was not advanced fire late, each one once.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class SolarEventScheduler implements AutoCloseable {
+
+    // subscriptions without an occurrence within a year, e.g. close to the poles, check again a year later
+    private static final long PROBE_SECONDS = 365L * 24 * 60 * 60;
+
+    private final NextEventCalculator nextEventCalculator;
+    private final Clock clock;
+    private final Executor executor;
+    private final TimingWheel<SolarEventSubscription> wheel;
+
+    // null while the ticker is not started
+    private ScheduledExecutorService ticker;
+
+    SolarEventScheduler(NextEventCalculator nextEventCalculator, Clock clock, Executor executor) {
+        this.nextEventCalculator = nextEventCalculator;
+        this.clock = clock;
+        this.executor = executor;
+        this.wheel = new TimingWheel<>(clock.instant().getEpochSecond());
+    }
+
+    /**
+     * @param latitude  the latitude of the location in degrees.
+     * @param longitude the longitude of the location in degrees (West is negative)
+     * @param event     the event to fire at
+     * @param listener  called on the executor for every occurrence
+     * @return the armed subscription
+     */
+    public SolarEventSubscription subscribe(double latitude, double longitude, SolarEvent event, SolarEventListener listener) {
+        final var subscription = new SolarEventSubscription(this, latitude, longitude, event, listener);
+        final var due = new ArrayDeque<SolarEventSubscription>();
+        this.arm(subscription, this.clock.instant().getEpochSecond(), due);
+        this.fire(due);
+
+        return subscription;
+    }
+
+    /**
+     * Fires all occurrences due up to the current instant of the clock and arms their subscriptions again.
+     */
+    public void advance() {
+        final var to = this.clock.instant().getEpochSecond();
+        final var due = new ArrayDeque<SolarEventSubscription>();
+        synchronized (this.wheel) {
+            this.wheel.advance(to, due::add);
+        }
+
+        this.fire(due);
+    }
+
+    /**
+     * Starts a daemon thread advancing the scheduler every second. Does nothing if already started.
+     */
+    public synchronized void start() {
+        if (this.ticker != null) {
+            return;
+        }
+
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "solar-event-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ticker.scheduleAtFixedRate(this::tick, 0, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the ticker, subscriptions stay armed and fire late when the scheduler is advanced again.
+     */
+    @Override
+    public synchronized void close() {
+        if (this.ticker != null) {
+            this.ticker.shutdownNow();
+            this.ticker = null;
+        }
+    }
+
+    /**
+     * @return the number of armed subscriptions
+     */
+    public int size() {
+        synchronized (this.wheel) {
+            return this.wheel.size();
+        }
+    }
+
+    void cancel(SolarEventSubscription subscription) {
+        synchronized (this.wheel) {
+            subscription.cancelled = true;
+            this.wheel.cancel(subscription);
+        }
+    }
+
+    private void fire(ArrayDeque<SolarEventSubscription> due) {
+        while (!due.isEmpty()) {
+            final var subscription = due.poll();
+            final var deadline = subscription.getDeadline();
+            if (subscription.probe) {
+                this.arm(subscription, deadline, due);
+                continue;
+            }
+
+            final var occurrence = Instant.ofEpochSecond(deadline);
+            this.arm(subscription, deadline, due);
+            if (subscription.cancelled) {
+                continue;
+            }
+            subscription.fire(occurrence, this.executor);
+        }
+    }
+
+    private void tick() {
+        try {
+            this.advance();
+        } catch (RuntimeException e) {
+            // an exception would stop the periodic task for good, report it and tick again
+            final var thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        }
+    }
+
+    /**
+     * Calculates the next occurrence outside of the lock. Occurrences which are already due because the clock
+     * moved on in the meantime are added to the due subscriptions instead.
+     */
+    private void arm(SolarEventSubscription subscription, long after, ArrayDeque<SolarEventSubscription> due) {
+        final var next = this.nextEventCalculator.calculateNextEvent(after, subscription.getLatitude(), subscription.getLongitude(), subscription.getEvent());
+
+        synchronized (this.wheel) {
+            if (subscription.cancelled) {
+                return;
+            }
+
+            subscription.probe = next.isEmpty();
+            final var deadline = subscription.probe ? after + PROBE_SECONDS : next.getAsLong();
+            if (!this.wheel.schedule(subscription, deadline)) {
+                due.add(subscription);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.control.TimingWheel;
+import de.thatsich.solartime.entity.SolarEvent;
+
+import java.time.Instant;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link SolarEvent} at a location, firing every day the event occurs until cancelled.
+ * Only the next occurrence is known at any time, it is calculated again after each firing.
+ * The listener sees the occurrences one at a time and in their order, also on a multi-threaded executor.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class SolarEventSubscription extends TimingWheel.Entry {
+
+    private final SolarEventScheduler scheduler;
+    private final double latitude;
+    private final double longitude;
+    private final SolarEvent event;
+    private final SolarEventListener listener;
+    // occurrences waiting for the listener, whoever increments the work counter from 0 drains them
+    private final Queue<Instant> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger work = new AtomicInteger();
+
+    // true while the deadline is a re-check after a year without the event instead of an occurrence
+    boolean probe;
+    volatile boolean cancelled;
+
+    SolarEventSubscription(SolarEventScheduler scheduler, double latitude, double longitude, SolarEvent event, SolarEventListener listener) {
+        this.scheduler = scheduler;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.event = event;
+        this.listener = listener;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public SolarEvent getEvent() {
+        return event;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Queues the occurrence for the listener, it runs after all occurrences queued before.
+     */
+    void fire(Instant occurrence, Executor executor) {
+        this.pending.add(occurrence);
+        if (this.work.getAndIncrement() == 0) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        var missed = 1;
+        do {
+            for (var occurrence = this.pending.poll(); occurrence != null; occurrence = this.pending.poll()) {
+                // the subscription may also be cancelled while the occurrence waits
+                if (!this.cancelled) {
+                    this.notifyListener(occurrence);
+                }
+            }
+
+            missed = this.work.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void notifyListener(Instant occurrence) {
+        try {
+            this.listener.onSolarEvent(this, occurrence);
+        } catch (RuntimeException e) {
+            // later occurrences still fire
+            final var thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        }
+    }
+
+    /**
+     * Stops all further occurrences, a listener which is already running is not interrupted.
+     */
+    public void cancel() {
+        this.scheduler.cancel(this);
+    }
+}
@@ -0,0 +1,132 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.control.MetricsRecorder;
+import de.thatsich.solartime.control.SolarEquationVariablesCache;
+import de.thatsich.solartime.control.SpatialEventCache;
+import de.thatsich.solartime.entity.MeteredMethod;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Calls, empty results and durations of every public method of {@link SolarTime} and {@link SunStateChecker},
+ * enabled by {@link SolarEngine.Builder#metrics(boolean)}. Calls which the library makes internally, e.g. the
+ * sunrise of {@link SunStateChecker#isDay}, are not counted. Disabled metrics report 0 for every method.
+ * <br>
+ * A call costs about 150 ns more with metrics enabled, mostly the two reads of {@link System#nanoTime()},
+ * see {@code SolarMetricsBenchmark}.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class SolarMetrics implements SolarMetricsMXBean {
+
+    private final MetricsRecorder metricsRecorder;
+    private final SolarEquationVariablesCache solarEquationVariablesCache;
+    private final SpatialEventCache spatialEventCache;
+
+    SolarMetrics(MetricsRecorder metricsRecorder, SolarEquationVariablesCache solarEquationVariablesCache, SpatialEventCache spatialEventCache) {
+        this.metricsRecorder = metricsRecorder;
+        this.solarEquationVariablesCache = solarEquationVariablesCache;
+        this.spatialEventCache = spatialEventCache;
+    }
+
+    /**
+     * @param server the server to register at, e.g. {@link java.lang.management.ManagementFactory#getPlatformMBeanServer()}
+     * @param name   distinguishes the engines of an application
+     * @return the name of the bean, {@code de.thatsich.solartime:type=SolarMetrics,name=<name>}
+     * @throws JMException if the name is taken or invalid
+     */
+    public ObjectName register(MBeanServer server, String name) throws JMException {
+        final var objectName = new ObjectName("de.thatsich.solartime:type=SolarMetrics,name=" + ObjectName.quote(name));
+        server.registerMBean(this, objectName);
+
+        return objectName;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return this.metricsRecorder.isEnabled();
+    }
+
+    public long getCallCount(MeteredMethod method) {
+        return this.metricsRecorder.getCallCount(method);
+    }
+
+    public long getPolarCount(MeteredMethod method) {
+        return this.metricsRecorder.getPolarCount(method);
+    }
+
+    /**
+     * @return the mean duration or NaN if the method was not called
+     */
+    public double getMeanNanos(MeteredMethod method) {
+        final var calls = this.metricsRecorder.getCallCount(method);
+
+        return calls == 0 ? Double.NaN : (double) this.metricsRecorder.getTotalNanos(method) / calls;
+    }
+
+    /**
+     * @param quantile e.g. 0.99 for the 99th percentile
+     * @return the duration of the percentile, at most a quarter too high, or 0 if the method was not called
+     */
+    public long getPercentileNanos(MeteredMethod method, double quantile) {
+        return this.metricsRecorder.getPercentileNanos(method, quantile);
+    }
+
+    @Override
+    public Map<String, Long> getCallCounts() {
+        return this.collect(this::getCallCount);
+    }
+
+    @Override
+    public Map<String, Long> getPolarCounts() {
+        return this.collect(this::getPolarCount);
+    }
+
+    @Override
+    public Map<String, Double> getMeanNanos() {
+        final var means = new LinkedHashMap<String, Double>();
+        for (final var method : MeteredMethod.values()) {
+            means.put(method.getQualifiedName(), this.getMeanNanos(method));
+        }
+
+        return means;
+    }
+
+    @Override
+    public Map<String, Long> getMedianNanos() {
+        return this.collect(method -> this.getPercentileNanos(method, 0.5));
+    }
+
+    @Override
+    public Map<String, Long> getP99Nanos() {
+        return this.collect(method -> this.getPercentileNanos(method, 0.99));
+    }
+
+    @Override
+    public double getSolarEquationVariablesCacheHitRatio() {
+        return this.solarEquationVariablesCache == null ? Double.NaN : this.solarEquationVariablesCache.getHitRatio();
+    }
+
+    @Override
+    public double getSpatialEventCacheHitRatio() {
+        return this.spatialEventCache == null ? Double.NaN : this.spatialEventCache.getHitRatio();
+    }
+
+    @Override
+    public void reset() {
+        this.metricsRecorder.reset();
+    }
+
+    private Map<String, Long> collect(ToLongFunction<MeteredMethod> metric) {
+        final var values = new LinkedHashMap<String, Long>();
+        for (final var method : MeteredMethod.values()) {
+            values.put(method.getQualifiedName(), metric.applyAsLong(method));
+        }
+
+        return values;
+    }
+}
@@ -0,0 +1,42 @@
+package de.thatsich.solartime.boundary;
+
+import java.util.Map;
+
+/**
+ * The metrics of an engine as seen by JMX, e.g. in JConsole or VisualVM. Methods are keyed by
+ * {@link de.thatsich.solartime.entity.MeteredMethod#getQualifiedName()}, durations are in nanoseconds.
+ *
+ * @see SolarMetrics#register(javax.management.MBeanServer, String)
+ */
+public interface SolarMetricsMXBean {
+
+    boolean isEnabled();
+
+    Map<String, Long> getCallCounts();
+
+    /**
+     * @return the calls with an empty result, which are polar days and nights, or a true 24-hour check
+     */
+    Map<String, Long> getPolarCounts();
+
+    Map<String, Double> getMeanNanos();
+
+    Map<String, Long> getMedianNanos();
+
+    Map<String, Long> getP99Nanos();
+
+    /**
+     * @return the hit ratio of the cache of the solar equation variables or NaN without a cache
+     */
+    double getSolarEquationVariablesCacheHitRatio();
+
+    /**
+     * @return the hit ratio of the spatial event cache or NaN without a cache
+     */
+    double getSpatialEventCacheHitRatio();
+
+    /**
+     * Sets all counters and histograms to 0, the counters of the caches are kept.
+     */
+    void reset();
+}
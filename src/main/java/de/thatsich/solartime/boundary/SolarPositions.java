@@ -0,0 +1,66 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.control.SolarPositionCalculator;
+import de.thatsich.solartime.entity.SolarPosition;
+
+import java.time.Instant;
+
+/**
+ * Calculates the elevation and azimuth of the sun, at a single instant or as a time series at a fixed step
+ * for e.g. solar trackers and shading simulations. The series are written into primitive arrays, nothing is
+ * allocated per sample.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class SolarPositions {
+
+    private final SolarPositionCalculator solarPositionCalculator;
+
+    SolarPositions(SolarPositionCalculator solarPositionCalculator) {
+        this.solarPositionCalculator = solarPositionCalculator;
+    }
+
+    /**
+     * @param instant   the point in time
+     * @param latitude  the latitude of the location in degrees.
+     * @param longitude the longitude of the location in degrees (West is negative)
+     * @return the elevation and azimuth of the sun
+     */
+    public SolarPosition calculatePosition(Instant instant, double latitude, double longitude) {
+        return this.solarPositionCalculator.calculatePosition(instant.getEpochSecond(), instant.getNano(), latitude, longitude);
+    }
+
+    /**
+     * @param epochSecond the point in time in seconds since the epoch
+     * @param latitude    the latitude of the location in degrees.
+     * @param longitude   the longitude of the location in degrees (West is negative)
+     * @return the elevation and azimuth of the sun
+     */
+    public SolarPosition calculatePosition(long epochSecond, double latitude, double longitude) {
+        return this.solarPositionCalculator.calculatePosition(epochSecond, 0, latitude, longitude);
+    }
+
+    /**
+     * Fills one sample per array element, e.g. 525600 elements for every minute of a year. The hour angle advances
+     * by the step between the samples, thus a series costs a fraction of calculating every sample on its own and
+     * differs by less than 1e-6 degrees.
+     *
+     * @param startEpochSecond the first point in time in seconds since the epoch
+     * @param stepSeconds      the seconds between two samples
+     * @param latitude         the latitude of the location in degrees.
+     * @param longitude        the longitude of the location in degrees (West is negative)
+     * @param elevations       receives the elevations in degrees, negative below the horizon
+     * @param azimuths         receives the azimuths in degrees clockwise from North
+     * @throws IllegalArgumentException if the step is not positive or the arrays differ in length
+     */
+    public void calculateSeries(long startEpochSecond, long stepSeconds, double latitude, double longitude, double[] elevations, double[] azimuths) {
+        if (stepSeconds <= 0) {
+            throw new IllegalArgumentException("the step needs to be positive, was " + stepSeconds);
+        }
+        final var length = elevations.length;
+        if (azimuths.length != length) {
+            throw new IllegalArgumentException("all arrays need the same length as the " + length + " elevations");
+        }
+
+        this.solarPositionCalculator.calculatePositions(startEpochSecond, stepSeconds, latitude, longitude, elevations, azimuths, length);
+    }
+}
@@ -2,12 +2,21 @@ package de.thatsich.solartime.boundary;
 
 import de.thatsich.solartime.control.DawnCalculator;
 import de.thatsich.solartime.control.DuskCalculator;
+import de.thatsich.solartime.control.MetricsRecorder;
+import de.thatsich.solartime.control.SolarDayCalculator;
 import de.thatsich.solartime.control.SolarNoonCalculator;
 import de.thatsich.solartime.entity.Altitude;
+import de.thatsich.solartime.entity.MeteredMethod;
+import de.thatsich.solartime.entity.SolarDay;
+import de.thatsich.solartime.entity.SolarEvent;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.EnumSet;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 /**
@@ -27,19 +36,68 @@ public class SolarTime {
     private final DawnCalculator dawnCalculator;
     private final DuskCalculator duskCalculator;
     private final SolarNoonCalculator solarNoonCalculator;
+    private final SolarDayCalculator solarDayCalculator;
+    private final MetricsRecorder metricsRecorder;
 
-    SolarTime(DawnCalculator dawnCalculator, DuskCalculator duskCalculator, SolarNoonCalculator solarNoonCalculator) {
+    SolarTime(DawnCalculator dawnCalculator, DuskCalculator duskCalculator, SolarNoonCalculator solarNoonCalculator, SolarDayCalculator solarDayCalculator, MetricsRecorder metricsRecorder) {
         this.dawnCalculator = dawnCalculator;
         this.duskCalculator = duskCalculator;
         this.solarNoonCalculator = solarNoonCalculator;
+        this.solarDayCalculator = solarDayCalculator;
+        this.metricsRecorder = metricsRecorder;
+    }
+
+    /**
+     * Calculate several events of the given date and given location at once.
+     * This is considerably cheaper than calling the single event methods one after another,
+     * because the intermediate variables of the sunrise equation are shared between all events.
+     *
+     * @param day       The day for which to calculate the events
+     * @param latitude  the latitude of the location in degrees.
+     * @param longitude the longitude of the location in degrees (West is negative)
+     * @param events    the events to calculate, e.g. {@code EnumSet.allOf(SolarEvent.class)}
+     *
+     * @return the requested events in the zone of the given day
+     */
+    public SolarDay calculateDay(final ZonedDateTime day, final double latitude, double longitude, EnumSet<SolarEvent> events) {
+        final var start = this.metricsRecorder.start();
+        final var solarDay = this.solarDayCalculator.calculateSolarDay(day, latitude, longitude, events);
+        this.metricsRecorder.record(MeteredMethod.CALCULATE_DAY, start, solarDay.isPolar());
+
+        return solarDay;
+    }
+
+    /**
+     * Calculate all events of every date in the given range lazily, e.g. for a calendar of a year.
+     * Consecutive days only advance the Julian cycle instead of converting every date again,
+     * the stream splits the range evenly when {@link Stream#parallel() parallel}.
+     *
+     * @param from      the first date
+     * @param to        the date after the last date, exclusive like {@link LocalDate#datesUntil(LocalDate)}
+     * @param latitude  the latitude of the location in degrees.
+     * @param longitude the longitude of the location in degrees (West is negative)
+     * @param zone      the zone of the dates and the events
+     *
+     * @return one day per date in order, each equal to {@link #calculateDay} at noon of the date
+     */
+    public Stream<SolarDay> stream(LocalDate from, LocalDate to, final double latitude, double longitude, ZoneId zone) {
+        return this.stream(from, to, latitude, longitude, zone, EnumSet.allOf(SolarEvent.class));
+    }
+
+    /**
+     * Same as {@link #stream(LocalDate, LocalDate, double, double, ZoneId)} restricted to the given events.
+     *
+     * @param events the events to calculate
+     */
+    public Stream<SolarDay> stream(LocalDate from, LocalDate to, final double latitude, double longitude, ZoneId zone, EnumSet<SolarEvent> events) {
+        return this.solarDayCalculator.streamSolarDays(from, to, latitude, longitude, zone, events);
     }
 
     public Optional<ZonedDateTime> calculatePreviousSolarMidnight(final ZonedDateTime day, final double latitude, double longitude) {
+        final var start = this.metricsRecorder.start();
         final var previousDay = day.minusDays(1);
 
-        return this.calculateAstronomicalDusk(previousDay, latitude, longitude)
-                .flatMap(dusk -> this.calculateAstronomicalDawn(day, latitude, longitude)
-                .map(dawn -> calculateMidpoint(dusk, dawn)));
+        return this.metricsRecorder.record(MeteredMethod.CALCULATE_PREVIOUS_SOLAR_MIDNIGHT, start, this.calculateSolarMidnight(previousDay, day, latitude, longitude));
     }
 
     /**
@@ -52,7 +110,9 @@ public class SolarTime {
      * @return astronomical dawn or empty if there is no astronomical twilight (e.g. no twilight in Antarctica in December)
      */
     public Optional<ZonedDateTime> calculateAstronomicalDawn(final ZonedDateTime day, final double latitude, double longitude) {
-        return this.dawnCalculator.calculateDawnEvent(day, latitude, longitude, Altitude.ASTRONOMICAL);
+        final var start = this.metricsRecorder.start();
+
+        return this.metricsRecorder.record(MeteredMethod.CALCULATE_ASTRONOMICAL_DAWN, start, this.dawnCalculator.calculateDawnEvent(day, latitude, longitude, Altitude.ASTRONOMICAL));
     }
 
     /**
@@ -65,7 +125,9 @@ public class SolarTime {
      * @return nautical dawn or empty if there is no nautical twilight (e.g. no twilight in Antarctica in December)
      */
     public Optional<ZonedDateTime> calculateNauticalDawn(final ZonedDateTime day, final double latitude, double longitude) {
-        return this.dawnCalculator.calculateDawnEvent(day, latitude, longitude, Altitude.NAUTICAL);
+        final var start = this.metricsRecorder.start();
+
+        return this.metricsRecorder.record(MeteredMethod.CALCULATE_NAUTICAL_DAWN, start, this.dawnCalculator.calculateDawnEvent(day, latitude, longitude, Altitude.NAUTICAL));
     }
 
     /**
@@ -78,19 +140,27 @@ public class SolarTime {
      * @return civil dawn or empty if there is no civil twilight (e.g. no twilight in Antarctica in December)
      */
     public Optional<ZonedDateTime> calculateCivilDawn(final ZonedDateTime day, final double latitude, double longitude) {
-        return this.dawnCalculator.calculateDawnEvent(day, latitude, longitude, Altitude.CIVIL);
+        final var start = this.metricsRecorder.start();
+
+        return this.metricsRecorder.record(MeteredMethod.CALCULATE_CIVIL_DAWN, start, this.dawnCalculator.calculateDawnEvent(day, latitude, longitude, Altitude.CIVIL));
     }
 
     public Optional<ZonedDateTime> calculateSunrise(final ZonedDateTime day, final double latitude, double longitude) {
-        return this.dawnCalculator.calculateDawnEvent(day, latitude,longitude, Altitude.SUNRISE_SUNSET);
+        final var start = this.metricsRecorder.start();
+
+        return this.metricsRecorder.record(MeteredMethod.CALCULATE_SUNRISE, start, this.dawnCalculator.calculateDawnEvent(day, latitude, longitude, Altitude.SUNRISE_SUNSET));
     }
 
     public Optional<ZonedDateTime> calculateSolarNoon(final ZonedDateTime day, final double latitude, double longitude) {
-        return this.solarNoonCalculator.calculateSolarNoon(day, latitude, longitude);
+        final var start = this.metricsRecorder.start();
+
+        return this.metricsRecorder.record(MeteredMethod.CALCULATE_SOLAR_NOON, start, this.solarNoonCalculator.calculateSolarNoon(day, latitude, longitude));
     }
 
     public Optional<ZonedDateTime> calculateSunset(final ZonedDateTime day, final double latitude, double longitude) {
-        return this.duskCalculator.calculateDuskEvent(day, latitude, longitude, Altitude.SUNRISE_SUNSET);
+        final var start = this.metricsRecorder.start();
+
+        return this.metricsRecorder.record(MeteredMethod.CALCULATE_SUNSET, start, this.duskCalculator.calculateDuskEvent(day, latitude, longitude, Altitude.SUNRISE_SUNSET));
     }
 
     /**
@@ -103,7 +173,9 @@ public class SolarTime {
      * @return civil dusk or empty if there is no civil twilight (e.g. no twilight in Antarctica in December)
      */
     public Optional<ZonedDateTime> calculateCivilDusk(final ZonedDateTime day, final double latitude, double longitude) {
-        return this.duskCalculator.calculateDuskEvent(day, latitude, longitude, Altitude.CIVIL);
+        final var start = this.metricsRecorder.start();
+
+        return this.metricsRecorder.record(MeteredMethod.CALCULATE_CIVIL_DUSK, start, this.duskCalculator.calculateDuskEvent(day, latitude, longitude, Altitude.CIVIL));
     }
 
     /**
@@ -116,7 +188,9 @@ public class SolarTime {
      * @return nautical dusk or empty if there is no nautical twilight (e.g. no twilight in Antarctica in December)
      */
     public Optional<ZonedDateTime> calculateNauticalDusk(final ZonedDateTime day, final double latitude, double longitude) {
-        return this.duskCalculator.calculateDuskEvent(day, latitude, longitude, Altitude.NAUTICAL);
+        final var start = this.metricsRecorder.start();
+
+        return this.metricsRecorder.record(MeteredMethod.CALCULATE_NAUTICAL_DUSK, start, this.duskCalculator.calculateDuskEvent(day, latitude, longitude, Altitude.NAUTICAL));
     }
 
     /**
@@ -129,14 +203,22 @@ public class SolarTime {
      * @return astronomical dusk or empty if there is no astronomical twilight (e.g. no twilight in Antarctica in December)
      */
     public Optional<ZonedDateTime> calculateAstronomicalDusk(final ZonedDateTime day, final double latitude, double longitude) {
-        return this.duskCalculator.calculateDuskEvent(day, latitude, longitude, Altitude.ASTRONOMICAL);
+        final var start = this.metricsRecorder.start();
+
+        return this.metricsRecorder.record(MeteredMethod.CALCULATE_ASTRONOMICAL_DUSK, start, this.duskCalculator.calculateDuskEvent(day, latitude, longitude, Altitude.ASTRONOMICAL));
     }
 
     public Optional<ZonedDateTime> calculateNextSolarMidnight(final ZonedDateTime day, final double latitude, double longitude) {
+        final var start = this.metricsRecorder.start();
         final var nextDay = day.plusDays(1);
 
-        return this.calculateAstronomicalDusk(day, latitude, longitude)
-                .flatMap(dusk -> this.calculateAstronomicalDawn(nextDay, latitude, longitude)
+        return this.metricsRecorder.record(MeteredMethod.CALCULATE_NEXT_SOLAR_MIDNIGHT, start, this.calculateSolarMidnight(day, nextDay, latitude, longitude));
+    }
+
+    private Optional<ZonedDateTime> calculateSolarMidnight(ZonedDateTime duskDay, ZonedDateTime dawnDay, double latitude, double longitude) {
+        // not through the public methods, which would count the events as calls
+        return this.duskCalculator.calculateDuskEvent(duskDay, latitude, longitude, Altitude.ASTRONOMICAL)
+                .flatMap(dusk -> this.dawnCalculator.calculateDawnEvent(dawnDay, latitude, longitude, Altitude.ASTRONOMICAL)
                 .map(dawn -> calculateMidpoint(dusk, dawn)));
     }
 
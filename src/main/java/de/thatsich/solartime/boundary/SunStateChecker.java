@@ -1,12 +1,27 @@
 package de.thatsich.solartime.boundary;
 
+import de.thatsich.solartime.control.DayPeriodTransitionCalculator;
 import de.thatsich.solartime.control.HourAngleCalculator;
+import de.thatsich.solartime.control.MetricsRecorder;
+import de.thatsich.solartime.control.PolarSeasonTable;
 import de.thatsich.solartime.control.SolarEquationVariableCalculator;
+import de.thatsich.solartime.control.SolarPositionCalculator;
+import de.thatsich.solartime.entity.Altitude;
+import de.thatsich.solartime.entity.ClassificationMode;
 import de.thatsich.solartime.entity.DayPeriod;
+import de.thatsich.solartime.entity.DayPeriodTransition;
+import de.thatsich.solartime.entity.MeteredMethod;
+import de.thatsich.solartime.entity.PolarSentinel;
+import de.thatsich.solartime.entity.PolarStatus;
 import de.thatsich.solartime.entity.SolarEquationVariables;
+import de.thatsich.solartime.entity.SolarEvent;
 import de.thatsich.solartime.entity.TimeSpan;
 
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.Optional;
 
 @SuppressWarnings({"unused", "WeakerAccess"})
 public class SunStateChecker {
@@ -14,11 +29,30 @@ public class SunStateChecker {
     private final SolarTime solarTime;
     private final HourAngleCalculator hourAngleCalculator;
     private final SolarEquationVariableCalculator solarEquationVariableCalculator;
+    private final SolarPositionCalculator solarPositionCalculator;
+    private final DayPeriodTransitionCalculator dayPeriodTransitionCalculator;
+    private final PolarSeasonTable polarSeasonTable;
+    private final ClassificationMode classificationMode;
+    private final MetricsRecorder metricsRecorder;
 
-    public SunStateChecker(SolarTime solarTime, HourAngleCalculator hourAngleCalculator, SolarEquationVariableCalculator solarEquationVariableCalculator) {
+    /**
+     * @param solarTime        answers the events of the checks, it should not record metrics itself
+     * @param polarSeasonTable answers polar days and nights of the checks before any event is calculated
+     * @param metricsRecorder  records the public methods of this checker
+     */
+    public SunStateChecker(SolarTime solarTime, HourAngleCalculator hourAngleCalculator, SolarEquationVariableCalculator solarEquationVariableCalculator, SolarPositionCalculator solarPositionCalculator, DayPeriodTransitionCalculator dayPeriodTransitionCalculator, PolarSeasonTable polarSeasonTable, ClassificationMode classificationMode, MetricsRecorder metricsRecorder) {
         this.solarTime = solarTime;
         this.hourAngleCalculator = hourAngleCalculator;
         this.solarEquationVariableCalculator = solarEquationVariableCalculator;
+        this.solarPositionCalculator = solarPositionCalculator;
+        this.dayPeriodTransitionCalculator = dayPeriodTransitionCalculator;
+        this.polarSeasonTable = polarSeasonTable;
+        this.classificationMode = classificationMode;
+        this.metricsRecorder = metricsRecorder;
+    }
+
+    public ClassificationMode getClassificationMode() {
+        return classificationMode;
     }
 
     /**
@@ -30,10 +64,12 @@ public class SunStateChecker {
      * before the sunset for that location.
      */
     public boolean isDay(ZonedDateTime dateTime, double latitude, double longitude) {
-        return this.solarTime.calculateSunrise(dateTime, latitude, longitude)
-                .flatMap(sunrise -> this.solarTime.calculateSunset(dateTime, latitude, longitude)
-                .map(sunset -> dateTime.isAfter(sunrise) && dateTime.isBefore(sunset)))
-                .orElseGet(() -> is24HourDayTime(dateTime, latitude, longitude));
+        final var start = this.metricsRecorder.start();
+        final var events = this.checkDay(dateTime, latitude, longitude);
+        final var result = events.orElseGet(() -> this.check24HourDayTime(dateTime, latitude, longitude));
+        this.metricsRecorder.record(MeteredMethod.IS_DAY, start, events.isEmpty());
+
+        return result;
     }
 
     /**
@@ -45,10 +81,12 @@ public class SunStateChecker {
      * the astronomical twilight dawn.
      */
     public boolean isNight(ZonedDateTime calendar, double latitude, double longitude) {
-        return this.solarTime.calculateAstronomicalDawn(calendar, latitude, longitude)
-                .flatMap(dawn -> this.solarTime.calculateAstronomicalDusk(calendar, latitude, longitude)
-                .map(dusk -> calendar.isBefore(dawn) || calendar.isAfter(dusk)))
-                .orElseGet(() -> is24HourNightTime(calendar, latitude, longitude));
+        final var start = this.metricsRecorder.start();
+        final var events = this.checkNight(calendar, latitude, longitude);
+        final var result = events.orElseGet(() -> this.check24HourNightTime(calendar, latitude, longitude));
+        this.metricsRecorder.record(MeteredMethod.IS_NIGHT, start, events.isEmpty());
+
+        return result;
     }
 
     /**
@@ -60,12 +98,12 @@ public class SunStateChecker {
      * or between civil twilight dawn and sunrise.
      */
     public boolean isCivilTwilight(ZonedDateTime calendar, double latitude, double longitude) {
-        return this.solarTime.calculateSunset(calendar, latitude, longitude)
-                .flatMap(sunset -> this.solarTime.calculateSunrise(calendar, latitude, longitude)
-                .flatMap(sunrise -> this.solarTime.calculateCivilDusk(calendar, latitude, longitude)
-                .flatMap(civilDusk -> this.solarTime.calculateCivilDawn(calendar, latitude, longitude)
-                .map(civilDawn -> inBetween(calendar, new TimeSpan(civilDawn, sunrise), new TimeSpan(sunset, civilDusk)))))).
-                orElse(false);
+        final var start = this.metricsRecorder.start();
+        final var events = this.checkCivilTwilight(calendar, latitude, longitude);
+        final var result = events.orElse(false);
+        this.metricsRecorder.record(MeteredMethod.IS_CIVIL_TWILIGHT, start, events.isEmpty());
+
+        return result;
     }
 
     /**
@@ -77,12 +115,12 @@ public class SunStateChecker {
      * or between nautical and civil twilight dawn.
      */
     public boolean isNauticalTwilight(ZonedDateTime calendar, double latitude, double longitude) {
-        return this.solarTime.calculateNauticalDawn(calendar, latitude, longitude)
-                .flatMap(nauticalDawn -> this.solarTime.calculateNauticalDusk(calendar, latitude, longitude)
-                .flatMap(nauticalDusk -> this.solarTime.calculateCivilDusk(calendar, latitude, longitude)
-                .flatMap(civilDusk -> this.solarTime.calculateCivilDawn(calendar, latitude, longitude)
-                .map(civilDawn -> inBetween(calendar, new TimeSpan(nauticalDawn, civilDawn), new TimeSpan(civilDusk, nauticalDusk)))))).
-                orElse(false);
+        final var start = this.metricsRecorder.start();
+        final var events = this.checkNauticalTwilight(calendar, latitude, longitude);
+        final var result = events.orElse(false);
+        this.metricsRecorder.record(MeteredMethod.IS_NAUTICAL_TWILIGHT, start, events.isEmpty());
+
+        return result;
     }
 
     /**
@@ -94,12 +132,12 @@ public class SunStateChecker {
      * or between astronomical and nautical twilight dawn.
      */
     public boolean isAstronomicalTwilight(ZonedDateTime calendar, double latitude, double longitude) {
-        return this.solarTime.calculateNauticalDawn(calendar, latitude, longitude)
-                .flatMap(nauticalDawn -> this.solarTime.calculateNauticalDusk(calendar, latitude, longitude)
-                .flatMap(nauticalDusk -> this.solarTime.calculateAstronomicalDusk(calendar, latitude, longitude)
-                .flatMap(astronomicalDusk -> this.solarTime.calculateAstronomicalDawn(calendar, latitude, longitude)
-                .map(astronomicalDawn -> inBetween(calendar, new TimeSpan(astronomicalDawn, nauticalDawn), new TimeSpan(nauticalDusk, astronomicalDusk)))))).
-                orElse(false);
+        final var start = this.metricsRecorder.start();
+        final var events = this.checkAstronomicalTwilight(calendar, latitude, longitude);
+        final var result = events.orElse(false);
+        this.metricsRecorder.record(MeteredMethod.IS_ASTRONOMICAL_TWILIGHT, start, events.isEmpty());
+
+        return result;
     }
 
     /**
@@ -109,30 +147,300 @@ public class SunStateChecker {
      * @return true if at the given location and dateTime, it is civil, nautical, or astronomical twilight.
      */
     public boolean isTwilight(ZonedDateTime dateTime, double latitude, double longitude) {
-        return isCivilTwilight(dateTime, latitude, longitude)
-                || isNauticalTwilight(dateTime, latitude, longitude)
-                || isAstronomicalTwilight(dateTime, latitude, longitude);
+        final var start = this.metricsRecorder.start();
+        if (this.classificationMode == ClassificationMode.SOLAR_ELEVATION) {
+            final var period = this.classifyBySolarElevation(dateTime, latitude, longitude);
+            final var result = period != DayPeriod.DAY && period != DayPeriod.NIGHT;
+            this.metricsRecorder.record(MeteredMethod.IS_TWILIGHT, start, false);
+
+            return result;
+        }
+
+        final var twilight = this.checkTwilight(dateTime, latitude, longitude);
+        final var result = twilight.orElse(false);
+        this.metricsRecorder.record(MeteredMethod.IS_TWILIGHT, start, twilight.isEmpty());
+
+        return result;
     }
 
+    /**
+     * @param dateTime  a datetime
+     * @param latitude  the latitude of the location in degrees.
+     * @param longitude the longitude of the location in degrees (West is negative)
+     * @return the period of the day at the given location and datetime, determined by the {@link ClassificationMode}
+     */
     public DayPeriod getDayPeriod(ZonedDateTime dateTime, double latitude, double longitude) {
+        final var start = this.metricsRecorder.start();
+        if (this.classificationMode == ClassificationMode.SOLAR_ELEVATION) {
+            final var period = this.classifyBySolarElevation(dateTime, latitude, longitude);
+            this.metricsRecorder.record(MeteredMethod.GET_DAY_PERIOD, start, false);
+
+            return period;
+        }
+
+        final var day = this.checkDay(dateTime, latitude, longitude);
         final DayPeriod period;
-        if (isDay(dateTime, latitude, longitude)) {
+        final boolean polar;
+        if (day.orElseGet(() -> this.check24HourDayTime(dateTime, latitude, longitude))) {
             period = DayPeriod.DAY;
-        } else if (isCivilTwilight(dateTime, latitude, longitude)) {
+            polar = day.isEmpty();
+        } else {
+            // no need to call isNight here if this is the default case
+            final var twilight = this.classifyTwilight(dateTime, latitude, longitude);
+            period = twilight.orElse(DayPeriod.NIGHT);
+            polar = day.isEmpty() || twilight.isEmpty();
+        }
+        this.metricsRecorder.record(MeteredMethod.GET_DAY_PERIOD, start, polar);
+
+        return period;
+    }
+
+    /**
+     * Classifies like {@link #getDayPeriod(ZonedDateTime, double, double)} with events calculated before, which
+     * saves the datetimes and optionals of the events when many instants are classified, e.g. by the {@link CsvEnricher}.
+     *
+     * @param epochSecond the instant in seconds since the epoch
+     * @param latitude    the latitude of the location in degrees.
+     * @param longitude   the longitude of the location in degrees (West is negative)
+     * @param events      at least the {@link #getClassificationEvents()} of the solar day around the instant,
+     *                    see {@link EpochSolarTime#calculateDayAround}
+     * @return the period of the day at the given location and instant, determined by the {@link ClassificationMode}
+     */
+    public DayPeriod getDayPeriod(long epochSecond, double latitude, double longitude, long[] events) {
+        final var start = this.metricsRecorder.start();
+        if (this.classificationMode == ClassificationMode.SOLAR_ELEVATION) {
+            final var period = DayPeriod.ofElevation(this.solarPositionCalculator.calculateElevation(epochSecond, latitude, longitude));
+            this.metricsRecorder.record(MeteredMethod.GET_DAY_PERIOD, start, false);
+
+            return period;
+        }
+
+        final var sunrise = events[SolarEvent.SUNRISE.ordinal()];
+        final var sunset = events[SolarEvent.SUNSET.ordinal()];
+        final var civilDawn = events[SolarEvent.CIVIL_DAWN.ordinal()];
+        final var civilDusk = events[SolarEvent.CIVIL_DUSK.ordinal()];
+        final var nauticalDawn = events[SolarEvent.NAUTICAL_DAWN.ordinal()];
+        final var nauticalDusk = events[SolarEvent.NAUTICAL_DUSK.ordinal()];
+        final var astronomicalDawn = events[SolarEvent.ASTRONOMICAL_DAWN.ordinal()];
+        final var astronomicalDusk = events[SolarEvent.ASTRONOMICAL_DUSK.ordinal()];
+
+        // without sunrise and sunset the horizon decides like it does for the datetime, which is rare enough to allocate
+        final var withoutSunrise = PolarSentinel.isPolar(sunrise);
+        final DayPeriod period;
+        final boolean polar;
+        if (withoutSunrise
+                ? this.check24HourDayTime(ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC), latitude, longitude)
+                : inBetween(epochSecond, sunrise, sunset)) {
+            period = DayPeriod.DAY;
+            polar = withoutSunrise;
+        } else if (inTwilight(epochSecond, civilDawn, sunrise, sunset, civilDusk)) {
             period = DayPeriod.CIVIL_TWILIGHT;
-        } else if (isNauticalTwilight(dateTime, latitude, longitude)) {
+            polar = withoutSunrise;
+        } else if (inTwilight(epochSecond, nauticalDawn, civilDawn, civilDusk, nauticalDusk)) {
             period = DayPeriod.NAUTICAL_TWILIGHT;
-        } else if (isAstronomicalTwilight(dateTime, latitude, longitude)) {
+            polar = withoutSunrise;
+        } else if (inTwilight(epochSecond, astronomicalDawn, nauticalDawn, nauticalDusk, astronomicalDusk)) {
             period = DayPeriod.ASTRONOMICAL_TWILIGHT;
+            polar = withoutSunrise;
         } else {
-            // no need to call isNight here if this is the default case
             period = DayPeriod.NIGHT;
+            polar = withoutSunrise || PolarSentinel.isPolar(civilDawn) || PolarSentinel.isPolar(nauticalDawn) || PolarSentinel.isPolar(astronomicalDawn);
         }
+        this.metricsRecorder.record(MeteredMethod.GET_DAY_PERIOD, start, polar);
 
         return period;
     }
 
+    /**
+     * @return the events {@link #getDayPeriod(long, double, double, long[])} needs in the {@link ClassificationMode} of this checker
+     */
+    public EnumSet<SolarEvent> getClassificationEvents() {
+        return this.classificationMode == ClassificationMode.SOLAR_ELEVATION
+                ? EnumSet.noneOf(SolarEvent.class)
+                : EnumSet.complementOf(EnumSet.of(SolarEvent.SOLAR_NOON));
+    }
+
+    /**
+     * Answers when the current period ends instead of polling {@link #getDayPeriod} repeatedly.
+     * Transitions are the dawn and dusk events of {@link SolarTime}, independent of the {@link ClassificationMode}.
+     * Weeks of polar day or polar night are skipped in a few steps.
+     *
+     * @param instant   the instant to search from
+     * @param latitude  the latitude of the location in degrees.
+     * @param longitude the longitude of the location in degrees (West is negative)
+     * @return the first transition after the instant or empty if the period does not change within a year (e.g. at the poles)
+     */
+    public Optional<DayPeriodTransition> nextTransition(Instant instant, double latitude, double longitude) {
+        final var start = this.metricsRecorder.start();
+
+        return this.metricsRecorder.record(MeteredMethod.NEXT_TRANSITION, start, this.dayPeriodTransitionCalculator.calculateNextTransition(instant.getEpochSecond(), latitude, longitude));
+    }
+
+    /**
+     * @param instant   the instant to search from
+     * @param latitude  the latitude of the location in degrees.
+     * @param longitude the longitude of the location in degrees (West is negative)
+     * @return the last transition at or before the instant, its period is the current one,
+     * or empty if the period did not change within a year (e.g. at the poles)
+     */
+    public Optional<DayPeriodTransition> previousTransition(Instant instant, double latitude, double longitude) {
+        final var start = this.metricsRecorder.start();
+
+        return this.metricsRecorder.record(MeteredMethod.PREVIOUS_TRANSITION, start, this.dayPeriodTransitionCalculator.calculatePreviousTransition(instant.getEpochSecond(), latitude, longitude));
+    }
+
     public boolean is24HourDayTime(ZonedDateTime day, double latitude, double longitude) {
+        final var start = this.metricsRecorder.start();
+        final var result = this.check24HourDayTime(day, latitude, longitude);
+        this.metricsRecorder.record(MeteredMethod.IS_24_HOUR_DAY_TIME, start, result);
+
+        return result;
+    }
+
+    public boolean is24HourNightTime(ZonedDateTime day, double latitude, double longitude) {
+        final var start = this.metricsRecorder.start();
+        final var result = this.check24HourNightTime(day, latitude, longitude);
+        this.metricsRecorder.record(MeteredMethod.IS_24_HOUR_NIGHT_TIME, start, result);
+
+        return result;
+    }
+
+    /**
+     * @return whether it is day or empty if there is no sunrise or sunset, then {@link #check24HourDayTime} decides
+     */
+    private Optional<Boolean> checkDay(ZonedDateTime dateTime, double latitude, double longitude) {
+        if (this.classificationMode == ClassificationMode.SOLAR_ELEVATION) {
+            return Optional.of(this.classifyBySolarElevation(dateTime, latitude, longitude) == DayPeriod.DAY);
+        }
+
+        // without sunrise and sunset the horizon decides
+        if (this.isPolar(dateTime.toEpochSecond(), latitude, Altitude.SUNRISE_SUNSET)) {
+            return Optional.empty();
+        }
+
+        return this.solarTime.calculateSunrise(dateTime, latitude, longitude)
+                .flatMap(sunrise -> this.solarTime.calculateSunset(dateTime, latitude, longitude)
+                .map(sunset -> dateTime.isAfter(sunrise) && dateTime.isBefore(sunset)));
+    }
+
+    /**
+     * @return whether it is night or empty if there is no astronomical dawn or dusk, then {@link #check24HourNightTime} decides
+     */
+    private Optional<Boolean> checkNight(ZonedDateTime calendar, double latitude, double longitude) {
+        if (this.classificationMode == ClassificationMode.SOLAR_ELEVATION) {
+            return Optional.of(this.classifyBySolarElevation(calendar, latitude, longitude) == DayPeriod.NIGHT);
+        }
+
+        // without astronomical dawn and dusk the horizon decides
+        if (this.isPolar(calendar.toEpochSecond(), latitude, Altitude.ASTRONOMICAL)) {
+            return Optional.empty();
+        }
+
+        return this.solarTime.calculateAstronomicalDawn(calendar, latitude, longitude)
+                .flatMap(dawn -> this.solarTime.calculateAstronomicalDusk(calendar, latitude, longitude)
+                .map(dusk -> calendar.isBefore(dawn) || calendar.isAfter(dusk)));
+    }
+
+    /**
+     * @return whether it is civil twilight or empty if one of its four events is missing
+     */
+    private Optional<Boolean> checkCivilTwilight(ZonedDateTime calendar, double latitude, double longitude) {
+        if (this.classificationMode == ClassificationMode.SOLAR_ELEVATION) {
+            return Optional.of(this.classifyBySolarElevation(calendar, latitude, longitude) == DayPeriod.CIVIL_TWILIGHT);
+        }
+
+        // the twilight needs all four events
+        final var epochSecond = calendar.toEpochSecond();
+        if (this.isPolar(epochSecond, latitude, Altitude.SUNRISE_SUNSET) || this.isPolar(epochSecond, latitude, Altitude.CIVIL)) {
+            return Optional.empty();
+        }
+
+        return this.solarTime.calculateSunset(calendar, latitude, longitude)
+                .flatMap(sunset -> this.solarTime.calculateSunrise(calendar, latitude, longitude)
+                .flatMap(sunrise -> this.solarTime.calculateCivilDusk(calendar, latitude, longitude)
+                .flatMap(civilDusk -> this.solarTime.calculateCivilDawn(calendar, latitude, longitude)
+                .map(civilDawn -> inBetween(calendar, new TimeSpan(civilDawn, sunrise), new TimeSpan(sunset, civilDusk))))));
+    }
+
+    /**
+     * @return whether it is nautical twilight or empty if one of its four events is missing
+     */
+    private Optional<Boolean> checkNauticalTwilight(ZonedDateTime calendar, double latitude, double longitude) {
+        if (this.classificationMode == ClassificationMode.SOLAR_ELEVATION) {
+            return Optional.of(this.classifyBySolarElevation(calendar, latitude, longitude) == DayPeriod.NAUTICAL_TWILIGHT);
+        }
+
+        // the twilight needs all four events
+        final var epochSecond = calendar.toEpochSecond();
+        if (this.isPolar(epochSecond, latitude, Altitude.CIVIL) || this.isPolar(epochSecond, latitude, Altitude.NAUTICAL)) {
+            return Optional.empty();
+        }
+
+        return this.solarTime.calculateNauticalDawn(calendar, latitude, longitude)
+                .flatMap(nauticalDawn -> this.solarTime.calculateNauticalDusk(calendar, latitude, longitude)
+                .flatMap(nauticalDusk -> this.solarTime.calculateCivilDusk(calendar, latitude, longitude)
+                .flatMap(civilDusk -> this.solarTime.calculateCivilDawn(calendar, latitude, longitude)
+                .map(civilDawn -> inBetween(calendar, new TimeSpan(nauticalDawn, civilDawn), new TimeSpan(civilDusk, nauticalDusk))))));
+    }
+
+    /**
+     * @return whether it is astronomical twilight or empty if one of its four events is missing
+     */
+    private Optional<Boolean> checkAstronomicalTwilight(ZonedDateTime calendar, double latitude, double longitude) {
+        if (this.classificationMode == ClassificationMode.SOLAR_ELEVATION) {
+            return Optional.of(this.classifyBySolarElevation(calendar, latitude, longitude) == DayPeriod.ASTRONOMICAL_TWILIGHT);
+        }
+
+        // the twilight needs all four events
+        final var epochSecond = calendar.toEpochSecond();
+        if (this.isPolar(epochSecond, latitude, Altitude.NAUTICAL) || this.isPolar(epochSecond, latitude, Altitude.ASTRONOMICAL)) {
+            return Optional.empty();
+        }
+
+        return this.solarTime.calculateNauticalDawn(calendar, latitude, longitude)
+                .flatMap(nauticalDawn -> this.solarTime.calculateNauticalDusk(calendar, latitude, longitude)
+                .flatMap(nauticalDusk -> this.solarTime.calculateAstronomicalDusk(calendar, latitude, longitude)
+                .flatMap(astronomicalDusk -> this.solarTime.calculateAstronomicalDawn(calendar, latitude, longitude)
+                .map(astronomicalDawn -> inBetween(calendar, new TimeSpan(astronomicalDawn, nauticalDawn), new TimeSpan(nauticalDusk, astronomicalDusk))))));
+    }
+
+    /**
+     * @return whether it is any twilight or empty if there is none and an event of a twilight is missing
+     */
+    private Optional<Boolean> checkTwilight(ZonedDateTime dateTime, double latitude, double longitude) {
+        return this.classifyTwilight(dateTime, latitude, longitude).map(period -> period != DayPeriod.NIGHT);
+    }
+
+    /**
+     * @return the twilight at the datetime, night if there is none or empty if there is none and an event of a twilight is missing
+     */
+    private Optional<DayPeriod> classifyTwilight(ZonedDateTime dateTime, double latitude, double longitude) {
+        final var civilTwilight = this.checkCivilTwilight(dateTime, latitude, longitude);
+        if (civilTwilight.orElse(false)) {
+            return Optional.of(DayPeriod.CIVIL_TWILIGHT);
+        }
+
+        final var nauticalTwilight = this.checkNauticalTwilight(dateTime, latitude, longitude);
+        if (nauticalTwilight.orElse(false)) {
+            return Optional.of(DayPeriod.NAUTICAL_TWILIGHT);
+        }
+
+        final var astronomicalTwilight = this.checkAstronomicalTwilight(dateTime, latitude, longitude);
+        if (astronomicalTwilight.orElse(false)) {
+            return Optional.of(DayPeriod.ASTRONOMICAL_TWILIGHT);
+        }
+
+        final var polar = civilTwilight.isEmpty() || nauticalTwilight.isEmpty() || astronomicalTwilight.isEmpty();
+
+        return polar ? Optional.empty() : Optional.of(DayPeriod.NIGHT);
+    }
+
+    private boolean check24HourDayTime(ZonedDateTime day, double latitude, double longitude) {
+        final var horizon = this.polarSeasonTable.classifyHorizon(day.toEpochSecond(), latitude);
+        if (horizon != PolarSeasonTable.UNKNOWN) {
+            return horizon == PolarStatus.POLAR_DAY;
+        }
+
         final SolarEquationVariables solarEquationVariables = solarEquationVariableCalculator.calculateSolarEquationVariables(day, longitude);
         final var sunDeclination = solarEquationVariables.getDelta();
         final var rads = Math.toRadians(latitude);
@@ -140,7 +448,12 @@ public class SunStateChecker {
         return hourAngleCalculator.is24HourDayTime(rads, sunDeclination);
     }
 
-    public boolean is24HourNightTime(ZonedDateTime day, double latitude, double longitude) {
+    private boolean check24HourNightTime(ZonedDateTime day, double latitude, double longitude) {
+        final var horizon = this.polarSeasonTable.classifyHorizon(day.toEpochSecond(), latitude);
+        if (horizon != PolarSeasonTable.UNKNOWN) {
+            return horizon == PolarStatus.POLAR_NIGHT;
+        }
+
         final SolarEquationVariables solarEquationVariables = solarEquationVariableCalculator.calculateSolarEquationVariables(day, longitude);
         final var sunDeclination = solarEquationVariables.getDelta();
         final var rads = Math.toRadians(latitude);
@@ -148,6 +461,36 @@ public class SunStateChecker {
         return hourAngleCalculator.is24HourNightTime(rads, sunDeclination);
     }
 
+    /**
+     * @return true if the sun certainly does not cross the altitude, i.e. its events are empty
+     */
+    private boolean isPolar(long epochSecond, double latitude, Altitude altitude) {
+        final var status = this.polarSeasonTable.classify(epochSecond, latitude, altitude);
+
+        return status == PolarStatus.POLAR_DAY || status == PolarStatus.POLAR_NIGHT;
+    }
+
+    private DayPeriod classifyBySolarElevation(ZonedDateTime dateTime, double latitude, double longitude) {
+        final var elevation = this.solarPositionCalculator.calculateElevation(dateTime.toEpochSecond(), dateTime.getNano(), latitude, longitude);
+
+        return DayPeriod.ofElevation(elevation);
+    }
+
+    /**
+     * @return true if the instant is within one of the spans, a span with a {@link PolarSentinel} does not occur
+     */
+    private static boolean inTwilight(long epochSecond, long dawn, long dawnEnd, long duskStart, long dusk) {
+        if (PolarSentinel.isPolar(dawn) || PolarSentinel.isPolar(dawnEnd) || PolarSentinel.isPolar(duskStart) || PolarSentinel.isPolar(dusk)) {
+            return false;
+        }
+
+        return inBetween(epochSecond, dawn, dawnEnd) || inBetween(epochSecond, duskStart, dusk);
+    }
+
+    private static boolean inBetween(long epochSecond, long earlier, long later) {
+        return epochSecond > earlier && epochSecond < later;
+    }
+
     private boolean inBetween(ZonedDateTime now, TimeSpan early, TimeSpan late) {
         final var inEarly = now.isAfter(early.getEarlier()) && now.isBefore(early.getLater());
         final var inLater = now.isAfter(late.getEarlier()) && now.isBefore(late.getLater());
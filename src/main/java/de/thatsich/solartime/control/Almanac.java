@@ -0,0 +1,150 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.PolarSentinel;
+import de.thatsich.solartime.entity.SolarEvent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read only view of an almanac written by {@link AlmanacGenerator}, mapped into memory with {@link FileChannel#map}.
+ * A lookup is a single indexed read and does not allocate, the pages are shared by all processes mapping the file.
+ * <br>
+ * Layout, big endian:
+ * <ul>
+ * <li>header: magic and version as ints, first epoch day as long, number of days and of locations as ints</li>
+ * <li>per location: latitude and longitude as doubles</li>
+ * <li>per location and day, location by location: a record of {@value #RECORD_BYTES} bytes holding every {@link SolarEvent}
+ * in seconds since 00:00 UTC of the day as int, ordered by ordinal, followed by an int of polar flags.
+ * Bit {@code ordinal} marks a polar day, bit {@code 16 + ordinal} a polar night of the event.</li>
+ * </ul>
+ * Events are those of {@link de.thatsich.solartime.boundary.EpochSolarTime} for the same epoch day,
+ * they may lie before or after the UTC day at far eastern or western longitudes.
+ */
+public class Almanac {
+
+    static final int MAGIC = 0x534F4C41; // "SOLA"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 2 * Integer.BYTES + Long.BYTES + 2 * Integer.BYTES;
+    static final int LOCATION_BYTES = 2 * Double.BYTES;
+    static final int EVENTS = SolarEvent.values().length;
+    static final int RECORD_BYTES = (EVENTS + 1) * Integer.BYTES;
+    static final int POLAR_NIGHT_SHIFT = 16;
+
+    private static final long SECONDS_PER_DAY = 86400;
+
+    // a buffer holds at most 2 GB, large almanacs are mapped in segments of whole locations
+    private static final long MAX_SEGMENT_BYTES = Integer.MAX_VALUE;
+
+    private final ByteBuffer[] segments;
+    private final int locationsPerSegment;
+    private final long firstEpochDay;
+    private final int days;
+    private final double[] latitudes;
+    private final double[] longitudes;
+
+    private Almanac(FileChannel channel) throws IOException {
+        final var header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+        if (header.getInt(0) != MAGIC || header.getInt(Integer.BYTES) != VERSION) {
+            throw new IllegalArgumentException("not an almanac of version " + VERSION);
+        }
+        this.firstEpochDay = header.getLong(2 * Integer.BYTES);
+        this.days = header.getInt(2 * Integer.BYTES + Long.BYTES);
+        final var locations = header.getInt(3 * Integer.BYTES + Long.BYTES);
+
+        final var recordsOffset = HEADER_BYTES + (long) locations * LOCATION_BYTES;
+        final var locationStride = (long) this.days * RECORD_BYTES;
+        if (channel.size() != recordsOffset + locations * locationStride) {
+            throw new IllegalArgumentException("almanac is truncated, expected " + locations + " locations of " + this.days + " days");
+        }
+
+        final var locationTable = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, (long) locations * LOCATION_BYTES);
+        this.latitudes = new double[locations];
+        this.longitudes = new double[locations];
+        for (var location = 0; location < locations; location++) {
+            this.latitudes[location] = locationTable.getDouble(location * LOCATION_BYTES);
+            this.longitudes[location] = locationTable.getDouble(location * LOCATION_BYTES + Double.BYTES);
+        }
+
+        this.locationsPerSegment = (int) Math.max(1, Math.min(locations, MAX_SEGMENT_BYTES / Math.max(1, locationStride)));
+        this.segments = new ByteBuffer[(locations + this.locationsPerSegment - 1) / this.locationsPerSegment];
+        for (var segment = 0; segment < this.segments.length; segment++) {
+            final var firstLocation = (long) segment * this.locationsPerSegment;
+            final var segmentLocations = Math.min(this.locationsPerSegment, locations - firstLocation);
+            this.segments[segment] = channel.map(FileChannel.MapMode.READ_ONLY, recordsOffset + firstLocation * locationStride, segmentLocations * locationStride);
+        }
+    }
+
+    /**
+     * @param file an almanac written by {@link AlmanacGenerator}
+     * @return the mapped almanac, the file can be closed or deleted afterwards on most platforms
+     * @throws UncheckedIOException     if the file can not be read
+     * @throws IllegalArgumentException if the file is not an almanac
+     */
+    public static Almanac open(Path file) {
+        try (final var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new Almanac(channel);
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not map almanac " + file, e);
+        }
+    }
+
+    /**
+     * @param location the index of the location in the list the almanac was generated for
+     * @param epochDay the day as days since 1970-01-01
+     * @param event    the event
+     * @return the event in seconds since the epoch or a {@link PolarSentinel}
+     * @throws IndexOutOfBoundsException if the location or the day is not covered by the almanac
+     */
+    public long getEpochSecond(int location, long epochDay, SolarEvent event) {
+        final var segment = this.segments[location / this.locationsPerSegment];
+        final var record = this.recordOffset(location, epochDay);
+
+        final var polarFlags = segment.getInt(record + EVENTS * Integer.BYTES);
+        final var ordinal = event.ordinal();
+        if ((polarFlags & 1 << ordinal) != 0) {
+            return PolarSentinel.POLAR_DAY;
+        }
+        if ((polarFlags & 1 << (POLAR_NIGHT_SHIFT + ordinal)) != 0) {
+            return PolarSentinel.POLAR_NIGHT;
+        }
+
+        return epochDay * SECONDS_PER_DAY + segment.getInt(record + ordinal * Integer.BYTES);
+    }
+
+    public long getFirstEpochDay() {
+        return firstEpochDay;
+    }
+
+    /**
+     * @return the last covered day as days since 1970-01-01
+     */
+    public long getLastEpochDay() {
+        return this.firstEpochDay + this.days - 1;
+    }
+
+    public int getLocationCount() {
+        return this.latitudes.length;
+    }
+
+    public double getLatitude(int location) {
+        return this.latitudes[location];
+    }
+
+    public double getLongitude(int location) {
+        return this.longitudes[location];
+    }
+
+    private int recordOffset(int location, long epochDay) {
+        final var day = epochDay - this.firstEpochDay;
+        if (day < 0 || day >= this.days || location < 0 || location >= this.latitudes.length) {
+            throw new IndexOutOfBoundsException("location " + location + " on epoch day " + epochDay + " is not covered by the almanac");
+        }
+
+        return (int) (((long) (location % this.locationsPerSegment) * this.days + day) * RECORD_BYTES);
+    }
+}
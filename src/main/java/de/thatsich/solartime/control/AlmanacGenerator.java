@@ -0,0 +1,117 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.PolarSentinel;
+import de.thatsich.solartime.entity.SolarEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Precalculates every {@link SolarEvent} of a list of locations and a range of years into an {@link Almanac}.
+ */
+public class AlmanacGenerator {
+
+    private static final long SECONDS_PER_DAY = 86400;
+    private static final Set<SolarEvent> ALL_EVENTS = EnumSet.allOf(SolarEvent.class);
+
+    private final EpochEventCalculator epochEventCalculator;
+
+    public AlmanacGenerator(EpochEventCalculator epochEventCalculator) {
+        this.epochEventCalculator = epochEventCalculator;
+    }
+
+    /**
+     * @param args the file to write, a file of {@code latitude,longitude} lines, the first and the last year
+     */
+    public static void main(String[] args) throws IOException {
+        final var file = Path.of(args[0]);
+        final var lines = Files.readAllLines(Path.of(args[1]));
+        final var firstYear = Integer.parseInt(args[2]);
+        final var lastYear = Integer.parseInt(args[3]);
+
+        final var latitudes = new double[lines.size()];
+        final var longitudes = new double[lines.size()];
+        for (var location = 0; location < lines.size(); location++) {
+            final var coordinates = lines.get(location).split(",");
+            latitudes[location] = Double.parseDouble(coordinates[0].trim());
+            longitudes[location] = Double.parseDouble(coordinates[1].trim());
+        }
+
+        final var dateConverter = new DateConverter();
+        final var epochEventCalculator = new EpochEventCalculator(new SolarEquationVariableCalculator(dateConverter), new HourAngleCalculator(), dateConverter);
+        new AlmanacGenerator(epochEventCalculator).generate(file, latitudes, longitudes, firstYear, lastYear);
+    }
+
+    /**
+     * @param file       the file to write
+     * @param latitudes  the latitudes of the locations in degrees
+     * @param longitudes the longitudes of the locations in degrees (West is negative)
+     * @param firstYear  the first year
+     * @param lastYear   the last year, inclusive
+     * @throws IllegalArgumentException if the arrays differ in length or the years are reversed
+     */
+    public void generate(Path file, double[] latitudes, double[] longitudes, int firstYear, int lastYear) throws IOException {
+        if (latitudes.length != longitudes.length) {
+            throw new IllegalArgumentException("latitudes and longitudes need the same length, but were " + latitudes.length + " and " + longitudes.length);
+        }
+        if (firstYear > lastYear) {
+            throw new IllegalArgumentException("first year " + firstYear + " is after last year " + lastYear);
+        }
+
+        final var firstEpochDay = LocalDate.of(firstYear, 1, 1).toEpochDay();
+        final var days = (int) (LocalDate.of(lastYear + 1, 1, 1).toEpochDay() - firstEpochDay);
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (final var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final var header = ByteBuffer.allocate(Almanac.HEADER_BYTES + latitudes.length * Almanac.LOCATION_BYTES);
+            header.putInt(Almanac.MAGIC).putInt(Almanac.VERSION).putLong(firstEpochDay).putInt(days).putInt(latitudes.length);
+            for (var location = 0; location < latitudes.length; location++) {
+                header.putDouble(latitudes[location]).putDouble(longitudes[location]);
+            }
+            write(channel, header.flip());
+
+            // one location at a time, the records of a location are contiguous
+            final var records = ByteBuffer.allocate(days * Almanac.RECORD_BYTES);
+            final var events = new long[Almanac.EVENTS];
+            for (var location = 0; location < latitudes.length; location++) {
+                records.clear();
+                for (var day = 0; day < days; day++) {
+                    final var epochDay = firstEpochDay + day;
+                    this.epochEventCalculator.calculateEvents(epochDay * SECONDS_PER_DAY + SECONDS_PER_DAY / 2, latitudes[location], longitudes[location], ALL_EVENTS, events);
+                    putRecord(records, epochDay, events);
+                }
+                write(channel, records.flip());
+            }
+        }
+    }
+
+    private static void putRecord(ByteBuffer records, long epochDay, long[] events) {
+        var polarFlags = 0;
+        for (var ordinal = 0; ordinal < events.length; ordinal++) {
+            final var event = events[ordinal];
+            if (event == PolarSentinel.POLAR_DAY) {
+                polarFlags |= 1 << ordinal;
+                records.putInt(0);
+            } else if (event == PolarSentinel.POLAR_NIGHT) {
+                polarFlags |= 1 << (Almanac.POLAR_NIGHT_SHIFT + ordinal);
+                records.putInt(0);
+            } else {
+                records.putInt((int) (event - epochDay * SECONDS_PER_DAY));
+            }
+        }
+        records.putInt(polarFlags);
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
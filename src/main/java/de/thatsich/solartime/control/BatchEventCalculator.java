@@ -0,0 +1,103 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.Altitude;
+import de.thatsich.solartime.entity.PolarSentinel;
+import de.thatsich.solartime.entity.PolarStatus;
+import de.thatsich.solartime.entity.SolarEvent;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Calculates dawn and dusk of one date for many locations given as structure of arrays.
+ * The date dependent terms are calculated once per date as {@link DailySolarTerms},
+ * the remaining work per location is the hour angle, done by a {@link BatchKernel}.
+ * <br>
+ * Calculators which refine their events, see {@link SolarEquationVariableCalculator#getEventRefinements()},
+ * need the variables at every single event. Their events are calculated location by location with the
+ * {@link EpochEventCalculator} instead and equal the single location API.
+ */
+public class BatchEventCalculator {
+
+    // dawn and dusk of each altitude
+    private static final Map<Altitude, Set<SolarEvent>> EVENTS = new EnumMap<>(Altitude.class);
+
+    static {
+        for (final var altitude : Altitude.values()) {
+            EVENTS.put(altitude, EnumSet.noneOf(SolarEvent.class));
+        }
+        for (final var event : SolarEvent.values()) {
+            if (event.isDawn() || event.isDusk()) {
+                EVENTS.get(event.getAltitude()).add(event);
+            }
+        }
+    }
+
+    private final SolarEquationVariableCalculator solarCalculator;
+    private final EpochEventCalculator epochEventCalculator;
+    private final DateConverter dateConverter;
+    private final BatchKernel batchKernel;
+
+    public BatchEventCalculator(SolarEquationVariableCalculator solarCalculator, EpochEventCalculator epochEventCalculator, DateConverter dateConverter, BatchKernel batchKernel) {
+        this.solarCalculator = solarCalculator;
+        this.epochEventCalculator = epochEventCalculator;
+        this.dateConverter = dateConverter;
+        this.batchKernel = batchKernel;
+    }
+
+    /**
+     * @param epochSecond an instant of the date in seconds since the epoch
+     * @return the terms shared by all locations on that date
+     */
+    public DailySolarTerms calculateDailySolarTerms(long epochSecond) {
+        return new DailySolarTerms(this.solarCalculator, this.dateConverter.toJulianDate(epochSecond));
+    }
+
+    /**
+     * Calculates dawn and dusk for the locations in [from, to).
+     *
+     * @param terms       the terms of the date, see {@link #calculateDailySolarTerms(long)}
+     * @param altitude    the altitude the sun crosses
+     * @param latitudes   the latitudes of the locations in degrees
+     * @param longitudes  the longitudes of the locations in degrees (West is negative)
+     * @param from        the first location, inclusive
+     * @param to          the last location, exclusive
+     * @param dawns       receives the dawns in seconds since the epoch or a {@link PolarSentinel}
+     * @param dusks       receives the dusks in seconds since the epoch or a {@link PolarSentinel}
+     * @param polarStatus receives the {@link PolarStatus} of every location
+     */
+    public void calculateEvents(DailySolarTerms terms, Altitude altitude, double[] latitudes, double[] longitudes, int from, int to, long[] dawns, long[] dusks, byte[] polarStatus) {
+        if (this.solarCalculator.getEventRefinements() > 0) {
+            this.calculateRefinedEvents(terms, altitude, latitudes, longitudes, from, to, dawns, dusks, polarStatus);
+            return;
+        }
+
+        final var sinAltitude = Math.sin(Math.toRadians(altitude.getValue()));
+
+        this.batchKernel.calculateEvents(terms, sinAltitude, latitudes, longitudes, from, to, dawns, dusks, polarStatus);
+    }
+
+    private void calculateRefinedEvents(DailySolarTerms terms, Altitude altitude, double[] latitudes, double[] longitudes, int from, int to, long[] dawns, long[] dusks, byte[] polarStatus) {
+        final var events = EVENTS.get(altitude);
+        final var dawn = events.stream().filter(SolarEvent::isDawn).findFirst().orElseThrow().ordinal();
+        final var dusk = events.stream().filter(SolarEvent::isDusk).findFirst().orElseThrow().ordinal();
+        final var target = new long[SolarEvent.values().length];
+
+        for (var i = from; i < to; i++) {
+            final var n = this.solarCalculator.calculateJulianCycle(terms.julianDate(), longitudes[i]);
+            this.epochEventCalculator.calculateEventsOfCycle(n, latitudes[i], longitudes[i], events, target);
+
+            dawns[i] = target[dawn];
+            dusks[i] = target[dusk];
+            polarStatus[i] = target[dawn] == PolarSentinel.POLAR_DAY ? PolarStatus.POLAR_DAY
+                    : target[dawn] == PolarSentinel.POLAR_NIGHT ? PolarStatus.POLAR_NIGHT
+                    : PolarStatus.NONE;
+        }
+    }
+
+    public BatchKernel getBatchKernel() {
+        return this.batchKernel;
+    }
+}
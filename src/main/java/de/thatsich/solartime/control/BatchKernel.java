@@ -0,0 +1,32 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.PolarSentinel;
+import de.thatsich.solartime.entity.PolarStatus;
+
+/**
+ * The per location part of the batch calculation: hour angle, dawn and dusk.
+ *
+ * @see BatchKernels#select()
+ */
+public interface BatchKernel {
+
+    /**
+     * Calculates dawn and dusk for the locations in [from, to).
+     *
+     * @param terms       the terms of the date
+     * @param sinAltitude the sine of the altitude the sun crosses
+     * @param latitudes   the latitudes of the locations in degrees
+     * @param longitudes  the longitudes of the locations in degrees (West is negative)
+     * @param from        the first location, inclusive
+     * @param to          the last location, exclusive
+     * @param dawns       receives the dawns in seconds since the epoch or a {@link PolarSentinel}
+     * @param dusks       receives the dusks in seconds since the epoch or a {@link PolarSentinel}
+     * @param polarStatus receives the {@link PolarStatus} of every location
+     */
+    void calculateEvents(DailySolarTerms terms, double sinAltitude, double[] latitudes, double[] longitudes, int from, int to, long[] dawns, long[] dusks, byte[] polarStatus);
+
+    /**
+     * @return a short name for logs and benchmarks
+     */
+    String getName();
+}
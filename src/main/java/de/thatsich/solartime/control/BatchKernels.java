@@ -0,0 +1,66 @@
+package de.thatsich.solartime.control;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Selects the fastest {@link BatchKernel} the running JVM supports.
+ * <br>
+ * The SIMD kernel needs Java 16+ started with {@code --add-modules jdk.incubator.vector} and a library
+ * built on Java 16+. Otherwise, or with {@code -D}{@value #KERNEL_PROPERTY}{@code =scalar}, the scalar loop is used.
+ * The SIMD kernel has its own trigonometric functions and only stands in for {@link Trigonometry#JDK}.
+ */
+public class BatchKernels {
+
+    public static final String KERNEL_PROPERTY = "solartime.batch.kernel";
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL = "de.thatsich.solartime.control.VectorBatchKernel";
+
+    private BatchKernels() {
+        // hide implicit public constructor
+    }
+
+    public static BatchKernel select() {
+        return select(Trigonometry.JDK);
+    }
+
+    /**
+     * @param trigonometry the trigonometric functions the kernel has to agree with
+     * @return the SIMD kernel for {@link Trigonometry#JDK} if supported, the scalar kernel otherwise
+     */
+    public static BatchKernel select(Trigonometry trigonometry) {
+        final var requested = System.getProperty(KERNEL_PROPERTY, "vector");
+        if ("vector".equals(requested) && trigonometry == Trigonometry.JDK) {
+            final var vector = createVectorKernel();
+            if (vector != null) {
+                return vector;
+            }
+        }
+
+        return createScalarKernel(trigonometry);
+    }
+
+    public static BatchKernel createScalarKernel() {
+        return createScalarKernel(Trigonometry.JDK);
+    }
+
+    public static BatchKernel createScalarKernel(Trigonometry trigonometry) {
+        return new ScalarBatchKernel(new DateConverter(), trigonometry);
+    }
+
+    /**
+     * @return the SIMD kernel or null if this JVM does not support it
+     */
+    public static BatchKernel createVectorKernel() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return null;
+        }
+
+        try {
+            return (BatchKernel) Class.forName(VECTOR_KERNEL).getConstructor().newInstance();
+        } catch (ClassNotFoundException | UnsupportedClassVersionError | NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            // built without the vector kernel
+            return null;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.SolarEquationVariables;
+
+/**
+ * Looks up the variables of a Julian cycle and longitude in a {@link SolarEquationVariablesCache} before calculating them.
+ * Every other method of the calculator ends up here, so repeated queries for the same day and place skip the trigonometry.
+ */
+public class CachingSolarEquationVariableCalculator extends SolarEquationVariableCalculator {
+
+    private final SolarEquationVariablesCache cache;
+
+    public CachingSolarEquationVariableCalculator(DateConverter dateConverter, SolarEquationVariablesCache cache) {
+        this(dateConverter, Trigonometry.JDK, cache);
+    }
+
+    public CachingSolarEquationVariableCalculator(DateConverter dateConverter, Trigonometry trigonometry, SolarEquationVariablesCache cache) {
+        super(dateConverter, trigonometry);
+        this.cache = cache;
+    }
+
+    @Override
+    public SolarEquationVariables calculateSolarEquationVariables(double n, double longitude) {
+        final var cached = this.cache.get(n, longitude);
+        if (cached != null) {
+            return cached;
+        }
+
+        final var calculated = super.calculateSolarEquationVariables(n, longitude);
+        this.cache.put(n, longitude, calculated);
+
+        return calculated;
+    }
+}
@@ -0,0 +1,187 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.Altitude;
+import de.thatsich.solartime.entity.PolarSentinel;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder events of the stages of an event calculation, viewed in JDK Mission Control under "Solar Time".
+ * <br>
+ * All events are disabled by default, even in a running recording, and enabled by name, e.g.
+ * {@code -XX:StartFlightRecording:+de.thatsich.solartime.SolarEventCalculation#enabled=true} on JDK 17.
+ * A disabled event is never allocated after inlining, its begin and commit are empty.
+ * Stack traces are off, they cost more than a stage.
+ */
+final class CalculationEvents {
+
+    private static final String CATEGORY = "Solar Time";
+    private static final String STAGES = "Stages";
+
+    private CalculationEvents() {
+        // holds the event classes only
+    }
+
+    @Name("de.thatsich.solartime.JulianDate")
+    @Label("Julian Date")
+    @Description("Conversion of an instant to the Julian cycle")
+    @Category({CATEGORY, STAGES})
+    @Enabled(false)
+    @StackTrace(false)
+    static final class JulianDateStage extends Event {
+
+        @Label("Epoch Second")
+        long epochSecond;
+
+        @Label("Julian Cycle")
+        double julianCycle;
+
+        void commit(long epochSecond, double julianCycle) {
+            if (this.shouldCommit()) {
+                this.epochSecond = epochSecond;
+                this.julianCycle = julianCycle;
+                this.commit();
+            }
+        }
+    }
+
+    @Name("de.thatsich.solartime.SolarEquationVariables")
+    @Label("Solar Equation Variables")
+    @Description("Position of the sun at the solar transit of a Julian cycle")
+    @Category({CATEGORY, STAGES})
+    @Enabled(false)
+    @StackTrace(false)
+    static final class SolarEquationVariablesStage extends Event {
+
+        @Label("Julian Cycle")
+        double julianCycle;
+
+        @Label("Declination")
+        @Description("Declination of the sun in degrees")
+        double declination;
+
+        void commit(double julianCycle, double declination) {
+            if (this.shouldCommit()) {
+                this.julianCycle = julianCycle;
+                this.declination = Math.toDegrees(declination);
+                this.commit();
+            }
+        }
+    }
+
+    @Name("de.thatsich.solartime.HourAngle")
+    @Label("Hour Angle")
+    @Description("Hour angle at which the sun crosses the altitude, the arc cosine only if it crosses")
+    @Category({CATEGORY, STAGES})
+    @Enabled(false)
+    @StackTrace(false)
+    static final class HourAngleStage extends Event {
+
+        @Label("Altitude")
+        String altitude;
+
+        @Label("Hour Angle Cosine")
+        @Description("Outside of [-1, 1] the sun does not cross the altitude")
+        double hourAngleCosine;
+
+        void commit(Altitude altitude, double hourAngleCosine) {
+            if (this.shouldCommit()) {
+                this.altitude = altitude.name();
+                this.hourAngleCosine = hourAngleCosine;
+                this.commit();
+            }
+        }
+    }
+
+    @Name("de.thatsich.solartime.GregorianDate")
+    @Label("Gregorian Date")
+    @Description("Conversion of a Julian date to seconds since the epoch")
+    @Category({CATEGORY, STAGES})
+    @Enabled(false)
+    @StackTrace(false)
+    static final class GregorianDateStage extends Event {
+
+        @Label("Julian Date")
+        double julianDate;
+
+        @Label("Epoch Second")
+        long epochSecond;
+
+        void commit(double julianDate, long epochSecond) {
+            if (this.shouldCommit()) {
+                this.julianDate = julianDate;
+                this.epochSecond = epochSecond;
+                this.commit();
+            }
+        }
+    }
+
+    @Name("de.thatsich.solartime.TimeZoneShift")
+    @Label("Time Zone Shift")
+    @Description("Conversion of an event to the zone of the requested day")
+    @Category({CATEGORY, STAGES})
+    @Enabled(false)
+    @StackTrace(false)
+    static final class TimeZoneShiftStage extends Event {
+
+        @Label("Zone")
+        String zone;
+
+        void commit(String zone) {
+            if (this.shouldCommit()) {
+                this.zone = zone;
+                this.commit();
+            }
+        }
+    }
+
+    @Name("de.thatsich.solartime.SolarEventCalculation")
+    @Label("Solar Event Calculation")
+    @Description("A dawn, dusk or solar noon in a zone, spanning all of its stages")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    static final class SolarEventCalculation extends Event {
+
+        @Label("Kind")
+        @Description("DAWN, DUSK or SOLAR_NOON")
+        String kind;
+
+        @Label("Latitude Band")
+        @Description("Lower bound of the band of 10 degrees of latitude, e.g. 50 for 51.4 and -60 for -51.4")
+        int latitudeBand;
+
+        @Label("Altitude")
+        String altitude;
+
+        @Label("Polar Status")
+        @Description("NONE, POLAR_DAY or POLAR_NIGHT")
+        String polarStatus;
+
+        void commit(String kind, double latitude, Altitude altitude, long epochSecond) {
+            if (this.shouldCommit()) {
+                this.kind = kind;
+                this.latitudeBand = (int) Math.floor(latitude / 10) * 10;
+                this.altitude = altitude.name();
+                this.polarStatus = toPolarStatus(epochSecond);
+                this.commit();
+            }
+        }
+
+        private static String toPolarStatus(long epochSecond) {
+            if (epochSecond == PolarSentinel.POLAR_DAY) {
+                return "POLAR_DAY";
+            }
+            if (epochSecond == PolarSentinel.POLAR_NIGHT) {
+                return "POLAR_NIGHT";
+            }
+
+            return "NONE";
+        }
+    }
+}
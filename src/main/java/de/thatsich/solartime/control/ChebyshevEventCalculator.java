@@ -0,0 +1,269 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.PolarSentinel;
+import de.thatsich.solartime.entity.SolarEvent;
+
+/**
+ * Calculates an event for a long range of days by interpolating it between a few exact evaluations.
+ * <br>
+ * The event of a day is a smooth function of the Julian cycle as long as the sun crosses the altitude of the event,
+ * and the solar equation variables accept fractional cycles. Each segment of days is evaluated exactly at the
+ * Chebyshev points of its cycles and the days in between are read from the interpolating polynomial. The degree
+ * doubles from {@value #MIN_DEGREE} to {@value #MAX_DEGREE} until the last coefficients fall below
+ * {@link #TOLERANCE}, the points of a degree are a subset of the points of the next one, thus no evaluation is lost.
+ * A segment is split in halves if even the highest degree does not suffice, or if the declination margin of
+ * a point does not exclude a polar day or night between the points. Segments of at most {@value #MIN_DEGREE} days
+ * are calculated day by day, thus polar days and nights always come from the exact calculation.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Clenshaw%E2%80%93Curtis_quadrature">Chebyshev points of the
+ * Clenshaw-Curtis quadrature on Wikipedia</a>
+ */
+public class ChebyshevEventCalculator {
+
+    private static final long SECONDS_PER_DAY = 86400;
+
+    private static final int SEGMENT_DAYS = 256;
+    private static final int MIN_DEGREE = 8;
+    private static final int MAX_DEGREE = 32;
+
+    // a hundredth of a second in days, far below the rounding to whole seconds
+    private static final double TOLERANCE = 0.01 / SECONDS_PER_DAY;
+
+    // the declination used for the margin belongs to the transit, the event is at most a day away from it
+    private static final double MARGIN_DAYS = 1;
+
+    // COSINES[m] = cos(pi * m / MAX_DEGREE), the point k of degree d lies at COSINES[k * MAX_DEGREE / d]
+    private static final double[] COSINES = new double[2 * MAX_DEGREE];
+
+    static {
+        for (var m = 0; m < COSINES.length; m++) {
+            COSINES[m] = Math.cos(Math.PI * m / MAX_DEGREE);
+        }
+    }
+
+    private final SolarEquationVariableCalculator solarCalculator;
+    private final EpochEventCalculator epochEventCalculator;
+    private final HourAngleCalculator hourAngleCalculator;
+    private final DateConverter dateConverter;
+
+    public ChebyshevEventCalculator(SolarEquationVariableCalculator solarCalculator, EpochEventCalculator epochEventCalculator, HourAngleCalculator hourAngleCalculator, DateConverter dateConverter) {
+        this.solarCalculator = solarCalculator;
+        this.epochEventCalculator = epochEventCalculator;
+        this.hourAngleCalculator = hourAngleCalculator;
+        this.dateConverter = dateConverter;
+    }
+
+    /**
+     * @param event         the event of every day
+     * @param firstEpochDay the first day as days since 1970-01-01
+     * @param latitude      the latitude of the location in degrees.
+     * @param longitude     the longitude of the location in degrees (West is negative)
+     * @param target        receives the event of each day in seconds since the epoch or a {@link PolarSentinel},
+     *                      one day per element
+     * @return the number of exact evaluations, points and single days
+     */
+    public int calculateCalendar(SolarEvent event, long firstEpochDay, double latitude, double longitude, long[] target) {
+        final var firstCycle = this.epochEventCalculator.calculateJulianCycle(toNoon(firstEpochDay), longitude);
+        final var calendar = new Calendar(event, firstEpochDay, firstCycle, latitude, longitude, target);
+
+        for (var start = 0; start < target.length; start += SEGMENT_DAYS) {
+            calendar.fill(start, Math.min(target.length, start + SEGMENT_DAYS));
+        }
+
+        return calendar.evaluations;
+    }
+
+    private static long toNoon(long epochDay) {
+        return epochDay * SECONDS_PER_DAY + SECONDS_PER_DAY / 2;
+    }
+
+    /**
+     * The state of one call, the arrays are reused by every segment.
+     */
+    private final class Calendar {
+
+        private final SolarEvent event;
+        private final long firstEpochDay;
+        private final double firstCycle;
+        private final double latitude;
+        private final double latitudeRad;
+        private final double longitude;
+        private final long[] target;
+        // indexed like COSINES, only the points of the current degree are set
+        private final double[] values = new double[MAX_DEGREE + 1];
+        private final double[] coefficients = new double[MAX_DEGREE + 1];
+        private int evaluations;
+
+        private Calendar(SolarEvent event, long firstEpochDay, double firstCycle, double latitude, double longitude, long[] target) {
+            this.event = event;
+            this.firstEpochDay = firstEpochDay;
+            this.firstCycle = firstCycle;
+            this.latitude = latitude;
+            this.latitudeRad = Math.toRadians(latitude);
+            this.longitude = longitude;
+            this.target = target;
+        }
+
+        /**
+         * Fills the days from start inclusive to end exclusive.
+         */
+        private void fill(int start, int end) {
+            // below two days per point the exact days are cheaper
+            if (end - start < 2 * (MIN_DEGREE + 1)) {
+                this.fillExactly(start, end);
+                return;
+            }
+
+            if (this.interpolate(start, end)) {
+                return;
+            }
+
+            final var middle = (start + end) >>> 1;
+            this.fill(start, middle);
+            this.fill(middle, end);
+        }
+
+        /**
+         * @return false if the segment needs to be split
+         */
+        private boolean interpolate(int start, int end) {
+            // the cycles of the days lie in the middle of the interval, each day covers half a cycle on both sides
+            final var center = this.firstCycle + (start + end - 1) / 2.0;
+            final var halfWidth = (end - start) / 2.0;
+
+            // at least two days per point
+            var maxDegree = MIN_DEGREE;
+            while (maxDegree < MAX_DEGREE && 2 * (2 * maxDegree + 1) <= end - start) {
+                maxDegree *= 2;
+            }
+            // a point closer to a polar day or night fails every degree, the widest gap is in the middle
+            final var leastRequiredMargin = requiredMargin(halfWidth, maxDegree);
+
+            var minMargin = Double.POSITIVE_INFINITY;
+            for (var degree = MIN_DEGREE; degree <= maxDegree; degree *= 2) {
+                final var stride = MAX_DEGREE / degree;
+                // the points of the previous degree are known, only every other point is new
+                for (var k = degree == MIN_DEGREE ? 0 : 1; k <= degree; k += degree == MIN_DEGREE ? 1 : 2) {
+                    final var margin = this.evaluate(center + halfWidth * COSINES[k * stride], k * stride);
+                    if (!(margin >= leastRequiredMargin)) {
+                        return false;
+                    }
+                    minMargin = Math.min(minMargin, margin);
+                }
+
+                if (minMargin >= requiredMargin(halfWidth, degree) && this.fitCoefficients(degree)) {
+                    this.fillInterpolated(start, end, center, halfWidth, degree);
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * @return the margin of the declination which excludes a polar day or night between the points of a degree
+         */
+        private double requiredMargin(double halfWidth, int degree) {
+            return ChebyshevEventCalculator.this.hourAngleCalculator.getMaxDeclinationPerDay() * (halfWidth * Math.PI / degree + MARGIN_DAYS);
+        }
+
+        /**
+         * Evaluates the event exactly at a fractional cycle.
+         *
+         * @return the declination margin of the cycle, see {@link HourAngleCalculator#calculateCrossingMargin}
+         */
+        private double evaluate(double n, int index) {
+            final var solarEquationVariables = ChebyshevEventCalculator.this.solarCalculator.calculateSolarEquationVariables(n, this.longitude);
+            this.evaluations++;
+
+            // relative to the cycle, which keeps the values small and flat
+            this.values[index] = ChebyshevEventCalculator.this.epochEventCalculator.calculateJulianEvent(solarEquationVariables, this.latitude, this.longitude, this.event) - n;
+
+            return ChebyshevEventCalculator.this.hourAngleCalculator.calculateCrossingMargin(this.event.getAltitude(), this.latitudeRad, solarEquationVariables.getDelta());
+        }
+
+        /**
+         * Discrete cosine transform of the values at the points of the degree.
+         *
+         * @return true if the last coefficients are within the tolerance
+         */
+        private boolean fitCoefficients(int degree) {
+            final var stride = MAX_DEGREE / degree;
+            final var period = 2 * MAX_DEGREE;
+            for (var j = 0; j <= degree; j++) {
+                // the end points count half, the angle j * k advances by j without a division
+                final var step = j * stride;
+                var sum = (this.values[0] + this.values[MAX_DEGREE] * COSINES[degree * step % period]) / 2;
+                var angle = step;
+                for (var k = 1; k < degree; k++) {
+                    sum += this.values[k * stride] * COSINES[angle];
+                    angle += step;
+                    if (angle >= period) {
+                        angle -= period;
+                    }
+                }
+                this.coefficients[j] = (j == 0 || j == degree ? 1.0 : 2.0) * sum / degree;
+            }
+
+            // the first omitted coefficients are about as large as the last two included ones
+            return Math.abs(this.coefficients[degree - 1]) + Math.abs(this.coefficients[degree]) <= TOLERANCE;
+        }
+
+        private void fillInterpolated(int start, int end, double center, double halfWidth, int degree) {
+            for (var day = start; day < end; day++) {
+                final var n = this.firstCycle + day;
+                final var julianEvent = n + this.evaluateSeries((n - center) / halfWidth, degree);
+                this.target[day] = ChebyshevEventCalculator.this.dateConverter.toEpochSecond(julianEvent);
+            }
+        }
+
+        /**
+         * Clenshaw recurrence of the Chebyshev series at x in [-1, 1].
+         */
+        private double evaluateSeries(double x, int degree) {
+            var b1 = 0.0;
+            var b2 = 0.0;
+            for (var j = degree; j > 0; j--) {
+                final var b0 = 2 * x * b1 - b2 + this.coefficients[j];
+                b2 = b1;
+                b1 = b0;
+            }
+
+            return x * b1 - b2 + this.coefficients[0];
+        }
+
+        /**
+         * Calculates the days one by one, but skips the days of a polar day or night which certainly continue.
+         */
+        private void fillExactly(int start, int end) {
+            final var epochEventCalculator = ChebyshevEventCalculator.this.epochEventCalculator;
+            final var hourAngleCalculator = ChebyshevEventCalculator.this.hourAngleCalculator;
+            final var altitude = this.event.getAltitude();
+
+            var day = start;
+            while (day < end) {
+                final var noon = toNoon(this.firstEpochDay + day);
+                final long epochSecond;
+                if (this.event.isDawn()) {
+                    epochSecond = epochEventCalculator.calculateDawnEvent(noon, this.latitude, this.longitude, altitude);
+                } else if (this.event.isDusk()) {
+                    epochSecond = epochEventCalculator.calculateDuskEvent(noon, this.latitude, this.longitude, altitude);
+                } else {
+                    epochSecond = epochEventCalculator.calculateSolarNoon(noon, this.latitude, this.longitude);
+                }
+                this.evaluations++;
+
+                var days = 1L;
+                if (PolarSentinel.isPolar(epochSecond)) {
+                    final var solarEquationVariables = ChebyshevEventCalculator.this.solarCalculator.calculateSolarEquationVariables(this.firstCycle + day, this.longitude);
+                    days = hourAngleCalculator.calculatePolarDays(altitude, this.latitudeRad, solarEquationVariables.getDelta());
+                }
+
+                final var last = (int) Math.min(end, day + days);
+                for (; day < last; day++) {
+                    this.target[day] = epochSecond;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package de.thatsich.solartime.control;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Parses and formats the fields of CSV rows directly on bytes, without a {@link String} per field.
+ * Fields are given as ranges of absolute indices of a buffer, which may be memory mapped, and are trimmed of spaces.
+ */
+public class CsvCodec {
+
+    private static final long SECONDS_PER_DAY = 86400;
+    // a long of 18 digits never overflows
+    private static final int MAX_LONG_DIGITS = 18;
+    // mantissas up to 2^53 and powers of ten up to 10^22 are exact doubles, so is their quotient after rounding
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = new double[23];
+    // "yyyy-MM-ddTHH:mm:ss"
+    private static final int ISO_SECONDS_LENGTH = 19;
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (var i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    /**
+     * @param buffer the row
+     * @param from   the first index of the field
+     * @param to     the index after the field
+     * @return the instant in seconds since the epoch, given either as such or as ISO-8601 date and time like
+     * {@code 2019-06-25T12:00:00Z}, with an optional fraction which is dropped and an optional offset instead of
+     * {@code Z}. Without an offset the time is UTC.
+     * @throws IllegalArgumentException if the field is neither
+     */
+    public long parseTimestamp(ByteBuffer buffer, int from, int to) {
+        final var start = skipSpaces(buffer, from, to);
+        final var end = trimSpaces(buffer, start, to);
+        if (end - start >= ISO_SECONDS_LENGTH && buffer.get(start + 4) == '-') {
+            return parseIsoInstant(buffer, start, end);
+        }
+
+        return parseLong(buffer, start, end);
+    }
+
+    /**
+     * @param buffer the row
+     * @param from   the first index of the field
+     * @param to     the index after the field
+     * @return the decimal number of the field, the same double as {@link Double#parseDouble(String)}
+     * @throws IllegalArgumentException if the field is no number
+     */
+    public double parseDouble(ByteBuffer buffer, int from, int to) {
+        final var start = skipSpaces(buffer, from, to);
+        final var end = trimSpaces(buffer, start, to);
+
+        var index = start;
+        final var negative = index < end && buffer.get(index) == '-';
+        if (index < end && (negative || buffer.get(index) == '+')) {
+            index++;
+        }
+
+        var mantissa = 0L;
+        var digits = 0;
+        var scale = 0;
+        var point = false;
+        for (; index < end; index++) {
+            final var b = buffer.get(index);
+            if (b >= '0' && b <= '9') {
+                if (digits == MAX_LONG_DIGITS) {
+                    return parseSlowly(buffer, start, end);
+                }
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (point) {
+                    scale++;
+                }
+            } else if (b == '.' && !point) {
+                point = true;
+            } else {
+                // exponents, infinity and everything unusual
+                return parseSlowly(buffer, start, end);
+            }
+        }
+
+        if (digits == 0) {
+            throw new IllegalArgumentException("not a number: " + toString(buffer, start, end));
+        }
+        if (mantissa > MAX_EXACT_MANTISSA || scale >= POWERS_OF_TEN.length) {
+            return parseSlowly(buffer, start, end);
+        }
+
+        final var value = mantissa / POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Writes the instant like {@link Instant#toString()} does for whole seconds, e.g. {@code 2019-06-25T03:17:42Z}.
+     *
+     * @param epochSecond seconds since the epoch
+     * @param target      receives the bytes, needs room for 20 bytes in the years 0 to 9999 and for 30 in others
+     * @param offset      the index of the first byte
+     * @return the index after the last byte
+     */
+    public int formatInstant(long epochSecond, byte[] target, int offset) {
+        final var epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+        final var date = LocalDate.ofEpochDay(epochDay);
+        if (date.getYear() < 0 || date.getYear() > 9999) {
+            final var formatted = Instant.ofEpochSecond(epochSecond).toString().getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(formatted, 0, target, offset, formatted.length);
+            return offset + formatted.length;
+        }
+
+        final var secondOfDay = (int) Math.floorMod(epochSecond, SECONDS_PER_DAY);
+        var index = offset;
+        index = putDigits(target, index, date.getYear(), 4);
+        target[index++] = '-';
+        index = putDigits(target, index, date.getMonthValue(), 2);
+        target[index++] = '-';
+        index = putDigits(target, index, date.getDayOfMonth(), 2);
+        target[index++] = 'T';
+        index = putDigits(target, index, secondOfDay / 3600, 2);
+        target[index++] = ':';
+        index = putDigits(target, index, secondOfDay / 60 % 60, 2);
+        target[index++] = ':';
+        index = putDigits(target, index, secondOfDay % 60, 2);
+        target[index++] = 'Z';
+
+        return index;
+    }
+
+    private static long parseIsoInstant(ByteBuffer buffer, int start, int end) {
+        final var year = parseDigits(buffer, start, 4);
+        final var month = parseDigits(buffer, start + 5, 2);
+        final var day = parseDigits(buffer, start + 8, 2);
+        final var hour = parseDigits(buffer, start + 11, 2);
+        final var minute = parseDigits(buffer, start + 14, 2);
+        final var second = parseDigits(buffer, start + 17, 2);
+        final var separator = buffer.get(start + 10);
+        if (buffer.get(start + 7) != '-' || (separator != 'T' && separator != ' ') || buffer.get(start + 13) != ':' || buffer.get(start + 16) != ':'
+                || year < 0 || month < 0 || day < 0 || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            throw new IllegalArgumentException("not an ISO-8601 date and time: " + toString(buffer, start, end));
+        }
+
+        var index = start + ISO_SECONDS_LENGTH;
+        if (index < end && buffer.get(index) == '.') {
+            index++;
+            while (index < end && buffer.get(index) >= '0' && buffer.get(index) <= '9') {
+                index++;
+            }
+        }
+
+        var offsetSeconds = 0;
+        if (index < end && buffer.get(index) == 'Z') {
+            index++;
+        } else if (index < end && (buffer.get(index) == '+' || buffer.get(index) == '-') && end - index == 6 && buffer.get(index + 3) == ':') {
+            final var offsetHours = parseDigits(buffer, index + 1, 2);
+            final var offsetMinutes = parseDigits(buffer, index + 4, 2);
+            if (offsetHours < 0 || offsetHours > 18 || offsetMinutes < 0 || offsetMinutes > 59) {
+                throw new IllegalArgumentException("not an offset: " + toString(buffer, index, end));
+            }
+            offsetSeconds = (buffer.get(index) == '-' ? -1 : 1) * (offsetHours * 3600 + offsetMinutes * 60);
+            index += 6;
+        }
+        if (index != end) {
+            throw new IllegalArgumentException("not an ISO-8601 date and time: " + toString(buffer, start, end));
+        }
+
+        final long epochDay;
+        try {
+            epochDay = LocalDate.of(year, month, day).toEpochDay();
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("not a date: " + toString(buffer, start, end), e);
+        }
+
+        return epochDay * SECONDS_PER_DAY + hour * 3600 + minute * 60 + second - offsetSeconds;
+    }
+
+    private static long parseLong(ByteBuffer buffer, int start, int end) {
+        var index = start;
+        final var negative = index < end && buffer.get(index) == '-';
+        if (negative) {
+            index++;
+        }
+        if (index == end || end - index > MAX_LONG_DIGITS) {
+            throw new IllegalArgumentException("not seconds since the epoch: " + toString(buffer, start, end));
+        }
+
+        var value = 0L;
+        for (; index < end; index++) {
+            final var b = buffer.get(index);
+            if (b < '0' || b > '9') {
+                throw new IllegalArgumentException("not seconds since the epoch: " + toString(buffer, start, end));
+            }
+            value = value * 10 + (b - '0');
+        }
+
+        return negative ? -value : value;
+    }
+
+    /**
+     * @return the number of the digits or -1 if any of them is no digit
+     */
+    private static int parseDigits(ByteBuffer buffer, int start, int count) {
+        var value = 0;
+        for (var index = start; index < start + count; index++) {
+            final var b = buffer.get(index);
+            if (b < '0' || b > '9') {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+
+        return value;
+    }
+
+    private static int putDigits(byte[] target, int offset, int value, int count) {
+        var remaining = value;
+        for (var index = offset + count - 1; index >= offset; index--) {
+            target[index] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+
+        return offset + count;
+    }
+
+    private static double parseSlowly(ByteBuffer buffer, int start, int end) {
+        final var field = toString(buffer, start, end);
+        try {
+            return Double.parseDouble(field);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("not a number: " + field, e);
+        }
+    }
+
+    private static int skipSpaces(ByteBuffer buffer, int from, int to) {
+        var index = from;
+        while (index < to && buffer.get(index) == ' ') {
+            index++;
+        }
+
+        return index;
+    }
+
+    private static int trimSpaces(ByteBuffer buffer, int from, int to) {
+        var index = to;
+        while (index > from && buffer.get(index - 1) == ' ') {
+            index--;
+        }
+
+        return index;
+    }
+
+    private static String toString(ByteBuffer buffer, int start, int end) {
+        final var bytes = new byte[end - start];
+        for (var index = start; index < end; index++) {
+            bytes[index - start] = buffer.get(index);
+        }
+
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,109 @@
+package de.thatsich.solartime.control;
+
+import static de.thatsich.solartime.entity.JulianConstants.CONST_0009;
+import static de.thatsich.solartime.entity.JulianConstants.JULIAN_DATE_2000_01_01;
+
+/**
+ * The date dependent terms of the sunrise equation for all longitudes of one date.
+ * <br>
+ * The solar equation variables only depend on the fractional Julian cycle {@code t = n + longitudeWest / 360},
+ * which stays within half a day around the date for every longitude. Sine of the declination and the
+ * offset of the solar transit are interpolated quadratically from three exact evaluations at the start,
+ * the middle and the end of that interval. The interpolation error is below 1e-6 degrees of declination,
+ * well below a second for the events.
+ */
+public class DailySolarTerms {
+
+    private static final double HALF_DAY = 0.5;
+
+    private final double julianDate;
+    // center of the interval of t
+    private final double center;
+
+    private final double sinDeclination0;
+    private final double sinDeclination1;
+    private final double sinDeclination2;
+    private final double transitOffset0;
+    private final double transitOffset1;
+    private final double transitOffset2;
+
+    DailySolarTerms(SolarEquationVariableCalculator solarCalculator, double julianDate) {
+        this.julianDate = julianDate;
+        this.center = julianDate - JULIAN_DATE_2000_01_01 - CONST_0009;
+        final var trigonometry = solarCalculator.getTrigonometry();
+
+        final var lower = solarCalculator.calculateSolarEquationVariables(this.center - HALF_DAY, 0);
+        final var middle = solarCalculator.calculateSolarEquationVariables(this.center, 0);
+        final var upper = solarCalculator.calculateSolarEquationVariables(this.center + HALF_DAY, 0);
+
+        final var sinLower = trigonometry.sin(lower.getDelta());
+        final var sinMiddle = trigonometry.sin(middle.getDelta());
+        final var sinUpper = trigonometry.sin(upper.getDelta());
+        final var offsetLower = transitOffset(lower.getJtransit(), this.center - HALF_DAY);
+        final var offsetMiddle = transitOffset(middle.getJtransit(), this.center);
+        final var offsetUpper = transitOffset(upper.getJtransit(), this.center + HALF_DAY);
+
+        // Newton form of the interpolating parabola in u = t - center
+        this.sinDeclination0 = sinMiddle;
+        this.sinDeclination1 = (sinUpper - sinLower) / (2 * HALF_DAY);
+        this.sinDeclination2 = (sinUpper - 2 * sinMiddle + sinLower) / (2 * HALF_DAY * HALF_DAY);
+        this.transitOffset0 = offsetMiddle;
+        this.transitOffset1 = (offsetUpper - offsetLower) / (2 * HALF_DAY);
+        this.transitOffset2 = (offsetUpper - 2 * offsetMiddle + offsetLower) / (2 * HALF_DAY * HALF_DAY);
+    }
+
+    private static double transitOffset(double jtransit, double t) {
+        return jtransit - (JULIAN_DATE_2000_01_01 + CONST_0009 + t);
+    }
+
+    /**
+     * @param longitude the longitude of the location in degrees (West is negative)
+     * @return the fractional Julian cycle of the solar transit at the longitude, same rounding as
+     * {@link SolarEquationVariableCalculator#calculateJulianCycle(double, double)}
+     */
+    double julianCycle(double longitude) {
+        final var n = Math.round(this.center + longitude / 360);
+
+        return n - longitude / 360;
+    }
+
+    /**
+     * @return the Julian date the terms were calculated for
+     */
+    double julianDate() {
+        return this.julianDate;
+    }
+
+    double center() {
+        return this.center;
+    }
+
+    /**
+     * @return the Newton coefficients of {@link #sinDeclination(double)} in {@code u = t - center}, lowest order first
+     */
+    double[] sinDeclinationCoefficients() {
+        return new double[]{this.sinDeclination0, this.sinDeclination1, this.sinDeclination2};
+    }
+
+    /**
+     * @return the Newton coefficients of {@link #transitOffset(double)} in {@code u = t - center}, lowest order first
+     */
+    double[] transitOffsetCoefficients() {
+        return new double[]{this.transitOffset0, this.transitOffset1, this.transitOffset2};
+    }
+
+    double sinDeclination(double t) {
+        final var u = t - this.center;
+
+        return this.sinDeclination0 + u * (this.sinDeclination1 + u * this.sinDeclination2);
+    }
+
+    /**
+     * @return the difference between solar transit and approximate solar noon in days (equation of time)
+     */
+    double transitOffset(double t) {
+        final var u = t - this.center;
+
+        return this.transitOffset0 + u * (this.transitOffset1 + u * this.transitOffset2);
+    }
+}
@@ -1,47 +1,46 @@
 package de.thatsich.solartime.control;
 
+import java.time.Instant;
 import java.time.ZoneId;
-import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 
 public class DateConverter {
 
-    private static final int DAYS_PER_4000_YEARS = 146097;
-    private static final int DAYS_PER_CENTURY = 36524;
-    private static final int DAYS_PER_4_YEARS = 1461;
-    private static final int DAYS_PER_5_MONTHS = 153;
+    private static final int SECONDS_PER_DAY = 86400;
+    private static final double NANOS_PER_SECOND = 1e9;
+    // Julian day number of 1970-01-01, the Julian date of its midnight is half a day earlier
+    private static final int JULIAN_DAY_1970_01_01 = 2440588;
 
     /**
      * Convert a Gregorian calendar date to a Julian date. Accuracy is to the
-     * second.
+     * nanosecond of the date, limited by the precision of a double to a few microseconds.
      * <br>
-     * This is based on the Wikipedia article for Julian day.
+     * This is based on the Wikipedia article for Julian day. The calendar fields are derived
+     * from the seconds since the epoch, thus the zone of the date is never converted.
      *
      * @param gregorianDate Gregorian date in any time zone.
      * @return the Julian date for the given Gregorian date.
      * @see <a href="http://en.wikipedia.org/wiki/Julian_day#Converting_Julian_or_Gregorian_calendar_date_to_Julian_Day_Number">Converting to Julian day number on Wikipedia</a>
      */
     double toJulianDate(final ZonedDateTime gregorianDate) {
-        // Convert the date to the UTC time zone.
-        final var utc = ZoneOffset.UTC;
-        final var gregorianDateUTC = gregorianDate.withZoneSameInstant(utc);
-
-        // For the year (Y) astronomical year numbering is used, thus 1 BC is 0,
-        // 2 BC is -1, and 4713 BC is -4712.
-        final var year = gregorianDateUTC.getYear();
-        // The months (M) January to December are 1 to 12
-        final var month = gregorianDateUTC.getMonthValue();
-        // D is the day of the month.
-        final var day = gregorianDateUTC.getDayOfMonth();
-        final var a = (14 - month) / 12;
-        final var y = year + 4800 - a;
-        final var m = month + 12 * a - 3;
+        return this.toJulianDate(gregorianDate.toEpochSecond(), gregorianDate.getNano());
+    }
 
-        final var julianDay = day + (153 * m + 2) / 5 + 365 * y + (y / 4) - (y / 100)
-                + (y / 400) - 32045;
-        final double hour = gregorianDateUTC.getHour();
-        final double minute = gregorianDateUTC.getMinute();
-        final double second = gregorianDateUTC.getSecond();
+    /**
+     * Same as {@link #toJulianDate(ZonedDateTime)} for an instant given in seconds since the epoch
+     * and the nanoseconds of that second.
+     *
+     * @param epochSecond  seconds since 1970-01-01T00:00:00Z
+     * @param nanoOfSecond the nanoseconds of the second, from 0 to 999,999,999
+     * @return the Julian date for the given instant.
+     */
+    double toJulianDate(final long epochSecond, final int nanoOfSecond) {
+        // the Julian day number of the day starting at 00:00 UTC
+        final var julianDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY) + JULIAN_DAY_1970_01_01;
+        final var secondOfDay = Math.floorMod(epochSecond, SECONDS_PER_DAY);
+        final double hour = secondOfDay / 3600;
+        final double minute = secondOfDay / 60 % 60;
+        final double second = secondOfDay % 60 + nanoOfSecond / NANOS_PER_SECOND;
 
         return julianDay + (hour - 12) / 24
                 + minute / 1440
@@ -49,74 +48,46 @@ public class DateConverter {
     }
 
     /**
-     * Convert a Julian date to a Gregorian date. The Gregorian date will be in
-     * the local time zone. Accuracy is to the second.
-     * <br>
-     * This is based on the Wikipedia article for Julian day.
+     * Convert a Julian date to a Gregorian date in the given zone. Accuracy is to the second,
+     * rounded like {@link #toEpochSecond(double)}, the fraction of the second is dropped. Only the conversion
+     * to Julian dates keeps nanoseconds, a round trip ends on the closest whole second.
      *
      * @param julianDate The date to convert
-     * @return a Gregorian date in the local time zone.
-     * @see <a href="http://en.wikipedia.org/wiki/Julian_day#Gregorian_calendar_from_Julian_day_number">Converting from Julian day to Gregorian date, on Wikipedia</a>
+     * @param zone       the zone of the result, the only zone conversion of the date
+     * @return a Gregorian date in the given zone.
      */
-    ZonedDateTime toGregorianDate(final double julianDate) {
-        // this shifts the epoch back by one half day,
-        // to start it at 00:00UTC, instead of 12:00 UTC
-        final int J = (int) (julianDate + 0.5);
-
-        // this shifts the epoch back to astronomical
-        // year -4800 instead of the start of the Christian era in year AD 1 of
-        // the proleptic Gregorian calendar
-        final int j = J + 32044;
-
-        final int g = j / DAYS_PER_4000_YEARS;
-        final int dg = j % DAYS_PER_4000_YEARS;
-
-        final int c = ((dg / DAYS_PER_CENTURY + 1) * 3) / 4;
-        final int dc = dg - c * DAYS_PER_CENTURY;
-
-        final int b = dc / DAYS_PER_4_YEARS;
-        final int db = dc % DAYS_PER_4_YEARS;
-
-        final int a = ((db / 365 + 1) * 3) / 4;
-        final int da = db - a * 365;
-
-        // this is the integer number of full years elapsed since March 1, 4801 BC at 00:00 UTC
-        final int y = g * 400 + c * 100 + b * 4 + a;
-
-        // this is the integer number of full months elapsed since the last March 1 at 00:00 UTC
-        final int m = (da * 5 + 308) / DAYS_PER_5_MONTHS - 2;
-
-        // this is the number of days elapsed since day 1 of the month at 00:00 UTC,
-        // including fractions of one day
-        final int d = da - ((m + 4) * DAYS_PER_5_MONTHS) / 5 + 122;
+    ZonedDateTime toGregorianDate(final double julianDate, final ZoneId zone) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochSecond(this.toEpochSecond(julianDate)), zone);
+    }
 
-        final int year = y - 4800 + (m + 2) / 12;
-        final int month = (m + 2) % 12;
-        final int day = d + 1;
+    /**
+     * Same as {@link #toJulianDate(long, int)} for a whole second.
+     *
+     * @param epochSecond seconds since 1970-01-01T00:00:00Z
+     * @return the Julian date for the given instant.
+     */
+    double toJulianDate(final long epochSecond) {
+        return this.toJulianDate(epochSecond, 0);
+    }
 
-        // Apply the fraction of the day in the Julian date to the Gregorian
-        // date.
-        // Example: dayFraction = 0.717
+    /**
+     * Convert a Julian date to seconds since the epoch. Rounds to the closest second
+     * in the same steps as the Wikipedia article rounds the calendar fields, but neither calendar
+     * fields nor time zones are involved. The fraction of the second is lost, see {@link #toGregorianDate}.
+     *
+     * @param julianDate The date to convert
+     * @return seconds since 1970-01-01T00:00:00Z
+     */
+    long toEpochSecond(final double julianDate) {
+        // the Julian day number of the day starting at 00:00 UTC
+        final int J = (int) (julianDate + 0.5);
         final double dayFraction = (julianDate + 0.5) - J;
 
-        // Ex: 0.717*24 = 17.208 hours. We truncate to 17 hours.
+        // same truncation and rounding steps as the gregorian conversion
         final int hours = (int) (dayFraction * 24);
-        // Ex: 17.208 - 17 = 0.208 days. 0.208*60 = 12.48 minutes. We truncate
-        // to 12 minutes.
         final int minutes = (int) ((dayFraction * 24 - hours) * 60d);
-        // Ex: 17.208*60 - (17*60 + 12) = 1032.48 - 1032 = 0.48 minutes. 0.48*60
-        // = 28.8 seconds.
-        // We round to 29 seconds.
         final var seconds = (int) ((dayFraction * 24 * 3600 - (hours * 3600 + minutes * 60)) + .5);
 
-        // Create the gregorian date in UTC.
-        // through the round we can get 60 seconds but this is invalid by the time API
-        // thus adding 60 seconds is equivalent to adding one minute
-        final var gregorianDateUTC = ZonedDateTime.of(year, month + 1, day, hours, minutes, 0, 0, ZoneOffset.UTC)
-                .plusSeconds(seconds);
-        final var utc = ZoneId.systemDefault();
-        final var localZoned = gregorianDateUTC.withZoneSameInstant(utc);
-
-        return localZoned;
+        return (long) (J - JULIAN_DAY_1970_01_01) * SECONDS_PER_DAY + hours * 3600 + minutes * 60 + seconds;
     }
 }
@@ -7,13 +7,11 @@ import java.util.Optional;
 
 public class DawnCalculator {
 
-    private final JulianSunriseCalculator julianSunriseCalculator;
-    private final DateConverter dateConverter;
+    private final EpochEventCalculator epochEventCalculator;
     private final TimeZoneShifter timeZoneShifter;
 
-    public DawnCalculator(JulianSunriseCalculator julianSunriseCalculator, DateConverter dateConverter, TimeZoneShifter timeZoneShifter) {
-        this.julianSunriseCalculator = julianSunriseCalculator;
-        this.dateConverter = dateConverter;
+    public DawnCalculator(EpochEventCalculator epochEventCalculator, TimeZoneShifter timeZoneShifter) {
+        this.epochEventCalculator = epochEventCalculator;
         this.timeZoneShifter = timeZoneShifter;
     }
 
@@ -24,8 +22,12 @@ public class DawnCalculator {
      * astronomical dawn
      */
     public Optional<ZonedDateTime> calculateDawnEvent(final ZonedDateTime day, final double latitude, double longitude, Altitude altitude) {
-        return this.julianSunriseCalculator.calculateJulianSunrise(day, latitude, longitude, altitude)
-                .map(this.dateConverter::toGregorianDate)
-                .map(sunrise -> this.timeZoneShifter.shiftDayToZoneOfOtherDay(sunrise, day));
+        final var calculation = new CalculationEvents.SolarEventCalculation();
+        calculation.begin();
+        final var dawn = this.epochEventCalculator.calculateDawnEvent(day.toEpochSecond(), latitude, longitude, altitude);
+        final var shifted = this.timeZoneShifter.shiftEventToZoneOfOtherDay(dawn, day);
+        calculation.commit("DAWN", latitude, altitude, dawn);
+
+        return shifted;
     }
 }
@@ -0,0 +1,150 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.Altitude;
+import de.thatsich.solartime.entity.DayPeriod;
+import de.thatsich.solartime.entity.DayPeriodTransition;
+import de.thatsich.solartime.entity.PolarSentinel;
+import de.thatsich.solartime.entity.SolarEvent;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Finds the dawn or dusk event closest to an instant, which is where the {@link DayPeriod} changes.
+ * Runs of days without any event, e.g. during polar day or polar night, are crossed in one step:
+ * the declination bounds how many days pass until the sun can cross one of the altitudes again.
+ */
+public class DayPeriodTransitionCalculator {
+
+    // a whole year without a transition only happens directly at the poles
+    private static final int MAX_CYCLES = 370;
+
+    private static final Altitude[] ALTITUDES = {Altitude.SUNRISE_SUNSET, Altitude.CIVIL, Altitude.NAUTICAL, Altitude.ASTRONOMICAL};
+    private static final Set<SolarEvent> EVENTS = EnumSet.complementOf(EnumSet.of(SolarEvent.SOLAR_NOON));
+    private static final SolarEvent[] SOLAR_EVENTS = SolarEvent.values();
+
+    // indexed by the ordinal of the event
+    private static final DayPeriod[] ENTERED_PERIODS = {
+            DayPeriod.ASTRONOMICAL_TWILIGHT,
+            DayPeriod.NAUTICAL_TWILIGHT,
+            DayPeriod.CIVIL_TWILIGHT,
+            DayPeriod.DAY,
+            null,
+            DayPeriod.CIVIL_TWILIGHT,
+            DayPeriod.NAUTICAL_TWILIGHT,
+            DayPeriod.ASTRONOMICAL_TWILIGHT,
+            DayPeriod.NIGHT,
+    };
+
+    private final SolarEquationVariableCalculator solarCalculator;
+    private final EpochEventCalculator epochEventCalculator;
+    private final HourAngleCalculator hourAngleCalculator;
+
+    public DayPeriodTransitionCalculator(SolarEquationVariableCalculator solarCalculator, EpochEventCalculator epochEventCalculator, HourAngleCalculator hourAngleCalculator) {
+        this.solarCalculator = solarCalculator;
+        this.epochEventCalculator = epochEventCalculator;
+        this.hourAngleCalculator = hourAngleCalculator;
+    }
+
+    /**
+     * @param epochSecond the instant to search from in seconds since the epoch
+     * @param latitude    the latitude of the location in degrees.
+     * @param longitude   the longitude of the location in degrees (West is negative)
+     * @return the first transition strictly after the instant or empty if there is none within a year
+     */
+    public Optional<DayPeriodTransition> calculateNextTransition(long epochSecond, double latitude, double longitude) {
+        return this.search(epochSecond, latitude, longitude, 1);
+    }
+
+    /**
+     * @param epochSecond the instant to search from in seconds since the epoch
+     * @param latitude    the latitude of the location in degrees.
+     * @param longitude   the longitude of the location in degrees (West is negative)
+     * @return the last transition at or before the instant or empty if there is none within a year
+     */
+    public Optional<DayPeriodTransition> calculatePreviousTransition(long epochSecond, double latitude, double longitude) {
+        return this.search(epochSecond, latitude, longitude, -1);
+    }
+
+    /**
+     * Walks the Julian cycles in the given direction, starting one cycle behind the instant.
+     */
+    private Optional<DayPeriodTransition> search(long epochSecond, double latitude, double longitude, int direction) {
+        final var latitudeRad = Math.toRadians(latitude);
+        final var events = new long[SOLAR_EVENTS.length];
+
+        var n = this.epochEventCalculator.calculateJulianCycle(epochSecond, longitude) - direction;
+        for (var searched = 0L; searched <= MAX_CYCLES; ) {
+            this.epochEventCalculator.calculateEventsOfCycle(n, latitude, longitude, EVENTS, events);
+
+            final var closest = findClosest(events, epochSecond, direction);
+            if (closest >= 0) {
+                // events lie within half a day of the transit of their cycle, only the next cycle can hold a closer one
+                final var closestEpochSecond = events[closest];
+                this.epochEventCalculator.calculateEventsOfCycle(n + direction, latitude, longitude, EVENTS, events);
+                final var next = findClosest(events, epochSecond, direction);
+                if (next >= 0 && direction * (closestEpochSecond - events[next]) > 0) {
+                    return Optional.of(createTransition(next, events[next]));
+                }
+
+                return Optional.of(createTransition(closest, closestEpochSecond));
+            }
+
+            final var cycles = hasAnyEvent(events) ? 1 : this.calculatePolarCycles(n, latitudeRad, longitude);
+            n += direction * cycles;
+            searched += cycles;
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * @return the number of cycles which certainly pass without the sun crossing any altitude, at least one
+     */
+    private long calculatePolarCycles(double n, double latitudeRad, double longitude) {
+        final var declination = this.solarCalculator.calculateSolarEquationVariables(n, longitude).getDelta();
+
+        var cycles = Long.MAX_VALUE;
+        for (final var altitude : ALTITUDES) {
+            cycles = Math.min(cycles, this.hourAngleCalculator.calculatePolarDays(altitude, latitudeRad, declination));
+        }
+
+        return cycles;
+    }
+
+    /**
+     * @return the ordinal of the event closest to the instant in the given direction or -1 if there is none
+     */
+    private static int findClosest(long[] events, long epochSecond, int direction) {
+        var closest = -1;
+        for (var ordinal = 0; ordinal < events.length; ordinal++) {
+            final var event = events[ordinal];
+            if (ordinal == SolarEvent.SOLAR_NOON.ordinal() || PolarSentinel.isPolar(event)) {
+                continue;
+            }
+
+            final var matches = direction > 0 ? event > epochSecond : event <= epochSecond;
+            if (matches && (closest < 0 || direction * (events[closest] - event) > 0)) {
+                closest = ordinal;
+            }
+        }
+
+        return closest;
+    }
+
+    private static boolean hasAnyEvent(long[] events) {
+        for (var ordinal = 0; ordinal < events.length; ordinal++) {
+            if (ordinal != SolarEvent.SOLAR_NOON.ordinal() && !PolarSentinel.isPolar(events[ordinal])) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static DayPeriodTransition createTransition(int ordinal, long epochSecond) {
+        return new DayPeriodTransition(Instant.ofEpochSecond(epochSecond), SOLAR_EVENTS[ordinal], ENTERED_PERIODS[ordinal]);
+    }
+}
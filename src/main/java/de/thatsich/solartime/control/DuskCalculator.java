@@ -6,31 +6,33 @@ import java.time.ZonedDateTime;
 import java.util.Optional;
 
 public class DuskCalculator {
-    private final JulianSunsetCalculator julianSunsetCalculator;
-    private final DateConverter dateConverter;
+    private final EpochEventCalculator epochEventCalculator;
     private final TimeZoneShifter timeZoneShifter;
 
-    public DuskCalculator(JulianSunsetCalculator julianSunsetCalculator, DateConverter dateConverter, TimeZoneShifter timeZoneShifter) {
-        this.julianSunsetCalculator = julianSunsetCalculator;
-        this.dateConverter = dateConverter;
+    public DuskCalculator(EpochEventCalculator epochEventCalculator, TimeZoneShifter timeZoneShifter) {
+        this.epochEventCalculator = epochEventCalculator;
         this.timeZoneShifter = timeZoneShifter;
     }
 
     /**
-     * Calculate the sunrise and sunset times for the given date and given
+     * Calculate the sunset or one of the twilight dusks for the given date and given
      * location. This is based on the Wikipedia article on the Sunrise equation.
      *
-     * @param day       The day for which to calculate sunrise and sunset
+     * @param day       The day for which to calculate the dusk event
      * @param latitude  the latitude of the location in degrees.
      * @param longitude the longitude of the location in degrees (West is negative)
-     * @return a two-element Gregorian Calendar array. The first element is the
-     * sunrise, the second element is the sunset. This will return null if there is no sunrise or sunset. (Ex: no sunrise in Antarctica in June)
+     * @param altitude  the altitude the sun crosses while setting
+     * @return the dusk event or empty if there is none. (Ex: no sunset in Antarctica in December)
      * @see <a href="http://en.wikipedia.org/wiki/Sunrise_equation">Sunrise equation on Wikipedia</a>
      */
     public Optional<ZonedDateTime> calculateDuskEvent(final ZonedDateTime day, final double latitude, double longitude, Altitude altitude) {
-        return this.julianSunsetCalculator.calculateJulianSunset(day, latitude, longitude, altitude)
-                .map(this.dateConverter::toGregorianDate)
-                .map(duskEvent -> this.timeZoneShifter.shiftDayToZoneOfOtherDay(duskEvent, day));
+        final var calculation = new CalculationEvents.SolarEventCalculation();
+        calculation.begin();
+        final var dusk = this.epochEventCalculator.calculateDuskEvent(day.toEpochSecond(), latitude, longitude, altitude);
+        final var shifted = this.timeZoneShifter.shiftEventToZoneOfOtherDay(dusk, day);
+        calculation.commit("DUSK", latitude, altitude, dusk);
+
+        return shifted;
     }
 
 }
@@ -0,0 +1,81 @@
+package de.thatsich.solartime.control;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static de.thatsich.solartime.entity.JulianConstants.CONST_0009;
+import static de.thatsich.solartime.entity.JulianConstants.JULIAN_DATE_2000_01_01;
+
+/**
+ * Writes the {@link EphemerisTable} by evaluating {@link SolarEquationVariableCalculator} for every Julian cycle.
+ * Runs during the build to bundle the table for 1900 to 2100, see the pom.
+ */
+public class EphemerisGenerator {
+
+    private final SolarEquationVariableCalculator solarCalculator;
+    private final DateConverter dateConverter;
+
+    public EphemerisGenerator(SolarEquationVariableCalculator solarCalculator, DateConverter dateConverter) {
+        this.solarCalculator = solarCalculator;
+        this.dateConverter = dateConverter;
+    }
+
+    /**
+     * @param args the file to write, optionally followed by the first and the last year
+     */
+    public static void main(String[] args) throws IOException {
+        final var file = Path.of(args[0]);
+        final var firstYear = args.length > 1 ? Integer.parseInt(args[1]) : 1900;
+        final var lastYear = args.length > 2 ? Integer.parseInt(args[2]) : 2100;
+
+        final var dateConverter = new DateConverter();
+        new EphemerisGenerator(new SolarEquationVariableCalculator(dateConverter), dateConverter).generate(file, firstYear, lastYear);
+    }
+
+    /**
+     * Covers every location from the first day of the first year to the last day of the last year.
+     *
+     * @param file      the file to write
+     * @param firstYear the first year
+     * @param lastYear  the last year, inclusive
+     */
+    public void generate(Path file, int firstYear, int lastYear) throws IOException {
+        // longitudes shift the cycle by half a day in both directions, one more for the interpolation
+        final var firstCycle = (int) Math.floor(this.julianCycle(LocalDate.of(firstYear, 1, 1))) - 1;
+        final var lastCycle = (int) Math.ceil(this.julianCycle(LocalDate.of(lastYear + 1, 1, 1))) + 1;
+        final var cycles = lastCycle - firstCycle + 1;
+
+        final var buffer = ByteBuffer.allocate(EphemerisTable.HEADER_BYTES + cycles * EphemerisTable.RECORD_BYTES);
+        buffer.putInt(EphemerisTable.MAGIC).putInt(EphemerisTable.VERSION).putInt(firstCycle).putInt(cycles);
+
+        for (var cycle = firstCycle; cycle <= lastCycle; cycle++) {
+            final var variables = this.solarCalculator.calculateSolarEquationVariables(cycle, 0);
+            final var transitOffset = variables.getJtransit() - (JULIAN_DATE_2000_01_01 + CONST_0009 + cycle);
+
+            buffer.putFloat((float) variables.getM())
+                    .putFloat((float) variables.getLambda())
+                    .putFloat((float) variables.getDelta())
+                    .putFloat((float) transitOffset);
+        }
+        buffer.flip();
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (final var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private double julianCycle(LocalDate date) {
+        final var epochSecond = date.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+
+        return this.dateConverter.toJulianDate(epochSecond) - JULIAN_DATE_2000_01_01 - CONST_0009;
+    }
+}
@@ -0,0 +1,82 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.SolarEquationVariables;
+
+import static de.thatsich.solartime.entity.JulianConstants.CONST_0009;
+import static de.thatsich.solartime.entity.JulianConstants.CONST_360;
+import static de.thatsich.solartime.entity.JulianConstants.JULIAN_DATE_2000_01_01;
+
+/**
+ * Takes the solar equation variables from an {@link EphemerisTable} instead of the trigonometric formulas.
+ * <br>
+ * The variables only depend on {@code t = n - longitude / 360}, the table holds them for whole t.
+ * The longitude shifts t by up to half a day from the nearest whole t, which is corrected by a quadratic interpolation
+ * over the neighbouring days. A linear one is off by up to 4 arc seconds of declination, which moves events by over a
+ * minute close to the polar circles.
+ * Outside of the table the formulas are used.
+ */
+public class EphemerisSolarEquationVariableCalculator extends SolarEquationVariableCalculator {
+
+    private static final double TWO_PI = 2 * Math.PI;
+
+    private final EphemerisTable ephemerisTable;
+
+    public EphemerisSolarEquationVariableCalculator(DateConverter dateConverter, EphemerisTable ephemerisTable) {
+        this(dateConverter, Trigonometry.JDK, ephemerisTable);
+    }
+
+    public EphemerisSolarEquationVariableCalculator(DateConverter dateConverter, Trigonometry trigonometry, EphemerisTable ephemerisTable) {
+        super(dateConverter, trigonometry);
+        this.ephemerisTable = ephemerisTable;
+    }
+
+    @Override
+    public SolarEquationVariables calculateSolarEquationVariables(double n, double longitude) {
+        final var t = n - longitude / CONST_360;
+        final var cycle = (int) Math.round(t);
+        if (!(cycle > this.ephemerisTable.getFirstCycle() && cycle < this.ephemerisTable.getLastCycle())) {
+            return super.calculateSolarEquationVariables(n, longitude);
+        }
+
+        final var u = t - cycle;
+        final var m = this.interpolateAngle(cycle, EphemerisTable.MEAN_ANOMALY, u);
+        final var lambda = this.interpolateAngle(cycle, EphemerisTable.ECLIPTIC_LONGITUDE, u);
+        final var delta = this.interpolate(cycle, EphemerisTable.DECLINATION, u);
+        final var jtransit = JULIAN_DATE_2000_01_01 + CONST_0009 + t + this.interpolate(cycle, EphemerisTable.TRANSIT_OFFSET, u);
+
+        return new SolarEquationVariables(n, m, lambda, jtransit, delta);
+    }
+
+    /**
+     * Parabola through the nearest cycle and its neighbours, evaluated at {@code u} in [-0.5, 0.5] from the nearest cycle.
+     */
+    private double interpolate(int cycle, int column, double u) {
+        final double lower = this.ephemerisTable.get(cycle - 1, column);
+        final double middle = this.ephemerisTable.get(cycle, column);
+        final double upper = this.ephemerisTable.get(cycle + 1, column);
+
+        return middle + u * ((upper - lower) / 2 + u * ((upper + lower) / 2 - middle));
+    }
+
+    /**
+     * Angles wrap around at a full circle, the neighbours are unwrapped relative to the nearest cycle first.
+     */
+    private double interpolateAngle(int cycle, int column, double u) {
+        final double middle = this.ephemerisTable.get(cycle, column);
+        final var lower = unwrap(this.ephemerisTable.get(cycle - 1, column), middle);
+        final var upper = unwrap(this.ephemerisTable.get(cycle + 1, column), middle);
+
+        return middle + u * ((upper - lower) / 2 + u * ((upper + lower) / 2 - middle));
+    }
+
+    private static double unwrap(double angle, double reference) {
+        if (angle - reference > Math.PI) {
+            return angle - TWO_PI;
+        }
+        if (angle - reference < -Math.PI) {
+            return angle + TWO_PI;
+        }
+
+        return angle;
+    }
+}
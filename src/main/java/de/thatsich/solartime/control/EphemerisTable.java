@@ -0,0 +1,143 @@
+package de.thatsich.solartime.control;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read only view of a binary ephemeris written by {@link EphemerisGenerator}, mapped into memory with {@link FileChannel#map}.
+ * <br>
+ * Layout, big endian: a header of magic, version, first Julian cycle and number of cycles as ints,
+ * then per Julian cycle the solar mean anomaly, the ecliptic longitude, the declination (all in radians)
+ * and the difference between solar transit and approximate solar noon (in days) as floats.
+ * <br>
+ * Lookups use absolute reads only and are therefore safe from many threads.
+ */
+public class EphemerisTable {
+
+    static final int MAGIC = 0x534F4C45; // "SOLE"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 4 * Integer.BYTES;
+    static final int RECORD_BYTES = 4 * Float.BYTES;
+
+    static final int MEAN_ANOMALY = 0;
+    static final int ECLIPTIC_LONGITUDE = 1;
+    static final int DECLINATION = 2;
+    static final int TRANSIT_OFFSET = 3;
+
+    /**
+     * Name of the table bundled with the library, covering 1900 to 2100.
+     */
+    public static final String BUNDLED_RESOURCE = "ephemeris-1900-2100.bin";
+
+    // mapped on the first call of openBundled(), shared by all later calls
+    private static volatile EphemerisTable bundled;
+
+    private final ByteBuffer buffer;
+    private final int firstCycle;
+    private final int cycles;
+
+    private EphemerisTable(ByteBuffer buffer) {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new IllegalArgumentException("not an ephemeris of version " + VERSION);
+        }
+
+        this.buffer = buffer;
+        this.firstCycle = buffer.getInt(2 * Integer.BYTES);
+        this.cycles = buffer.getInt(3 * Integer.BYTES);
+
+        if (buffer.capacity() != HEADER_BYTES + (long) this.cycles * RECORD_BYTES) {
+            throw new IllegalArgumentException("ephemeris is truncated, expected " + this.cycles + " cycles");
+        }
+    }
+
+    /**
+     * @param file an ephemeris written by {@link EphemerisGenerator}
+     * @return the mapped table, the file can be closed or deleted afterwards on most platforms
+     * @throws UncheckedIOException     if the file can not be read
+     * @throws IllegalArgumentException if the file is not an ephemeris
+     */
+    public static EphemerisTable open(Path file) {
+        try (final var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new EphemerisTable(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not map ephemeris " + file, e);
+        }
+    }
+
+    /**
+     * Maps the table bundled with the library on the first call, later calls return the same table.
+     * Inside a jar the table is copied to a temporary file once, since only files can be mapped.
+     *
+     * @return the mapped table covering 1900 to 2100
+     * @throws UncheckedIOException if the library was built without the table
+     */
+    public static EphemerisTable openBundled() {
+        var table = bundled;
+        if (table == null) {
+            synchronized (EphemerisTable.class) {
+                table = bundled;
+                if (table == null) {
+                    table = mapBundled();
+                    bundled = table;
+                }
+            }
+        }
+
+        return table;
+    }
+
+    private static EphemerisTable mapBundled() {
+        final var resource = EphemerisTable.class.getResource(BUNDLED_RESOURCE);
+        if (resource == null) {
+            throw new UncheckedIOException(new IOException("library was built without " + BUNDLED_RESOURCE));
+        }
+
+        try {
+            if ("file".equals(resource.getProtocol())) {
+                return open(Path.of(resource.toURI()));
+            }
+
+            final var copy = Files.createTempFile("solar-time-", ".bin");
+            copy.toFile().deleteOnExit();
+            try (final InputStream in = resource.openStream()) {
+                Files.copy(in, copy, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            return open(copy);
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not extract " + BUNDLED_RESOURCE, e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return the first Julian cycle of the table
+     */
+    public int getFirstCycle() {
+        return firstCycle;
+    }
+
+    /**
+     * @return the last Julian cycle of the table
+     */
+    public int getLastCycle() {
+        return this.firstCycle + this.cycles - 1;
+    }
+
+    /**
+     * @param cycle  a Julian cycle within the table
+     * @param column one of the record columns
+     */
+    float get(int cycle, int column) {
+        return this.buffer.getFloat(HEADER_BYTES + (cycle - this.firstCycle) * RECORD_BYTES + column * Float.BYTES);
+    }
+}
@@ -0,0 +1,335 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.Altitude;
+import de.thatsich.solartime.entity.PolarSentinel;
+import de.thatsich.solartime.entity.SolarEquationVariables;
+import de.thatsich.solartime.entity.SolarEvent;
+
+import java.util.Set;
+
+import static de.thatsich.solartime.entity.JulianConstants.CONST_0009;
+import static de.thatsich.solartime.entity.JulianConstants.CONST_360;
+import static de.thatsich.solartime.entity.JulianConstants.JULIAN_DATE_2000_01_01;
+
+/**
+ * Calculates dawn, dusk and solar noon events on primitives only.
+ * Instants are given and returned as seconds since the epoch, events which do not happen
+ * on the given day are returned as {@link PolarSentinel}.
+ *
+ * @see <a href="http://en.wikipedia.org/wiki/Sunrise_equation">Sunrise equation on Wikipedia</a>
+ */
+public class EpochEventCalculator {
+
+    // dawn and dusk of the same altitude share their hour angle
+    private static final Altitude[] ALTITUDES = {Altitude.SUNRISE_SUNSET, Altitude.CIVIL, Altitude.NAUTICAL, Altitude.ASTRONOMICAL};
+    private static final SolarEvent[] DAWNS = {SolarEvent.SUNRISE, SolarEvent.CIVIL_DAWN, SolarEvent.NAUTICAL_DAWN, SolarEvent.ASTRONOMICAL_DAWN};
+    private static final SolarEvent[] DUSKS = {SolarEvent.SUNSET, SolarEvent.CIVIL_DUSK, SolarEvent.NAUTICAL_DUSK, SolarEvent.ASTRONOMICAL_DUSK};
+
+    // a tenth of a second in days
+    private static final double REFINEMENT_TOLERANCE = 0.1 / 86400;
+
+    private final SolarEquationVariableCalculator solarCalculator;
+    private final HourAngleCalculator hourAngleCalculator;
+    private final DateConverter dateConverter;
+    private final Trigonometry trigonometry;
+
+    public EpochEventCalculator(SolarEquationVariableCalculator solarCalculator, HourAngleCalculator hourAngleCalculator, DateConverter dateConverter) {
+        this.solarCalculator = solarCalculator;
+        this.hourAngleCalculator = hourAngleCalculator;
+        this.dateConverter = dateConverter;
+        this.trigonometry = solarCalculator.getTrigonometry();
+    }
+
+    /**
+     * sunrise
+     * civil dawn
+     * nautical dawn
+     * astronomical dawn
+     *
+     * @param epochSecond an instant of the day in seconds since the epoch
+     * @param latitude    the latitude of the location in degrees.
+     * @param longitude   the longitude of the location in degrees (West is negative)
+     * @param altitude    the altitude the sun crosses while rising
+     * @return the dawn event in seconds since the epoch or a {@link PolarSentinel}
+     */
+    public long calculateDawnEvent(final long epochSecond, final double latitude, double longitude, Altitude altitude) {
+        final var solarEquationVariables = this.calculateSolarEquationVariables(epochSecond, longitude);
+        final var hourAngleStage = new CalculationEvents.HourAngleStage();
+        hourAngleStage.begin();
+        final var hourAngleCosine = this.calculateHourAngleCosine(solarEquationVariables, latitude, altitude);
+        if (isPolar(hourAngleCosine)) {
+            hourAngleStage.commit(altitude, hourAngleCosine);
+            return toPolarSentinel(hourAngleCosine);
+        }
+        final var omega = this.trigonometry.acos(hourAngleCosine);
+        hourAngleStage.commit(altitude, hourAngleCosine);
+
+        final var jset = calculateJulianSunset(solarEquationVariables, omega);
+        var jrise = solarEquationVariables.getJtransit() - (jset - solarEquationVariables.getJtransit());
+        if (this.solarCalculator.getEventRefinements() > 0) {
+            final var latitudeRad = Math.toRadians(latitude);
+            jrise = this.refine(solarEquationVariables, jrise, longitude, this.trigonometry.sin(latitudeRad), this.trigonometry.cos(latitudeRad), altitude, -1);
+        }
+
+        return this.toEpochSecond(jrise);
+    }
+
+    /**
+     * sunset
+     * civil dusk
+     * nautical dusk
+     * astronomical dusk
+     *
+     * @param epochSecond an instant of the day in seconds since the epoch
+     * @param latitude    the latitude of the location in degrees.
+     * @param longitude   the longitude of the location in degrees (West is negative)
+     * @param altitude    the altitude the sun crosses while setting
+     * @return the dusk event in seconds since the epoch or a {@link PolarSentinel}
+     */
+    public long calculateDuskEvent(final long epochSecond, final double latitude, double longitude, Altitude altitude) {
+        final var solarEquationVariables = this.calculateSolarEquationVariables(epochSecond, longitude);
+        final var hourAngleStage = new CalculationEvents.HourAngleStage();
+        hourAngleStage.begin();
+        final var hourAngleCosine = this.calculateHourAngleCosine(solarEquationVariables, latitude, altitude);
+        if (isPolar(hourAngleCosine)) {
+            hourAngleStage.commit(altitude, hourAngleCosine);
+            return toPolarSentinel(hourAngleCosine);
+        }
+        final var omega = this.trigonometry.acos(hourAngleCosine);
+        hourAngleStage.commit(altitude, hourAngleCosine);
+
+        var jset = calculateJulianSunset(solarEquationVariables, omega);
+        if (this.solarCalculator.getEventRefinements() > 0) {
+            final var latitudeRad = Math.toRadians(latitude);
+            jset = this.refine(solarEquationVariables, jset, longitude, this.trigonometry.sin(latitudeRad), this.trigonometry.cos(latitudeRad), altitude, 1);
+        }
+
+        return this.toEpochSecond(jset);
+    }
+
+    /**
+     * Solar noon only exists on days with a sunrise (e.g. not in Antarctica in June and December).
+     *
+     * @param epochSecond an instant of the day in seconds since the epoch
+     * @param latitude    the latitude of the location in degrees.
+     * @param longitude   the longitude of the location in degrees (West is negative)
+     * @return the solar noon in seconds since the epoch or a {@link PolarSentinel}
+     */
+    public long calculateSolarNoon(final long epochSecond, final double latitude, double longitude) {
+        final var solarEquationVariables = this.calculateSolarEquationVariables(epochSecond, longitude);
+        final var hourAngleStage = new CalculationEvents.HourAngleStage();
+        hourAngleStage.begin();
+        final var hourAngleCosine = this.calculateHourAngleCosine(solarEquationVariables, latitude, Altitude.SUNRISE_SUNSET);
+        hourAngleStage.commit(Altitude.SUNRISE_SUNSET, hourAngleCosine);
+        if (isPolar(hourAngleCosine)) {
+            return toPolarSentinel(hourAngleCosine);
+        }
+
+        var jtransit = solarEquationVariables.getJtransit();
+        if (this.solarCalculator.getEventRefinements() > 0) {
+            jtransit = this.refine(solarEquationVariables, jtransit, longitude, 0, 0, Altitude.SUNRISE_SUNSET, 0);
+        }
+
+        return this.toEpochSecond(jtransit);
+    }
+
+    /**
+     * Calculates several events of the same day in a single pass. The solar equation variables
+     * as well as the sines and cosines of latitude and declination are only calculated once,
+     * dawn and dusk of the same altitude share one hour angle.
+     *
+     * @param epochSecond an instant of the day in seconds since the epoch
+     * @param latitude    the latitude of the location in degrees.
+     * @param longitude   the longitude of the location in degrees (West is negative)
+     * @param events      the events to calculate
+     * @param target      receives the events in seconds since the epoch or as {@link PolarSentinel},
+     *                    indexed by the ordinal of the event. Other entries are left untouched.
+     */
+    public void calculateEvents(final long epochSecond, final double latitude, double longitude, Set<SolarEvent> events, long[] target) {
+        this.calculateEventsOfCycle(this.calculateJulianCycle(epochSecond, longitude), latitude, longitude, events, target);
+    }
+
+    /**
+     * @param epochSecond an instant of the day in seconds since the epoch
+     * @param longitude   the longitude of the location in degrees (West is negative)
+     * @return the Julian cycle of the solar transit closest to the instant, consecutive days differ by one
+     */
+    public double calculateJulianCycle(final long epochSecond, double longitude) {
+        return this.solarCalculator.calculateJulianCycle(this.dateConverter.toJulianDate(epochSecond), longitude);
+    }
+
+    /**
+     * Same as {@link #calculateEvents(long, double, double, Set, long[])} for a known Julian cycle,
+     * which saves the conversion of the instant when iterating over consecutive days.
+     *
+     * @param n         the Julian cycle, see {@link #calculateJulianCycle(long, double)}
+     * @param latitude  the latitude of the location in degrees.
+     * @param longitude the longitude of the location in degrees (West is negative)
+     * @param events    the events to calculate
+     * @param target    receives the events in seconds since the epoch or as {@link PolarSentinel},
+     *                  indexed by the ordinal of the event. Other entries are left untouched.
+     */
+    public void calculateEventsOfCycle(final double n, final double latitude, double longitude, Set<SolarEvent> events, long[] target) {
+        final var solarEquationVariables = this.solarCalculator.calculateSolarEquationVariables(n, longitude);
+        final var latitudeRad = Math.toRadians(latitude);
+        final var sinLatitude = this.trigonometry.sin(latitudeRad);
+        final var cosLatitude = this.trigonometry.cos(latitudeRad);
+        final var sinDeclination = this.trigonometry.sin(solarEquationVariables.getDelta());
+        final var cosDeclination = this.trigonometry.cos(solarEquationVariables.getDelta());
+        final var jtransit = solarEquationVariables.getJtransit();
+        final var refined = this.solarCalculator.getEventRefinements() > 0;
+
+        for (var i = 0; i < ALTITUDES.length; i++) {
+            final var dawn = events.contains(DAWNS[i]);
+            final var dusk = events.contains(DUSKS[i]);
+            final var noon = i == 0 && events.contains(SolarEvent.SOLAR_NOON);
+            if (!dawn && !dusk && !noon) {
+                continue;
+            }
+
+            final var hourAngleCosine = this.hourAngleCalculator.calculateHourAngleCosine(ALTITUDES[i], sinLatitude, cosLatitude, sinDeclination, cosDeclination);
+            if (isPolar(hourAngleCosine)) {
+                final var sentinel = toPolarSentinel(hourAngleCosine);
+                if (dawn) {
+                    target[DAWNS[i].ordinal()] = sentinel;
+                }
+                if (dusk) {
+                    target[DUSKS[i].ordinal()] = sentinel;
+                }
+                if (noon) {
+                    target[SolarEvent.SOLAR_NOON.ordinal()] = sentinel;
+                }
+                continue;
+            }
+
+            final var jset = calculateJulianSunset(solarEquationVariables, this.trigonometry.acos(hourAngleCosine));
+            if (dawn) {
+                final var jrise = jtransit - (jset - jtransit);
+                target[DAWNS[i].ordinal()] = this.dateConverter.toEpochSecond(refined
+                        ? this.refine(solarEquationVariables, jrise, longitude, sinLatitude, cosLatitude, ALTITUDES[i], -1)
+                        : jrise);
+            }
+            if (dusk) {
+                target[DUSKS[i].ordinal()] = this.dateConverter.toEpochSecond(refined
+                        ? this.refine(solarEquationVariables, jset, longitude, sinLatitude, cosLatitude, ALTITUDES[i], 1)
+                        : jset);
+            }
+            if (noon) {
+                target[SolarEvent.SOLAR_NOON.ordinal()] = this.dateConverter.toEpochSecond(refined
+                        ? this.refine(solarEquationVariables, jtransit, longitude, sinLatitude, cosLatitude, ALTITUDES[i], 0)
+                        : jtransit);
+            }
+        }
+    }
+
+    /**
+     * A single event before it is rounded to seconds. The variables may belong to a fractional Julian cycle,
+     * the event is a smooth function of the cycle as long as the sun crosses the altitude of the event.
+     *
+     * @param solarEquationVariables the variables of the cycle, see {@link SolarEquationVariableCalculator#calculateSolarEquationVariables(double, double)}
+     * @param latitude               the latitude of the location in degrees.
+     * @param longitude              the longitude of the location in degrees (West is negative)
+     * @param event                  the event to calculate
+     * @return the event as Julian date, NaN if the sun does not cross the altitude of the event
+     */
+    public double calculateJulianEvent(SolarEquationVariables solarEquationVariables, final double latitude, double longitude, SolarEvent event) {
+        final var altitude = event.getAltitude();
+        final var hourAngleCosine = this.calculateHourAngleCosine(solarEquationVariables, latitude, altitude);
+        if (isPolar(hourAngleCosine)) {
+            return Double.NaN;
+        }
+
+        final var jtransit = solarEquationVariables.getJtransit();
+        final var jset = calculateJulianSunset(solarEquationVariables, this.trigonometry.acos(hourAngleCosine));
+        final var direction = event.isDawn() ? -1 : event.isDusk() ? 1 : 0;
+        final var julianEvent = direction < 0 ? jtransit - (jset - jtransit) : direction > 0 ? jset : jtransit;
+        if (this.solarCalculator.getEventRefinements() > 0) {
+            final var latitudeRad = Math.toRadians(latitude);
+            return this.refine(solarEquationVariables, julianEvent, longitude, this.trigonometry.sin(latitudeRad), this.trigonometry.cos(latitudeRad), altitude, direction);
+        }
+
+        return julianEvent;
+    }
+
+    private SolarEquationVariables calculateSolarEquationVariables(long epochSecond, double longitude) {
+        final var julianDateStage = new CalculationEvents.JulianDateStage();
+        julianDateStage.begin();
+        final var n = this.calculateJulianCycle(epochSecond, longitude);
+        julianDateStage.commit(epochSecond, n);
+
+        final var solarEquationVariablesStage = new CalculationEvents.SolarEquationVariablesStage();
+        solarEquationVariablesStage.begin();
+        final var solarEquationVariables = this.solarCalculator.calculateSolarEquationVariables(n, longitude);
+        solarEquationVariablesStage.commit(n, solarEquationVariables.getDelta());
+
+        return solarEquationVariables;
+    }
+
+    private long toEpochSecond(double julianDate) {
+        final var gregorianDateStage = new CalculationEvents.GregorianDateStage();
+        gregorianDateStage.begin();
+        final var epochSecond = this.dateConverter.toEpochSecond(julianDate);
+        gregorianDateStage.commit(julianDate, epochSecond);
+
+        return epochSecond;
+    }
+
+    private double calculateHourAngleCosine(SolarEquationVariables solarEquationVariables, double latitude, Altitude altitude) {
+        final double latitudeRad = Math.toRadians(latitude);
+        final var declination = solarEquationVariables.getDelta();
+
+        return this.hourAngleCalculator.calculateHourAngleCosine(altitude, this.trigonometry.sin(latitudeRad), this.trigonometry.cos(latitudeRad), this.trigonometry.sin(declination), this.trigonometry.cos(declination));
+    }
+
+    private static double calculateJulianSunset(SolarEquationVariables solarEquationVariables, double omega) {
+        return solarEquationVariables.getJtransit() + Math.toDegrees(omega) / CONST_360;
+    }
+
+    /**
+     * The sunrise equation takes the declination and the equation of time at the solar transit for the whole day.
+     * Each refinement takes them at the previous estimate of the event instead, until the estimate moves less than
+     * {@link #REFINEMENT_TOLERANCE}. Estimates whose altitude is not crossed any more are kept.
+     *
+     * @param direction -1 for dawns, 1 for dusks and 0 for the solar noon
+     */
+    private double refine(SolarEquationVariables solarEquationVariables, double estimate, double longitude, double sinLatitude, double cosLatitude, Altitude altitude, int direction) {
+        final var refinements = this.solarCalculator.getEventRefinements();
+        // the approximate solar noon of the cycle, the equation of time is relative to it
+        final var jstar = JULIAN_DATE_2000_01_01 + CONST_0009 - longitude / CONST_360 + solarEquationVariables.getN();
+
+        var refined = estimate;
+        for (var i = 0; i < refinements; i++) {
+            final var atEstimate = this.solarCalculator.calculateSolarEquationVariablesAt(refined);
+            final var transit = jstar + (atEstimate.getJtransit() - refined);
+
+            var next = transit;
+            if (direction != 0) {
+                final var sinDeclination = this.trigonometry.sin(atEstimate.getDelta());
+                final var cosDeclination = this.trigonometry.cos(atEstimate.getDelta());
+                final var hourAngleCosine = this.hourAngleCalculator.calculateHourAngleCosine(altitude, sinLatitude, cosLatitude, sinDeclination, cosDeclination);
+                if (isPolar(hourAngleCosine)) {
+                    break;
+                }
+                next = transit + direction * Math.toDegrees(this.trigonometry.acos(hourAngleCosine)) / CONST_360;
+            }
+
+            final var converged = Math.abs(next - refined) < REFINEMENT_TOLERANCE;
+            refined = next;
+            if (converged) {
+                break;
+            }
+        }
+
+        return refined;
+    }
+
+    private static boolean isPolar(double hourAngleCosine) {
+        // also catches NaN, e.g. for invalid latitudes
+        return !(hourAngleCosine >= -1 && hourAngleCosine <= 1);
+    }
+
+    private static long toPolarSentinel(double hourAngleCosine) {
+        // the sun never climbs up to the altitude if the cosine is too large
+        return hourAngleCosine < -1 ? PolarSentinel.POLAR_DAY : PolarSentinel.POLAR_NIGHT;
+    }
+}
@@ -0,0 +1,119 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.Altitude;
+import de.thatsich.solartime.entity.Grid;
+import de.thatsich.solartime.entity.PolarSentinel;
+import de.thatsich.solartime.entity.PolarStatus;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Calculates dawn and dusk of one date for every cell of a {@link Grid}.
+ * <br>
+ * The rows are split in halves by fork-join until a block holds at most {@code cellsPerTask} cells.
+ * Every block runs the {@link BatchKernel} row by row on the shared {@link DailySolarTerms} and copies the rows
+ * into its part of the result arrays, so blocks never write the same memory.
+ */
+public class GridEventCalculator {
+
+    private final BatchEventCalculator batchEventCalculator;
+    private final ForkJoinPool pool;
+    private final int cellsPerTask;
+
+    /**
+     * @param cellsPerTask the cells a task calculates without splitting further, at least one row per task
+     */
+    public GridEventCalculator(BatchEventCalculator batchEventCalculator, ForkJoinPool pool, int cellsPerTask) {
+        if (cellsPerTask < 1) {
+            throw new IllegalArgumentException("cellsPerTask needs to be positive, but was " + cellsPerTask);
+        }
+
+        this.batchEventCalculator = batchEventCalculator;
+        this.pool = pool;
+        this.cellsPerTask = cellsPerTask;
+    }
+
+    /**
+     * @param epochSecond an instant of the date in seconds since the epoch
+     * @param altitude    the altitude the sun crosses
+     * @param grid        the cells
+     * @param dawns       receives the dawns in seconds since the epoch or a {@link PolarSentinel}, {@link Grid#size()} long
+     * @param dusks       receives the dusks in seconds since the epoch or a {@link PolarSentinel}, {@link Grid#size()} long
+     * @param polarStatus receives the {@link PolarStatus} of every cell, {@link Grid#size()} long
+     */
+    public void calculateEvents(long epochSecond, Altitude altitude, Grid grid, long[] dawns, long[] dusks, byte[] polarStatus) {
+        final var terms = this.batchEventCalculator.calculateDailySolarTerms(epochSecond);
+
+        final var longitudes = new double[grid.getColumns()];
+        for (var column = 0; column < longitudes.length; column++) {
+            longitudes[column] = grid.getLongitude(column);
+        }
+
+        final var rowsPerTask = Math.max(1, this.cellsPerTask / grid.getColumns());
+        final var task = new RowBlockTask(terms, altitude, grid, longitudes, rowsPerTask, 0, grid.getRows(), dawns, dusks, polarStatus);
+
+        this.pool.invoke(task);
+    }
+
+    public int getCellsPerTask() {
+        return cellsPerTask;
+    }
+
+    private class RowBlockTask extends RecursiveAction {
+
+        private final DailySolarTerms terms;
+        private final Altitude altitude;
+        private final Grid grid;
+        private final double[] longitudes;
+        private final int rowsPerTask;
+        private final int fromRow;
+        private final int toRow;
+        private final long[] dawns;
+        private final long[] dusks;
+        private final byte[] polarStatus;
+
+        private RowBlockTask(DailySolarTerms terms, Altitude altitude, Grid grid, double[] longitudes, int rowsPerTask, int fromRow, int toRow, long[] dawns, long[] dusks, byte[] polarStatus) {
+            this.terms = terms;
+            this.altitude = altitude;
+            this.grid = grid;
+            this.longitudes = longitudes;
+            this.rowsPerTask = rowsPerTask;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.dawns = dawns;
+            this.dusks = dusks;
+            this.polarStatus = polarStatus;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.toRow - this.fromRow > this.rowsPerTask) {
+                final var middleRow = (this.fromRow + this.toRow) >>> 1;
+                invokeAll(this.split(this.fromRow, middleRow), this.split(middleRow, this.toRow));
+                return;
+            }
+
+            final var columns = this.grid.getColumns();
+            final var latitudes = new double[columns];
+            final var rowDawns = new long[columns];
+            final var rowDusks = new long[columns];
+            final var rowStatus = new byte[columns];
+
+            for (var row = this.fromRow; row < this.toRow; row++) {
+                Arrays.fill(latitudes, this.grid.getLatitude(row));
+                batchEventCalculator.calculateEvents(this.terms, this.altitude, latitudes, this.longitudes, 0, columns, rowDawns, rowDusks, rowStatus);
+
+                final var offset = this.grid.index(row, 0);
+                System.arraycopy(rowDawns, 0, this.dawns, offset, columns);
+                System.arraycopy(rowDusks, 0, this.dusks, offset, columns);
+                System.arraycopy(rowStatus, 0, this.polarStatus, offset, columns);
+            }
+        }
+
+        private RowBlockTask split(int fromRow, int toRow) {
+            return new RowBlockTask(this.terms, this.altitude, this.grid, this.longitudes, this.rowsPerTask, fromRow, toRow, this.dawns, this.dusks, this.polarStatus);
+        }
+    }
+}
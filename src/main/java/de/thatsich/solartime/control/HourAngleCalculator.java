@@ -2,23 +2,37 @@ package de.thatsich.solartime.control;
 
 import de.thatsich.solartime.entity.Altitude;
 
-import java.util.Optional;
-
 public class HourAngleCalculator {
 
-    Optional<Double> calculateHourAngle(Altitude altitude, double latitudeRad, double sunDeclination) {
-        final var radAltitude = Math.toRadians(altitude.getValue());
-        final var omega = Math.acos((Math.sin(radAltitude) - Math.sin(latitudeRad) * Math.sin(sunDeclination))
-                / (Math.cos(latitudeRad) * Math.cos(sunDeclination)));
+    // the declination changes by about 0.4 degrees a day around the equinoxes, rounded up for safety
+    private static final double MAX_DECLINATION_PER_DAY = Math.toRadians(0.5);
+    // the sine of each altitude, indexed by ordinal
+    private static final double[] SIN_ALTITUDES = new double[Altitude.values().length];
 
-        if (Double.isNaN(omega)) {
-            return Optional.empty();
-        }
-        else {
-            return Optional.of(omega);
+    static {
+        for (final var altitude : Altitude.values()) {
+            SIN_ALTITUDES[altitude.ordinal()] = Math.sin(Math.toRadians(altitude.getValue()));
         }
     }
 
+    /**
+     * The cosine of the hour angle at which the sun crosses the given altitude.
+     * Values outside of [-1, 1] mean that the sun does not cross the altitude at all:
+     * above 1 it stays below the altitude, below -1 it stays above the altitude.
+     */
+    double calculateHourAngleCosine(Altitude altitude, double latitudeRad, double sunDeclination) {
+        return this.calculateHourAngleCosine(altitude, Math.sin(latitudeRad), Math.cos(latitudeRad), Math.sin(sunDeclination), Math.cos(sunDeclination));
+    }
+
+    /**
+     * Same as {@link #calculateHourAngleCosine(Altitude, double, double)}, but reuses the sines and cosines
+     * of latitude and declination for several altitudes.
+     */
+    double calculateHourAngleCosine(Altitude altitude, double sinLatitude, double cosLatitude, double sinDeclination, double cosDeclination) {
+        return (SIN_ALTITUDES[altitude.ordinal()] - sinLatitude * sinDeclination)
+                / (cosLatitude * cosDeclination);
+    }
+
     public boolean is24HourDayTime(double latitudeRad, double sunDeclination) {
         return Math.tan(latitudeRad) * Math.tan(sunDeclination) > 1;
     }
@@ -27,4 +41,57 @@ public class HourAngleCalculator {
         return Math.tan(latitudeRad) * Math.tan(sunDeclination) < -1;
     }
 
+    /**
+     * Generalizes {@link #is24HourDayTime(double, double)} and {@link #is24HourNightTime(double, double)}
+     * to any altitude: the sun culminates at {@code 90 - |latitude - declination|} and reaches its lowest
+     * point at {@code |latitude + declination| - 90}, both change at most as fast as the declination.
+     *
+     * @return how far the declination has to move at least until the sun crosses the given altitude,
+     * or 0 if it already does
+     */
+    public double calculateDeclinationMargin(Altitude altitude, double latitudeRad, double sunDeclination) {
+        final var radAltitude = Math.toRadians(altitude.getValue());
+        final var highest = Math.PI / 2 - Math.abs(latitudeRad - sunDeclination);
+        final var lowest = Math.abs(latitudeRad + sunDeclination) - Math.PI / 2;
+
+        if (radAltitude > highest) {
+            return radAltitude - highest;
+        }
+        if (radAltitude < lowest) {
+            return lowest - radAltitude;
+        }
+
+        return 0;
+    }
+
+    /**
+     * The counterpart of {@link #calculateDeclinationMargin(Altitude, double, double)} for days with a crossing.
+     *
+     * @return how far the declination can move at least while the sun still crosses the given altitude,
+     * or 0 if it does not cross it
+     */
+    public double calculateCrossingMargin(Altitude altitude, double latitudeRad, double sunDeclination) {
+        final var radAltitude = Math.toRadians(altitude.getValue());
+        final var highest = Math.PI / 2 - Math.abs(latitudeRad - sunDeclination);
+        final var lowest = Math.abs(latitudeRad + sunDeclination) - Math.PI / 2;
+
+        return Math.max(0, Math.min(highest - radAltitude, radAltitude - lowest));
+    }
+
+    /**
+     * @return the declination change per day the margins are divided by, an upper bound
+     */
+    public double getMaxDeclinationPerDay() {
+        return MAX_DECLINATION_PER_DAY;
+    }
+
+    /**
+     * @return the number of days which certainly pass until the sun crosses the given altitude, at least one
+     * @see #calculateDeclinationMargin(Altitude, double, double)
+     */
+    public long calculatePolarDays(Altitude altitude, double latitudeRad, double sunDeclination) {
+        final var margin = this.calculateDeclinationMargin(altitude, latitudeRad, sunDeclination);
+
+        return Math.max(1, (long) (margin / MAX_DECLINATION_PER_DAY));
+    }
 }
@@ -0,0 +1,127 @@
+package de.thatsich.solartime.control;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of durations in nanoseconds with logarithmic buckets.
+ * <br>
+ * Every power of two is split into {@value #SUB_BUCKETS} buckets, so a percentile is reported at most a quarter
+ * too high. Durations from 2^{@value #MAX_EXPONENT} ns on, about 18 minutes, share the last bucket.
+ * The buckets are striped by thread, threads on different cores rarely increment the same counter.
+ * A stripe holds {@value #BUCKETS} counters, the same bucket of two stripes never shares a cache line.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    // a power of two of about one stripe per core, more do not reduce the contention any further
+    private static final int STRIPES = Math.min(8, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+
+    private final AtomicLongArray counts = new AtomicLongArray(STRIPES * BUCKETS);
+
+    /**
+     * @param nanos the duration, negative durations count as 0
+     */
+    public void record(long nanos) {
+        this.counts.getAndIncrement(stripe() * BUCKETS + bucketOf(nanos));
+    }
+
+    /**
+     * @return the number of recorded durations
+     */
+    public long getCount() {
+        var count = 0L;
+        for (var index = 0; index < this.counts.length(); index++) {
+            count += this.counts.get(index);
+        }
+
+        return count;
+    }
+
+    /**
+     * @param quantile e.g. 0.99 for the 99th percentile
+     * @return the upper bound of the bucket holding the percentile, 0 if nothing was recorded
+     * @throws IllegalArgumentException if the quantile is not within [0, 1]
+     */
+    public long getPercentile(double quantile) {
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("quantile needs to be within [0, 1], but was " + quantile);
+        }
+
+        final var buckets = this.sumStripes();
+        var count = 0L;
+        for (final var bucket : buckets) {
+            count += bucket;
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        // the rank of the percentile, at least the first duration
+        final var rank = Math.max(1, (long) Math.ceil(quantile * count));
+        var seen = 0L;
+        for (var bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += buckets[bucket];
+            if (seen >= rank) {
+                return upperBoundOf(bucket);
+            }
+        }
+
+        return upperBoundOf(BUCKETS - 1);
+    }
+
+    /**
+     * Clears all buckets. Durations recorded meanwhile may survive.
+     */
+    public void reset() {
+        for (var index = 0; index < this.counts.length(); index++) {
+            this.counts.set(index, 0);
+        }
+    }
+
+    static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) Math.max(0, nanos);
+        }
+
+        final var exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+
+        // the bits below the leading one select the sub bucket
+        final var subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+
+        final var exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        final var subBucket = bucket % SUB_BUCKETS;
+
+        return ((long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    private long[] sumStripes() {
+        final var buckets = new long[BUCKETS];
+        for (var index = 0; index < this.counts.length(); index++) {
+            buckets[index % BUCKETS] += this.counts.get(index);
+        }
+
+        return buckets;
+    }
+
+    private static int stripe() {
+        // the identity hash of a thread is fixed and spreads well after mixing
+        final var hash = Thread.currentThread().hashCode() * 0x9E3779B9;
+
+        return (hash >>> 16) & (STRIPES - 1);
+    }
+}
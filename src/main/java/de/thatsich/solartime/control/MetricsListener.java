@@ -0,0 +1,18 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.MeteredMethod;
+
+/**
+ * Receives every metered call, e.g. to forward it to a metrics library of the application.
+ * Listeners are called on the calling thread after the call was counted, they need to be fast and must not throw.
+ */
+@FunctionalInterface
+public interface MetricsListener {
+
+    /**
+     * @param method the called method
+     * @param nanos  the duration of the call
+     * @param polar  true if the call returned an empty result or, for the 24-hour checks, true
+     */
+    void onCall(MeteredMethod method, long nanos, boolean polar);
+}
@@ -0,0 +1,136 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.MeteredMethod;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the calls of the {@link MeteredMethod}s, their empty results and durations.
+ * <br>
+ * Durations go into a {@link LatencyHistogram} per method, whose count is the number of calls, the other counters
+ * are {@link LongAdder}s. Nothing locks, a call costs two reads of {@link System#nanoTime()} and two atomic increments.
+ * The {@link #DISABLED} recorder neither reads the clock nor counts, its calls are a single branch.
+ */
+public class MetricsRecorder {
+
+    public static final MetricsRecorder DISABLED = new MetricsRecorder(false, List.of());
+
+    private static final int METHODS = MeteredMethod.values().length;
+
+    private final boolean enabled;
+    private final MetricsListener[] listeners;
+    private final LongAdder[] polarResults;
+    private final LongAdder[] totalNanos;
+    private final LatencyHistogram[] histograms;
+
+    /**
+     * @param listeners called after every call was counted, in order
+     */
+    public MetricsRecorder(List<MetricsListener> listeners) {
+        this(true, listeners);
+    }
+
+    private MetricsRecorder(boolean enabled, List<MetricsListener> listeners) {
+        this.enabled = enabled;
+        this.listeners = listeners.toArray(new MetricsListener[0]);
+
+        final var size = enabled ? METHODS : 0;
+        this.polarResults = new LongAdder[size];
+        this.totalNanos = new LongAdder[size];
+        this.histograms = new LatencyHistogram[size];
+        for (var index = 0; index < size; index++) {
+            this.polarResults[index] = new LongAdder();
+            this.totalNanos[index] = new LongAdder();
+            this.histograms[index] = new LatencyHistogram();
+        }
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * @return the start of a call to pass to {@link #record}, 0 if disabled
+     */
+    public long start() {
+        return this.enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records a call whose result is empty in polar days and nights.
+     *
+     * @return the result
+     */
+    public <T> Optional<T> record(MeteredMethod method, long start, Optional<T> result) {
+        if (this.enabled) {
+            this.count(method, System.nanoTime() - start, result.isEmpty());
+        }
+
+        return result;
+    }
+
+    /**
+     * @param polar true if the call answered with a polar day or night
+     */
+    public void record(MeteredMethod method, long start, boolean polar) {
+        if (this.enabled) {
+            this.count(method, System.nanoTime() - start, polar);
+        }
+    }
+
+    /**
+     * @return the number of calls, 0 if disabled
+     */
+    public long getCallCount(MeteredMethod method) {
+        return this.enabled ? this.histograms[method.ordinal()].getCount() : 0;
+    }
+
+    /**
+     * @return the number of calls with an empty result or a polar answer, 0 if disabled
+     */
+    public long getPolarCount(MeteredMethod method) {
+        return this.enabled ? this.polarResults[method.ordinal()].sum() : 0;
+    }
+
+    /**
+     * @return the summed duration of all calls, 0 if disabled
+     */
+    public long getTotalNanos(MeteredMethod method) {
+        return this.enabled ? this.totalNanos[method.ordinal()].sum() : 0;
+    }
+
+    /**
+     * @param quantile e.g. 0.99 for the 99th percentile
+     * @return the duration of the percentile, at most a quarter too high, or 0 if nothing was recorded
+     * @see LatencyHistogram#getPercentile(double)
+     */
+    public long getPercentileNanos(MeteredMethod method, double quantile) {
+        return this.enabled ? this.histograms[method.ordinal()].getPercentile(quantile) : 0;
+    }
+
+    /**
+     * Sets all counters and histograms to 0. Calls recorded meanwhile may survive.
+     */
+    public void reset() {
+        for (var index = 0; index < this.histograms.length; index++) {
+            this.polarResults[index].reset();
+            this.totalNanos[index].reset();
+            this.histograms[index].reset();
+        }
+    }
+
+    private void count(MeteredMethod method, long nanos, boolean polar) {
+        final var index = method.ordinal();
+        this.totalNanos[index].add(nanos);
+        this.histograms[index].record(nanos);
+        if (polar) {
+            this.polarResults[index].increment();
+        }
+
+        for (final var listener : this.listeners) {
+            listener.onCall(method, nanos, polar);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.PolarSentinel;
+import de.thatsich.solartime.entity.SolarEvent;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/**
+ * Finds the next occurrence of a single {@link SolarEvent}. Days on which the event does not occur are skipped
+ * the same way as in {@link DayPeriodTransitionCalculator}, bounded by the change of the declination.
+ */
+public class NextEventCalculator {
+
+    // a whole year without the event only happens close to the poles
+    private static final int MAX_CYCLES = 370;
+
+    // singleton sets per event, only read
+    private static final Map<SolarEvent, Set<SolarEvent>> EVENT_SETS = new EnumMap<>(SolarEvent.class);
+
+    static {
+        for (final var event : SolarEvent.values()) {
+            EVENT_SETS.put(event, EnumSet.of(event));
+        }
+    }
+
+    private final SolarEquationVariableCalculator solarCalculator;
+    private final EpochEventCalculator epochEventCalculator;
+    private final HourAngleCalculator hourAngleCalculator;
+
+    public NextEventCalculator(SolarEquationVariableCalculator solarCalculator, EpochEventCalculator epochEventCalculator, HourAngleCalculator hourAngleCalculator) {
+        this.solarCalculator = solarCalculator;
+        this.epochEventCalculator = epochEventCalculator;
+        this.hourAngleCalculator = hourAngleCalculator;
+    }
+
+    /**
+     * @param epochSecond the instant to search from in seconds since the epoch
+     * @param latitude    the latitude of the location in degrees.
+     * @param longitude   the longitude of the location in degrees (West is negative)
+     * @param event       the event to search
+     * @return the first occurrence strictly after the instant or empty if there is none within a year
+     */
+    public OptionalLong calculateNextEvent(long epochSecond, double latitude, double longitude, SolarEvent event) {
+        final var latitudeRad = Math.toRadians(latitude);
+        final var events = EVENT_SETS.get(event);
+        final var target = new long[SolarEvent.values().length];
+
+        // the events of the previous cycle may still lie after the instant
+        var n = this.epochEventCalculator.calculateJulianCycle(epochSecond, longitude) - 1;
+        for (var searched = 0L; searched <= MAX_CYCLES; ) {
+            this.epochEventCalculator.calculateEventsOfCycle(n, latitude, longitude, events, target);
+            final var occurrence = target[event.ordinal()];
+            if (!PolarSentinel.isPolar(occurrence)) {
+                if (occurrence > epochSecond) {
+                    return OptionalLong.of(occurrence);
+                }
+                n++;
+                searched++;
+                continue;
+            }
+
+            final var declination = this.solarCalculator.calculateSolarEquationVariables(n, longitude).getDelta();
+            final var cycles = this.hourAngleCalculator.calculatePolarDays(event.getAltitude(), latitudeRad, declination);
+            n += cycles;
+            searched += cycles;
+        }
+
+        return OptionalLong.empty();
+    }
+}
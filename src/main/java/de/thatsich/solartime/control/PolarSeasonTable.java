@@ -0,0 +1,181 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.Altitude;
+import de.thatsich.solartime.entity.PolarStatus;
+
+import static de.thatsich.solartime.entity.JulianConstants.CONST_0009;
+import static de.thatsich.solartime.entity.JulianConstants.CONST_360;
+import static de.thatsich.solartime.entity.JulianConstants.JULIAN_DATE_2000_01_01;
+
+/**
+ * Tells from the day of the year alone whether the sun crosses an altitude, stays above or stays below it,
+ * so checks at high latitudes can skip events which would come back as {@link de.thatsich.solartime.entity.PolarSentinel}.
+ * <br>
+ * Per day of the year the table holds the lowest and highest declination the sunrise equation uses on that day
+ * in any year from 1900 to 2100, sampled once with the calculator of the engine. A status is only answered if
+ * it holds for the whole range, the latitude is taken as is. Days close to the change of the status, the equinoxes
+ * at low latitudes and instants outside of the years are {@link #UNKNOWN} and have to be calculated.
+ * <br>
+ * The table is built on first use in less than a tenth of a second, from then on a lookup costs a handful of comparisons.
+ */
+public class PolarSeasonTable {
+
+    /**
+     * The status is not certain, calculate the events.
+     */
+    public static final byte UNKNOWN = -1;
+
+    // the mean anomaly of the sunrise equation repeats after 360 / 0.98560028 days, so does the declination
+    private static final double YEAR = 365.259636;
+    private static final int DAYS = (int) Math.ceil(YEAR);
+    // Julian dates of 1900-01-01 and 2101-01-01 at 00:00 UTC
+    private static final double FIRST_JULIAN_DATE = 2415020.5;
+    private static final double LAST_JULIAN_DATE = 2488434.5;
+    // the approximate solar noon of an instant is at most half a day away
+    private static final double WINDOW = 0.5;
+    // the longitudes of the samples, a quarter of a day apart
+    private static final double[] SAMPLE_LONGITUDES = {180, 90, 0, -90};
+    private static final double SAMPLE_STEP = 0.25;
+    // covers the extremum between two samples and the rounding of the hour angle
+    private static final double DECLINATION_MARGIN = Math.toRadians(0.01);
+    private static final double ALTITUDE_MARGIN = 1e-6;
+    private static final double[] RAD_ALTITUDES = new double[Altitude.values().length];
+
+    static {
+        for (final var altitude : Altitude.values()) {
+            RAD_ALTITUDES[altitude.ordinal()] = Math.toRadians(altitude.getValue());
+        }
+    }
+
+    private final SolarEquationVariableCalculator solarCalculator;
+    private final DateConverter dateConverter;
+    // lowest and highest declination per day, interleaved, null until first use
+    private volatile double[] declinations;
+
+    /**
+     * @param solarCalculator should not cache, the table takes about 300,000 samples
+     */
+    public PolarSeasonTable(SolarEquationVariableCalculator solarCalculator, DateConverter dateConverter) {
+        this.solarCalculator = solarCalculator;
+        this.dateConverter = dateConverter;
+    }
+
+    /**
+     * @param epochSecond an instant of the day in seconds since the epoch
+     * @param latitude    the latitude of the location in degrees.
+     * @param altitude    the altitude of the events
+     * @return the {@link PolarStatus} of the events of the day or {@link #UNKNOWN}
+     */
+    public byte classify(long epochSecond, double latitude, Altitude altitude) {
+        return this.classify(epochSecond, latitude, RAD_ALTITUDES[altitude.ordinal()]);
+    }
+
+    /**
+     * The status of the geometric horizon, the one of {@link HourAngleCalculator#is24HourDayTime(double, double)}
+     * and {@link HourAngleCalculator#is24HourNightTime(double, double)}.
+     *
+     * @param epochSecond an instant of the day in seconds since the epoch
+     * @param latitude    the latitude of the location in degrees.
+     * @return the {@link PolarStatus} of the day or {@link #UNKNOWN}
+     */
+    public byte classifyHorizon(long epochSecond, double latitude) {
+        return this.classify(epochSecond, latitude, 0);
+    }
+
+    private byte classify(long epochSecond, double latitude, double radAltitude) {
+        final var julianDate = this.dateConverter.toJulianDate(epochSecond);
+        // also rejects NaN
+        if (!(julianDate >= FIRST_JULIAN_DATE && julianDate < LAST_JULIAN_DATE && Math.abs(latitude) <= 90)) {
+            return UNKNOWN;
+        }
+
+        final var declinations = this.getDeclinations();
+        final var day = Math.min(DAYS - 1, (int) phaseOf(julianDate - JULIAN_DATE_2000_01_01));
+        final var lowest = declinations[2 * day];
+        final var highest = declinations[2 * day + 1];
+        final var latitudeRad = Math.toRadians(latitude);
+
+        // the sun is lowest at |latitude + declination| - 90 and highest at 90 - |latitude - declination|
+        final var lowestSum = latitudeRad + lowest;
+        final var highestSum = latitudeRad + highest;
+        final var minSum = lowestSum <= 0 && highestSum >= 0 ? 0 : Math.min(Math.abs(lowestSum), Math.abs(highestSum));
+        if (minSum - Math.PI / 2 > radAltitude + ALTITUDE_MARGIN) {
+            return PolarStatus.POLAR_DAY;
+        }
+
+        final var lowestDifference = latitudeRad - highest;
+        final var highestDifference = latitudeRad - lowest;
+        final var minDifference = lowestDifference <= 0 && highestDifference >= 0 ? 0 : Math.min(Math.abs(lowestDifference), Math.abs(highestDifference));
+        if (Math.PI / 2 - minDifference < radAltitude - ALTITUDE_MARGIN) {
+            return PolarStatus.POLAR_NIGHT;
+        }
+
+        final var maxSum = Math.max(Math.abs(lowestSum), Math.abs(highestSum));
+        final var maxDifference = Math.max(Math.abs(lowestDifference), Math.abs(highestDifference));
+        if (maxSum - Math.PI / 2 < radAltitude - ALTITUDE_MARGIN && Math.PI / 2 - maxDifference > radAltitude + ALTITUDE_MARGIN) {
+            return PolarStatus.NONE;
+        }
+
+        return UNKNOWN;
+    }
+
+    private double[] getDeclinations() {
+        var declinations = this.declinations;
+        if (declinations == null) {
+            // racing threads build the same table, one of them wins
+            declinations = this.build();
+            this.declinations = declinations;
+        }
+
+        return declinations;
+    }
+
+    /**
+     * Samples the declination every quarter of a day from shortly before 1900 until shortly after 2100. A sample
+     * belongs to every day whose instants have their approximate solar noon less than a step away from it.
+     */
+    private double[] build() {
+        final var declinations = new double[2 * DAYS];
+        for (var day = 0; day < DAYS; day++) {
+            declinations[2 * day] = Double.POSITIVE_INFINITY;
+            declinations[2 * day + 1] = Double.NEGATIVE_INFINITY;
+        }
+
+        final var reach = WINDOW + SAMPLE_STEP;
+        final var firstCycle = (long) Math.floor(FIRST_JULIAN_DATE - JULIAN_DATE_2000_01_01) - 2;
+        final var lastCycle = (long) Math.ceil(LAST_JULIAN_DATE - JULIAN_DATE_2000_01_01) + 2;
+        for (var n = firstCycle; n <= lastCycle; n++) {
+            for (final var longitude : SAMPLE_LONGITUDES) {
+                final var declination = this.solarCalculator.calculateSolarEquationVariables((double) n, longitude).getDelta();
+                // the approximate solar noon of the sample, see SolarEquationVariableCalculator
+                final var phase = phaseOf(CONST_0009 - longitude / CONST_360 + n);
+                // the days at the turn of the year also take samples of the neighbouring year
+                for (var turn = -1; turn <= 1; turn++) {
+                    final var shifted = phase + turn * YEAR;
+                    // the day covers [day - reach, day + 1 + reach)
+                    final var first = Math.max(0, (int) Math.ceil(shifted - 1 - reach));
+                    final var last = Math.min(DAYS - 1, (int) Math.floor(shifted + reach));
+                    for (var day = first; day <= last; day++) {
+                        declinations[2 * day] = Math.min(declinations[2 * day], declination);
+                        declinations[2 * day + 1] = Math.max(declinations[2 * day + 1], declination);
+                    }
+                }
+            }
+        }
+
+        for (var day = 0; day < DAYS; day++) {
+            declinations[2 * day] -= DECLINATION_MARGIN;
+            declinations[2 * day + 1] += DECLINATION_MARGIN;
+        }
+
+        return declinations;
+    }
+
+    /**
+     * @param days days since 2000-01-01T12:00:00Z
+     * @return the days since the start of the year of the sunrise equation, in [0, {@link #YEAR})
+     */
+    private static double phaseOf(double days) {
+        return days - Math.floor(days / YEAR) * YEAR;
+    }
+}
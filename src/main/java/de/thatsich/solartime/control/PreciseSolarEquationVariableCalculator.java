@@ -0,0 +1,90 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.SolarEquationVariables;
+
+import static de.thatsich.solartime.entity.JulianConstants.CONST_0009;
+import static de.thatsich.solartime.entity.JulianConstants.CONST_360;
+import static de.thatsich.solartime.entity.JulianConstants.JULIAN_DATE_2000_01_01;
+
+/**
+ * Solar coordinates of Meeus, Astronomical Algorithms, chapter 25: mean longitude, mean anomaly and eccentricity
+ * with their secular terms, the apparent longitude corrected for nutation and aberration and the obliquity of the
+ * ecliptic of the date instead of a fixed one. Time is converted to dynamical time by a ΔT polynomial.
+ * <br>
+ * The apparent longitude is accurate to 0.01 degrees. The events are refined at their own instant,
+ * see {@link #getEventRefinements()}.
+ */
+public class PreciseSolarEquationVariableCalculator extends SolarEquationVariableCalculator {
+
+    private static final double DAYS_PER_CENTURY = 36525;
+    private static final double SECONDS_PER_DAY = 86400;
+    private static final int EVENT_REFINEMENTS = 4;
+
+    public PreciseSolarEquationVariableCalculator(DateConverter dateConverter) {
+        super(dateConverter);
+    }
+
+    public PreciseSolarEquationVariableCalculator(DateConverter dateConverter, Trigonometry trigonometry) {
+        super(dateConverter, trigonometry);
+    }
+
+    @Override
+    public int getEventRefinements() {
+        return EVENT_REFINEMENTS;
+    }
+
+    @Override
+    public SolarEquationVariables calculateSolarEquationVariables(double n, double longitude) {
+        final var trigonometry = this.getTrigonometry();
+
+        // Approximate solar noon
+        final var jstar = JULIAN_DATE_2000_01_01 + CONST_0009 - longitude / CONST_360 + n;
+        final var t = (jstar + deltaT(jstar) / SECONDS_PER_DAY - JULIAN_DATE_2000_01_01) / DAYS_PER_CENTURY;
+
+        // geometric mean longitude, mean anomaly and eccentricity of the orbit
+        final var l0 = Math.toRadians(FastMath.remainder(280.46646 + t * (36000.76983 + t * 0.0003032), CONST_360));
+        final var m = Math.toRadians(FastMath.remainder(357.52911 + t * (35999.05029 - t * 0.0001537), CONST_360));
+        final var e = 0.016708634 - t * (0.000042037 + t * 0.0000001267);
+
+        // Equation of center
+        final var c = (1.914602 - t * (0.004817 + t * 0.000014)) * trigonometry.sin(m)
+                + (0.019993 - t * 0.000101) * trigonometry.sin(2 * m)
+                + 0.000289 * trigonometry.sin(3 * m);
+
+        // apparent longitude, corrected for nutation and aberration
+        final var omega = Math.toRadians(125.04 - 1934.136 * t);
+        final var lambda = Math.toRadians(FastMath.remainder(Math.toDegrees(l0) + c - 0.00569 - 0.00478 * trigonometry.sin(omega), CONST_360));
+
+        // obliquity of the ecliptic of the date
+        final var epsilon0 = 23 + (26 + (21.448 - t * (46.815 + t * (0.00059 - t * 0.001813))) / 60) / 60;
+        final var epsilon = Math.toRadians(epsilon0 + 0.00256 * trigonometry.cos(omega));
+
+        final var delta = trigonometry.asin(trigonometry.sin(epsilon) * trigonometry.sin(lambda));
+
+        // equation of time in radians, chapter 28
+        final var tanHalfEpsilon = Math.tan(epsilon / 2);
+        final var y = tanHalfEpsilon * tanHalfEpsilon;
+        final var equationOfTime = y * trigonometry.sin(2 * l0)
+                - 2 * e * trigonometry.sin(m)
+                + 4 * e * y * trigonometry.sin(m) * trigonometry.cos(2 * l0)
+                - 0.5 * y * y * trigonometry.sin(4 * l0)
+                - 1.25 * e * e * trigonometry.sin(2 * m);
+
+        // the sun transits early when the apparent solar time runs ahead of the mean one
+        final var jtransit = jstar - CONST_0009 - equationOfTime / (2 * Math.PI);
+
+        return new SolarEquationVariables(n, m, lambda, jtransit, delta);
+    }
+
+    /**
+     * The sun moves by 0.04 arc seconds per second, thus the ΔT polynomial of Espenak and Meeus for 2005 to 2050
+     * is good enough for centuries around it.
+     *
+     * @return the difference between dynamical and universal time in seconds
+     */
+    private static double deltaT(double julianDate) {
+        final var u = (julianDate - JULIAN_DATE_2000_01_01) / 365.25;
+
+        return 62.92 + u * (0.32217 + u * 0.005589);
+    }
+}
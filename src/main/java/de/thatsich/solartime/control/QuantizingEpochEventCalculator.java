@@ -0,0 +1,166 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.Altitude;
+import de.thatsich.solartime.entity.PolarSentinel;
+import de.thatsich.solartime.entity.SolarEvent;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Answers events from a {@link SpatialEventCache}, all locations of a cell share the events of its center.
+ * <br>
+ * On a miss the events are also calculated at the southern and northern edge of the cell. An event whose edges
+ * differ from the center by more than the error budget left by the longitude, or which is polar on one edge
+ * only, is marked as uncertain and calculated exactly for every location instead. This happens close to the
+ * polar circles, where events move by minutes per kilometer.
+ */
+public class QuantizingEpochEventCalculator extends EpochEventCalculator {
+
+    private static final Set<SolarEvent> ALL_EVENTS = EnumSet.allOf(SolarEvent.class);
+    private static final Map<Altitude, SolarEvent> DAWNS = new EnumMap<>(Altitude.class);
+    private static final Map<Altitude, SolarEvent> DUSKS = new EnumMap<>(Altitude.class);
+
+    static {
+        for (final var event : SolarEvent.values()) {
+            if (event.isDawn()) {
+                DAWNS.put(event.getAltitude(), event);
+            }
+            if (event.isDusk()) {
+                DUSKS.put(event.getAltitude(), event);
+            }
+        }
+    }
+
+    private final SpatialEventCache cache;
+
+    public QuantizingEpochEventCalculator(SolarEquationVariableCalculator solarCalculator, HourAngleCalculator hourAngleCalculator, DateConverter dateConverter, SpatialEventCache cache) {
+        super(solarCalculator, hourAngleCalculator, dateConverter);
+        this.cache = cache;
+    }
+
+    @Override
+    public long calculateDawnEvent(long epochSecond, double latitude, double longitude, Altitude altitude) {
+        return this.calculateEvent(epochSecond, latitude, longitude, DAWNS.get(altitude));
+    }
+
+    @Override
+    public long calculateDuskEvent(long epochSecond, double latitude, double longitude, Altitude altitude) {
+        return this.calculateEvent(epochSecond, latitude, longitude, DUSKS.get(altitude));
+    }
+
+    @Override
+    public long calculateSolarNoon(long epochSecond, double latitude, double longitude) {
+        return this.calculateEvent(epochSecond, latitude, longitude, SolarEvent.SOLAR_NOON);
+    }
+
+    @Override
+    public void calculateEventsOfCycle(double n, double latitude, double longitude, Set<SolarEvent> events, long[] target) {
+        final var cell = this.cache.cellOf(latitude, longitude);
+        final var cached = this.cache.get(cell, n);
+        final var entry = cached != null ? cached : this.calculateEntry(cell, n);
+        if (this.cache.isSampled()) {
+            super.calculateEventsOfCycle(n, latitude, longitude, events, target);
+            var error = 0L;
+            for (final var event : events) {
+                if ((entry.uncertain & 1 << event.ordinal()) == 0) {
+                    error = Math.max(error, difference(entry.epochSeconds[event.ordinal()], target[event.ordinal()]));
+                }
+            }
+            this.cache.recordSample(error);
+            return;
+        }
+
+        // certain events come from the cache, only the uncertain ones are calculated for the location
+        Set<SolarEvent> uncertain = null;
+        for (final var event : events) {
+            if ((entry.uncertain & 1 << event.ordinal()) == 0) {
+                target[event.ordinal()] = entry.epochSeconds[event.ordinal()];
+            } else {
+                if (uncertain == null) {
+                    uncertain = EnumSet.noneOf(SolarEvent.class);
+                }
+                uncertain.add(event);
+            }
+        }
+
+        if (uncertain != null) {
+            // a miss calculates anyway, only a hit can be bypassed
+            if (cached != null) {
+                this.cache.recordBypass();
+            }
+            super.calculateEventsOfCycle(n, latitude, longitude, uncertain, target);
+        }
+    }
+
+    private long calculateEvent(long epochSecond, double latitude, double longitude, SolarEvent event) {
+        final var n = this.calculateJulianCycle(epochSecond, longitude);
+        final var cell = this.cache.cellOf(latitude, longitude);
+        final var cached = this.cache.get(cell, n);
+        final var entry = cached != null ? cached : this.calculateEntry(cell, n);
+        if ((entry.uncertain & 1 << event.ordinal()) != 0) {
+            if (cached != null) {
+                this.cache.recordBypass();
+            }
+            return this.calculateExactly(n, latitude, longitude, event);
+        }
+
+        final var shared = entry.epochSeconds[event.ordinal()];
+        if (this.cache.isSampled()) {
+            final var exact = this.calculateExactly(n, latitude, longitude, event);
+            this.cache.recordSample(difference(shared, exact));
+            return exact;
+        }
+
+        return shared;
+    }
+
+    private long calculateExactly(double n, double latitude, double longitude, SolarEvent event) {
+        final var target = new long[ALL_EVENTS.size()];
+        super.calculateEventsOfCycle(n, latitude, longitude, EnumSet.of(event), target);
+
+        return target[event.ordinal()];
+    }
+
+    /**
+     * @return the entry of the cell, calculated and stored on a miss
+     */
+    private SpatialEventCache.Entry calculateEntry(long cell, double n) {
+        final var latitudes = this.cache.getLatitudes(cell);
+        final var centerLongitude = this.cache.getCenterLongitude(cell);
+        final var south = new long[ALL_EVENTS.size()];
+        final var center = new long[ALL_EVENTS.size()];
+        final var north = new long[ALL_EVENTS.size()];
+        super.calculateEventsOfCycle(n, latitudes[0], centerLongitude, ALL_EVENTS, south);
+        super.calculateEventsOfCycle(n, latitudes[1], centerLongitude, ALL_EVENTS, center);
+        super.calculateEventsOfCycle(n, latitudes[2], centerLongitude, ALL_EVENTS, north);
+
+        // the latitude may use what the longitude and the rounding of center and location to seconds leave
+        final var latitudeBudget = this.cache.getMaxErrorSeconds() - this.cache.getLongitudeError() - 1;
+        var uncertain = 0;
+        for (var ordinal = 0; ordinal < center.length; ordinal++) {
+            final var error = Math.max(difference(center[ordinal], south[ordinal]), difference(center[ordinal], north[ordinal]));
+            if (error > latitudeBudget) {
+                uncertain |= 1 << ordinal;
+            }
+        }
+
+        final var entry = new SpatialEventCache.Entry(cell, n, center, uncertain);
+        this.cache.put(entry);
+
+        return entry;
+    }
+
+    /**
+     * @return the difference in seconds, unbounded if only one of the events is polar
+     */
+    private static long difference(long first, long second) {
+        if (PolarSentinel.isPolar(first) || PolarSentinel.isPolar(second)) {
+            return first == second ? 0 : Long.MAX_VALUE;
+        }
+
+        return Math.abs(first - second);
+    }
+}
@@ -0,0 +1,63 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.PolarSentinel;
+import de.thatsich.solartime.entity.PolarStatus;
+
+import static de.thatsich.solartime.entity.JulianConstants.CONST_0009;
+import static de.thatsich.solartime.entity.JulianConstants.JULIAN_DATE_2000_01_01;
+
+/**
+ * Plain loop over the locations, available on every JVM. Uses the same {@link Trigonometry} as the
+ * {@link EpochEventCalculator} of the engine, so that both agree within the interpolation of {@link DailySolarTerms}.
+ */
+public class ScalarBatchKernel implements BatchKernel {
+
+    private static final double TWO_PI = 2 * Math.PI;
+
+    private final DateConverter dateConverter;
+    private final Trigonometry trigonometry;
+
+    public ScalarBatchKernel(DateConverter dateConverter) {
+        this(dateConverter, Trigonometry.JDK);
+    }
+
+    public ScalarBatchKernel(DateConverter dateConverter, Trigonometry trigonometry) {
+        this.dateConverter = dateConverter;
+        this.trigonometry = trigonometry;
+    }
+
+    @Override
+    public void calculateEvents(DailySolarTerms terms, double sinAltitude, double[] latitudes, double[] longitudes, int from, int to, long[] dawns, long[] dusks, byte[] polarStatus) {
+        for (var i = from; i < to; i++) {
+            final var t = terms.julianCycle(longitudes[i]);
+            final var sinDeclination = terms.sinDeclination(t);
+            final var cosDeclination = Math.sqrt(1 - sinDeclination * sinDeclination);
+            final var latitudeRad = Math.toRadians(latitudes[i]);
+
+            final var hourAngleCosine = (sinAltitude - this.trigonometry.sin(latitudeRad) * sinDeclination)
+                    / (this.trigonometry.cos(latitudeRad) * cosDeclination);
+
+            if (hourAngleCosine < -1) {
+                dawns[i] = PolarSentinel.POLAR_DAY;
+                dusks[i] = PolarSentinel.POLAR_DAY;
+                polarStatus[i] = PolarStatus.POLAR_DAY;
+            } else if (!(hourAngleCosine <= 1)) {
+                dawns[i] = PolarSentinel.POLAR_NIGHT;
+                dusks[i] = PolarSentinel.POLAR_NIGHT;
+                polarStatus[i] = PolarStatus.POLAR_NIGHT;
+            } else {
+                final var jtransit = JULIAN_DATE_2000_01_01 + CONST_0009 + t + terms.transitOffset(t);
+                final var halfDayLength = this.trigonometry.acos(hourAngleCosine) / TWO_PI;
+
+                dawns[i] = this.dateConverter.toEpochSecond(jtransit - halfDayLength);
+                dusks[i] = this.dateConverter.toEpochSecond(jtransit + halfDayLength);
+                polarStatus[i] = PolarStatus.NONE;
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,64 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.SolarDay;
+import de.thatsich.solartime.entity.SolarEvent;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class SolarDayCalculator {
+
+    private final EpochEventCalculator epochEventCalculator;
+
+    public SolarDayCalculator(EpochEventCalculator epochEventCalculator) {
+        this.epochEventCalculator = epochEventCalculator;
+    }
+
+    /**
+     * Calculates all requested events of the given day in a single pass.
+     *
+     * @param day       The day for which to calculate the events
+     * @param latitude  the latitude of the location in degrees.
+     * @param longitude the longitude of the location in degrees (West is negative)
+     * @param events    the events to calculate
+     * @return the events in the zone of the given day
+     */
+    public SolarDay calculateSolarDay(final ZonedDateTime day, final double latitude, double longitude, Set<SolarEvent> events) {
+        final var epochSeconds = new long[SolarEvent.values().length];
+        this.epochEventCalculator.calculateEvents(day.toEpochSecond(), latitude, longitude, events, epochSeconds);
+
+        return new SolarDay(day.getZone(), events, epochSeconds);
+    }
+
+    /**
+     * Calculates the days lazily, each day equals {@link #calculateSolarDay} at noon of the date in the given zone.
+     *
+     * @param from      the first date
+     * @param to        the date after the last date, exclusive
+     * @param latitude  the latitude of the location in degrees.
+     * @param longitude the longitude of the location in degrees (West is negative)
+     * @param zone      the zone of the dates
+     * @param events    the events to calculate
+     * @return an ordered stream of one day per date, splitting evenly when parallel
+     * @throws IllegalArgumentException if {@code to} is before {@code from}
+     */
+    public Stream<SolarDay> streamSolarDays(LocalDate from, LocalDate to, final double latitude, double longitude, ZoneId zone, Set<SolarEvent> events) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("end date " + to + " is before start date " + from);
+        }
+
+        final var firstNoon = ZonedDateTime.of(from, LocalTime.NOON, zone);
+        final var origin = this.epochEventCalculator.calculateJulianCycle(firstNoon.toEpochSecond(), longitude);
+        final var fence = origin + ChronoUnit.DAYS.between(from, to);
+        final var spliterator = new SolarDaySpliterator(this.epochEventCalculator, origin, fence, latitude, longitude, zone, events.isEmpty() ? EnumSet.noneOf(SolarEvent.class) : EnumSet.copyOf(events));
+
+        return StreamSupport.stream(spliterator, false);
+    }
+}
@@ -0,0 +1,88 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.SolarDay;
+import de.thatsich.solartime.entity.SolarEvent;
+
+import java.time.ZoneId;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Consecutive {@link SolarDay}s of one location. The Julian cycle of the first day is derived from the calendar once,
+ * every following day is simply the next cycle. Splits the remaining days in halves for parallel streams.
+ */
+class SolarDaySpliterator implements Spliterator<SolarDay> {
+
+    private final EpochEventCalculator epochEventCalculator;
+    private final double latitude;
+    private final double longitude;
+    private final ZoneId zone;
+    private final Set<SolarEvent> events;
+    private final long[] epochSeconds = new long[SolarEvent.values().length];
+
+    // Julian cycles of the next day and of the day after the last one
+    private double origin;
+    private final double fence;
+
+    SolarDaySpliterator(EpochEventCalculator epochEventCalculator, double origin, double fence, double latitude, double longitude, ZoneId zone, Set<SolarEvent> events) {
+        this.epochEventCalculator = epochEventCalculator;
+        this.origin = origin;
+        this.fence = fence;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.zone = zone;
+        this.events = events;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super SolarDay> action) {
+        if (this.origin >= this.fence) {
+            return false;
+        }
+
+        action.accept(this.calculate(this.origin));
+        this.origin++;
+
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super SolarDay> action) {
+        final var fence = this.fence;
+        for (var n = this.origin; n < fence; n++) {
+            action.accept(this.calculate(n));
+        }
+        this.origin = fence;
+    }
+
+    @Override
+    public Spliterator<SolarDay> trySplit() {
+        final var middle = this.origin + Math.floor((this.fence - this.origin) / 2);
+        if (middle <= this.origin) {
+            return null;
+        }
+
+        final var prefix = new SolarDaySpliterator(this.epochEventCalculator, this.origin, middle, this.latitude, this.longitude, this.zone, this.events);
+        this.origin = middle;
+
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return (long) (this.fence - this.origin);
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+
+    private SolarDay calculate(double n) {
+        this.epochEventCalculator.calculateEventsOfCycle(n, this.latitude, this.longitude, this.events, this.epochSeconds);
+
+        // the day copies the events, the buffer is reused for the next day
+        return new SolarDay(this.zone, this.events, this.epochSeconds);
+    }
+}
@@ -11,11 +11,28 @@ import static de.thatsich.solartime.entity.JulianConstants.JULIAN_DATE_2000_01_0
 public class SolarEquationVariableCalculator {
 
     private static final double EARTH_MAX_TILT_TOWARDS_SUN = 23.439;
+    private static final double SIN_EARTH_MAX_TILT_TOWARDS_SUN = Math.sin(Math.toRadians(EARTH_MAX_TILT_TOWARDS_SUN));
 
     private final DateConverter dateConverter;
+    private final Trigonometry trigonometry;
 
     public SolarEquationVariableCalculator(DateConverter dateConverter) {
+        this(dateConverter, Trigonometry.JDK);
+    }
+
+    /**
+     * @param trigonometry used for the variables as well as for everything calculated from them
+     */
+    public SolarEquationVariableCalculator(DateConverter dateConverter, Trigonometry trigonometry) {
         this.dateConverter = dateConverter;
+        this.trigonometry = trigonometry;
+    }
+
+    /**
+     * @return the trigonometry of this calculator, calculations with its variables use the same
+     */
+    public Trigonometry getTrigonometry() {
+        return this.trigonometry;
     }
 
     /**
@@ -27,38 +44,81 @@ public class SolarEquationVariableCalculator {
      * @see <a href="http://en.wikipedia.org/wiki/Sunrise_equation">Sunrise equation on Wikipedia</a>
      */
     public SolarEquationVariables calculateSolarEquationVariables(final ZonedDateTime day, double longitude) {
-
-        longitude = -longitude;
-
         // Get the given date as a Julian date.
         final double julianDate = this.dateConverter.toJulianDate(day);
+        final double n = this.calculateJulianCycle(julianDate, longitude);
+
+        return this.calculateSolarEquationVariables(n, longitude);
+    }
+
+    /**
+     * Calculate current Julian cycle (number of days since 2000-01-01).
+     *
+     * @param julianDate the Julian date of the day
+     * @param longitude  the longitude of the location in degrees (West is negative)
+     * @return the Julian cycle of the solar transit closest to the given Julian date
+     */
+    public double calculateJulianCycle(final double julianDate, double longitude) {
+        longitude = -longitude;
 
-        // Calculate current Julian cycle (number of days since 2000-01-01).
         final double nstar = julianDate - JULIAN_DATE_2000_01_01 - CONST_0009
                 - longitude / CONST_360;
-        final double n = Math.round(nstar);
+
+        return Math.round(nstar);
+    }
+
+    /**
+     * The variables only depend on {@code n - longitude / 360}, the approximate solar noon. Taking it at any
+     * instant gives the declination at that instant and the equation of time as offset of the solar transit.
+     *
+     * @param julianDate the instant as Julian date
+     * @return the variables with the given instant as approximate solar noon
+     */
+    public SolarEquationVariables calculateSolarEquationVariablesAt(final double julianDate) {
+        return this.calculateSolarEquationVariables(julianDate - JULIAN_DATE_2000_01_01 - CONST_0009, 0);
+    }
+
+    /**
+     * @return how often the events are recalculated with the variables at the event instead of at the solar transit,
+     * 0 for the plain sunrise equation
+     */
+    public int getEventRefinements() {
+        return 0;
+    }
+
+    /**
+     * Return intermediate variables used for calculating sunrise, sunset, and solar noon.
+     *
+     * @param n           the Julian cycle, see {@link #calculateJulianCycle(double, double)}
+     * @param longitude   the longitude of the location in degrees (West is negative)
+     * @return the variables of the solar transit of the given Julian cycle
+     * @see <a href="http://en.wikipedia.org/wiki/Sunrise_equation">Sunrise equation on Wikipedia</a>
+     */
+    public SolarEquationVariables calculateSolarEquationVariables(final double n, double longitude) {
+
+        longitude = -longitude;
 
         // Approximate solar noon
         final double jstar = JULIAN_DATE_2000_01_01 + CONST_0009 + longitude
                 / CONST_360 + n;
         // Solar mean anomaly
         final double m = Math
-                .toRadians((357.5291 + 0.98560028 * (jstar - JULIAN_DATE_2000_01_01))
-                        % CONST_360);
+                .toRadians(FastMath.remainder(357.5291 + 0.98560028 * (jstar - JULIAN_DATE_2000_01_01),
+                        CONST_360));
 
         // Equation of center
-        final double c = 1.9148 * Math.sin(m) + 0.0200 * Math.sin(2 * m)
-                + 0.0003 * Math.sin(3 * m);
+        final double c = 1.9148 * this.trigonometry.sin(m) + 0.0200 * this.trigonometry.sin(2 * m)
+                + 0.0003 * this.trigonometry.sin(3 * m);
 
         // Ecliptic longitude
         final double lambda = Math
-                .toRadians((Math.toDegrees(m) + 102.9372 + c + 180) % CONST_360);
+                .toRadians(FastMath.remainder(Math.toDegrees(m) + 102.9372 + c + 180, CONST_360));
 
         // Solar transit (hour angle for solar noon)
-        final double jtransit = jstar + 0.0053 * Math.sin(m) - 0.0069 * Math.sin(2 * lambda);
+        final double jtransit = jstar + 0.0053 * this.trigonometry.sin(m) - 0.0069 * this.trigonometry.sin(2 * lambda);
 
         // Declination of the sun.
-        final double delta = Math.asin(Math.sin(lambda) * Math.sin(Math.toRadians(EARTH_MAX_TILT_TOWARDS_SUN)));
+        final double delta = this.trigonometry.asin(this.trigonometry.sin(lambda) * SIN_EARTH_MAX_TILT_TOWARDS_SUN);
 
 
         return new SolarEquationVariables(n, m, lambda, jtransit, delta);
@@ -0,0 +1,180 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.EvictionPolicy;
+import de.thatsich.solartime.entity.SolarEquationVariables;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, thread-safe cache of {@link SolarEquationVariables} keyed by Julian cycle and longitude.
+ * <br>
+ * The table is set associative: a key maps to one set of {@value #WAYS} slots, which is scanned on lookup.
+ * Keys are compared as raw bits of the doubles, nothing is boxed. Entries are immutable and published
+ * through an {@link AtomicReferenceArray}, so readers never lock. Concurrent writers to the same set may
+ * overwrite each other, which only costs a later miss.
+ * <br>
+ * Every set has its own clock, which only advances when an entry is stored. A hit stamps the entry with the
+ * current time of its set and writes nothing if it already carries it, so hits of many threads do not
+ * contend on a shared counter. Entries used since the last store of their set tie, which makes the
+ * least recently used order approximate.
+ */
+public class SolarEquationVariablesCache {
+
+    private static final int WAYS = 4;
+
+    private final AtomicReferenceArray<Entry> slots;
+    // the clock of every set, the source of the insertion and access order
+    private final AtomicLongArray clocks;
+    private final int setMask;
+    private final EvictionPolicy evictionPolicy;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param capacity       the maximal number of entries, rounded up to a power of two of at least {@value #WAYS}
+     * @param evictionPolicy which entry of a full set is replaced
+     * @throws IllegalArgumentException if the capacity is not positive or above 2^30
+     */
+    public SolarEquationVariablesCache(int capacity, EvictionPolicy evictionPolicy) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity needs to be within [1, 2^30], but was " + capacity);
+        }
+
+        final var slotCount = Math.max(WAYS, Integer.highestOneBit(capacity - 1) << 1);
+        this.slots = new AtomicReferenceArray<>(slotCount);
+        this.clocks = new AtomicLongArray(slotCount / WAYS);
+        this.setMask = slotCount / WAYS - 1;
+        this.evictionPolicy = evictionPolicy;
+    }
+
+    /**
+     * @param n         the Julian cycle
+     * @param longitude the longitude in degrees
+     * @return the cached variables or null
+     */
+    public SolarEquationVariables get(double n, double longitude) {
+        final var nBits = Double.doubleToRawLongBits(n);
+        final var longitudeBits = Double.doubleToRawLongBits(longitude);
+        final var set = this.setOf(nBits, longitudeBits);
+        final var base = set * WAYS;
+
+        for (var way = 0; way < WAYS; way++) {
+            final var entry = this.slots.get(base + way);
+            if (entry != null && entry.nBits == nBits && entry.longitudeBits == longitudeBits) {
+                if (this.evictionPolicy == EvictionPolicy.LEAST_RECENTLY_USED) {
+                    final var now = this.clocks.get(set);
+                    if (entry.lastUsed != now) {
+                        entry.lastUsed = now;
+                    }
+                }
+                this.hits.increment();
+
+                return entry.value;
+            }
+        }
+        this.misses.increment();
+
+        return null;
+    }
+
+    /**
+     * Stores the variables, replacing an entry of the same set according to the {@link EvictionPolicy} if it is full.
+     *
+     * @param n         the Julian cycle
+     * @param longitude the longitude in degrees
+     * @param value     the variables calculated for n and longitude
+     */
+    public void put(double n, double longitude, SolarEquationVariables value) {
+        final var nBits = Double.doubleToRawLongBits(n);
+        final var longitudeBits = Double.doubleToRawLongBits(longitude);
+        final var set = this.setOf(nBits, longitudeBits);
+        final var base = set * WAYS;
+        final var now = this.clocks.incrementAndGet(set);
+
+        var victim = base;
+        var victimAge = Long.MAX_VALUE;
+        for (var way = 0; way < WAYS; way++) {
+            final var entry = this.slots.get(base + way);
+            if (entry == null || entry.nBits == nBits && entry.longitudeBits == longitudeBits) {
+                this.slots.set(base + way, new Entry(nBits, longitudeBits, value, now));
+                return;
+            }
+            if (entry.lastUsed < victimAge) {
+                victim = base + way;
+                victimAge = entry.lastUsed;
+            }
+        }
+
+        this.slots.set(victim, new Entry(nBits, longitudeBits, value, now));
+        this.evictions.increment();
+    }
+
+    /**
+     * Removes all entries, the counters are kept.
+     */
+    public void clear() {
+        for (var slot = 0; slot < this.slots.length(); slot++) {
+            this.slots.set(slot, null);
+        }
+    }
+
+    /**
+     * @return the number of slots, the upper bound of entries
+     */
+    public int getCapacity() {
+        return this.slots.length();
+    }
+
+    public EvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * @return the share of lookups answered from the cache
+     */
+    public double getHitRatio() {
+        final var hits = this.hits.sum();
+        final var lookups = hits + this.misses.sum();
+
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    private int setOf(long nBits, long longitudeBits) {
+        var hash = nBits * 0x9E3779B97F4A7C15L ^ longitudeBits * 0xC2B2AE3D27D4EB4FL;
+        hash ^= hash >>> 32;
+
+        return (int) hash & this.setMask;
+    }
+
+    private static class Entry {
+        private final long nBits;
+        private final long longitudeBits;
+        private final SolarEquationVariables value;
+
+        // insertion order for FIRST_IN_FIRST_OUT, access order for LEAST_RECENTLY_USED
+        private volatile long lastUsed;
+
+        private Entry(long nBits, long longitudeBits, SolarEquationVariables value, long lastUsed) {
+            this.nBits = nBits;
+            this.longitudeBits = longitudeBits;
+            this.value = value;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
@@ -7,14 +7,12 @@ import java.util.Optional;
 
 public class SolarNoonCalculator {
 
-    private final SolarEquationVariableCalculator solarCalculator;
-    private final HourAngleCalculator hourAngleCalculator;
-    private final DateConverter dateConverter;
-
-    public SolarNoonCalculator(SolarEquationVariableCalculator solarCalculator, HourAngleCalculator hourAngleCalculator, DateConverter dateConverter) {
-        this.solarCalculator = solarCalculator;
-        this.hourAngleCalculator = hourAngleCalculator;
-        this.dateConverter = dateConverter;
+    private final EpochEventCalculator epochEventCalculator;
+    private final TimeZoneShifter timeZoneShifter;
+
+    public SolarNoonCalculator(EpochEventCalculator epochEventCalculator, TimeZoneShifter timeZoneShifter) {
+        this.epochEventCalculator = epochEventCalculator;
+        this.timeZoneShifter = timeZoneShifter;
     }
 
     /**
@@ -24,28 +22,17 @@ public class SolarNoonCalculator {
      * @param day         The day for which to calculate sunrise and sunset
      * @param latitude  the latitude of the location in degrees.
      * @param longitude   the longitude of the location in degrees (West is negative)
-     * @return            a Calendar with the time set to solar noon for the given day.
+     * @return            the solar noon for the given day in its time zone or empty if there is no sunrise that day.
      * @see <a href="http://en.wikipedia.org/wiki/Sunrise_equation">Sunrise equation on Wikipedia</a>
      */
     public Optional<ZonedDateTime> calculateSolarNoon(final ZonedDateTime day, final double latitude, double longitude) {
-        final var solarEquationVariables = this.solarCalculator.calculateSolarEquationVariables(day, longitude);
-
-        // Add a check for Antarctica in June and December (sun always down or up, respectively).
-        // In this case, jtransit will be filled in, but we need to check the hour angle omega for
-        // sunrise.
-        // If there's no sunrise (omega is NaN), there's no solar noon.
-        final var latitudeRad = Math.toRadians(latitude);
-
-        // Hour angle
-        return this.hourAngleCalculator.calculateHourAngle(Altitude.SUNRISE_SUNSET, latitudeRad, solarEquationVariables.getDelta())
-                .map(omega -> {
-                    // Convert jtransit Gregorian dates, in UTC
-                    final var localTimeNoon = this.dateConverter.toGregorianDate(solarEquationVariables.getJtransit());
-                    final var zone = day.getZone();
-                    final var noonWithMovedTimeZone = localTimeNoon.withZoneSameInstant(zone);
-
-                    return noonWithMovedTimeZone;
-                });
+        final var calculation = new CalculationEvents.SolarEventCalculation();
+        calculation.begin();
+        final var solarNoon = this.epochEventCalculator.calculateSolarNoon(day.toEpochSecond(), latitude, longitude);
+        final var shifted = this.timeZoneShifter.shiftEventToZoneOfOtherDay(solarNoon, day);
+        calculation.commit("SOLAR_NOON", latitude, Altitude.SUNRISE_SUNSET, solarNoon);
+
+        return shifted;
     }
 
 }
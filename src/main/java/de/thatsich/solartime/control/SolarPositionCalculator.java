@@ -0,0 +1,168 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.SolarPosition;
+
+import static de.thatsich.solartime.entity.JulianConstants.CONST_360;
+
+/**
+ * Calculates the position of the sun at a point in time with the same variables as the events,
+ * thus the sun is exactly at the altitude of an event at the time of that event.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Solar_zenith_angle">Solar zenith angle on Wikipedia</a>
+ */
+public class SolarPositionCalculator {
+
+    private static final double SECONDS_PER_DAY = 86400;
+
+    // the hour angle is rotated by the step in between, recalculating it bounds the accumulated rounding
+    private static final int SAMPLES_PER_ANCHOR = 1440;
+
+    private final SolarEquationVariableCalculator solarCalculator;
+    private final DateConverter dateConverter;
+
+    public SolarPositionCalculator(SolarEquationVariableCalculator solarCalculator, DateConverter dateConverter) {
+        this.solarCalculator = solarCalculator;
+        this.dateConverter = dateConverter;
+    }
+
+    /**
+     * @param epochSecond the point in time in seconds since the epoch
+     * @param latitude    the latitude of the location in degrees.
+     * @param longitude   the longitude of the location in degrees (West is negative)
+     * @return the elevation of the sun above the horizon in degrees, negative below the horizon
+     */
+    public double calculateElevation(final long epochSecond, final double latitude, double longitude) {
+        return this.calculateElevation(epochSecond, 0, latitude, longitude);
+    }
+
+    /**
+     * @param epochSecond  the point in time in seconds since the epoch
+     * @param nanoOfSecond the nanoseconds of the second
+     * @param latitude     the latitude of the location in degrees.
+     * @param longitude    the longitude of the location in degrees (West is negative)
+     * @return the elevation of the sun above the horizon in degrees, negative below the horizon
+     */
+    public double calculateElevation(final long epochSecond, final int nanoOfSecond, final double latitude, double longitude) {
+        final var julianDate = this.dateConverter.toJulianDate(epochSecond, nanoOfSecond);
+        final var n = this.solarCalculator.calculateJulianCycle(julianDate, longitude);
+        final var solarEquationVariables = this.solarCalculator.calculateSolarEquationVariables(n, longitude);
+
+        // the hour angle is the fraction of the day since the solar transit
+        final var hourAngle = Math.toRadians((julianDate - solarEquationVariables.getJtransit()) * CONST_360);
+        final var latitudeRad = Math.toRadians(latitude);
+        final var declination = solarEquationVariables.getDelta();
+
+        final var trigonometry = this.solarCalculator.getTrigonometry();
+
+        final var sinElevation = trigonometry.sin(latitudeRad) * trigonometry.sin(declination)
+                + trigonometry.cos(latitudeRad) * trigonometry.cos(declination) * trigonometry.cos(hourAngle);
+
+        return Math.toDegrees(trigonometry.asin(sinElevation));
+    }
+
+    /**
+     * @param epochSecond  the point in time in seconds since the epoch
+     * @param nanoOfSecond the nanoseconds of the second
+     * @param latitude     the latitude of the location in degrees.
+     * @param longitude    the longitude of the location in degrees (West is negative)
+     * @return the elevation and azimuth of the sun
+     */
+    public SolarPosition calculatePosition(final long epochSecond, final int nanoOfSecond, final double latitude, double longitude) {
+        final var julianDate = this.dateConverter.toJulianDate(epochSecond, nanoOfSecond);
+        final var n = this.solarCalculator.calculateJulianCycle(julianDate, longitude);
+        final var solarEquationVariables = this.solarCalculator.calculateSolarEquationVariables(n, longitude);
+
+        final var hourAngle = Math.toRadians((julianDate - solarEquationVariables.getJtransit()) * CONST_360);
+        final var latitudeRad = Math.toRadians(latitude);
+        final var declination = solarEquationVariables.getDelta();
+
+        final var trigonometry = this.solarCalculator.getTrigonometry();
+        final var sinLatitude = trigonometry.sin(latitudeRad);
+        final var cosLatitude = trigonometry.cos(latitudeRad);
+        final var sinDeclination = trigonometry.sin(declination);
+        final var cosDeclination = trigonometry.cos(declination);
+        final var sinHourAngle = trigonometry.sin(hourAngle);
+        final var cosHourAngle = trigonometry.cos(hourAngle);
+
+        return new SolarPosition(
+                this.elevation(sinLatitude, cosLatitude, sinDeclination, cosDeclination, cosHourAngle),
+                azimuth(sinLatitude, cosLatitude, sinDeclination, cosDeclination, sinHourAngle, cosHourAngle));
+    }
+
+    /**
+     * Calculates the positions of a time series at a fixed step. The variables of the sunrise equation are
+     * calculated once per day, the hour angle advances by the step with the angle addition theorems and is
+     * recalculated at every new day and every {@value #SAMPLES_PER_ANCHOR} samples. Results differ from
+     * {@link #calculatePosition} by less than 1e-6 degrees, mostly the rounding of its Julian date.
+     *
+     * @param startEpochSecond the first point in time in seconds since the epoch
+     * @param stepSeconds      the seconds between two samples
+     * @param latitude         the latitude of the location in degrees.
+     * @param longitude        the longitude of the location in degrees (West is negative)
+     * @param elevations       receives the elevations in degrees, negative below the horizon
+     * @param azimuths         receives the azimuths in degrees clockwise from North
+     * @param count            the number of samples
+     */
+    public void calculatePositions(final long startEpochSecond, final long stepSeconds, final double latitude, final double longitude, final double[] elevations, final double[] azimuths, final int count) {
+        final var trigonometry = this.solarCalculator.getTrigonometry();
+        final var latitudeRad = Math.toRadians(latitude);
+        final var sinLatitude = trigonometry.sin(latitudeRad);
+        final var cosLatitude = trigonometry.cos(latitudeRad);
+        final var stepRad = Math.toRadians(stepSeconds / SECONDS_PER_DAY * CONST_360);
+        final var sinStep = trigonometry.sin(stepRad);
+        final var cosStep = trigonometry.cos(stepRad);
+
+        var cycle = Double.NaN;
+        var jtransit = 0.0;
+        var sinDeclination = 0.0;
+        var cosDeclination = 0.0;
+        var sinHourAngle = 0.0;
+        var cosHourAngle = 0.0;
+        var samplesSinceAnchor = 0;
+
+        for (var i = 0; i < count; i++) {
+            final var julianDate = this.dateConverter.toJulianDate(startEpochSecond + i * stepSeconds, 0);
+            final var n = this.solarCalculator.calculateJulianCycle(julianDate, longitude);
+
+            if (n != cycle || samplesSinceAnchor == SAMPLES_PER_ANCHOR) {
+                if (n != cycle) {
+                    final var solarEquationVariables = this.solarCalculator.calculateSolarEquationVariables(n, longitude);
+                    cycle = n;
+                    jtransit = solarEquationVariables.getJtransit();
+                    sinDeclination = trigonometry.sin(solarEquationVariables.getDelta());
+                    cosDeclination = trigonometry.cos(solarEquationVariables.getDelta());
+                }
+
+                final var hourAngle = Math.toRadians((julianDate - jtransit) * CONST_360);
+                sinHourAngle = trigonometry.sin(hourAngle);
+                cosHourAngle = trigonometry.cos(hourAngle);
+                samplesSinceAnchor = 0;
+            } else {
+                // sin(h + step) and cos(h + step)
+                final var sinNext = sinHourAngle * cosStep + cosHourAngle * sinStep;
+                cosHourAngle = cosHourAngle * cosStep - sinHourAngle * sinStep;
+                sinHourAngle = sinNext;
+            }
+            samplesSinceAnchor++;
+
+            elevations[i] = this.elevation(sinLatitude, cosLatitude, sinDeclination, cosDeclination, cosHourAngle);
+            azimuths[i] = azimuth(sinLatitude, cosLatitude, sinDeclination, cosDeclination, sinHourAngle, cosHourAngle);
+        }
+    }
+
+    private double elevation(double sinLatitude, double cosLatitude, double sinDeclination, double cosDeclination, double cosHourAngle) {
+        final var sinElevation = sinLatitude * sinDeclination + cosLatitude * cosDeclination * cosHourAngle;
+
+        // the rotated hour angle may leave [-1, 1] by a rounding error at the zenith
+        return Math.toDegrees(this.solarCalculator.getTrigonometry().asin(Math.max(-1, Math.min(1, sinElevation))));
+    }
+
+    private static double azimuth(double sinLatitude, double cosLatitude, double sinDeclination, double cosDeclination, double sinHourAngle, double cosHourAngle) {
+        // East and North components of the direction to the sun, the hour angle grows towards the West
+        final var east = -cosDeclination * sinHourAngle;
+        final var north = sinDeclination * cosLatitude - cosDeclination * sinLatitude * cosHourAngle;
+        final var azimuth = Math.toDegrees(Math.atan2(east, north));
+
+        return azimuth < 0 ? azimuth + CONST_360 : azimuth;
+    }
+}
@@ -0,0 +1,267 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.SolarEvent;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, thread-safe cache of all {@link SolarEvent}s of a day, shared by every location within a grid cell.
+ * <br>
+ * The cell size follows from the maximal error: events move by 240 seconds per degree of longitude, so columns
+ * are {@code maxError / 480} degrees wide and contribute at most a quarter of the error. Towards the poles events
+ * react stronger to the latitude, roughly with {@code 1 / cos²(latitude)}, so rows are evenly spaced in
+ * {@code tan(latitude)} and get narrower the closer they are to a pole. They are sized for another quarter of the
+ * error at an hour angle of 30 degrees, leaving room for rounding to whole seconds. Whether an entry actually
+ * keeps the bound is checked when it is calculated, see {@link QuantizingEpochEventCalculator}.
+ * <br>
+ * Storage and concurrency follow {@link SolarEquationVariablesCache}: {@value #WAYS} way set associative,
+ * immutable entries published through an {@link AtomicReferenceArray}, a clock per set, the oldest entry of a full
+ * set is replaced.
+ */
+public class SpatialEventCache {
+
+    private static final int WAYS = 4;
+    private static final double SECONDS_PER_DEGREE = 240;
+    private static final double EARTH_MAX_TILT_TOWARDS_SUN = Math.toRadians(23.439);
+    // rows end before the poles, where tan(latitude) diverges
+    private static final double MAX_LATITUDE = 89.9;
+
+    private final double maxErrorSeconds;
+    private final double columnWidth;
+    private final double rowHeight;
+    private final int sampleInterval;
+
+    private final AtomicReferenceArray<Entry> slots;
+    // the clock of every set, the source of the insertion order
+    private final AtomicLongArray clocks;
+    private final int setMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bypasses = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+    private final LongAccumulator worstMeasuredError = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param maxErrorSeconds the maximal difference of a cached event to the exact event of the location
+     * @param capacity        the maximal number of entries, rounded up to a power of two of at least {@value #WAYS}
+     * @param sampleInterval  every n-th hit is also calculated exactly to measure the actual error, 0 disables it
+     * @throws IllegalArgumentException if the error is not positive or capacity or interval are out of range
+     */
+    public SpatialEventCache(double maxErrorSeconds, int capacity, int sampleInterval) {
+        if (!(maxErrorSeconds > 0)) {
+            throw new IllegalArgumentException("maximal error needs to be positive, but was " + maxErrorSeconds);
+        }
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity needs to be within [1, 2^30], but was " + capacity);
+        }
+        if (sampleInterval < 0) {
+            throw new IllegalArgumentException("sample interval must not be negative, but was " + sampleInterval);
+        }
+
+        this.maxErrorSeconds = maxErrorSeconds;
+        this.columnWidth = maxErrorSeconds / (2 * SECONDS_PER_DEGREE);
+        this.rowHeight = Math.toRadians(maxErrorSeconds / SECONDS_PER_DEGREE) / Math.tan(EARTH_MAX_TILT_TOWARDS_SUN) / 4;
+        this.sampleInterval = sampleInterval;
+
+        final var slotCount = Math.max(WAYS, Integer.highestOneBit(capacity - 1) << 1);
+        this.slots = new AtomicReferenceArray<>(slotCount);
+        this.clocks = new AtomicLongArray(slotCount / WAYS);
+        this.setMask = slotCount / WAYS - 1;
+    }
+
+    /**
+     * @return the cell of the location, packed into a long
+     */
+    public long cellOf(double latitude, double longitude) {
+        final var clamped = Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude));
+        final var row = (long) Math.floor(Math.tan(Math.toRadians(clamped)) / this.rowHeight);
+        final var column = (long) Math.floor((longitude + 180) / this.columnWidth);
+
+        return row << 32 | column & 0xFFFF_FFFFL;
+    }
+
+    /**
+     * @return the latitudes of the southern edge, the center and the northern edge of the cell
+     */
+    double[] getLatitudes(long cell) {
+        final var row = (int) (cell >> 32);
+
+        return new double[]{
+                Math.toDegrees(Math.atan(row * this.rowHeight)),
+                Math.toDegrees(Math.atan((row + 0.5) * this.rowHeight)),
+                Math.toDegrees(Math.atan((row + 1) * this.rowHeight)),
+        };
+    }
+
+    /**
+     * @return the longitude of the center of the cell
+     */
+    double getCenterLongitude(long cell) {
+        final var column = (int) cell;
+
+        return (column + 0.5) * this.columnWidth - 180;
+    }
+
+    /**
+     * @return the largest error the longitude contributes within a cell
+     */
+    double getLongitudeError() {
+        return this.columnWidth / 2 * SECONDS_PER_DEGREE;
+    }
+
+    /**
+     * @param cell the cell
+     * @param n    the Julian cycle
+     * @return the cached entry or null
+     */
+    Entry get(long cell, double n) {
+        final var nBits = Double.doubleToRawLongBits(n);
+        final var base = this.setOf(cell, nBits) * WAYS;
+
+        for (var way = 0; way < WAYS; way++) {
+            final var entry = this.slots.get(base + way);
+            if (entry != null && entry.cell == cell && entry.nBits == nBits) {
+                this.hits.increment();
+
+                return entry;
+            }
+        }
+        this.misses.increment();
+
+        return null;
+    }
+
+    void put(Entry entry) {
+        final var set = this.setOf(entry.cell, entry.nBits);
+        final var base = set * WAYS;
+        entry.inserted = this.clocks.incrementAndGet(set);
+
+        var victim = base;
+        var victimAge = Long.MAX_VALUE;
+        for (var way = 0; way < WAYS; way++) {
+            final var existing = this.slots.get(base + way);
+            if (existing == null || existing.cell == entry.cell && existing.nBits == entry.nBits) {
+                this.slots.set(base + way, entry);
+                return;
+            }
+            if (existing.inserted < victimAge) {
+                victim = base + way;
+                victimAge = existing.inserted;
+            }
+        }
+
+        this.slots.set(victim, entry);
+    }
+
+    /**
+     * @return true if the current hit should be checked against the exact calculation
+     */
+    boolean isSampled() {
+        return this.sampleInterval > 0 && ThreadLocalRandom.current().nextInt(this.sampleInterval) == 0;
+    }
+
+    void recordBypass() {
+        this.bypasses.increment();
+    }
+
+    void recordSample(long errorSeconds) {
+        this.samples.increment();
+        this.worstMeasuredError.accumulate(errorSeconds);
+    }
+
+    /**
+     * Removes all entries, the counters are kept.
+     */
+    public void clear() {
+        for (var slot = 0; slot < this.slots.length(); slot++) {
+            this.slots.set(slot, null);
+        }
+    }
+
+    public double getMaxErrorSeconds() {
+        return maxErrorSeconds;
+    }
+
+    /**
+     * @return the number of slots, the upper bound of entries
+     */
+    public int getCapacity() {
+        return this.slots.length();
+    }
+
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * @return the number of hits which were calculated exactly anyway, because the cell would exceed the error there
+     */
+    public long getBypassCount() {
+        return this.bypasses.sum();
+    }
+
+    /**
+     * @return the share of lookups answered from the cache without calculating, within [0, 1]
+     */
+    public double getHitRatio() {
+        final var hits = this.hits.sum() - this.bypasses.sum();
+        final var lookups = this.hits.sum() + this.misses.sum();
+
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * @return the number of hits compared to the exact calculation
+     */
+    public long getSampleCount() {
+        return this.samples.sum();
+    }
+
+    /**
+     * @return the largest difference in seconds between a cached and an exact event of all samples
+     */
+    public long getWorstMeasuredErrorSeconds() {
+        return this.worstMeasuredError.get();
+    }
+
+    private int setOf(long cell, long nBits) {
+        // the bits of integral cycles are mostly trailing zeros, mix all of them down to the low bits
+        var hash = cell * 0x9E3779B97F4A7C15L ^ nBits;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+
+        return (int) hash & this.setMask;
+    }
+
+    /**
+     * All events of the center of a cell on one Julian cycle.
+     */
+    static class Entry {
+        private final long cell;
+        private final long nBits;
+        final long[] epochSeconds;
+        // bit per event ordinal which may exceed the maximal error somewhere in the cell
+        final int uncertain;
+
+        private volatile long inserted;
+
+        Entry(long cell, double n, long[] epochSeconds, int uncertain) {
+            this.cell = cell;
+            this.nBits = Double.doubleToRawLongBits(n);
+            this.epochSeconds = epochSeconds;
+            this.uncertain = uncertain;
+        }
+    }
+}
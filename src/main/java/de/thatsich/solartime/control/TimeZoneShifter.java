@@ -1,12 +1,29 @@
 package de.thatsich.solartime.control;
 
+import de.thatsich.solartime.entity.PolarSentinel;
+
+import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.Optional;
 
 public class TimeZoneShifter {
-    ZonedDateTime shiftDayToZoneOfOtherDay(ZonedDateTime toBeShifted, ZonedDateTime otherDay) {
+
+    /**
+     * @param event    a result of the {@link EpochEventCalculator}
+     * @param otherDay the day the event was calculated for
+     * @return the event in the zone of the other day or empty for a {@link PolarSentinel}
+     */
+    Optional<ZonedDateTime> shiftEventToZoneOfOtherDay(long event, ZonedDateTime otherDay) {
+        if (PolarSentinel.isPolar(event)) {
+            return Optional.empty();
+        }
+
+        final var timeZoneShiftStage = new CalculationEvents.TimeZoneShiftStage();
+        timeZoneShiftStage.begin();
         final var zone = otherDay.getZone();
-        final var shifted = toBeShifted.withZoneSameInstant(zone);
+        final var shifted = ZonedDateTime.ofInstant(Instant.ofEpochSecond(event), zone);
+        timeZoneShiftStage.commit(zone.getId());
 
-        return shifted;
+        return Optional.of(shifted);
     }
 }
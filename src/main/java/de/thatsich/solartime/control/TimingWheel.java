@@ -0,0 +1,195 @@
+package de.thatsich.solartime.control;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel with a resolution of one second. The first level has a slot for each of the next
+ * 256 seconds, every further level 64 slots of the whole previous level, five levels span 2^32 seconds.
+ * Scheduling and cancelling are constant time, advancing costs a slot per second plus moving entries one level
+ * down whenever a lower level wraps around. Entries are intrusive list nodes, the wheel allocates nothing.
+ * <br>
+ * Not thread safe, callers synchronize.
+ */
+public class TimingWheel<E extends TimingWheel.Entry> {
+
+    private static final int FIRST_LEVEL_BITS = 8;
+    private static final int LEVEL_BITS = 6;
+    private static final int LEVELS = 5;
+    private static final long RANGE = 1L << (FIRST_LEVEL_BITS + (LEVELS - 1) * LEVEL_BITS);
+
+    // heads of circular lists, indexed by level and slot
+    private final Entry[][] slots = new Entry[LEVELS][];
+    private long now;
+    private int size;
+
+    /**
+     * Node of the lists of a wheel, extended by the scheduled elements.
+     */
+    public abstract static class Entry {
+
+        private long deadline;
+        private Entry previous;
+        private Entry next;
+
+        /**
+         * @return the second the entry is due at or was last due at
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * @return true if the entry is waiting in a wheel
+         */
+        public boolean isScheduled() {
+            return this.next != null;
+        }
+
+        private void unlink() {
+            this.previous.next = this.next;
+            this.next.previous = this.previous;
+            this.previous = null;
+            this.next = null;
+        }
+    }
+
+    private static final class Head extends Entry {
+
+        private Head() {
+            super.previous = this;
+            super.next = this;
+        }
+    }
+
+    /**
+     * @param now the current second, entries due at or before it expire immediately
+     */
+    public TimingWheel(long now) {
+        this.now = now;
+        for (var level = 0; level < LEVELS; level++) {
+            this.slots[level] = new Entry[level == 0 ? 1 << FIRST_LEVEL_BITS : 1 << LEVEL_BITS];
+            for (var slot = 0; slot < this.slots[level].length; slot++) {
+                this.slots[level][slot] = new Head();
+            }
+        }
+    }
+
+    /**
+     * @return the second the wheel has advanced to
+     */
+    public long getNow() {
+        return now;
+    }
+
+    /**
+     * @return the number of scheduled entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param element  an entry which is not scheduled
+     * @param deadline the second the entry is due at
+     * @return false if the deadline is not in the future, the entry is not scheduled then
+     * @throws IllegalArgumentException if the deadline is too far in the future or the entry is already scheduled
+     */
+    public boolean schedule(E element, long deadline) {
+        final Entry entry = element;
+        if (entry.isScheduled()) {
+            throw new IllegalArgumentException("entry is already scheduled for " + entry.deadline);
+        }
+        if (deadline - this.now >= RANGE) {
+            throw new IllegalArgumentException("deadline " + deadline + " is more than " + RANGE + " seconds after " + this.now);
+        }
+
+        entry.deadline = deadline;
+        if (deadline <= this.now) {
+            return false;
+        }
+
+        this.link(entry);
+        this.size++;
+
+        return true;
+    }
+
+    /**
+     * @param element a scheduled entry
+     * @return false if the entry was not scheduled
+     */
+    public boolean cancel(E element) {
+        final Entry entry = element;
+        if (!entry.isScheduled()) {
+            return false;
+        }
+
+        entry.unlink();
+        this.size--;
+
+        return true;
+    }
+
+    /**
+     * Advances second by second and hands every entry to the consumer in the second it is due.
+     * Entries are unscheduled before the consumer sees them, so it may schedule them again.
+     *
+     * @param to      the second to advance to, inclusive
+     * @param expired receives the entries in order of their deadline
+     */
+    @SuppressWarnings("unchecked")
+    public void advance(long to, Consumer<? super E> expired) {
+        while (this.now < to) {
+            this.now++;
+
+            // entries of higher levels move down before the first level expires, highest level first
+            for (var level = LEVELS - 1; level > 0; level--) {
+                if ((this.now & ((1L << shift(level)) - 1)) == 0) {
+                    this.cascade(level);
+                }
+            }
+
+            final var head = this.slots[0][(int) (this.now & ((1 << FIRST_LEVEL_BITS) - 1))];
+            while (head.next != head) {
+                final var entry = head.next;
+                entry.unlink();
+                this.size--;
+                expired.accept((E) entry);
+            }
+        }
+    }
+
+    private void cascade(int level) {
+        final var head = this.slots[level][slot(this.now, level)];
+        while (head.next != head) {
+            final var entry = head.next;
+            entry.unlink();
+            this.link(entry);
+        }
+    }
+
+    private void link(Entry entry) {
+        // the highest bit in which deadline and now differ decides the level, so the entry is reached exactly in time
+        final var difference = entry.deadline ^ this.now;
+        var level = 0;
+        while (level < LEVELS - 1 && difference >= 1L << shift(level + 1)) {
+            level++;
+        }
+
+        final var head = this.slots[level][slot(entry.deadline, level)];
+        entry.previous = head.previous;
+        entry.next = head;
+        head.previous.next = entry;
+        head.previous = entry;
+    }
+
+    private static int shift(int level) {
+        return level == 0 ? 0 : FIRST_LEVEL_BITS + (level - 1) * LEVEL_BITS;
+    }
+
+    private static int slot(long second, int level) {
+        final var bits = level == 0 ? FIRST_LEVEL_BITS : LEVEL_BITS;
+
+        return (int) ((second >>> shift(level)) & ((1 << bits) - 1));
+    }
+}
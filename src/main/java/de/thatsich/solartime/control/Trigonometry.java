@@ -0,0 +1,66 @@
+package de.thatsich.solartime.control;
+
+/**
+ * The trigonometric functions of the calculations of a {@link SolarEquationVariableCalculator} and of the events
+ * and positions derived from its variables.
+ */
+public enum Trigonometry {
+    /**
+     * {@link Math}, the default.
+     */
+    JDK {
+        @Override
+        public double sin(double a) {
+            return Math.sin(a);
+        }
+
+        @Override
+        public double cos(double a) {
+            return Math.cos(a);
+        }
+
+        @Override
+        public double asin(double x) {
+            return Math.asin(x);
+        }
+
+        @Override
+        public double acos(double x) {
+            return Math.acos(x);
+        }
+    },
+
+    /**
+     * {@link FastMath}, saves most of the time of the arc sine and arc cosine, which are native calls in {@link Math}.
+     * Events differ from {@link #JDK} by a second at most, when the rounding to whole seconds tips over.
+     */
+    FAST {
+        @Override
+        public double sin(double a) {
+            return FastMath.sin(a);
+        }
+
+        @Override
+        public double cos(double a) {
+            return FastMath.cos(a);
+        }
+
+        @Override
+        public double asin(double x) {
+            return FastMath.asin(x);
+        }
+
+        @Override
+        public double acos(double x) {
+            return FastMath.acos(x);
+        }
+    };
+
+    public abstract double sin(double a);
+
+    public abstract double cos(double a);
+
+    public abstract double asin(double x);
+
+    public abstract double acos(double x);
+}
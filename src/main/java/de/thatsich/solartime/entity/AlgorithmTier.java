@@ -0,0 +1,29 @@
+package de.thatsich.solartime.entity;
+
+/**
+ * How the position of the sun is calculated. The tiers trade accuracy for throughput,
+ * the error of each tier is measured by the {@code TierAccuracyReport} of the benchmarks.
+ */
+public enum AlgorithmTier {
+    /**
+     * A short Fourier series of declination and equation of time over the year, evaluated with a single sine and
+     * cosine. Sunrise and sunset are off by up to one and a half minutes below 50 degrees of latitude, by far more
+     * close to the polar circles.
+     */
+    FAST,
+
+    /**
+     * The sunrise equation with a fixed obliquity of the ecliptic, used since the first release. Sunrise and sunset
+     * are about a minute late and off by up to three minutes below 50 degrees of latitude, by far more
+     * close to the polar circles.
+     */
+    STANDARD,
+
+    /**
+     * Solar coordinates with secular terms, nutation and aberration, and events refined with the declination
+     * and equation of time at the event instead of at the solar transit. Events are within a second of the
+     * instant these coordinates cross the altitude, the coordinates themselves are accurate to 0.01 degrees.
+     * About ten times as expensive as {@link #STANDARD}.
+     */
+    PRECISE
+}
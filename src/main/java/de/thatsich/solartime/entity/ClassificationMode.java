@@ -0,0 +1,19 @@
+package de.thatsich.solartime.entity;
+
+/**
+ * How the {@code SunStateChecker} decides in which {@link DayPeriod} a point in time lies.
+ */
+public enum ClassificationMode {
+    /**
+     * Compares the point in time with the dawn and dusk events of its day.
+     * Requires up to 14 event calculations for a single {@link DayPeriod}.
+     */
+    EVENT_TIMES,
+
+    /**
+     * Calculates the elevation of the sun at the point in time once and compares it with the {@link Altitude}s.
+     * Also classifies twilight correctly on days where the sun does not reach the lower altitudes,
+     * e.g. the white nights of summer in northern Europe are astronomical twilight instead of night.
+     */
+    SOLAR_ELEVATION
+}
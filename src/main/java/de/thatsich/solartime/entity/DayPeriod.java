@@ -5,5 +5,26 @@ public enum DayPeriod {
     CIVIL_TWILIGHT,
     NAUTICAL_TWILIGHT,
     ASTRONOMICAL_TWILIGHT,
-    NIGHT
+    NIGHT;
+
+    /**
+     * @param elevation the elevation of the sun in degrees
+     * @return the period the sun is in at the given elevation
+     */
+    public static DayPeriod ofElevation(double elevation) {
+        final DayPeriod period;
+        if (elevation > Altitude.SUNRISE_SUNSET.getValue()) {
+            period = DAY;
+        } else if (elevation > Altitude.CIVIL.getValue()) {
+            period = CIVIL_TWILIGHT;
+        } else if (elevation > Altitude.NAUTICAL.getValue()) {
+            period = NAUTICAL_TWILIGHT;
+        } else if (elevation > Altitude.ASTRONOMICAL.getValue()) {
+            period = ASTRONOMICAL_TWILIGHT;
+        } else {
+            period = NIGHT;
+        }
+
+        return period;
+    }
 }
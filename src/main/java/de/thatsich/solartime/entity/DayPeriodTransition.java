@@ -0,0 +1,42 @@
+package de.thatsich.solartime.entity;
+
+import java.time.Instant;
+
+/**
+ * The instant at which a location enters a new {@link DayPeriod}, caused by one of the dawn or dusk {@link SolarEvent}s.
+ */
+public class DayPeriodTransition {
+
+    private final Instant instant;
+    private final SolarEvent event;
+    private final DayPeriod dayPeriod;
+
+    public DayPeriodTransition(Instant instant, SolarEvent event, DayPeriod dayPeriod) {
+        this.instant = instant;
+        this.event = event;
+        this.dayPeriod = dayPeriod;
+    }
+
+    public Instant getInstant() {
+        return instant;
+    }
+
+    /**
+     * @return the event which ends the previous period
+     */
+    public SolarEvent getEvent() {
+        return event;
+    }
+
+    /**
+     * @return the period starting at the instant
+     */
+    public DayPeriod getDayPeriod() {
+        return dayPeriod;
+    }
+
+    @Override
+    public String toString() {
+        return this.dayPeriod + " at " + this.instant + " (" + this.event + ")";
+    }
+}
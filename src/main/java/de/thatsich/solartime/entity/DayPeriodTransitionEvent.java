@@ -0,0 +1,34 @@
+package de.thatsich.solartime.entity;
+
+/**
+ * A {@link DayPeriodTransition} of one of the locations of a publisher.
+ */
+public class DayPeriodTransitionEvent {
+
+    private final double latitude;
+    private final double longitude;
+    private final DayPeriodTransition transition;
+
+    public DayPeriodTransitionEvent(double latitude, double longitude, DayPeriodTransition transition) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.transition = transition;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public DayPeriodTransition getTransition() {
+        return transition;
+    }
+
+    @Override
+    public String toString() {
+        return this.transition + " at " + this.latitude + ", " + this.longitude;
+    }
+}
@@ -0,0 +1,19 @@
+package de.thatsich.solartime.entity;
+
+/**
+ * Which entry a full cache replaces. Entries are grouped into small sets by their key,
+ * a new entry only competes with the entries of its set.
+ */
+public enum EvictionPolicy {
+    /**
+     * Replaces the oldest entry of the set. Cheapest, fits scans over many dates or locations.
+     */
+    FIRST_IN_FIRST_OUT,
+
+    /**
+     * Replaces the entry of the set which was not read for the longest time.
+     * Keeps frequently queried locations while others come and go.
+     * The access order is tracked without synchronization and therefore approximate under contention.
+     */
+    LEAST_RECENTLY_USED
+}
@@ -0,0 +1,114 @@
+package de.thatsich.solartime.entity;
+
+/**
+ * A regular latitude/longitude raster within a bounding box. Cells are stored row by row starting in the north-west,
+ * every cell is represented by its center.
+ */
+public class Grid {
+
+    private final double south;
+    private final double west;
+    private final double north;
+    private final double east;
+    private final double resolution;
+    private final int rows;
+    private final int columns;
+
+    /**
+     * @param south      the southern edge in degrees
+     * @param west       the western edge in degrees (West is negative)
+     * @param north      the northern edge in degrees
+     * @param east       the eastern edge in degrees (West is negative)
+     * @param resolution the edge length of a cell in degrees
+     * @throws IllegalArgumentException if the box is empty, outside of [-90, 90] x [-180, 180] or has more cells than an array can hold
+     */
+    public Grid(double south, double west, double north, double east, double resolution) {
+        if (!(resolution > 0)) {
+            throw new IllegalArgumentException("resolution needs to be positive, but was " + resolution);
+        }
+        if (!(-90 <= south && south < north && north <= 90)) {
+            throw new IllegalArgumentException("latitudes need -90 <= south < north <= 90, but were " + south + " and " + north);
+        }
+        if (!(-180 <= west && west < east && east <= 180)) {
+            throw new IllegalArgumentException("longitudes need -180 <= west < east <= 180, but were " + west + " and " + east);
+        }
+
+        this.south = south;
+        this.west = west;
+        this.north = north;
+        this.east = east;
+        this.resolution = resolution;
+        // a tolerance against 0.1 not being exact, 180 / 0.1 shall be 1800 rows
+        this.rows = (int) Math.ceil((north - south) / resolution - 1e-9);
+        this.columns = (int) Math.ceil((east - west) / resolution - 1e-9);
+
+        if ((long) this.rows * this.columns > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(this.rows + " x " + this.columns + " cells do not fit into an array");
+        }
+    }
+
+    /**
+     * @return a grid covering the whole earth
+     */
+    public static Grid global(double resolution) {
+        return new Grid(-90, -180, 90, 180, resolution);
+    }
+
+    public double getSouth() {
+        return south;
+    }
+
+    public double getWest() {
+        return west;
+    }
+
+    public double getNorth() {
+        return north;
+    }
+
+    public double getEast() {
+        return east;
+    }
+
+    public double getResolution() {
+        return resolution;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return the number of cells, the length of the result arrays
+     */
+    public int size() {
+        return this.rows * this.columns;
+    }
+
+    /**
+     * @param row the row, 0 is the northernmost
+     * @return the latitude of the cell centers in the row in degrees
+     */
+    public double getLatitude(int row) {
+        return this.north - (row + 0.5) * this.resolution;
+    }
+
+    /**
+     * @param column the column, 0 is the westernmost
+     * @return the longitude of the cell centers in the column in degrees
+     */
+    public double getLongitude(int column) {
+        return this.west + (column + 0.5) * this.resolution;
+    }
+
+    /**
+     * @return the index of the cell in the result arrays
+     */
+    public int index(int row, int column) {
+        return row * this.columns + column;
+    }
+}
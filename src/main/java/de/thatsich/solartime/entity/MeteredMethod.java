@@ -0,0 +1,55 @@
+package de.thatsich.solartime.entity;
+
+/**
+ * The public methods of {@code SolarTime} and {@code SunStateChecker} counted by the metrics of an engine.
+ * Streams are not metered, they are calculated lazily after the call returned.
+ */
+public enum MeteredMethod {
+    CALCULATE_DAY("SolarTime", "calculateDay"),
+    CALCULATE_PREVIOUS_SOLAR_MIDNIGHT("SolarTime", "calculatePreviousSolarMidnight"),
+    CALCULATE_ASTRONOMICAL_DAWN("SolarTime", "calculateAstronomicalDawn"),
+    CALCULATE_NAUTICAL_DAWN("SolarTime", "calculateNauticalDawn"),
+    CALCULATE_CIVIL_DAWN("SolarTime", "calculateCivilDawn"),
+    CALCULATE_SUNRISE("SolarTime", "calculateSunrise"),
+    CALCULATE_SOLAR_NOON("SolarTime", "calculateSolarNoon"),
+    CALCULATE_SUNSET("SolarTime", "calculateSunset"),
+    CALCULATE_CIVIL_DUSK("SolarTime", "calculateCivilDusk"),
+    CALCULATE_NAUTICAL_DUSK("SolarTime", "calculateNauticalDusk"),
+    CALCULATE_ASTRONOMICAL_DUSK("SolarTime", "calculateAstronomicalDusk"),
+    CALCULATE_NEXT_SOLAR_MIDNIGHT("SolarTime", "calculateNextSolarMidnight"),
+
+    IS_DAY("SunStateChecker", "isDay"),
+    IS_NIGHT("SunStateChecker", "isNight"),
+    IS_CIVIL_TWILIGHT("SunStateChecker", "isCivilTwilight"),
+    IS_NAUTICAL_TWILIGHT("SunStateChecker", "isNauticalTwilight"),
+    IS_ASTRONOMICAL_TWILIGHT("SunStateChecker", "isAstronomicalTwilight"),
+    IS_TWILIGHT("SunStateChecker", "isTwilight"),
+    GET_DAY_PERIOD("SunStateChecker", "getDayPeriod"),
+    NEXT_TRANSITION("SunStateChecker", "nextTransition"),
+    PREVIOUS_TRANSITION("SunStateChecker", "previousTransition"),
+    IS_24_HOUR_DAY_TIME("SunStateChecker", "is24HourDayTime"),
+    IS_24_HOUR_NIGHT_TIME("SunStateChecker", "is24HourNightTime");
+
+    private final String className;
+    private final String methodName;
+
+    MeteredMethod(String className, String methodName) {
+        this.className = className;
+        this.methodName = methodName;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    /**
+     * @return e.g. {@code SolarTime.calculateSunrise}, the key of the method in the metrics bean
+     */
+    public String getQualifiedName() {
+        return this.className + "." + this.methodName;
+    }
+}
@@ -0,0 +1,30 @@
+package de.thatsich.solartime.entity;
+
+/**
+ * Sentinel values of the primitive epoch second API for events which do not occur on a given day,
+ * because the sun never crosses the requested {@link Altitude}.
+ */
+public class PolarSentinel {
+
+    /**
+     * The sun stays above the requested altitude the whole day (e.g. no sunset in the arctic summer).
+     */
+    public static final long POLAR_DAY = Long.MAX_VALUE;
+
+    /**
+     * The sun stays below the requested altitude the whole day (e.g. no sunrise in the arctic winter).
+     */
+    public static final long POLAR_NIGHT = Long.MIN_VALUE;
+
+    private PolarSentinel() {
+        // hide implicit public constructor
+    }
+
+    /**
+     * @param epochSecond a result of the primitive epoch second API
+     * @return true if the value is one of the sentinels and not an actual point in time
+     */
+    public static boolean isPolar(long epochSecond) {
+        return epochSecond == POLAR_DAY || epochSecond == POLAR_NIGHT;
+    }
+}
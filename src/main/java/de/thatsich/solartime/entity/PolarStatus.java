@@ -0,0 +1,26 @@
+package de.thatsich.solartime.entity;
+
+/**
+ * Status codes of the batch API, one byte per location.
+ */
+public class PolarStatus {
+
+    /**
+     * The sun crosses the altitude, dawn and dusk are valid points in time.
+     */
+    public static final byte NONE = 0;
+
+    /**
+     * The sun stays above the altitude, dawn and dusk are {@link PolarSentinel#POLAR_DAY}.
+     */
+    public static final byte POLAR_DAY = 1;
+
+    /**
+     * The sun stays below the altitude, dawn and dusk are {@link PolarSentinel#POLAR_NIGHT}.
+     */
+    public static final byte POLAR_NIGHT = 2;
+
+    private PolarStatus() {
+        // hide implicit public constructor
+    }
+}
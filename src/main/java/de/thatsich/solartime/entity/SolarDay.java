@@ -0,0 +1,115 @@
+package de.thatsich.solartime.entity;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * All requested {@link SolarEvent}s of one day at one location.
+ * The events are kept as seconds since the epoch and only converted into the zone of the day when requested.
+ */
+public class SolarDay {
+
+    private final ZoneId zone;
+    private final Set<SolarEvent> events;
+
+    // seconds since the epoch or a PolarSentinel, indexed by the ordinal of the event
+    private final long[] epochSeconds;
+
+    public SolarDay(ZoneId zone, Set<SolarEvent> events, long[] epochSeconds) {
+        this.zone = zone;
+        this.events = Collections.unmodifiableSet(events.isEmpty() ? EnumSet.noneOf(SolarEvent.class) : EnumSet.copyOf(events));
+        this.epochSeconds = epochSeconds.clone();
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * @return the events this day was calculated for
+     */
+    public Set<SolarEvent> getEvents() {
+        return events;
+    }
+
+    /**
+     * @param event one of the requested events
+     * @return the event in seconds since the epoch or a {@link PolarSentinel} if it does not occur on this day
+     * @throws IllegalArgumentException if the event was not requested
+     */
+    public long getEpochSecond(SolarEvent event) {
+        if (!this.events.contains(event)) {
+            throw new IllegalArgumentException(event + " was not requested, only " + this.events);
+        }
+
+        return this.epochSeconds[event.ordinal()];
+    }
+
+    /**
+     * @return true if any of the requested events does not occur on this day
+     */
+    public boolean isPolar() {
+        for (final var event : this.events) {
+            if (PolarSentinel.isPolar(this.epochSeconds[event.ordinal()])) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @param event one of the requested events
+     * @return the event in the zone of the day or empty if it does not occur on this day
+     * @throws IllegalArgumentException if the event was not requested
+     */
+    public Optional<ZonedDateTime> getEvent(SolarEvent event) {
+        final var epochSecond = this.getEpochSecond(event);
+        if (PolarSentinel.isPolar(epochSecond)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), this.zone));
+    }
+
+    public Optional<ZonedDateTime> getAstronomicalDawn() {
+        return this.getEvent(SolarEvent.ASTRONOMICAL_DAWN);
+    }
+
+    public Optional<ZonedDateTime> getNauticalDawn() {
+        return this.getEvent(SolarEvent.NAUTICAL_DAWN);
+    }
+
+    public Optional<ZonedDateTime> getCivilDawn() {
+        return this.getEvent(SolarEvent.CIVIL_DAWN);
+    }
+
+    public Optional<ZonedDateTime> getSunrise() {
+        return this.getEvent(SolarEvent.SUNRISE);
+    }
+
+    public Optional<ZonedDateTime> getSolarNoon() {
+        return this.getEvent(SolarEvent.SOLAR_NOON);
+    }
+
+    public Optional<ZonedDateTime> getSunset() {
+        return this.getEvent(SolarEvent.SUNSET);
+    }
+
+    public Optional<ZonedDateTime> getCivilDusk() {
+        return this.getEvent(SolarEvent.CIVIL_DUSK);
+    }
+
+    public Optional<ZonedDateTime> getNauticalDusk() {
+        return this.getEvent(SolarEvent.NAUTICAL_DUSK);
+    }
+
+    public Optional<ZonedDateTime> getAstronomicalDusk() {
+        return this.getEvent(SolarEvent.ASTRONOMICAL_DUSK);
+    }
+}
@@ -0,0 +1,47 @@
+package de.thatsich.solartime.entity;
+
+/**
+ * The events of a solar day in chronological order.
+ */
+public enum SolarEvent {
+    ASTRONOMICAL_DAWN(Altitude.ASTRONOMICAL, -1),
+    NAUTICAL_DAWN(Altitude.NAUTICAL, -1),
+    CIVIL_DAWN(Altitude.CIVIL, -1),
+    SUNRISE(Altitude.SUNRISE_SUNSET, -1),
+
+    /**
+     * Solar noon only exists on days with a sunrise and sunset, thus it shares their altitude.
+     */
+    SOLAR_NOON(Altitude.SUNRISE_SUNSET, 0),
+
+    SUNSET(Altitude.SUNRISE_SUNSET, 1),
+    CIVIL_DUSK(Altitude.CIVIL, 1),
+    NAUTICAL_DUSK(Altitude.NAUTICAL, 1),
+    ASTRONOMICAL_DUSK(Altitude.ASTRONOMICAL, 1);
+
+    private final Altitude altitude;
+    private final int direction;
+
+    SolarEvent(Altitude altitude, int direction) {
+        this.altitude = altitude;
+        this.direction = direction;
+    }
+
+    public Altitude getAltitude() {
+        return altitude;
+    }
+
+    /**
+     * @return true for the events before solar noon
+     */
+    public boolean isDawn() {
+        return direction < 0;
+    }
+
+    /**
+     * @return true for the events after solar noon
+     */
+    public boolean isDusk() {
+        return direction > 0;
+    }
+}
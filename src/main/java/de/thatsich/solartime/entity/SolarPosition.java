@@ -0,0 +1,27 @@
+package de.thatsich.solartime.entity;
+
+/**
+ * The position of the sun in the sky of a location
+ * @see <a href="https://en.wikipedia.org/wiki/Horizontal_coordinate_system">Horizontal coordinate system on Wikipedia</a>
+ */
+public class SolarPosition {
+
+    // elevation above the horizon in degrees, negative below the horizon
+    private final double elevation;
+
+    // azimuth in degrees clockwise from North
+    private final double azimuth;
+
+    public SolarPosition(double elevation, double azimuth) {
+        this.elevation = elevation;
+        this.azimuth = azimuth;
+    }
+
+    public double getElevation() {
+        return elevation;
+    }
+
+    public double getAzimuth() {
+        return azimuth;
+    }
+}
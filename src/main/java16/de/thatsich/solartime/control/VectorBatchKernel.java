@@ -0,0 +1,146 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.PolarSentinel;
+import de.thatsich.solartime.entity.PolarStatus;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import static de.thatsich.solartime.entity.JulianConstants.CONST_0009;
+import static de.thatsich.solartime.entity.JulianConstants.JULIAN_DATE_2000_01_01;
+
+/**
+ * SIMD version of {@link ScalarBatchKernel} using the incubating Vector API, processes
+ * {@code DOUBLES.length()} locations per step (4 with AVX2, 8 with AVX-512).
+ * <br>
+ * Rounding and the conversion to seconds since the epoch follow {@link DateConverter#toEpochSecond(double)}
+ * step by step. The trigonometric functions may differ from {@link Math} in the last ulp,
+ * which can move an event by at most one second. Remaining locations are handled by the scalar kernel.
+ * <br>
+ * Only compiled on Java 16+ and loaded through {@link BatchKernels#createVectorKernel()}.
+ */
+public class VectorBatchKernel implements BatchKernel {
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+    private static final double TWO_PI = 2 * Math.PI;
+    private static final double DEGREES_TO_RADIANS = Math.PI / 180;
+    private static final double SECONDS_PER_DAY = 86400;
+    private static final double JULIAN_DAY_1970_01_01 = 2440588;
+    private static final double ROUNDING_MAGIC = 0x1.8p52;
+    private static final long ROUNDING_MAGIC_BITS = Double.doubleToRawLongBits(ROUNDING_MAGIC);
+
+    private final ScalarBatchKernel tail = new ScalarBatchKernel(new DateConverter());
+
+    @Override
+    public void calculateEvents(DailySolarTerms terms, double sinAltitude, double[] latitudes, double[] longitudes, int from, int to, long[] dawns, long[] dusks, byte[] polarStatus) {
+        final var center = terms.center();
+        final var sinDeclinationCoefficients = terms.sinDeclinationCoefficients();
+        final var transitOffsetCoefficients = terms.transitOffsetCoefficients();
+        final var transitBase = JULIAN_DATE_2000_01_01 + CONST_0009;
+
+        final var lanes = DOUBLES.length();
+        final var upperBound = from + DOUBLES.loopBound(to - from);
+
+        final var status = new long[lanes];
+
+        var i = from;
+        for (; i < upperBound; i += lanes) {
+            final var longitude = DoubleVector.fromArray(DOUBLES, longitudes, i);
+            final var latitudeRad = DoubleVector.fromArray(DOUBLES, latitudes, i).mul(DEGREES_TO_RADIANS);
+
+            // t = round(center + lon / 360) - lon / 360
+            final var longitudeCycle = longitude.div(360);
+            final var t = floor(longitudeCycle.add(center).add(0.5)).sub(longitudeCycle);
+            final var u = t.sub(center);
+
+            final var sinDeclination = polynomial(u, sinDeclinationCoefficients);
+            final var cosDeclination = sinDeclination.mul(sinDeclination).neg().add(1).sqrt();
+
+            final var hourAngleCosine = latitudeRad.lanewise(VectorOperators.SIN).mul(sinDeclination).neg().add(sinAltitude)
+                    .div(latitudeRad.lanewise(VectorOperators.COS).mul(cosDeclination));
+
+            final var polarDay = hourAngleCosine.compare(VectorOperators.LT, -1);
+            final var polarNight = hourAngleCosine.compare(VectorOperators.LE, 1).or(polarDay).not();
+
+            final var jtransit = t.add(transitBase).add(polynomial(u, transitOffsetCoefficients));
+            final var halfDayLength = hourAngleCosine.lanewise(VectorOperators.ACOS).div(TWO_PI);
+
+            // the Julian dates are parked as raw bits and converted in a second pass, a single loop body
+            // is too large for C2 to inline all vector operations and would box them
+            jtransit.sub(halfDayLength).blend(Double.POSITIVE_INFINITY, polarDay).blend(Double.NaN, polarNight)
+                    .reinterpretAsLongs().intoArray(dawns, i);
+            jtransit.add(halfDayLength).blend(Double.POSITIVE_INFINITY, polarDay).blend(Double.NaN, polarNight)
+                    .reinterpretAsLongs().intoArray(dusks, i);
+
+            // VectorMask.toLong allocates before Java 18, so the status goes through a long vector
+            LongVector.zero(LONGS)
+                    .blend(PolarStatus.POLAR_DAY, polarDay.cast(LONGS))
+                    .blend(PolarStatus.POLAR_NIGHT, polarNight.cast(LONGS))
+                    .intoArray(status, 0);
+            for (var lane = 0; lane < lanes; lane++) {
+                polarStatus[i + lane] = (byte) status[lane];
+            }
+        }
+
+        toEpochSeconds(dawns, from, upperBound);
+        toEpochSeconds(dusks, from, upperBound);
+
+        this.tail.calculateEvents(terms, sinAltitude, latitudes, longitudes, i, to, dawns, dusks, polarStatus);
+    }
+
+    @Override
+    public String getName() {
+        return "vector" + DOUBLES.length();
+    }
+
+    private static DoubleVector polynomial(DoubleVector u, double[] coefficients) {
+        return u.mul(coefficients[2]).add(coefficients[1]).mul(u).add(coefficients[0]);
+    }
+
+    /**
+     * Adding 1.5 * 2^52 pushes the fraction out of the mantissa, which rounds to the nearest integer
+     * without the double to long conversion, which C2 does not intrinsify on every CPU.
+     */
+    private static DoubleVector floor(DoubleVector value) {
+        final var rounded = value.add(ROUNDING_MAGIC).sub(ROUNDING_MAGIC);
+
+        return rounded.blend(rounded.sub(1), rounded.compare(VectorOperators.GT, value));
+    }
+
+    /**
+     * Vector form of {@link DateConverter#toEpochSecond(double)}, replaces the Julian dates stored as raw bits
+     * in place. Polar days are stored as infinity, polar nights as NaN.
+     * <br>
+     * Every intermediate is an integer of magnitude below 2^51 and therefore exact as double. {@link #floor} only
+     * sees the Julian date and the fraction of its day, which are positive. The epoch seconds before 1970 are
+     * negative: 1.5 * 2^52 keeps the sum within [2^52, 2^53) for any magnitude below 2^51, so subtracting its bits
+     * gives the two's complement of negative values as well. A magic number of 2^52 would only hold for positive ones.
+     */
+    private static void toEpochSeconds(long[] target, int from, int to) {
+        for (var i = from; i < to; i += LONGS.length()) {
+            final var julianDate = LongVector.fromArray(LONGS, target, i).reinterpretAsDoubles();
+            final var polarDay = julianDate.compare(VectorOperators.EQ, Double.POSITIVE_INFINITY).cast(LONGS);
+            final var polarNight = julianDate.compare(VectorOperators.NE, julianDate).cast(LONGS);
+
+            final var shifted = julianDate.add(0.5);
+            final var J = floor(shifted);
+            final var dayFraction = shifted.sub(J);
+
+            final var hours = floor(dayFraction.mul(24));
+            final var minutes = floor(dayFraction.mul(24).sub(hours).mul(60));
+            final var seconds = floor(dayFraction.mul(24).mul(3600).sub(hours.mul(3600).add(minutes.mul(60))).add(.5));
+
+            final var epochSecond = J.sub(JULIAN_DAY_1970_01_01).mul(SECONDS_PER_DAY)
+                    .add(hours.mul(3600)).add(minutes.mul(60)).add(seconds);
+
+            // an integer of magnitude below 2^51 plus the magic number carries the integer in the lower mantissa bits
+            epochSecond.add(ROUNDING_MAGIC).reinterpretAsLongs().sub(ROUNDING_MAGIC_BITS)
+                    .blend(PolarSentinel.POLAR_DAY, polarDay)
+                    .blend(PolarSentinel.POLAR_NIGHT, polarNight)
+                    .intoArray(target, i);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.control.Trigonometry;
+import de.thatsich.solartime.entity.AlgorithmTier;
+import de.thatsich.solartime.entity.Altitude;
+import de.thatsich.solartime.entity.PolarSentinel;
+import de.thatsich.solartime.entity.PolarStatus;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.LocalDate;
+
+class BatchSolarTimeTest {
+
+    @DisplayName("batch results are within one second of the single location API")
+    @ParameterizedTest(name = "{index}. altitude={0}")
+    @EnumSource(Altitude.class)
+    void testMatchesEpochSolarTime(Altitude altitude) {
+        final var api = new API();
+        final var batchSolarTime = api.getBatchSolarTime();
+        final var epochSolarTime = api.getEpochSolarTime();
+
+        final var latitudes = new double[179 * 72];
+        final var longitudes = new double[latitudes.length];
+        for (var i = 0; i < latitudes.length; i++) {
+            latitudes[i] = -89 + i / 72 + 0.3;
+            longitudes[i] = -180 + (i % 72) * 5 + 0.7;
+        }
+        final var dawns = new long[latitudes.length];
+        final var dusks = new long[latitudes.length];
+        final var polarStatus = new byte[latitudes.length];
+
+        for (var date = LocalDate.of(2019, 1, 1); date.getYear() == 2019; date = date.plusDays(17)) {
+            final var epochDay = date.toEpochDay();
+            batchSolarTime.calculateEvents(epochDay, altitude, latitudes, longitudes, dawns, dusks, polarStatus);
+
+            for (var i = 0; i < latitudes.length; i++) {
+                final var dawn = epochSolarTime.dawnEpochSecond(epochDay, latitudes[i], longitudes[i], altitude);
+                final var dusk = epochSolarTime.duskEpochSecond(epochDay, latitudes[i], longitudes[i], altitude);
+
+                assertEvent(dawns[i], dawn, polarStatus[i]);
+                assertEvent(dusks[i], dusk, polarStatus[i]);
+            }
+        }
+    }
+
+    @DisplayName("batch results of every tier and trigonometry are within one second of the single location API of the same engine")
+    @ParameterizedTest(name = "{index}. tier={0}, trigonometry={1}")
+    @CsvSource({"FAST, JDK", "STANDARD, FAST", "PRECISE, JDK", "PRECISE, FAST"})
+    void testMatchesEpochSolarTimeOfEngine(AlgorithmTier algorithmTier, Trigonometry trigonometry) {
+        final var engine = SolarEngine.builder().algorithmTier(algorithmTier).trigonometry(trigonometry).build();
+        final var batchSolarTime = engine.getBatchSolarTime();
+        final var epochSolarTime = engine.getEpochSolarTime();
+
+        final var latitudes = new double[36 * 24];
+        final var longitudes = new double[latitudes.length];
+        for (var i = 0; i < latitudes.length; i++) {
+            latitudes[i] = -87.5 + (i / 24) * 5 + 0.3;
+            longitudes[i] = -180 + (i % 24) * 15 + 0.7;
+        }
+        final var dawns = new long[latitudes.length];
+        final var dusks = new long[latitudes.length];
+        final var polarStatus = new byte[latitudes.length];
+
+        for (var date = LocalDate.of(2019, 1, 1); date.getYear() == 2019; date = date.plusDays(29)) {
+            final var epochDay = date.toEpochDay();
+            batchSolarTime.calculateSunriseSunset(epochDay, latitudes, longitudes, dawns, dusks, polarStatus);
+
+            for (var i = 0; i < latitudes.length; i++) {
+                assertEvent(dawns[i], epochSolarTime.sunriseEpochSecond(epochDay, latitudes[i], longitudes[i]), polarStatus[i]);
+                assertEvent(dusks[i], epochSolarTime.sunsetEpochSecond(epochDay, latitudes[i], longitudes[i]), polarStatus[i]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("sunrise and sunset in Essen and polar night in Tromsø")
+    void testSunriseSunset() {
+        final var batchSolarTime = new API().getBatchSolarTime();
+        final var epochDay = LocalDate.of(2019, 12, 24).toEpochDay();
+        final var latitudes = new double[]{51.449680, 69.660716};
+        final var longitudes = new double[]{6.973370, 18.925278};
+        final var sunrises = new long[2];
+        final var sunsets = new long[2];
+        final var polarStatus = new byte[2];
+
+        batchSolarTime.calculateSunriseSunset(epochDay, latitudes, longitudes, sunrises, sunsets, polarStatus);
+
+        Assertions.assertThat(polarStatus).containsExactly(PolarStatus.NONE, PolarStatus.POLAR_NIGHT);
+        Assertions.assertThat(sunrises[0]).isLessThan(sunsets[0]);
+        Assertions.assertThat(sunrises[1]).isEqualTo(PolarSentinel.POLAR_NIGHT);
+    }
+
+    @Test
+    @DisplayName("arrays of different length are rejected")
+    void testDifferentLengths() {
+        final var batchSolarTime = new API().getBatchSolarTime();
+
+        Assertions.assertThatIllegalArgumentException()
+                .isThrownBy(() -> batchSolarTime.calculateSunriseSunset(0, new double[2], new double[2], new long[2], new long[1], new byte[2]));
+    }
+
+    private static void assertEvent(long actual, long expected, byte polarStatus) {
+        if (PolarSentinel.isPolar(expected)) {
+            Assertions.assertThat(actual).isEqualTo(expected);
+            Assertions.assertThat(polarStatus).isNotEqualTo(PolarStatus.NONE);
+        } else {
+            Assertions.assertThat(actual).isBetween(expected - 1, expected + 1);
+            Assertions.assertThat(polarStatus).isEqualTo(PolarStatus.NONE);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.entity.AlgorithmTier;
+import de.thatsich.solartime.entity.PolarSentinel;
+import de.thatsich.solartime.entity.SolarEvent;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+
+class CalendarSolarTimeTest {
+
+    private static final long FIRST_EPOCH_DAY = LocalDate.of(2020, 1, 1).toEpochDay();
+    private static final int DAYS = 3653;
+
+    @ParameterizedTest
+    @EnumSource(AlgorithmTier.class)
+    @DisplayName("every day of ten years is within a second of the exact event, polar days and nights are exact")
+    void testErrorBound(AlgorithmTier algorithmTier) {
+        final var engine = SolarEngine.builder().algorithmTier(algorithmTier).build();
+        final var calendarSolarTime = engine.getCalendarSolarTime();
+        final var epochSolarTime = engine.getEpochSolarTime();
+        final var expected = new long[SolarEvent.values().length];
+        final var actual = new long[DAYS];
+
+        var differences = 0;
+        var total = 0;
+        for (var latitude = -85.0; latitude <= 85; latitude += algorithmTier == AlgorithmTier.PRECISE ? 34 : 17) {
+            for (final var longitude : new double[]{-157.8, 13.4, 179.9}) {
+                for (final var event : SolarEvent.values()) {
+                    calendarSolarTime.calculateCalendar(event, FIRST_EPOCH_DAY, latitude, longitude, actual);
+
+                    for (var day = 0; day < DAYS; day++) {
+                        epochSolarTime.calculateDay(FIRST_EPOCH_DAY + day, latitude, longitude, EnumSet.of(event), expected);
+                        final var exact = expected[event.ordinal()];
+                        if (PolarSentinel.isPolar(exact)) {
+                            Assertions.assertThat(actual[day]).as("%s on day %d at %f, %f", event, day, latitude, longitude).isEqualTo(exact);
+                        } else {
+                            Assertions.assertThat(actual[day]).as("%s on day %d at %f, %f", event, day, latitude, longitude).isCloseTo(exact, Assertions.within(1L));
+                        }
+                        differences += actual[day] == exact ? 0 : 1;
+                        total++;
+                    }
+                }
+            }
+        }
+
+        // a difference only happens when the rounding to whole seconds tips over
+        Assertions.assertThat(differences).isLessThan(total / 1000);
+    }
+}
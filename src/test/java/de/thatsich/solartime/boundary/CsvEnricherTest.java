@@ -0,0 +1,126 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.entity.ClassificationMode;
+import de.thatsich.solartime.entity.PolarSentinel;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+class CsvEnricherTest {
+
+    private final API api = new API();
+    // small chunks, so that rows are split across many of them
+    private final CsvEnricher csvEnricher = new CsvEnricher(this.api.getEpochSolarTime(), this.api.getSunStateChecker(ClassificationMode.EVENT_TIMES), 3, 256);
+
+    @TempDir
+    Path directory;
+
+    private static List<String> randomRows(int count) {
+        final var random = new Random(42);
+        final var rows = new ArrayList<String>();
+        for (var i = 0; i < count; i++) {
+            final var epochSecond = Instant.parse("2019-01-01T00:00:00Z").getEpochSecond() + random.nextInt(365 * 86400);
+            final var timestamp = i % 2 == 0 ? Instant.ofEpochSecond(epochSecond).toString() : Long.toString(epochSecond);
+            rows.add(timestamp + "," + (random.nextDouble() * 180 - 90) + "," + (random.nextDouble() * 360 - 180));
+        }
+
+        return rows;
+    }
+
+    /**
+     * The row enriched one at a time by the library.
+     */
+    private String expected(String row) {
+        final var fields = row.split(",");
+        final var epochSecond = fields[0].contains("-") ? Instant.parse(fields[0]).getEpochSecond() : Long.parseLong(fields[0]);
+        final var latitude = Double.parseDouble(fields[1]);
+        final var longitude = Double.parseDouble(fields[2]);
+        final var epochDay = Math.floorDiv(epochSecond, 86400);
+        final var epochSolarTime = this.api.getEpochSolarTime();
+        final var dayPeriod = this.api.getSunStateChecker().getDayPeriod(ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC), latitude, longitude);
+
+        return row + "," + event(epochSolarTime.sunriseEpochSecond(epochDay, latitude, longitude)) + "," + event(epochSolarTime.sunsetEpochSecond(epochDay, latitude, longitude)) + "," + dayPeriod;
+    }
+
+    private static String event(long epochSecond) {
+        if (PolarSentinel.isPolar(epochSecond)) {
+            return epochSecond == PolarSentinel.POLAR_DAY ? "POLAR_DAY" : "POLAR_NIGHT";
+        }
+
+        return Instant.ofEpochSecond(epochSecond).toString();
+    }
+
+    private List<String> enrichFile(String content) throws IOException {
+        final var input = this.directory.resolve("input.csv");
+        final var output = this.directory.resolve("output.csv");
+        Files.writeString(input, content, StandardCharsets.US_ASCII);
+        try (var channel = Files.newByteChannel(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            this.csvEnricher.enrich(input, channel);
+        }
+
+        return Files.readAllLines(output, StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    @DisplayName("every row of a mapped file is enriched like the library does it one at a time, in order, the header is extended")
+    void testFile() throws IOException {
+        final var rows = randomRows(1000);
+        final var expected = new ArrayList<String>();
+        expected.add("timestamp,latitude,longitude,sunrise,sunset,day_period");
+        rows.forEach(row -> expected.add(this.expected(row)));
+
+        final var enriched = this.enrichFile("timestamp,latitude,longitude\n" + String.join("\n", rows));
+
+        Assertions.assertThat(enriched).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("streamed input with CRLF and blank lines is enriched like a file, further fields are kept")
+    void testStream() throws IOException {
+        final var rows = randomRows(500);
+        final var expected = new ArrayList<String>();
+        rows.forEach(row -> expected.add(this.expected(row).replaceFirst("(,[^,]*,[^,]*,[^,]*)$", ",extra$1")));
+        final var content = new StringBuilder();
+        rows.forEach(row -> content.append(row).append(",extra\r\n\r\n"));
+
+        final var output = new ByteArrayOutputStream();
+        final var count = this.csvEnricher.enrich(Channels.newChannel(new ByteArrayInputStream(content.toString().getBytes(StandardCharsets.US_ASCII))), Channels.newChannel(output));
+
+        Assertions.assertThat(count).isEqualTo(500);
+        Assertions.assertThat(output.toString(StandardCharsets.US_ASCII).lines()).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("polar days and nights are written instead of sunrise and sunset")
+    void testPolar() throws IOException {
+        final var enriched = this.enrichFile("2019-06-21T12:00:00Z,78.22,15.65\n2019-12-21T12:00:00Z,78.22,15.65\n");
+
+        Assertions.assertThat(enriched).containsExactly(
+                "2019-06-21T12:00:00Z,78.22,15.65,POLAR_DAY,POLAR_DAY,DAY",
+                "2019-12-21T12:00:00Z,78.22,15.65,POLAR_NIGHT,POLAR_NIGHT," + this.api.getSunStateChecker().getDayPeriod(ZonedDateTime.parse("2019-12-21T12:00:00Z"), 78.22, 15.65));
+    }
+
+    @Test
+    @DisplayName("malformed rows and rows longer than a chunk are rejected")
+    void testMalformed() {
+        Assertions.assertThatIllegalArgumentException().isThrownBy(() -> this.enrichFile("2019-06-21T12:00:00Z,78.22\n"));
+        Assertions.assertThatIllegalArgumentException().isThrownBy(() -> this.enrichFile("2019-06-21T12:00:00Z,north,east\n"));
+        Assertions.assertThatIllegalArgumentException().isThrownBy(() -> this.enrichFile("2019-06-21T12:00:00Z,78.22,15.65," + "x".repeat(300) + "\n1,2,3\n"));
+    }
+}
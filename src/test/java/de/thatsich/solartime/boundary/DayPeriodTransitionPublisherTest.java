@@ -0,0 +1,270 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.entity.DayPeriodTransitionEvent;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+class DayPeriodTransitionPublisherTest {
+
+    // six transitions a day in June, there is no astronomical night
+    private static final double LATITUDE = 51.449680;
+    private static final double LONGITUDE = 6.973370;
+    private static final double SYDNEY_LATITUDE = -33.87;
+    private static final double SYDNEY_LONGITUDE = 151.21;
+
+    /**
+     * Moved forward by the test only.
+     */
+    private static final class ManualClock extends Clock {
+
+        private Instant instant;
+
+        private ManualClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            this.instant = this.instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return this.instant;
+        }
+    }
+
+    /**
+     * Requests only what the test tells it to.
+     */
+    private static class RecordingSubscriber implements Flow.Subscriber<DayPeriodTransitionEvent> {
+
+        private final List<DayPeriodTransitionEvent> events = new ArrayList<>();
+        // the names of the methods in the order they were called
+        private final List<String> signals = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.signals.add("onSubscribe");
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(DayPeriodTransitionEvent item) {
+            this.signals.add("onNext");
+            this.events.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            this.signals.add("onError");
+            this.error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            this.signals.add("onComplete");
+            this.completed = true;
+        }
+    }
+
+    private final ManualClock clock = new ManualClock(Instant.parse("2019-06-01T00:00:00Z"));
+    private final API api = new API();
+    private final DayPeriodTransitionPublisher publisher = this.api.getDayPeriodTransitionPublisher(this.clock, Runnable::run);
+    private final RecordingSubscriber subscriber = new RecordingSubscriber();
+
+    @Test
+    @DisplayName("transitions of all locations arrive in time order and equal the next transitions of the checker")
+    void testTimeOrder() {
+        this.publisher.addLocation(LATITUDE, LONGITUDE);
+        this.publisher.addLocation(SYDNEY_LATITUDE, SYDNEY_LONGITUDE);
+        this.publisher.subscribe(this.subscriber);
+        this.subscriber.subscription.request(Long.MAX_VALUE);
+
+        this.clock.advance(Duration.ofDays(2));
+        this.publisher.advance();
+
+        final var instants = new ArrayList<Instant>();
+        this.subscriber.events.forEach(event -> instants.add(event.getTransition().getInstant()));
+        Assertions.assertThat(instants).isSorted();
+        // eight transitions a day in Sydney
+        Assertions.assertThat(this.subscriber.events).hasSize(2 * 8 + 2 * 6);
+
+        final var checker = this.api.getSunStateChecker();
+        final var first = this.subscriber.events.stream().filter(event -> event.getLatitude() == LATITUDE).findFirst().orElseThrow();
+        Assertions.assertThat(first.getTransition().getInstant())
+                .isEqualTo(checker.nextTransition(Instant.parse("2019-06-01T00:00:00Z"), LATITUDE, LONGITUDE).orElseThrow().getInstant());
+    }
+
+    @Test
+    @DisplayName("nothing is delivered before the clock reaches a transition or beyond the demand")
+    void testDemand() {
+        this.publisher.addLocation(LATITUDE, LONGITUDE);
+        this.publisher.subscribe(this.subscriber);
+        this.subscriber.subscription.request(3);
+
+        Assertions.assertThat(this.subscriber.events).isEmpty();
+
+        this.clock.advance(Duration.ofDays(10));
+        this.publisher.advance();
+        Assertions.assertThat(this.subscriber.events).hasSize(3);
+
+        this.subscriber.subscription.request(2);
+        Assertions.assertThat(this.subscriber.events).hasSize(5);
+        Assertions.assertThat(this.subscriber.events).allSatisfy(event -> Assertions.assertThat(event.getTransition().getInstant()).isBeforeOrEqualTo(this.clock.instant()));
+    }
+
+    @Test
+    @DisplayName("a subscriber requesting one transition at a time receives every one of them in order")
+    void testRequestOnNext() {
+        final var events = new ArrayList<DayPeriodTransitionEvent>();
+        this.publisher.addLocation(LATITUDE, LONGITUDE);
+        this.publisher.subscribe(new Flow.Subscriber<>() {
+
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(DayPeriodTransitionEvent item) {
+                events.add(item);
+                this.subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                throw new AssertionError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                // not completed by the test
+            }
+        });
+
+        this.clock.advance(Duration.ofDays(3));
+        this.publisher.advance();
+
+        Assertions.assertThat(events).hasSize(3 * 6);
+        for (var i = 1; i < events.size(); i++) {
+            Assertions.assertThat(events.get(i).getTransition().getInstant()).isAfter(events.get(i - 1).getTransition().getInstant());
+        }
+    }
+
+    @Test
+    @DisplayName("locations added later are published from the instant they were added")
+    void testAddLocation() {
+        this.publisher.subscribe(this.subscriber);
+        this.subscriber.subscription.request(Long.MAX_VALUE);
+
+        this.clock.advance(Duration.ofDays(1));
+        this.publisher.addLocation(LATITUDE, LONGITUDE);
+        this.clock.advance(Duration.ofDays(1));
+        this.publisher.advance();
+
+        Assertions.assertThat(this.subscriber.events).hasSize(6);
+        Assertions.assertThat(this.subscriber.events.get(0).getTransition().getInstant()).isAfter(Instant.parse("2019-06-02T00:00:00Z"));
+    }
+
+    @Test
+    @DisplayName("a non-positive request ends in an error, closing completes the other subscribers")
+    void testTermination() {
+        this.publisher.addLocation(LATITUDE, LONGITUDE);
+        final var other = new RecordingSubscriber();
+        this.publisher.subscribe(this.subscriber);
+        this.publisher.subscribe(other);
+
+        this.subscriber.subscription.request(0);
+        Assertions.assertThat(this.subscriber.error).isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThat(this.publisher.getSubscriberCount()).isEqualTo(1);
+
+        other.subscription.request(Long.MAX_VALUE);
+        this.publisher.close();
+        this.clock.advance(Duration.ofDays(1));
+        this.publisher.advance();
+
+        Assertions.assertThat(other.completed).isTrue();
+        Assertions.assertThat(other.events).isEmpty();
+        Assertions.assertThat(this.publisher.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("a subscriber of a closed publisher is subscribed and then completed right away")
+    void testSubscribeAfterClose() {
+        this.publisher.addLocation(LATITUDE, LONGITUDE);
+        this.publisher.close();
+
+        this.publisher.subscribe(this.subscriber);
+        this.clock.advance(Duration.ofDays(1));
+        this.publisher.advance();
+
+        Assertions.assertThat(this.subscriber.signals).containsExactly("onSubscribe", "onComplete");
+        Assertions.assertThat(this.publisher.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("a subscriber throwing from onNext receives an error and nothing after it")
+    void testThrowingSubscriber() {
+        final var failure = new IllegalStateException("subscriber failed");
+        final RecordingSubscriber throwing = new RecordingSubscriber() {
+            @Override
+            public void onNext(DayPeriodTransitionEvent item) {
+                super.onNext(item);
+                throw failure;
+            }
+        };
+        this.publisher.addLocation(LATITUDE, LONGITUDE);
+        this.publisher.subscribe(throwing);
+        throwing.subscription.request(Long.MAX_VALUE);
+
+        this.clock.advance(Duration.ofDays(1));
+        this.publisher.advance();
+        this.clock.advance(Duration.ofDays(1));
+        this.publisher.advance();
+        this.publisher.close();
+
+        Assertions.assertThat(throwing.signals).containsExactly("onSubscribe", "onNext", "onError");
+        Assertions.assertThat(throwing.error).isSameAs(failure);
+        Assertions.assertThat(this.publisher.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("the polar day in Svalbard is crossed and ends with the first transition in August")
+    void testPolar() {
+        this.publisher.addLocation(78.22, 15.65);
+        this.publisher.subscribe(this.subscriber);
+        this.subscriber.subscription.request(1);
+
+        this.clock.advance(Duration.ofDays(120));
+        this.publisher.advance();
+
+        Assertions.assertThat(this.subscriber.events).hasSize(1);
+        Assertions.assertThat(this.subscriber.events.get(0).getTransition().getInstant()).isBetween(Instant.parse("2019-08-15T00:00:00Z"), Instant.parse("2019-08-31T00:00:00Z"));
+    }
+}
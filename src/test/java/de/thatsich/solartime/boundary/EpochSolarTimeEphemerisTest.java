@@ -0,0 +1,37 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.control.EphemerisTable;
+import de.thatsich.solartime.entity.PolarSentinel;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+class EpochSolarTimeEphemerisTest {
+
+    @Test
+    @DisplayName("events from the ephemeris are within one second of the formulas below 80 degrees of latitude")
+    void testMatchesFormulas() {
+        final var formulas = new API().getEpochSolarTime();
+        final var ephemeris = new API(EphemerisTable.openBundled()).getEpochSolarTime();
+
+        for (var epochDay = LocalDate.of(1900, 1, 1).toEpochDay(); epochDay < LocalDate.of(2100, 12, 31).toEpochDay(); epochDay += 97) {
+            for (var latitude = -80d; latitude <= 80; latitude += 8) {
+                for (var longitude = -180d; longitude < 180; longitude += 30) {
+                    assertEvent(ephemeris.sunriseEpochSecond(epochDay, latitude, longitude), formulas.sunriseEpochSecond(epochDay, latitude, longitude));
+                    assertEvent(ephemeris.sunsetEpochSecond(epochDay, latitude, longitude), formulas.sunsetEpochSecond(epochDay, latitude, longitude));
+                    assertEvent(ephemeris.solarNoonEpochSecond(epochDay, latitude, longitude), formulas.solarNoonEpochSecond(epochDay, latitude, longitude));
+                }
+            }
+        }
+    }
+
+    private static void assertEvent(long actual, long expected) {
+        if (PolarSentinel.isPolar(expected)) {
+            Assertions.assertThat(actual).isEqualTo(expected);
+        } else {
+            Assertions.assertThat(actual).isBetween(expected - 1, expected + 1);
+        }
+    }
+}
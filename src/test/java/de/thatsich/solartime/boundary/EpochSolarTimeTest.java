@@ -0,0 +1,68 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.entity.PolarSentinel;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+
+class EpochSolarTimeTest {
+
+    @DisplayName("sunrise matches the ZonedDateTime API")
+    @ParameterizedTest(name = "{index}. {0} => day={1}, latitude={2}, longitude={3}, sunrise={4}")
+    @CsvFileSource(numLinesToSkip = 1, resources = "./sunrise-sunet.csv")
+    void testSunriseIsExact(@SuppressWarnings("unused") String location, ZonedDateTime day, double latitude, double longitude, ZonedDateTime sunrise) {
+        final var epochSolarTime = new API().getEpochSolarTime();
+
+        final var actual = epochSolarTime.sunriseEpochSecond(day.toLocalDate().toEpochDay(), latitude, longitude);
+
+        Assertions.assertThat(actual)
+                .isEqualTo(sunrise.toEpochSecond());
+    }
+
+    @DisplayName("sunset matches the ZonedDateTime API")
+    @ParameterizedTest(name = "{index}. {0} => day={1}, latitude={2}, longitude={3}, sunset={5}")
+    @CsvFileSource(numLinesToSkip = 1, resources = "./sunrise-sunet.csv")
+    void testSunsetIsExact(@SuppressWarnings("unused") String location, ZonedDateTime day, double latitude, double longitude, @SuppressWarnings("unused") ZonedDateTime sunrise, ZonedDateTime sunset) {
+        final var epochSolarTime = new API().getEpochSolarTime();
+
+        final var actual = epochSolarTime.sunsetEpochSecond(day.toLocalDate().toEpochDay(), latitude, longitude);
+
+        Assertions.assertThat(actual)
+                .isEqualTo(sunset.toEpochSecond());
+    }
+
+    @Test
+    @DisplayName("In Nunavut, Canada there is no sunset in June")
+    void testPolarDay() {
+        final var epochSolarTime = new API().getEpochSolarTime();
+
+        final var day = LocalDate.of(2019, 6, 24).toEpochDay();
+        final var latitude = 82.481306;
+        final var longitude = -62.239533;
+
+        Assertions.assertThat(epochSolarTime.sunsetEpochSecond(day, latitude, longitude))
+                .isEqualTo(PolarSentinel.POLAR_DAY);
+        Assertions.assertThat(epochSolarTime.solarNoonEpochSecond(day, latitude, longitude))
+                .isEqualTo(PolarSentinel.POLAR_DAY);
+    }
+
+    @Test
+    @DisplayName("In Tromsø, Norway there is no sunrise in December but a civil dawn")
+    void testPolarNight() {
+        final var epochSolarTime = new API().getEpochSolarTime();
+
+        final var day = LocalDate.of(2019, 12, 24).toEpochDay();
+        final var latitude = 69.660716;
+        final var longitude = 18.925278;
+
+        Assertions.assertThat(epochSolarTime.sunriseEpochSecond(day, latitude, longitude))
+                .isEqualTo(PolarSentinel.POLAR_NIGHT);
+        Assertions.assertThat(PolarSentinel.isPolar(epochSolarTime.civilDawnEpochSecond(day, latitude, longitude)))
+                .isFalse();
+    }
+}
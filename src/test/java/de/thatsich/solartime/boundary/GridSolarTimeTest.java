@@ -0,0 +1,75 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.entity.Altitude;
+import de.thatsich.solartime.entity.Grid;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
+
+class GridSolarTimeTest {
+
+    @DisplayName("grid cells equal the batch results of their centers")
+    @ParameterizedTest(name = "{index}. cellsPerTask={0}")
+    @ValueSource(ints = {1, 500, 1 << 20})
+    void testMatchesBatchSolarTime(int cellsPerTask) {
+        final var api = new API();
+        final var pool = new ForkJoinPool(4);
+        try {
+            final var gridSolarTime = api.getGridSolarTime(pool, cellsPerTask);
+            final var batchSolarTime = api.getBatchSolarTime();
+            final var grid = new Grid(-60, -30, 80, 120, 0.7);
+            final var epochDay = LocalDate.of(2019, 6, 21).toEpochDay();
+
+            final var dawns = new long[grid.size()];
+            final var dusks = new long[grid.size()];
+            final var polarStatus = new byte[grid.size()];
+            gridSolarTime.calculateEvents(epochDay, Altitude.CIVIL, grid, dawns, dusks, polarStatus);
+
+            final var latitudes = new double[grid.size()];
+            final var longitudes = new double[grid.size()];
+            for (var row = 0; row < grid.getRows(); row++) {
+                for (var column = 0; column < grid.getColumns(); column++) {
+                    latitudes[grid.index(row, column)] = grid.getLatitude(row);
+                    longitudes[grid.index(row, column)] = grid.getLongitude(column);
+                }
+            }
+            final var expectedDawns = new long[grid.size()];
+            final var expectedDusks = new long[grid.size()];
+            final var expectedStatus = new byte[grid.size()];
+            batchSolarTime.calculateEvents(epochDay, Altitude.CIVIL, latitudes, longitudes, expectedDawns, expectedDusks, expectedStatus);
+
+            Assertions.assertThat(dawns).isEqualTo(expectedDawns);
+            Assertions.assertThat(dusks).isEqualTo(expectedDusks);
+            Assertions.assertThat(polarStatus).isEqualTo(expectedStatus);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("0.1 degree global grid has 1800 rows of 3600 cells starting in the north-west")
+    void testGlobalGrid() {
+        final var grid = Grid.global(0.1);
+
+        Assertions.assertThat(grid.getRows()).isEqualTo(1800);
+        Assertions.assertThat(grid.getColumns()).isEqualTo(3600);
+        Assertions.assertThat(grid.size()).isEqualTo(6_480_000);
+        Assertions.assertThat(grid.getLatitude(0)).isCloseTo(89.95, Assertions.within(1e-9));
+        Assertions.assertThat(grid.getLongitude(0)).isCloseTo(-179.95, Assertions.within(1e-9));
+    }
+
+    @Test
+    @DisplayName("arrays not matching the grid are rejected")
+    void testDifferentLengths() {
+        final var gridSolarTime = new API().getGridSolarTime();
+        final var grid = Grid.global(10);
+
+        Assertions.assertThatIllegalArgumentException()
+                .isThrownBy(() -> gridSolarTime.calculateSunriseSunset(0, grid, new long[grid.size()], new long[grid.size()], new byte[1]));
+    }
+}
@@ -0,0 +1,103 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.control.EphemerisTable;
+import de.thatsich.solartime.control.SolarEquationVariablesCache;
+import de.thatsich.solartime.control.SpatialEventCache;
+import de.thatsich.solartime.entity.ClassificationMode;
+import de.thatsich.solartime.entity.EvictionPolicy;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class SolarEngineTest {
+
+    private static final double LATITUDE = 51.449680;
+    private static final double LONGITUDE = 6.973370;
+    private static final long EPOCH_DAY = 18072;
+
+    @Test
+    @DisplayName("getters return the same instances on every call")
+    void testSharedInstances() {
+        final var api = new API();
+
+        Assertions.assertThat(api.getSolarTime()).isSameAs(api.getSolarTime());
+        Assertions.assertThat(api.getEpochSolarTime()).isSameAs(api.getEpochSolarTime());
+        Assertions.assertThat(api.getBatchSolarTime()).isSameAs(api.getBatchSolarTime());
+        Assertions.assertThat(api.getGridSolarTime()).isSameAs(api.getGridSolarTime());
+        Assertions.assertThat(api.getSunStateChecker()).isSameAs(api.getSunStateChecker(ClassificationMode.EVENT_TIMES));
+        Assertions.assertThat(api.getSunStateChecker(ClassificationMode.SOLAR_ELEVATION).getClassificationMode()).isEqualTo(ClassificationMode.SOLAR_ELEVATION);
+    }
+
+    @Test
+    @DisplayName("schedulers are created per call on the clock of the engine")
+    void testSchedulerPerCall() {
+        final var clock = Clock.fixed(Instant.parse("2019-06-25T00:00:00Z"), ZoneOffset.UTC);
+        final var engine = SolarEngine.builder().clock(clock).build();
+
+        Assertions.assertThat(engine.getClock()).isSameAs(clock);
+        Assertions.assertThat(engine.createSolarEventScheduler()).isNotSameAs(engine.createSolarEventScheduler());
+    }
+
+    @Test
+    @DisplayName("options combine with the spatial cache")
+    void testCombinedOptions() {
+        final var exact = new API().getEpochSolarTime();
+        final var combined = SolarEngine.builder()
+                .solarEquationVariablesCache(new SolarEquationVariablesCache(1024, EvictionPolicy.LEAST_RECENTLY_USED))
+                .spatialEventCache(new SpatialEventCache(5, 1024, 1))
+                .build()
+                .getEpochSolarTime();
+
+        Assertions.assertThat(combined.sunriseEpochSecond(EPOCH_DAY, LATITUDE, LONGITUDE))
+                .isCloseTo(exact.sunriseEpochSecond(EPOCH_DAY, LATITUDE, LONGITUDE), Assertions.within(5L));
+    }
+
+    @Test
+    @DisplayName("a cache of solar equation variables is not combined with an ephemeris table")
+    void testCacheAndEphemerisRejected() {
+        final var builder = SolarEngine.builder()
+                .solarEquationVariablesCache(new SolarEquationVariablesCache(1024, EvictionPolicy.LEAST_RECENTLY_USED))
+                .ephemerisTable(EphemerisTable.openBundled());
+
+        Assertions.assertThatIllegalStateException().isThrownBy(builder::build);
+    }
+
+    @Test
+    @DisplayName("concurrent callers of a shared engine get the results of a single caller")
+    void testConcurrentUse() throws Exception {
+        final var api = new API();
+        final var epochSolarTime = api.getEpochSolarTime();
+        final var expected = new long[365];
+        for (var day = 0; day < expected.length; day++) {
+            expected[day] = epochSolarTime.sunsetEpochSecond(EPOCH_DAY + day, LATITUDE, LONGITUDE);
+        }
+
+        final var executor = Executors.newFixedThreadPool(4);
+        try {
+            final var tasks = new ArrayList<Callable<long[]>>();
+            for (var task = 0; task < 8; task++) {
+                tasks.add(() -> {
+                    final var actual = new long[expected.length];
+                    for (var day = 0; day < actual.length; day++) {
+                        actual[day] = api.getEpochSolarTime().sunsetEpochSecond(EPOCH_DAY + day, LATITUDE, LONGITUDE);
+                    }
+                    return actual;
+                });
+            }
+
+            for (final Future<long[]> future : executor.invokeAll(tasks)) {
+                Assertions.assertThat(future.get()).containsExactly(expected);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.entity.SolarEvent;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SolarEventSchedulerTest {
+
+    private static final double LATITUDE = 51.449680;
+    private static final double LONGITUDE = 6.973370;
+
+    /**
+     * Moved forward by the test only.
+     */
+    private static final class ManualClock extends Clock {
+
+        private Instant instant;
+
+        private ManualClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            this.instant = this.instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return this.instant;
+        }
+    }
+
+    private final ManualClock clock = new ManualClock(Instant.parse("2019-06-01T00:00:00Z"));
+    private final SolarEventScheduler scheduler = new API().getSolarEventScheduler(this.clock, Runnable::run);
+    private final List<Instant> occurrences = new ArrayList<>();
+
+    @Test
+    @DisplayName("a subscription fires at every sunrise and is armed again")
+    void testFiresDaily() {
+        final var solarTime = new API().getSolarTime();
+        this.scheduler.subscribe(LATITUDE, LONGITUDE, SolarEvent.SUNRISE, (subscription, occurrence) -> this.occurrences.add(occurrence));
+
+        for (var hour = 0; hour < 3 * 24; hour++) {
+            this.clock.advance(Duration.ofHours(1));
+            this.scheduler.advance();
+        }
+
+        Assertions.assertThat(this.occurrences).hasSize(3);
+        for (var day = 0; day < 3; day++) {
+            final var date = ZonedDateTime.of(2019, 6, 1 + day, 12, 0, 0, 0, ZoneOffset.UTC);
+            Assertions.assertThat(this.occurrences.get(day)).isEqualTo(solarTime.calculateSunrise(date, LATITUDE, LONGITUDE).orElseThrow().toInstant());
+        }
+        Assertions.assertThat(this.scheduler.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("listeners are not called before the clock reaches the occurrence")
+    void testNotEarly() {
+        this.scheduler.subscribe(LATITUDE, LONGITUDE, SolarEvent.SUNSET, (subscription, occurrence) -> {
+            Assertions.assertThat(this.clock.instant()).isAfterOrEqualTo(occurrence);
+            this.occurrences.add(occurrence);
+        });
+
+        for (var minute = 0; minute < 24 * 60; minute++) {
+            this.clock.advance(Duration.ofMinutes(1));
+            this.scheduler.advance();
+        }
+
+        Assertions.assertThat(this.occurrences).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("occurrences missed while the clock jumped fire late, each one once")
+    void testMissed() {
+        this.scheduler.subscribe(LATITUDE, LONGITUDE, SolarEvent.CIVIL_DUSK, (subscription, occurrence) -> this.occurrences.add(occurrence));
+
+        this.clock.advance(Duration.ofDays(10));
+        this.scheduler.advance();
+
+        Assertions.assertThat(this.occurrences).hasSize(10);
+        Assertions.assertThat(this.occurrences).isSorted();
+    }
+
+    @Test
+    @DisplayName("missed occurrences reach the listener one at a time and in order on a multi-threaded executor")
+    void testMissedInOrder() throws InterruptedException {
+        final var executor = Executors.newFixedThreadPool(4);
+        final var scheduler = new API().getSolarEventScheduler(this.clock, executor);
+        final var running = new AtomicInteger();
+        final var overlapping = new AtomicBoolean();
+        final var received = new CopyOnWriteArrayList<Instant>();
+        scheduler.subscribe(LATITUDE, LONGITUDE, SolarEvent.SUNRISE, (subscription, occurrence) -> {
+            overlapping.compareAndSet(false, running.incrementAndGet() > 1);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(occurrence);
+            running.decrementAndGet();
+        });
+
+        this.clock.advance(Duration.ofDays(20));
+        scheduler.advance();
+        executor.shutdown();
+
+        Assertions.assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        Assertions.assertThat(received).hasSize(20).isSorted();
+        Assertions.assertThat(overlapping).isFalse();
+    }
+
+    @Test
+    @DisplayName("cancelled subscriptions do not fire")
+    void testCancel() {
+        final var subscription = this.scheduler.subscribe(LATITUDE, LONGITUDE, SolarEvent.SUNRISE, (ignored, occurrence) -> this.occurrences.add(occurrence));
+
+        subscription.cancel();
+        this.clock.advance(Duration.ofDays(2));
+        this.scheduler.advance();
+
+        Assertions.assertThat(subscription.isCancelled()).isTrue();
+        Assertions.assertThat(this.occurrences).isEmpty();
+        Assertions.assertThat(this.scheduler.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("a listener cancelling its subscription stops the occurrences missed in the meantime")
+    void testCancelWhileCatchingUp() {
+        this.scheduler.subscribe(LATITUDE, LONGITUDE, SolarEvent.SUNRISE, (subscription, occurrence) -> {
+            this.occurrences.add(occurrence);
+            subscription.cancel();
+        });
+
+        this.clock.advance(Duration.ofDays(5));
+        this.scheduler.advance();
+
+        Assertions.assertThat(this.occurrences).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("a subscription cancelled while its listener waits for the executor does not fire")
+    void testCancelQueued() {
+        final var queued = new ArrayList<Runnable>();
+        final var scheduler = new API().getSolarEventScheduler(this.clock, queued::add);
+        final var subscription = scheduler.subscribe(LATITUDE, LONGITUDE, SolarEvent.SUNRISE, (ignored, occurrence) -> this.occurrences.add(occurrence));
+
+        this.clock.advance(Duration.ofDays(1));
+        scheduler.advance();
+        subscription.cancel();
+        queued.forEach(Runnable::run);
+
+        Assertions.assertThat(queued).isNotEmpty();
+        Assertions.assertThat(this.occurrences).isEmpty();
+    }
+
+    @Test
+    @DisplayName("the first sunset after the polar day in Svalbard fires in August")
+    void testPolar() {
+        final var subscriptions = new ArrayList<SolarEventSubscription>();
+        this.scheduler.subscribe(78.22, 15.65, SolarEvent.SUNSET, (subscription, occurrence) -> {
+            subscriptions.add(subscription);
+            this.occurrences.add(occurrence);
+        });
+
+        this.clock.advance(Duration.ofDays(120));
+        this.scheduler.advance();
+
+        Assertions.assertThat(this.occurrences).isNotEmpty();
+        Assertions.assertThat(this.occurrences.get(0)).isBetween(Instant.parse("2019-08-15T00:00:00Z"), Instant.parse("2019-08-31T00:00:00Z"));
+        Assertions.assertThat(subscriptions.get(0).getEvent()).isEqualTo(SolarEvent.SUNSET);
+    }
+
+    @Test
+    @DisplayName("many subscriptions each fire once a day")
+    void testMany() {
+        final var count = 10_000;
+        final var fired = new int[count];
+        for (var i = 0; i < count; i++) {
+            final var index = i;
+            final var latitude = -60 + 120.0 * i / count;
+            // noon stays away from midnight UTC, where a day could hold none or two of them
+            final var longitude = -150 + 300.0 * ((i * 7919) % count) / count;
+            this.scheduler.subscribe(latitude, longitude, SolarEvent.SOLAR_NOON, (subscription, occurrence) -> fired[index]++);
+        }
+
+        this.clock.advance(Duration.ofDays(1));
+        this.scheduler.advance();
+
+        Assertions.assertThat(fired).containsOnly(1);
+        Assertions.assertThat(this.scheduler.size()).isEqualTo(count);
+    }
+}
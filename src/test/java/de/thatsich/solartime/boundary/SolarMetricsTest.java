@@ -0,0 +1,137 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.control.SpatialEventCache;
+import de.thatsich.solartime.entity.MeteredMethod;
+import de.thatsich.solartime.entity.SolarEvent;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.management.JMException;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+class SolarMetricsTest {
+
+    private static final ZonedDateTime DAY = ZonedDateTime.of(2019, 6, 25, 12, 0, 0, 0, ZoneOffset.UTC);
+    private static final double LATITUDE = 51.449680;
+    private static final double LONGITUDE = 6.973370;
+    private static final double ALERT_LATITUDE = 82.5;
+
+    @Test
+    @DisplayName("metrics are disabled by default and report 0")
+    void testDisabled() {
+        final var api = new API();
+        api.getSolarTime().calculateSunrise(DAY, LATITUDE, LONGITUDE);
+
+        Assertions.assertThat(api.getSolarMetrics().isEnabled()).isFalse();
+        Assertions.assertThat(api.getSolarMetrics().getCallCount(MeteredMethod.CALCULATE_SUNRISE)).isZero();
+        Assertions.assertThat(api.getSolarMetrics().getSolarEquationVariablesCacheHitRatio()).isNaN();
+    }
+
+    @Test
+    @DisplayName("calls, empty results and durations are counted per method")
+    void testCounted() {
+        final var engine = SolarEngine.builder().metrics(true).build();
+        final var solarTime = engine.getSolarTime();
+        for (var call = 0; call < 10; call++) {
+            solarTime.calculateSunrise(DAY, LATITUDE, LONGITUDE);
+        }
+        solarTime.calculateSunrise(DAY, ALERT_LATITUDE, LONGITUDE);
+
+        final var metrics = engine.getSolarMetrics();
+        Assertions.assertThat(metrics.getCallCount(MeteredMethod.CALCULATE_SUNRISE)).isEqualTo(11);
+        Assertions.assertThat(metrics.getPolarCount(MeteredMethod.CALCULATE_SUNRISE)).isEqualTo(1);
+        Assertions.assertThat(metrics.getCallCount(MeteredMethod.CALCULATE_SUNSET)).isZero();
+        Assertions.assertThat(metrics.getMeanNanos(MeteredMethod.CALCULATE_SUNRISE)).isPositive();
+        Assertions.assertThat(metrics.getPercentileNanos(MeteredMethod.CALCULATE_SUNRISE, 0.99))
+                .isGreaterThanOrEqualTo(metrics.getPercentileNanos(MeteredMethod.CALCULATE_SUNRISE, 0.5))
+                .isPositive();
+
+        metrics.reset();
+        Assertions.assertThat(metrics.getCallCount(MeteredMethod.CALCULATE_SUNRISE)).isZero();
+        Assertions.assertThat(metrics.getMeanNanos(MeteredMethod.CALCULATE_SUNRISE)).isNaN();
+    }
+
+    @Test
+    @DisplayName("events asked for internally are not counted as calls")
+    void testInternalCallsUncounted() {
+        final var engine = SolarEngine.builder().metrics(true).build();
+        engine.getSunStateChecker().getDayPeriod(DAY, LATITUDE, LONGITUDE);
+        engine.getSolarTime().calculateNextSolarMidnight(DAY, LATITUDE, LONGITUDE);
+
+        final var metrics = engine.getSolarMetrics();
+        Assertions.assertThat(metrics.getCallCount(MeteredMethod.GET_DAY_PERIOD)).isEqualTo(1);
+        Assertions.assertThat(metrics.getCallCount(MeteredMethod.CALCULATE_NEXT_SOLAR_MIDNIGHT)).isEqualTo(1);
+        Assertions.assertThat(metrics.getCallCount(MeteredMethod.IS_DAY)).isZero();
+        Assertions.assertThat(metrics.getCallCount(MeteredMethod.CALCULATE_SUNRISE)).isZero();
+        Assertions.assertThat(metrics.getCallCount(MeteredMethod.CALCULATE_ASTRONOMICAL_DUSK)).isZero();
+    }
+
+    @Test
+    @DisplayName("checks and days without sunrise or sunset count as polar")
+    void testPolarChecks() {
+        final var engine = SolarEngine.builder().metrics(true).build();
+        final var checker = engine.getSunStateChecker();
+        checker.isDay(DAY, LATITUDE, LONGITUDE);
+        checker.isDay(DAY, ALERT_LATITUDE, LONGITUDE);
+        checker.getDayPeriod(DAY, ALERT_LATITUDE, LONGITUDE);
+        engine.getSolarTime().calculateDay(DAY, LATITUDE, LONGITUDE, EnumSet.of(SolarEvent.SUNRISE, SolarEvent.SUNSET));
+        engine.getSolarTime().calculateDay(DAY, ALERT_LATITUDE, LONGITUDE, EnumSet.of(SolarEvent.SOLAR_NOON, SolarEvent.SUNSET));
+
+        final var metrics = engine.getSolarMetrics();
+        Assertions.assertThat(metrics.getCallCount(MeteredMethod.IS_DAY)).isEqualTo(2);
+        Assertions.assertThat(metrics.getPolarCount(MeteredMethod.IS_DAY)).isEqualTo(1);
+        Assertions.assertThat(metrics.getPolarCount(MeteredMethod.GET_DAY_PERIOD)).isEqualTo(1);
+        Assertions.assertThat(metrics.getCallCount(MeteredMethod.CALCULATE_DAY)).isEqualTo(2);
+        Assertions.assertThat(metrics.getPolarCount(MeteredMethod.CALCULATE_DAY)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("listeners receive every call and the 24-hour checks count true as polar")
+    void testListener() {
+        final var received = new ArrayList<MeteredMethod>();
+        final var engine = SolarEngine.builder()
+                .metricsListener((method, nanos, polar) -> {
+                    if (polar) {
+                        received.add(method);
+                    }
+                })
+                .build();
+
+        engine.getSunStateChecker().is24HourDayTime(DAY, ALERT_LATITUDE, LONGITUDE);
+        engine.getSunStateChecker().is24HourNightTime(DAY, ALERT_LATITUDE, LONGITUDE);
+
+        Assertions.assertThat(engine.getSolarMetrics().isEnabled()).isTrue();
+        Assertions.assertThat(received).isEqualTo(List.of(MeteredMethod.IS_24_HOUR_DAY_TIME));
+    }
+
+    @Test
+    @DisplayName("the bean is readable through the platform server")
+    void testMXBean() throws JMException {
+        final var engine = SolarEngine.builder()
+                .metrics(true)
+                .spatialEventCache(new SpatialEventCache(5, 1024, 1))
+                .build();
+        engine.getSolarTime().calculateSunrise(DAY, LATITUDE, LONGITUDE);
+        engine.getSolarTime().calculateSunrise(DAY, LATITUDE, LONGITUDE);
+
+        final var server = ManagementFactory.getPlatformMBeanServer();
+        final var name = engine.getSolarMetrics().register(server, "test");
+        try {
+            final var callCounts = (TabularData) server.getAttribute(name, "CallCounts");
+            final var sunrise = callCounts.get(new Object[]{MeteredMethod.CALCULATE_SUNRISE.getQualifiedName()});
+
+            Assertions.assertThat(sunrise.get("value")).isEqualTo(2L);
+            Assertions.assertThat((double) server.getAttribute(name, "SpatialEventCacheHitRatio")).isEqualTo(0.5);
+            Assertions.assertThat((double) server.getAttribute(name, "SolarEquationVariablesCacheHitRatio")).isNaN();
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package de.thatsich.solartime.boundary;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+class SolarPositionsTest {
+
+    private static final double LATITUDE = 51.449680;
+    private static final double LONGITUDE = 6.973370;
+    private static final long EPOCH_DAY = 18072;
+    private static final long SECONDS_PER_DAY = 86400;
+    private static final double MAX_SERIES_ERROR = 1e-6;
+
+    private final API api = new API();
+
+    @Test
+    @DisplayName("the sun is at the sunrise altitude in the East at sunrise and in the South at solar noon")
+    void testPositionAtEvents() {
+        final var epochSolarTime = this.api.getEpochSolarTime();
+        final var solarPositions = this.api.getSolarPositions();
+
+        final var sunrise = solarPositions.calculatePosition(epochSolarTime.sunriseEpochSecond(EPOCH_DAY, LATITUDE, LONGITUDE), LATITUDE, LONGITUDE);
+        Assertions.assertThat(sunrise.getElevation()).isCloseTo(-0.833, Assertions.within(0.01));
+        Assertions.assertThat(sunrise.getAzimuth()).isBetween(30.0, 90.0);
+
+        final var noon = solarPositions.calculatePosition(epochSolarTime.solarNoonEpochSecond(EPOCH_DAY, LATITUDE, LONGITUDE), LATITUDE, LONGITUDE);
+        Assertions.assertThat(noon.getElevation()).isCloseTo(90 - LATITUDE + 23.4, Assertions.within(0.1));
+        Assertions.assertThat(noon.getAzimuth()).isCloseTo(180, Assertions.within(0.01));
+    }
+
+    @Test
+    @DisplayName("the sun culminates in the North south of the tropics")
+    void testSouthernHemisphere() {
+        final var noon = this.api.getEpochSolarTime().solarNoonEpochSecond(EPOCH_DAY, -33.87, 151.21);
+        final var position = this.api.getSolarPositions().calculatePosition(Instant.ofEpochSecond(noon), -33.87, 151.21);
+        final var azimuth = position.getAzimuth();
+
+        Assertions.assertThat(Math.min(azimuth, 360 - azimuth)).isLessThan(0.01);
+    }
+
+    @Test
+    @DisplayName("a series of every minute of a year equals the positions of the single instants")
+    void testSeriesOfYear() {
+        final var start = LocalDate.of(2019, 1, 1).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+        final var elevations = new double[365 * 1440];
+        final var azimuths = new double[elevations.length];
+        final var solarPositions = this.api.getSolarPositions();
+
+        solarPositions.calculateSeries(start, 60, LATITUDE, LONGITUDE, elevations, azimuths);
+
+        for (var i = 0; i < elevations.length; i += 7) {
+            final var position = solarPositions.calculatePosition(start + i * 60L, LATITUDE, LONGITUDE);
+
+            Assertions.assertThat(elevations[i]).isCloseTo(position.getElevation(), Assertions.within(MAX_SERIES_ERROR));
+            Assertions.assertThat(azimuths[i]).isCloseTo(position.getAzimuth(), Assertions.within(MAX_SERIES_ERROR));
+        }
+    }
+
+    @Test
+    @DisplayName("series with steps longer than a day and near the poles equal the single instants")
+    void testSeriesOfOddSteps() {
+        final var start = EPOCH_DAY * SECONDS_PER_DAY;
+        final var solarPositions = this.api.getSolarPositions();
+
+        for (final var step : new long[]{1, 997, SECONDS_PER_DAY + 61}) {
+            for (final var latitude : new double[]{-89.9, -66.5, 0, 78.22, 90}) {
+                final var elevations = new double[3000];
+                final var azimuths = new double[elevations.length];
+                solarPositions.calculateSeries(start, step, latitude, -122.42, elevations, azimuths);
+
+                for (var i = 0; i < elevations.length; i += 13) {
+                    final var position = solarPositions.calculatePosition(start + i * step, latitude, -122.42);
+
+                    Assertions.assertThat(elevations[i]).isCloseTo(position.getElevation(), Assertions.within(MAX_SERIES_ERROR));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("invalid steps and arrays of different length are rejected")
+    void testInvalidArguments() {
+        final var solarPositions = this.api.getSolarPositions();
+
+        Assertions.assertThatIllegalArgumentException()
+                .isThrownBy(() -> solarPositions.calculateSeries(0, 0, LATITUDE, LONGITUDE, new double[1], new double[1]));
+        Assertions.assertThatIllegalArgumentException()
+                .isThrownBy(() -> solarPositions.calculateSeries(0, 60, LATITUDE, LONGITUDE, new double[2], new double[1]));
+    }
+}
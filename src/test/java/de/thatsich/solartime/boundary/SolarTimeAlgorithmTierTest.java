@@ -0,0 +1,82 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.control.SolarEquationVariablesCache;
+import de.thatsich.solartime.entity.AlgorithmTier;
+import de.thatsich.solartime.entity.EvictionPolicy;
+import de.thatsich.solartime.entity.PolarSentinel;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+class SolarTimeAlgorithmTierTest {
+
+    private static final double LATITUDE = 52.52;
+    private static final double LONGITUDE = 13.405;
+    private static final long FIRST_DAY = LocalDate.of(2019, 1, 1).toEpochDay();
+
+    @Test
+    @DisplayName("standard tier is the default")
+    void testStandardIsDefault() {
+        final var standard = SolarEngine.builder().algorithmTier(AlgorithmTier.STANDARD).build().getEpochSolarTime();
+        final var plain = new API().getEpochSolarTime();
+
+        for (var epochDay = FIRST_DAY; epochDay < FIRST_DAY + 365; epochDay += 7) {
+            Assertions.assertThat(standard.sunriseEpochSecond(epochDay, LATITUDE, LONGITUDE))
+                    .isEqualTo(plain.sunriseEpochSecond(epochDay, LATITUDE, LONGITUDE));
+        }
+    }
+
+    @Test
+    @DisplayName("precise sunrise matches published almanac minutes")
+    void testPreciseSunrise() {
+        final var solarTime = SolarEngine.builder().algorithmTier(AlgorithmTier.PRECISE).build().getSolarTime();
+        final var day = ZonedDateTime.of(2019, 6, 21, 12, 0, 0, 0, ZoneId.of("Europe/Berlin"));
+
+        Assertions.assertThat(solarTime.calculateSunrise(day, LATITUDE, LONGITUDE))
+                .hasValueSatisfying(sunrise -> Assertions.assertThat(sunrise.toLocalTime().toSecondOfDay())
+                        .isBetween(4 * 3600 + 43 * 60, 4 * 3600 + 44 * 60));
+        Assertions.assertThat(solarTime.calculateSunset(day, LATITUDE, LONGITUDE))
+                .hasValueSatisfying(sunset -> Assertions.assertThat(sunset.toLocalTime().toSecondOfDay())
+                        .isBetween(21 * 3600 + 33 * 60, 21 * 3600 + 34 * 60));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = AlgorithmTier.class, names = {"FAST", "STANDARD"})
+    @DisplayName("approximations stay within their documented error at mid latitudes")
+    void testApproximationsCloseToPrecise(AlgorithmTier tier) {
+        final var precise = SolarEngine.builder().algorithmTier(AlgorithmTier.PRECISE).build().getEpochSolarTime();
+        final var approximation = SolarEngine.builder().algorithmTier(tier).build().getEpochSolarTime();
+
+        for (var epochDay = FIRST_DAY; epochDay < FIRST_DAY + 365; epochDay += 3) {
+            for (var latitude = -50; latitude <= 50; latitude += 10) {
+                Assertions.assertThat(approximation.sunsetEpochSecond(epochDay, latitude, LONGITUDE))
+                        .isCloseTo(precise.sunsetEpochSecond(epochDay, latitude, LONGITUDE), Assertions.within(180L));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("precise tier keeps polar days and nights")
+    void testPrecisePolar() {
+        final var precise = SolarEngine.builder().algorithmTier(AlgorithmTier.PRECISE).build().getEpochSolarTime();
+
+        Assertions.assertThat(precise.sunriseEpochSecond(LocalDate.of(2019, 6, 21).toEpochDay(), 80, 0)).isEqualTo(PolarSentinel.POLAR_DAY);
+        Assertions.assertThat(precise.sunriseEpochSecond(LocalDate.of(2019, 12, 21).toEpochDay(), 80, 0)).isEqualTo(PolarSentinel.POLAR_NIGHT);
+    }
+
+    @Test
+    @DisplayName("caches only hold variables of the standard tier")
+    void testCacheRejectedForOtherTiers() {
+        final var builder = SolarEngine.builder()
+                .algorithmTier(AlgorithmTier.PRECISE)
+                .solarEquationVariablesCache(new SolarEquationVariablesCache(1024, EvictionPolicy.FIRST_IN_FIRST_OUT));
+
+        Assertions.assertThatIllegalStateException().isThrownBy(builder::build);
+    }
+}
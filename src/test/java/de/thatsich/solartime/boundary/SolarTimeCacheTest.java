@@ -0,0 +1,44 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.control.SolarEquationVariablesCache;
+import de.thatsich.solartime.entity.EvictionPolicy;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+class SolarTimeCacheTest {
+
+    private static final double LATITUDE = 51.449680;
+    private static final double LONGITUDE = 6.973370;
+
+    @Test
+    @DisplayName("cached API returns the same events as the uncached one")
+    void testSameResults() {
+        final var solarTime = new API().getSolarTime();
+        final var cachedSolarTime = new API(new SolarEquationVariablesCache(1024, EvictionPolicy.LEAST_RECENTLY_USED)).getSolarTime();
+
+        for (var day = ZonedDateTime.of(2019, 1, 1, 12, 0, 0, 0, ZoneId.of("Europe/Berlin")); day.getYear() == 2019; day = day.plusDays(5)) {
+            Assertions.assertThat(cachedSolarTime.calculateSunrise(day, LATITUDE, LONGITUDE)).isEqualTo(solarTime.calculateSunrise(day, LATITUDE, LONGITUDE));
+            Assertions.assertThat(cachedSolarTime.calculateSunset(day, LATITUDE, LONGITUDE)).isEqualTo(solarTime.calculateSunset(day, LATITUDE, LONGITUDE));
+            Assertions.assertThat(cachedSolarTime.calculateAstronomicalDusk(day, LATITUDE, LONGITUDE)).isEqualTo(solarTime.calculateAstronomicalDusk(day, LATITUDE, LONGITUDE));
+        }
+    }
+
+    @Test
+    @DisplayName("repeated sun state checks are answered from the cache")
+    void testSunStateCheckerHitsCache() {
+        final var cache = new SolarEquationVariablesCache(1024, EvictionPolicy.FIRST_IN_FIRST_OUT);
+        final var sunStateChecker = new API(cache).getSunStateChecker();
+        final var dateTime = ZonedDateTime.of(2019, 6, 25, 22, 0, 0, 0, ZoneId.of("Europe/Berlin"));
+
+        sunStateChecker.getDayPeriod(dateTime, LATITUDE, LONGITUDE);
+        final var missesOfFirstCall = cache.getMissCount();
+        sunStateChecker.getDayPeriod(dateTime, LATITUDE, LONGITUDE);
+
+        Assertions.assertThat(cache.getMissCount()).isEqualTo(missesOfFirstCall);
+        Assertions.assertThat(cache.getHitCount()).isPositive();
+    }
+}
@@ -0,0 +1,63 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.entity.SolarEvent;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+
+class SolarTimeCalculateDayTest {
+
+    @DisplayName("single pass matches the single event methods")
+    @ParameterizedTest(name = "{index}. {0} => day={1}, latitude={2}, longitude={3}")
+    @CsvFileSource(numLinesToSkip = 1, resources = "./sunrise-sunet.csv")
+    void testMatchesSingleEvents(@SuppressWarnings("unused") String location, ZonedDateTime day, double latitude, double longitude) {
+        final var solarTime = new API().getSolarTime();
+
+        final var actual = solarTime.calculateDay(day, latitude, longitude, EnumSet.allOf(SolarEvent.class));
+
+        Assertions.assertThat(actual.getAstronomicalDawn()).isEqualTo(solarTime.calculateAstronomicalDawn(day, latitude, longitude));
+        Assertions.assertThat(actual.getNauticalDawn()).isEqualTo(solarTime.calculateNauticalDawn(day, latitude, longitude));
+        Assertions.assertThat(actual.getCivilDawn()).isEqualTo(solarTime.calculateCivilDawn(day, latitude, longitude));
+        Assertions.assertThat(actual.getSunrise()).isEqualTo(solarTime.calculateSunrise(day, latitude, longitude));
+        Assertions.assertThat(actual.getSolarNoon()).isEqualTo(solarTime.calculateSolarNoon(day, latitude, longitude));
+        Assertions.assertThat(actual.getSunset()).isEqualTo(solarTime.calculateSunset(day, latitude, longitude));
+        Assertions.assertThat(actual.getCivilDusk()).isEqualTo(solarTime.calculateCivilDusk(day, latitude, longitude));
+        Assertions.assertThat(actual.getNauticalDusk()).isEqualTo(solarTime.calculateNauticalDusk(day, latitude, longitude));
+        Assertions.assertThat(actual.getAstronomicalDusk()).isEqualTo(solarTime.calculateAstronomicalDusk(day, latitude, longitude));
+    }
+
+    @Test
+    @DisplayName("In Nunavut, Canada there is neither sunrise nor sunset in June")
+    void testPolarDay() {
+        final var solarTime = new API().getSolarTime();
+
+        final var day = ZonedDateTime.of(2019, 6, 24, 12, 0, 0, 0, ZoneId.of("America/Toronto"));
+        final var latitude = 82.481306;
+        final var longitude = -62.239533;
+
+        final var actual = solarTime.calculateDay(day, latitude, longitude, EnumSet.of(SolarEvent.SUNRISE, SolarEvent.SOLAR_NOON, SolarEvent.SUNSET));
+
+        Assertions.assertThat(actual.getSunrise()).isEmpty();
+        Assertions.assertThat(actual.getSolarNoon()).isEmpty();
+        Assertions.assertThat(actual.getSunset()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Events which were not requested are rejected")
+    void testNotRequested() {
+        final var solarTime = new API().getSolarTime();
+
+        final var day = ZonedDateTime.of(2019, 6, 24, 12, 0, 0, 0, ZoneId.of("Europe/Berlin"));
+        final var actual = solarTime.calculateDay(day, 51.449680, 6.973370, EnumSet.of(SolarEvent.SUNRISE));
+
+        Assertions.assertThat(actual.getSunrise()).isPresent();
+        Assertions.assertThatIllegalArgumentException()
+                .isThrownBy(actual::getSunset);
+    }
+}
@@ -0,0 +1,41 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.control.Trigonometry;
+import de.thatsich.solartime.entity.AlgorithmTier;
+import de.thatsich.solartime.entity.SolarEvent;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+
+class SolarTimeFastMathTest {
+
+    private static final EnumSet<SolarEvent> ALL_EVENTS = EnumSet.allOf(SolarEvent.class);
+    private static final long FIRST_DAY = LocalDate.of(2019, 1, 1).toEpochDay();
+
+    @ParameterizedTest
+    @EnumSource(AlgorithmTier.class)
+    @DisplayName("fast trigonometry moves events by a second at most")
+    void testEventsWithinASecond(AlgorithmTier tier) {
+        final var exact = SolarEngine.builder().algorithmTier(tier).build().getEpochSolarTime();
+        final var fast = SolarEngine.builder().algorithmTier(tier).trigonometry(Trigonometry.FAST).build().getEpochSolarTime();
+        final var expected = new long[ALL_EVENTS.size()];
+        final var actual = new long[ALL_EVENTS.size()];
+
+        for (var epochDay = FIRST_DAY; epochDay < FIRST_DAY + 365; epochDay += 5) {
+            for (var latitude = -89.5; latitude < 90; latitude += 4.5) {
+                for (var longitude = -180; longitude < 180; longitude += 45) {
+                    exact.calculateDay(epochDay, latitude, longitude, ALL_EVENTS, expected);
+                    fast.calculateDay(epochDay, latitude, longitude, ALL_EVENTS, actual);
+
+                    for (var i = 0; i < expected.length; i++) {
+                        Assertions.assertThat(actual[i]).isCloseTo(expected[i], Assertions.within(1L));
+                    }
+                }
+            }
+        }
+    }
+}
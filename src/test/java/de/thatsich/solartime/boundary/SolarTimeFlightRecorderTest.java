@@ -0,0 +1,95 @@
+package de.thatsich.solartime.boundary;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+class SolarTimeFlightRecorderTest {
+
+    private static final ZonedDateTime DAY = ZonedDateTime.of(2019, 6, 25, 12, 0, 0, 0, ZoneId.of("Europe/Berlin"));
+    private static final double LATITUDE = 51.449680;
+    private static final double LONGITUDE = 6.973370;
+    private static final double ALERT_LATITUDE = 82.5;
+
+    private static final List<String> EVENTS = List.of(
+            "de.thatsich.solartime.JulianDate",
+            "de.thatsich.solartime.SolarEquationVariables",
+            "de.thatsich.solartime.HourAngle",
+            "de.thatsich.solartime.GregorianDate",
+            "de.thatsich.solartime.TimeZoneShift",
+            "de.thatsich.solartime.SolarEventCalculation");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("events are not recorded unless enabled")
+    void testDisabledByDefault() throws IOException {
+        final var events = this.record(false);
+
+        Assertions.assertThat(events).isEmpty();
+    }
+
+    @Test
+    @DisplayName("every stage of an event is recorded with a summary of the call")
+    void testStages() throws IOException {
+        final var events = this.record(true);
+
+        final var names = events.stream().map(event -> event.getEventType().getName()).collect(Collectors.toList());
+        // the sunrise passes every stage, the polar sunset ends after the hour angle
+        Assertions.assertThat(names).containsExactly(
+                "de.thatsich.solartime.JulianDate",
+                "de.thatsich.solartime.SolarEquationVariables",
+                "de.thatsich.solartime.HourAngle",
+                "de.thatsich.solartime.GregorianDate",
+                "de.thatsich.solartime.TimeZoneShift",
+                "de.thatsich.solartime.SolarEventCalculation",
+                "de.thatsich.solartime.JulianDate",
+                "de.thatsich.solartime.SolarEquationVariables",
+                "de.thatsich.solartime.HourAngle",
+                "de.thatsich.solartime.SolarEventCalculation");
+
+        final var sunrise = events.get(5);
+        Assertions.assertThat(sunrise.getString("kind")).isEqualTo("DAWN");
+        Assertions.assertThat(sunrise.getInt("latitudeBand")).isEqualTo(50);
+        Assertions.assertThat(sunrise.getString("altitude")).isEqualTo("SUNRISE_SUNSET");
+        Assertions.assertThat(sunrise.getString("polarStatus")).isEqualTo("NONE");
+        Assertions.assertThat(events.get(4).getString("zone")).isEqualTo("Europe/Berlin");
+
+        final var sunset = events.get(9);
+        Assertions.assertThat(sunset.getString("kind")).isEqualTo("DUSK");
+        Assertions.assertThat(sunset.getInt("latitudeBand")).isEqualTo(80);
+        Assertions.assertThat(sunset.getString("polarStatus")).isEqualTo("POLAR_DAY");
+    }
+
+    private List<RecordedEvent> record(boolean enabled) throws IOException {
+        final var solarTime = new API().getSolarTime();
+        final var file = this.directory.resolve("solar-time.jfr");
+
+        try (var recording = new Recording()) {
+            if (enabled) {
+                EVENTS.forEach(event -> recording.enable(event).withoutThreshold());
+            }
+            recording.start();
+            solarTime.calculateSunrise(DAY, LATITUDE, LONGITUDE);
+            solarTime.calculateSunset(DAY, ALERT_LATITUDE, LONGITUDE);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().startsWith("de.thatsich.solartime."))
+                .collect(Collectors.toList());
+    }
+}
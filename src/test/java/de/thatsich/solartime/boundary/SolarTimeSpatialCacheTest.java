@@ -0,0 +1,123 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.control.SpatialEventCache;
+import de.thatsich.solartime.entity.PolarSentinel;
+import de.thatsich.solartime.entity.SolarEvent;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.Random;
+
+class SolarTimeSpatialCacheTest {
+
+    private static final long FIRST_EPOCH_DAY = LocalDate.of(2019, 1, 1).toEpochDay();
+
+    private final EpochSolarTime exact = new API().getEpochSolarTime();
+
+    @Test
+    @DisplayName("devices within a few hundred metres share their events within 5 seconds")
+    void testClusteredDevices() {
+        final var cache = new SpatialEventCache(5, 1 << 16, 0);
+        final var cached = new API(cache).getEpochSolarTime();
+
+        final var worstError = this.compare(cached, 60, 0.005);
+
+        Assertions.assertThat(worstError).isLessThanOrEqualTo(5);
+        Assertions.assertThat(cache.getHitRatio()).isGreaterThan(0.5);
+    }
+
+    @Test
+    @DisplayName("the bound also holds close to the polar circles, where cells are bypassed")
+    void testPolarCircles() {
+        final var cache = new SpatialEventCache(5, 1 << 16, 0);
+        final var cached = new API(cache).getEpochSolarTime();
+
+        final var worstError = this.compare(cached, 75, 0.005);
+
+        Assertions.assertThat(worstError).isLessThanOrEqualTo(5);
+        Assertions.assertThat(cache.getBypassCount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("a cell which keeps missing or bypassing keeps the hit ratio within [0, 1]")
+    void testBypassRatio() {
+        // a single set, the days evict each other
+        final var cache = new SpatialEventCache(5, 4, 0);
+        final var cached = new API(cache).getEpochSolarTime();
+        final var events = EnumSet.allOf(SolarEvent.class);
+        final var target = new long[events.size()];
+
+        // the astronomical twilight is about to last all night in June at 48.5 degrees
+        for (var repetition = 0; repetition < 3; repetition++) {
+            for (var epochDay = FIRST_EPOCH_DAY + 160; epochDay < FIRST_EPOCH_DAY + 168; epochDay++) {
+                cached.calculateDay(epochDay, 48.5, 18.9, events, target);
+            }
+            cached.calculateDay(FIRST_EPOCH_DAY + 160, 48.5, 18.9, events, target);
+        }
+
+        Assertions.assertThat(cache.getBypassCount()).isPositive().isLessThanOrEqualTo(cache.getHitCount());
+        Assertions.assertThat(cache.getHitRatio()).isBetween(0d, 1d);
+    }
+
+    @Test
+    @DisplayName("sampled hits measure the actual error")
+    void testSampling() {
+        final var cache = new SpatialEventCache(5, 1 << 16, 1);
+        final var cached = new API(cache).getSolarTime();
+        final var day = ZonedDateTime.parse("2019-06-21T12:00:00Z");
+
+        for (var i = 0; i < 100; i++) {
+            cached.calculateSunrise(day, 51.4 + i * 1e-4, 6.9 + i * 1e-4);
+        }
+
+        Assertions.assertThat(cache.getSampleCount()).isPositive();
+        Assertions.assertThat(cache.getWorstMeasuredErrorSeconds()).isBetween(0L, 5L);
+    }
+
+    @Test
+    @DisplayName("invalid configurations are rejected")
+    void testInvalid() {
+        Assertions.assertThatIllegalArgumentException().isThrownBy(() -> new SpatialEventCache(0, 16, 0));
+        Assertions.assertThatIllegalArgumentException().isThrownBy(() -> new SpatialEventCache(5, 0, 0));
+        Assertions.assertThatIllegalArgumentException().isThrownBy(() -> new SpatialEventCache(5, 16, -1));
+    }
+
+    /**
+     * Clusters of ten devices around random centers, every day of a year.
+     *
+     * @return the largest difference in seconds
+     */
+    private long compare(EpochSolarTime cached, double maxLatitude, double spread) {
+        final var random = new Random(42);
+        final var events = EnumSet.allOf(SolarEvent.class);
+        final var expected = new long[events.size()];
+        final var actual = new long[events.size()];
+
+        var worstError = 0L;
+        for (var cluster = 0; cluster < 20; cluster++) {
+            final var latitude = (random.nextDouble() * 2 - 1) * maxLatitude;
+            final var longitude = random.nextDouble() * 360 - 180;
+            for (var device = 0; device < 10; device++) {
+                final var deviceLatitude = latitude + (random.nextDouble() * 2 - 1) * spread;
+                final var deviceLongitude = longitude + (random.nextDouble() * 2 - 1) * spread;
+                for (var epochDay = FIRST_EPOCH_DAY; epochDay < FIRST_EPOCH_DAY + 365; epochDay++) {
+                    this.exact.calculateDay(epochDay, deviceLatitude, deviceLongitude, events, expected);
+                    cached.calculateDay(epochDay, deviceLatitude, deviceLongitude, events, actual);
+                    for (var ordinal = 0; ordinal < expected.length; ordinal++) {
+                        if (PolarSentinel.isPolar(expected[ordinal]) || PolarSentinel.isPolar(actual[ordinal])) {
+                            Assertions.assertThat(actual[ordinal]).isEqualTo(expected[ordinal]);
+                        } else {
+                            worstError = Math.max(worstError, Math.abs(actual[ordinal] - expected[ordinal]));
+                        }
+                    }
+                }
+            }
+        }
+
+        return worstError;
+    }
+}
@@ -0,0 +1,77 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.entity.SolarDay;
+import de.thatsich.solartime.entity.SolarEvent;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.stream.Collectors;
+
+class SolarTimeStreamTest {
+
+    private final SolarTime solarTime = new API().getSolarTime();
+
+    @Test
+    @DisplayName("every day of a leap year in Berlin matches calculating the day at noon, across both DST changes")
+    void testMatchesCalculateDay() {
+        final var zone = ZoneId.of("Europe/Berlin");
+        final var from = LocalDate.of(2020, 1, 1);
+        final var to = LocalDate.of(2021, 1, 1);
+
+        final var days = this.solarTime.stream(from, to, 52.52, 13.40, zone).collect(Collectors.toList());
+
+        Assertions.assertThat(days).hasSize(366);
+        final var dates = from.datesUntil(to).collect(Collectors.toList());
+        for (var i = 0; i < dates.size(); i++) {
+            final var expected = this.solarTime.calculateDay(ZonedDateTime.of(dates.get(i), LocalTime.NOON, zone), 52.52, 13.40, EnumSet.allOf(SolarEvent.class));
+            assertSameEvents(days.get(i), expected);
+        }
+    }
+
+    @Test
+    @DisplayName("polar days and nights of Svalbard are empty")
+    void testPolar() {
+        final var zone = ZoneId.of("Arctic/Longyearbyen");
+
+        final var days = this.solarTime.stream(LocalDate.of(2019, 1, 1), LocalDate.of(2020, 1, 1), 78.22, 15.65, zone, EnumSet.of(SolarEvent.SUNRISE)).collect(Collectors.toList());
+
+        Assertions.assertThat(days.stream().filter(day -> day.getSunrise().isEmpty()).count()).isGreaterThan(150);
+        Assertions.assertThat(days).allSatisfy(day -> Assertions.assertThat(day.getEvents()).containsExactly(SolarEvent.SUNRISE));
+    }
+
+    @Test
+    @DisplayName("parallel streams keep the order of the days")
+    void testParallel() {
+        final var zone = ZoneId.of("Australia/Sydney");
+        final var from = LocalDate.of(2000, 1, 1);
+        final var to = LocalDate.of(2010, 1, 1);
+
+        final var sequential = this.solarTime.stream(from, to, -33.87, 151.21, zone).map(SolarDay::getSunrise).collect(Collectors.toList());
+        final var parallel = this.solarTime.stream(from, to, -33.87, 151.21, zone).parallel().map(SolarDay::getSunrise).collect(Collectors.toList());
+
+        Assertions.assertThat(parallel).isEqualTo(sequential);
+        Assertions.assertThat(this.solarTime.stream(from, to, -33.87, 151.21, zone).spliterator().getExactSizeIfKnown()).isEqualTo(3653);
+    }
+
+    @Test
+    @DisplayName("empty and reversed ranges")
+    void testRanges() {
+        final var zone = ZoneId.of("UTC");
+        final var date = LocalDate.of(2019, 6, 1);
+
+        Assertions.assertThat(this.solarTime.stream(date, date, 0, 0, zone)).isEmpty();
+        Assertions.assertThatIllegalArgumentException().isThrownBy(() -> this.solarTime.stream(date, date.minusDays(1), 0, 0, zone));
+    }
+
+    private static void assertSameEvents(SolarDay actual, SolarDay expected) {
+        for (final var event : SolarEvent.values()) {
+            Assertions.assertThat(actual.getEvent(event)).isEqualTo(expected.getEvent(event));
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package de.thatsich.solartime.boundary;
 
+import de.thatsich.solartime.entity.ClassificationMode;
 import de.thatsich.solartime.entity.DayPeriod;
+import de.thatsich.solartime.entity.SolarEvent;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
+import java.time.Instant;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.Random;
 
 class SunStateCheckerDayPeriodTest {
 
@@ -79,4 +86,25 @@ class SunStateCheckerDayPeriodTest {
                 .isEqualTo(DayPeriod.NIGHT);
     }
 
-}
\ No newline at end of file
+    @ParameterizedTest
+    @EnumSource(ClassificationMode.class)
+    void isClassifiedByEpochSecondLikeByDateTime(ClassificationMode classificationMode) {
+        final var api = new API();
+        final var sunStateChecker = api.getSunStateChecker(classificationMode);
+        final var events = new long[SolarEvent.values().length];
+        final var random = new Random(42);
+
+        for (var i = 0; i < 5000; i++) {
+            final var epochSecond = Instant.parse("2019-01-01T00:00:00Z").getEpochSecond() + random.nextInt(365 * 86400);
+            final var latitude = random.nextDouble() * 180 - 90;
+            final var longitude = random.nextDouble() * 360 - 180;
+            api.getEpochSolarTime().calculateDayAround(epochSecond, latitude, longitude, sunStateChecker.getClassificationEvents(), events);
+
+            final var actual = sunStateChecker.getDayPeriod(epochSecond, latitude, longitude, events);
+
+            Assertions.assertThat(actual)
+                    .as("%s at %s, %s", Instant.ofEpochSecond(epochSecond), latitude, longitude)
+                    .isEqualTo(sunStateChecker.getDayPeriod(ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC), latitude, longitude));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.entity.ClassificationMode;
+import de.thatsich.solartime.entity.DayPeriod;
+import de.thatsich.solartime.entity.PolarSentinel;
+import de.thatsich.solartime.entity.SolarDay;
+import de.thatsich.solartime.entity.SolarEvent;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+
+class SunStateCheckerSolarElevationTest {
+
+    // instants this close to an event may be classified differently, because events are rounded to seconds
+    private static final long EVENT_TOLERANCE_SECONDS = 1;
+
+    @DisplayName("solar elevation mode is equivalent to event times where all twilight events exist")
+    @ParameterizedTest(name = "{index}. {0} => latitude={1}, longitude={2}")
+    @CsvSource({
+            "Los Angeles, 34.0522, -118.2437, America/Los_Angeles",
+            "New York, 40.7128, -74.0060, America/New_York",
+            "Tokyo, 35.6762, 139.6503, Asia/Tokyo",
+            "Singapore, 1.3521, 103.8198, Asia/Singapore",
+            "Nairobi, -1.2921, 36.8219, Africa/Nairobi",
+            "Sydney, -33.8688, 151.2093, Australia/Sydney",
+            "Buenos Aires, -34.6037, -58.3816, America/Argentina/Buenos_Aires"
+    })
+    void testEquivalentToEventTimes(@SuppressWarnings("unused") String location, double latitude, double longitude, ZoneId zone) {
+        final var api = new API();
+        final var eventTimes = api.getSunStateChecker(ClassificationMode.EVENT_TIMES);
+        final var solarElevation = api.getSunStateChecker(ClassificationMode.SOLAR_ELEVATION);
+        final var solarTime = api.getSolarTime();
+
+        var compared = 0;
+        for (var date = LocalDate.of(2019, 1, 1); date.getYear() == 2019; date = date.plusDays(10)) {
+            for (var minute = 0; minute < 24 * 60; minute += 10) {
+                final var dateTime = ZonedDateTime.of(date.getYear(), date.getMonthValue(), date.getDayOfMonth(), minute / 60, minute % 60, 0, 0, zone);
+                final var events = solarTime.calculateDay(dateTime, latitude, longitude, EnumSet.allOf(SolarEvent.class));
+                if (isCloseToEvent(dateTime, events)) {
+                    continue;
+                }
+
+                Assertions.assertThat(solarElevation.getDayPeriod(dateTime, latitude, longitude))
+                        .as("%s", dateTime)
+                        .isEqualTo(eventTimes.getDayPeriod(dateTime, latitude, longitude));
+                compared++;
+            }
+        }
+
+        Assertions.assertThat(compared)
+                .isGreaterThan(5000);
+    }
+
+    @Test
+    @DisplayName("The white nights in Essen are astronomical twilight instead of night")
+    void testWhiteNight() {
+        final var sunStateChecker = new API().getSunStateChecker(ClassificationMode.SOLAR_ELEVATION);
+
+        final var day = ZonedDateTime.of(2019, 6, 21, 1, 30, 0, 0, ZoneId.of("Europe/Berlin"));
+        final var latitude = 51.449680;
+        final var longitude = 6.973370;
+
+        final var actual = sunStateChecker.getDayPeriod(day, latitude, longitude);
+
+        Assertions.assertThat(actual)
+                .isEqualTo(DayPeriod.ASTRONOMICAL_TWILIGHT);
+    }
+
+    @Test
+    @DisplayName("Same periods as event times on a winter day in Essen")
+    void testWinterDay() {
+        final var sunStateChecker = new API().getSunStateChecker(ClassificationMode.SOLAR_ELEVATION);
+        final var zone = ZoneId.of("Europe/Berlin");
+        final var latitude = 51.449680;
+        final var longitude = 6.973370;
+
+        Assertions.assertThat(sunStateChecker.getDayPeriod(ZonedDateTime.of(2019, 1, 24, 12, 0, 0, 0, zone), latitude, longitude))
+                .isEqualTo(DayPeriod.DAY);
+        Assertions.assertThat(sunStateChecker.isCivilTwilight(ZonedDateTime.of(2019, 1, 24, 8, 0, 0, 0, zone), latitude, longitude))
+                .isTrue();
+        Assertions.assertThat(sunStateChecker.isNauticalTwilight(ZonedDateTime.of(2019, 1, 24, 7, 30, 0, 0, zone), latitude, longitude))
+                .isTrue();
+        Assertions.assertThat(sunStateChecker.isAstronomicalTwilight(ZonedDateTime.of(2019, 1, 24, 7, 0, 0, 0, zone), latitude, longitude))
+                .isTrue();
+        Assertions.assertThat(sunStateChecker.isNight(ZonedDateTime.of(2019, 1, 24, 6, 0, 0, 0, zone), latitude, longitude))
+                .isTrue();
+    }
+
+    private static boolean isCloseToEvent(ZonedDateTime dateTime, SolarDay events) {
+        final var epochSecond = dateTime.toEpochSecond();
+
+        return events.getEvents().stream()
+                .mapToLong(events::getEpochSecond)
+                .filter(event -> !PolarSentinel.isPolar(event))
+                .anyMatch(event -> Math.abs(event - epochSecond) <= EVENT_TOLERANCE_SECONDS);
+    }
+}
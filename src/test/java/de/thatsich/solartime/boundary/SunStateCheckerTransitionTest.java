@@ -0,0 +1,113 @@
+package de.thatsich.solartime.boundary;
+
+import de.thatsich.solartime.entity.DayPeriod;
+import de.thatsich.solartime.entity.PolarSentinel;
+import de.thatsich.solartime.entity.SolarEvent;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+
+class SunStateCheckerTransitionTest {
+
+    private final SunStateChecker sunStateChecker = new API().getSunStateChecker();
+    private final EpochSolarTime epochSolarTime = new API().getEpochSolarTime();
+
+    @Test
+    @DisplayName("at noon in Essen the day ends with the sunset and started with the sunrise")
+    void testSunsetAndSunrise() {
+        final var solarTime = new API().getSolarTime();
+        final var day = ZonedDateTime.of(2019, 1, 24, 12, 0, 0, 0, ZoneId.of("Europe/Berlin"));
+        final var latitude = 51.449680;
+        final var longitude = 6.973370;
+
+        final var next = this.sunStateChecker.nextTransition(day.toInstant(), latitude, longitude).orElseThrow();
+        final var previous = this.sunStateChecker.previousTransition(day.toInstant(), latitude, longitude).orElseThrow();
+
+        Assertions.assertThat(next.getEvent()).isEqualTo(SolarEvent.SUNSET);
+        Assertions.assertThat(next.getDayPeriod()).isEqualTo(DayPeriod.CIVIL_TWILIGHT);
+        Assertions.assertThat(next.getInstant()).isEqualTo(solarTime.calculateSunset(day, latitude, longitude).orElseThrow().toInstant());
+        Assertions.assertThat(previous.getEvent()).isEqualTo(SolarEvent.SUNRISE);
+        Assertions.assertThat(previous.getDayPeriod()).isEqualTo(DayPeriod.DAY);
+        Assertions.assertThat(previous.getInstant()).isEqualTo(solarTime.calculateSunrise(day, latitude, longitude).orElseThrow().toInstant());
+    }
+
+    @Test
+    @DisplayName("following the transitions for a week agrees with the day period after each transition")
+    void testChain() {
+        final var latitude = 51.449680;
+        final var longitude = 6.973370;
+        final var zone = ZoneId.of("Europe/Berlin");
+
+        var instant = ZonedDateTime.of(2019, 3, 1, 0, 0, 0, 0, zone).toInstant();
+        for (var i = 0; i < 7 * 8; i++) {
+            final var transition = this.sunStateChecker.nextTransition(instant, latitude, longitude).orElseThrow();
+            final var period = this.sunStateChecker.getDayPeriod(ZonedDateTime.ofInstant(transition.getInstant().plusSeconds(60), zone), latitude, longitude);
+
+            Assertions.assertThat(transition.getInstant()).isAfter(instant);
+            Assertions.assertThat(period).isEqualTo(transition.getDayPeriod());
+            Assertions.assertThat(this.sunStateChecker.previousTransition(transition.getInstant(), latitude, longitude)).hasValueSatisfying(previous ->
+                    Assertions.assertThat(previous.getInstant()).isEqualTo(transition.getInstant()));
+
+            instant = transition.getInstant();
+        }
+    }
+
+    @ParameterizedTest(name = "{index}. {0} at {1}, {2}")
+    @DisplayName("polar regions jump to the same transition as scanning every day")
+    @CsvSource({
+            "2019-05-01T00:00:00Z, 78.22, 15.65",
+            "2019-08-10T00:00:00Z, 78.22, 15.65",
+            "2019-11-15T00:00:00Z, 78.22, 15.65",
+            "2019-12-20T00:00:00Z, 82.48, -62.24",
+            "2019-06-21T00:00:00Z, -77.85, 166.67",
+            "2019-01-01T00:00:00Z, 89.5, 0",
+            "2019-09-23T00:00:00Z, 0, 0",
+    })
+    void testPolarMatchesScan(Instant instant, double latitude, double longitude) {
+        final var next = this.sunStateChecker.nextTransition(instant, latitude, longitude).orElseThrow();
+        final var previous = this.sunStateChecker.previousTransition(instant, latitude, longitude).orElseThrow();
+
+        Assertions.assertThat(next.getInstant().getEpochSecond()).isEqualTo(this.scan(instant.getEpochSecond(), latitude, longitude, 1));
+        Assertions.assertThat(previous.getInstant().getEpochSecond()).isEqualTo(this.scan(instant.getEpochSecond(), latitude, longitude, -1));
+    }
+
+    @Test
+    @DisplayName("at the pole the sun crosses no altitude during a day")
+    void testPole() {
+        final var instant = Instant.parse("2019-06-21T00:00:00Z");
+
+        Assertions.assertThat(this.sunStateChecker.nextTransition(instant, 90, 0)).isEmpty();
+        Assertions.assertThat(this.sunStateChecker.previousTransition(instant, 90, 0)).isEmpty();
+    }
+
+    private long scan(long epochSecond, double latitude, double longitude, int direction) {
+        final var events = new long[SolarEvent.values().length];
+        final var epochDay = Math.floorDiv(epochSecond, 86400);
+
+        var closest = direction > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+        for (var day = epochDay - 370; day <= epochDay + 370; day++) {
+            this.epochSolarTime.calculateDay(day, latitude, longitude, EnumSet.complementOf(EnumSet.of(SolarEvent.SOLAR_NOON)), events);
+            for (final var event : SolarEvent.values()) {
+                final var candidate = events[event.ordinal()];
+                if (event == SolarEvent.SOLAR_NOON || PolarSentinel.isPolar(candidate)) {
+                    continue;
+                }
+                if (direction > 0 && candidate > epochSecond && candidate < closest) {
+                    closest = candidate;
+                }
+                if (direction < 0 && candidate <= epochSecond && candidate > closest) {
+                    closest = candidate;
+                }
+            }
+        }
+
+        return closest;
+    }
+}
@@ -0,0 +1,88 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.PolarSentinel;
+import de.thatsich.solartime.entity.SolarEvent;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumSet;
+
+class AlmanacTest {
+
+    private static final double[] LATITUDES = {52.52, -33.87, 78.22, -77.85, 0, 64.84};
+    private static final double[] LONGITUDES = {13.40, 151.21, 15.65, 166.67, -179.9, -147.72};
+
+    private final DateConverter dateConverter = new DateConverter();
+    private final EpochEventCalculator epochEventCalculator = new EpochEventCalculator(new SolarEquationVariableCalculator(this.dateConverter), new HourAngleCalculator(), this.dateConverter);
+
+    @Test
+    @DisplayName("almanac returns the calculated events of every location and day including polar days and nights")
+    void testLookup(@TempDir Path directory) throws IOException {
+        final var file = directory.resolve("almanac.bin");
+        new AlmanacGenerator(this.epochEventCalculator).generate(file, LATITUDES, LONGITUDES, 2019, 2019);
+        final var almanac = Almanac.open(file);
+
+        final var firstEpochDay = LocalDate.of(2019, 1, 1).toEpochDay();
+        Assertions.assertThat(almanac.getFirstEpochDay()).isEqualTo(firstEpochDay);
+        Assertions.assertThat(almanac.getLastEpochDay()).isEqualTo(LocalDate.of(2019, 12, 31).toEpochDay());
+        Assertions.assertThat(almanac.getLocationCount()).isEqualTo(LATITUDES.length);
+
+        final var expected = new long[SolarEvent.values().length];
+        var polarEvents = 0;
+        for (var location = 0; location < LATITUDES.length; location++) {
+            Assertions.assertThat(almanac.getLatitude(location)).isEqualTo(LATITUDES[location]);
+            Assertions.assertThat(almanac.getLongitude(location)).isEqualTo(LONGITUDES[location]);
+
+            for (var epochDay = firstEpochDay; epochDay <= almanac.getLastEpochDay(); epochDay++) {
+                this.epochEventCalculator.calculateEvents(epochDay * 86400 + 43200, LATITUDES[location], LONGITUDES[location], EnumSet.allOf(SolarEvent.class), expected);
+                for (final var event : SolarEvent.values()) {
+                    final var actual = almanac.getEpochSecond(location, epochDay, event);
+                    Assertions.assertThat(actual).isEqualTo(expected[event.ordinal()]);
+                    if (actual == PolarSentinel.POLAR_DAY || actual == PolarSentinel.POLAR_NIGHT) {
+                        polarEvents++;
+                    }
+                }
+            }
+        }
+        Assertions.assertThat(polarEvents).isPositive();
+    }
+
+    @Test
+    @DisplayName("days and locations outside of the almanac are rejected")
+    void testOutOfRange(@TempDir Path directory) throws IOException {
+        final var file = directory.resolve("almanac.bin");
+        new AlmanacGenerator(this.epochEventCalculator).generate(file, new double[]{52.52}, new double[]{13.40}, 2019, 2019);
+        final var almanac = Almanac.open(file);
+
+        final var firstEpochDay = almanac.getFirstEpochDay();
+        Assertions.assertThatThrownBy(() -> almanac.getEpochSecond(0, firstEpochDay - 1, SolarEvent.SUNRISE)).isInstanceOf(IndexOutOfBoundsException.class);
+        Assertions.assertThatThrownBy(() -> almanac.getEpochSecond(0, firstEpochDay + 365, SolarEvent.SUNRISE)).isInstanceOf(IndexOutOfBoundsException.class);
+        Assertions.assertThatThrownBy(() -> almanac.getEpochSecond(1, firstEpochDay, SolarEvent.SUNRISE)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("files which are not an almanac are rejected")
+    void testInvalidFile(@TempDir Path directory) throws IOException {
+        final var file = Files.write(directory.resolve("other.bin"), new byte[64]);
+
+        Assertions.assertThatIllegalArgumentException().isThrownBy(() -> Almanac.open(file));
+    }
+
+    @Test
+    @DisplayName("truncated almanacs are rejected")
+    void testTruncatedFile(@TempDir Path directory) throws IOException {
+        final var file = directory.resolve("almanac.bin");
+        new AlmanacGenerator(this.epochEventCalculator).generate(file, new double[]{52.52}, new double[]{13.40}, 2019, 2019);
+        final var content = Files.readAllBytes(file);
+        final var truncated = Files.write(directory.resolve("truncated.bin"), Arrays.copyOf(content, content.length - 1));
+
+        Assertions.assertThatIllegalArgumentException().isThrownBy(() -> Almanac.open(truncated));
+    }
+}
@@ -0,0 +1,119 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.Altitude;
+import de.thatsich.solartime.entity.PolarSentinel;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.LocalDate;
+
+class BatchKernelsTest {
+
+    @DisplayName("vector kernel is within one second of the scalar kernel")
+    @ParameterizedTest(name = "{index}. altitude={0}")
+    @EnumSource(Altitude.class)
+    void testVectorMatchesScalar(Altitude altitude) {
+        final var vectorKernel = BatchKernels.createVectorKernel();
+        Assumptions.assumeTrue(vectorKernel != null, "vector kernel not available on this JVM");
+        final var scalarKernel = BatchKernels.createScalarKernel();
+
+        final var dateConverter = new DateConverter();
+        final var solarCalculator = new SolarEquationVariableCalculator(dateConverter);
+        final var sinAltitude = Math.sin(Math.toRadians(altitude.getValue()));
+
+        // odd length to exercise the scalar tail
+        final var latitudes = new double[179 * 72 + 3];
+        final var longitudes = new double[latitudes.length];
+        for (var i = 0; i < latitudes.length; i++) {
+            latitudes[i] = -89 + (i / 72) % 179 + 0.3;
+            longitudes[i] = -180 + (i % 72) * 5 + 0.7;
+        }
+        final var vectorDawns = new long[latitudes.length];
+        final var vectorDusks = new long[latitudes.length];
+        final var vectorStatus = new byte[latitudes.length];
+        final var scalarDawns = new long[latitudes.length];
+        final var scalarDusks = new long[latitudes.length];
+        final var scalarStatus = new byte[latitudes.length];
+
+        for (var date = LocalDate.of(1950, 1, 1); date.getYear() < 2050; date = date.plusDays(1009)) {
+            final var terms = new DailySolarTerms(solarCalculator, dateConverter.toJulianDate(date.toEpochDay() * 86400 + 43200));
+
+            vectorKernel.calculateEvents(terms, sinAltitude, latitudes, longitudes, 1, latitudes.length, vectorDawns, vectorDusks, vectorStatus);
+            scalarKernel.calculateEvents(terms, sinAltitude, latitudes, longitudes, 1, latitudes.length, scalarDawns, scalarDusks, scalarStatus);
+
+            Assertions.assertThat(vectorStatus).isEqualTo(scalarStatus);
+            for (var i = 1; i < latitudes.length; i++) {
+                assertEvent(vectorDawns[i], scalarDawns[i]);
+                assertEvent(vectorDusks[i], scalarDusks[i]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("vector kernel converts the negative epoch seconds before 1970 like the scalar kernel")
+    void testVectorMatchesScalarBefore1970() {
+        final var vectorKernel = BatchKernels.createVectorKernel();
+        Assumptions.assumeTrue(vectorKernel != null, "vector kernel not available on this JVM");
+        final var scalarKernel = BatchKernels.createScalarKernel();
+
+        final var dateConverter = new DateConverter();
+        final var solarCalculator = new SolarEquationVariableCalculator(dateConverter);
+        final var sinAltitude = Math.sin(Math.toRadians(Altitude.SUNRISE_SUNSET.getValue()));
+
+        // odd length to exercise the scalar tail, longitudes with fractions of a second in the events
+        final var latitudes = new double[181];
+        final var longitudes = new double[latitudes.length];
+        for (var i = 0; i < latitudes.length; i++) {
+            latitudes[i] = -60 + (i % 121) + 0.37;
+            longitudes[i] = -180 + i * 1.99 + 0.013;
+        }
+        final var vectorDawns = new long[latitudes.length];
+        final var vectorDusks = new long[latitudes.length];
+        final var vectorStatus = new byte[latitudes.length];
+        final var scalarDawns = new long[latitudes.length];
+        final var scalarDusks = new long[latitudes.length];
+        final var scalarStatus = new byte[latitudes.length];
+
+        for (final var date : new LocalDate[]{LocalDate.of(1900, 3, 1), LocalDate.of(1969, 6, 21), LocalDate.of(1969, 12, 31)}) {
+            final var terms = new DailySolarTerms(solarCalculator, dateConverter.toJulianDate(date.toEpochDay() * 86400 + 43200));
+
+            vectorKernel.calculateEvents(terms, sinAltitude, latitudes, longitudes, 0, latitudes.length, vectorDawns, vectorDusks, vectorStatus);
+            scalarKernel.calculateEvents(terms, sinAltitude, latitudes, longitudes, 0, latitudes.length, scalarDawns, scalarDusks, scalarStatus);
+
+            Assertions.assertThat(vectorStatus).isEqualTo(scalarStatus);
+            for (var i = 0; i < latitudes.length; i++) {
+                Assertions.assertThat(scalarDawns[i]).isNegative();
+                Assertions.assertThat(vectorDawns[i]).isEqualTo(scalarDawns[i]);
+                Assertions.assertThat(vectorDusks[i]).isEqualTo(scalarDusks[i]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("system property forces the scalar kernel")
+    void testScalarOverride() {
+        final var previous = System.getProperty(BatchKernels.KERNEL_PROPERTY);
+        System.setProperty(BatchKernels.KERNEL_PROPERTY, "scalar");
+        try {
+            Assertions.assertThat(BatchKernels.select()).isInstanceOf(ScalarBatchKernel.class);
+        } finally {
+            if (previous == null) {
+                System.clearProperty(BatchKernels.KERNEL_PROPERTY);
+            } else {
+                System.setProperty(BatchKernels.KERNEL_PROPERTY, previous);
+            }
+        }
+    }
+
+    private static void assertEvent(long actual, long expected) {
+        if (PolarSentinel.isPolar(expected)) {
+            Assertions.assertThat(actual).isEqualTo(expected);
+        } else {
+            Assertions.assertThat(actual).isBetween(expected - 1, expected + 1);
+        }
+    }
+}
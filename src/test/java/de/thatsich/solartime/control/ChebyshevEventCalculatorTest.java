@@ -0,0 +1,40 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.SolarEvent;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ChebyshevEventCalculatorTest {
+
+    private static final long FIRST_EPOCH_DAY = 18262;
+    private static final int DAYS = 3653;
+
+    private final DateConverter dateConverter = new DateConverter();
+    private final SolarEquationVariableCalculator solarCalculator = new SolarEquationVariableCalculator(this.dateConverter);
+    private final HourAngleCalculator hourAngleCalculator = new HourAngleCalculator();
+    private final EpochEventCalculator epochEventCalculator = new EpochEventCalculator(this.solarCalculator, this.hourAngleCalculator, this.dateConverter);
+    private final ChebyshevEventCalculator chebyshevEventCalculator = new ChebyshevEventCalculator(this.solarCalculator, this.epochEventCalculator, this.hourAngleCalculator, this.dateConverter);
+
+    @Test
+    @DisplayName("a calendar of mid latitudes needs a seventh of the exact evaluations, of solar noons a fourteenth")
+    void testEvaluationsOfMidLatitudes() {
+        final var target = new long[DAYS];
+
+        Assertions.assertThat(this.chebyshevEventCalculator.calculateCalendar(SolarEvent.SUNRISE, FIRST_EPOCH_DAY, 51.45, 6.97, target)).isLessThan(DAYS / 7);
+        Assertions.assertThat(this.chebyshevEventCalculator.calculateCalendar(SolarEvent.SOLAR_NOON, FIRST_EPOCH_DAY, 51.45, 6.97, target)).isLessThan(DAYS / 14);
+        Assertions.assertThat(this.chebyshevEventCalculator.calculateCalendar(SolarEvent.CIVIL_DUSK, FIRST_EPOCH_DAY, -33.87, 151.21, target)).isLessThan(DAYS / 7);
+    }
+
+    @Test
+    @DisplayName("calendars around polar days and nights need fewer evaluations than days")
+    void testEvaluationsOfPolarLatitudes() {
+        final var target = new long[DAYS];
+
+        for (final var event : SolarEvent.values()) {
+            for (var latitude = 60; latitude <= 90; latitude += 5) {
+                Assertions.assertThat(this.chebyshevEventCalculator.calculateCalendar(event, FIRST_EPOCH_DAY, latitude, 18.9, target)).isLessThan(DAYS);
+            }
+        }
+    }
+}
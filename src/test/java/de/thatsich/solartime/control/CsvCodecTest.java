@@ -0,0 +1,82 @@
+package de.thatsich.solartime.control;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Random;
+
+class CsvCodecTest {
+
+    private final CsvCodec csvCodec = new CsvCodec();
+
+    private static ByteBuffer bytes(String field) {
+        return ByteBuffer.wrap(field.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private long parseTimestamp(String field) {
+        return this.csvCodec.parseTimestamp(bytes(field), 0, field.length());
+    }
+
+    private double parseDouble(String field) {
+        return this.csvCodec.parseDouble(bytes(field), 0, field.length());
+    }
+
+    @Test
+    @DisplayName("timestamps are parsed as seconds since the epoch or as ISO-8601 with optional fraction and offset")
+    void testParseTimestamp() {
+        Assertions.assertThat(this.parseTimestamp("1561464000")).isEqualTo(1561464000L);
+        Assertions.assertThat(this.parseTimestamp("-86400")).isEqualTo(-86400L);
+        Assertions.assertThat(this.parseTimestamp(" 2019-06-25T12:00:00Z ")).isEqualTo(Instant.parse("2019-06-25T12:00:00Z").getEpochSecond());
+        Assertions.assertThat(this.parseTimestamp("2019-06-25 12:00:00")).isEqualTo(Instant.parse("2019-06-25T12:00:00Z").getEpochSecond());
+        Assertions.assertThat(this.parseTimestamp("2019-06-25T12:00:00.999Z")).isEqualTo(Instant.parse("2019-06-25T12:00:00Z").getEpochSecond());
+        Assertions.assertThat(this.parseTimestamp("2019-06-25T14:00:00+02:00")).isEqualTo(Instant.parse("2019-06-25T12:00:00Z").getEpochSecond());
+        Assertions.assertThat(this.parseTimestamp("2019-06-25T08:30:00-03:30")).isEqualTo(Instant.parse("2019-06-25T12:00:00Z").getEpochSecond());
+    }
+
+    @Test
+    @DisplayName("random instants are formatted like Instant#toString and parsed back")
+    void testFormatInstant() {
+        final var random = new Random(42);
+        final var target = new byte[40];
+        for (var i = 0; i < 10_000; i++) {
+            final var epochSecond = random.nextLong() % 200_000_000_000L;
+            final var end = this.csvCodec.formatInstant(epochSecond, target, 5);
+            final var formatted = new String(target, 5, end - 5, StandardCharsets.US_ASCII);
+
+            Assertions.assertThat(formatted).isEqualTo(Instant.ofEpochSecond(epochSecond).toString());
+            if (formatted.length() == 20) {
+                Assertions.assertThat(this.parseTimestamp(formatted)).isEqualTo(epochSecond);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("random coordinates are parsed to the same double as Double#parseDouble")
+    void testParseDouble() {
+        final var random = new Random(42);
+        for (var i = 0; i < 100_000; i++) {
+            final var field = Double.toString(random.nextDouble() * 360 - 180);
+            Assertions.assertThat(this.parseDouble(field)).as(field).isEqualTo(Double.parseDouble(field));
+        }
+        for (final var field : new String[]{"51.449680", "-0", "+6.97", " 12 ", ".5", "7.", "1e-3", "123456789012345678901.5"}) {
+            Assertions.assertThat(this.parseDouble(field)).as(field).isEqualTo(Double.parseDouble(field));
+        }
+    }
+
+    @Test
+    @DisplayName("malformed fields are rejected")
+    void testMalformed() {
+        Assertions.assertThatIllegalArgumentException().isThrownBy(() -> this.parseTimestamp("yesterday"));
+        Assertions.assertThatIllegalArgumentException().isThrownBy(() -> this.parseTimestamp("2019-02-30T12:00:00Z"));
+        Assertions.assertThatIllegalArgumentException().isThrownBy(() -> this.parseTimestamp("2019-06-25T24:00:00Z"));
+        Assertions.assertThatIllegalArgumentException().isThrownBy(() -> this.parseTimestamp("2019-06-25T12:00:00Zulu"));
+        Assertions.assertThatIllegalArgumentException().isThrownBy(() -> this.parseTimestamp(""));
+        Assertions.assertThatIllegalArgumentException().isThrownBy(() -> this.parseDouble("north"));
+        Assertions.assertThatIllegalArgumentException().isThrownBy(() -> this.parseDouble("-"));
+        Assertions.assertThatIllegalArgumentException().isThrownBy(() -> this.parseDouble("1.2.3"));
+    }
+}
@@ -2,6 +2,7 @@ package de.thatsich.solartime.control;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvFileSource;
 
@@ -31,9 +32,7 @@ class DateConverterTest {
     void toGregorianDate(ZonedDateTime expected, double julian) {
         final var converter = new DateConverter();
 
-        final var actual = converter.toGregorianDate(julian)
-                .toInstant()
-                .atZone(ZoneId.systemDefault());
+        final var actual = converter.toGregorianDate(julian, expected.getZone());
 
         Assertions.assertThat(actual)
                 .isEqualTo(expected);
@@ -46,9 +45,7 @@ class DateConverterTest {
         final var converter = new DateConverter();
 
         final var julian = converter.toJulianDate(gregorian);
-        final var actualGregorian = converter.toGregorianDate(julian)
-                .toInstant()
-                .atZone(ZoneOffset.UTC);
+        final var actualGregorian = converter.toGregorianDate(julian, ZoneOffset.UTC);
 
         Assertions.assertThat(actualGregorian)
                 .isEqualTo(gregorian);
@@ -60,10 +57,58 @@ class DateConverterTest {
     void chaingedJulianToGregorian(@SuppressWarnings("unused") ZonedDateTime ignored, double julian) {
         final var converter = new DateConverter();
 
-        final var gregorian = converter.toGregorianDate(julian);
+        final var gregorian = converter.toGregorianDate(julian, ZoneOffset.UTC);
         final var actualJulian = converter.toJulianDate(gregorian);
 
         Assertions.assertThat(actualJulian)
                 .isEqualTo(julian);
     }
-}
\ No newline at end of file
+
+    @DisplayName("julian to epoch second conversion rounds like the gregorian conversion")
+    @ParameterizedTest(name = "{index} => expected={0}, julian={1}")
+    @CsvFileSource(numLinesToSkip = 1, resources = "./gregorian-to-julian-date.csv")
+    void toEpochSecond(ZonedDateTime expected, double julian) {
+        final var converter = new DateConverter();
+
+        final var actual = converter.toEpochSecond(julian);
+
+        Assertions.assertThat(actual)
+                .isEqualTo(expected.toEpochSecond());
+    }
+
+    @DisplayName("julian date of epoch seconds matches the one of the calendar date")
+    @ParameterizedTest(name = "{index} => gregorian={0}, expected={1}")
+    @CsvFileSource(numLinesToSkip = 1, resources = "./gregorian-to-julian-date.csv")
+    void toJulianDateOfEpochSecond(ZonedDateTime gregorian, double expected) {
+        final var converter = new DateConverter();
+
+        final var actual = converter.toJulianDate(gregorian.toEpochSecond(), 0);
+
+        Assertions.assertThat(actual)
+                .isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("julian date keeps the fraction of the second")
+    void toJulianDateKeepsNanos() {
+        final var converter = new DateConverter();
+        final var second = ZonedDateTime.of(2019, 6, 25, 12, 0, 0, 0, ZoneOffset.UTC);
+
+        final var actual = converter.toJulianDate(second.withNano(500_000_000)) - converter.toJulianDate(second);
+
+        Assertions.assertThat(actual * 86400)
+                .isCloseTo(0.5, Assertions.within(1e-4));
+    }
+
+    @Test
+    @DisplayName("gregorian date is in the given zone regardless of the default zone")
+    void toGregorianDateIgnoresDefaultZone() {
+        final var converter = new DateConverter();
+        final var zone = ZoneId.of("Asia/Tokyo");
+
+        final var actual = converter.toGregorianDate(2442840.1359375, zone);
+
+        Assertions.assertThat(actual)
+                .isEqualTo(ZonedDateTime.of(1976, 3, 3, 0, 15, 45, 0, zone));
+    }
+}
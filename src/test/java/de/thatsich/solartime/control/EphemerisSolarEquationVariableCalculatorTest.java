@@ -0,0 +1,69 @@
+package de.thatsich.solartime.control;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class EphemerisSolarEquationVariableCalculatorTest {
+
+    private final DateConverter dateConverter = new DateConverter();
+    private final SolarEquationVariableCalculator formulas = new SolarEquationVariableCalculator(this.dateConverter);
+
+    @Test
+    @DisplayName("table lookup stays within 0.05 arc seconds of declination and 0.05 seconds of transit from 1900 to 2100")
+    void testAccuracy() {
+        final var table = EphemerisTable.openBundled();
+        final var ephemeris = new EphemerisSolarEquationVariableCalculator(this.dateConverter, table);
+
+        var maxDeclinationError = 0d;
+        var maxTransitError = 0d;
+        for (var n = -36524; n <= 36889; n += 1) {
+            for (var longitude = -180d; longitude <= 180; longitude += 22.5) {
+                final var expected = this.formulas.calculateSolarEquationVariables(n, longitude);
+                final var actual = ephemeris.calculateSolarEquationVariables(n, longitude);
+
+                maxDeclinationError = Math.max(maxDeclinationError, Math.abs(actual.getDelta() - expected.getDelta()));
+                maxTransitError = Math.max(maxTransitError, Math.abs(actual.getJtransit() - expected.getJtransit()));
+            }
+        }
+
+        Assertions.assertThat(Math.toDegrees(maxDeclinationError) * 3600).isLessThan(0.05);
+        Assertions.assertThat(maxTransitError * 86400).isLessThan(0.05);
+    }
+
+    @Test
+    @DisplayName("cycles outside of the table fall back to the formulas")
+    void testOutsideOfTable(@TempDir Path directory) throws IOException {
+        final var file = directory.resolve("ephemeris.bin");
+        new EphemerisGenerator(this.formulas, this.dateConverter).generate(file, 2019, 2019);
+        final var table = EphemerisTable.open(file);
+        final var ephemeris = new EphemerisSolarEquationVariableCalculator(this.dateConverter, table);
+
+        Assertions.assertThat(table.getFirstCycle()).isEqualTo(6938);
+        Assertions.assertThat(table.getLastCycle()).isEqualTo(7306);
+
+        final var expected = this.formulas.calculateSolarEquationVariables(9000, 13.4);
+        final var actual = ephemeris.calculateSolarEquationVariables(9000, 13.4);
+        Assertions.assertThat(actual.getDelta()).isEqualTo(expected.getDelta());
+        Assertions.assertThat(actual.getJtransit()).isEqualTo(expected.getJtransit());
+    }
+
+    @Test
+    @DisplayName("files which are not an ephemeris are rejected")
+    void testInvalidFile(@TempDir Path directory) throws IOException {
+        final var file = Files.write(directory.resolve("other.bin"), new byte[64]);
+
+        Assertions.assertThatIllegalArgumentException().isThrownBy(() -> EphemerisTable.open(file));
+    }
+
+    @Test
+    @DisplayName("the bundled table is mapped once and shared")
+    void testBundledShared() {
+        Assertions.assertThat(EphemerisTable.openBundled()).isSameAs(EphemerisTable.openBundled());
+    }
+}
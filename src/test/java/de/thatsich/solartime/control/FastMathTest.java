@@ -0,0 +1,66 @@
+package de.thatsich.solartime.control;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+class FastMathTest {
+
+    private static final double MAX_ERROR = 1e-15;
+    private static final int SAMPLES = 1_000_000;
+
+    @Test
+    @DisplayName("sine and cosine stay within the documented error")
+    void testSinCos() {
+        final var random = new SplittableRandom(42);
+        for (var i = 0; i < SAMPLES; i++) {
+            final var a = random.nextDouble(-1000, 1000);
+
+            Assertions.assertThat(FastMath.sin(a)).isCloseTo(StrictMath.sin(a), Assertions.within(MAX_ERROR));
+            Assertions.assertThat(FastMath.cos(a)).isCloseTo(StrictMath.cos(a), Assertions.within(MAX_ERROR));
+        }
+    }
+
+    @Test
+    @DisplayName("arc sine and arc cosine stay within the documented error")
+    void testAsinAcos() {
+        final var random = new SplittableRandom(42);
+        for (var i = 0; i < SAMPLES; i++) {
+            final var x = random.nextDouble(-1, 1);
+
+            Assertions.assertThat(FastMath.asin(x)).isCloseTo(StrictMath.asin(x), Assertions.within(MAX_ERROR));
+            Assertions.assertThat(FastMath.acos(x)).isCloseTo(StrictMath.acos(x), Assertions.within(MAX_ERROR));
+        }
+    }
+
+    @Test
+    @DisplayName("the remainder equals the remainder operator bit for bit")
+    void testRemainder() {
+        final var random = new SplittableRandom(42);
+        for (var i = 0; i < SAMPLES; i++) {
+            final var x = random.nextDouble(-1e6, 1e6);
+
+            Assertions.assertThat(FastMath.remainder(x, 360)).isEqualTo(x % 360);
+        }
+
+        Assertions.assertThat(FastMath.remainder(-720, 360)).isEqualTo(-0.0);
+        Assertions.assertThat(FastMath.remainder(360 - Math.ulp(360.0), 360)).isEqualTo(360 - Math.ulp(360.0));
+        Assertions.assertThat(FastMath.remainder(1e300, 360)).isEqualTo(1e300 % 360);
+        Assertions.assertThat(FastMath.remainder(Double.NaN, 360)).isNaN();
+    }
+
+    @Test
+    @DisplayName("bounds and invalid arguments behave like Math")
+    void testEdges() {
+        Assertions.assertThat(FastMath.asin(1)).isEqualTo(Math.PI / 2);
+        Assertions.assertThat(FastMath.asin(-1)).isEqualTo(-Math.PI / 2);
+        Assertions.assertThat(FastMath.acos(1)).isZero();
+        Assertions.assertThat(FastMath.acos(-1)).isEqualTo(Math.PI);
+        Assertions.assertThat(FastMath.acos(1.5)).isNaN();
+        Assertions.assertThat(FastMath.asin(Double.NaN)).isNaN();
+        Assertions.assertThat(FastMath.sin(Double.POSITIVE_INFINITY)).isNaN();
+        Assertions.assertThat(FastMath.cos(1e300)).isEqualTo(Math.cos(1e300));
+    }
+}
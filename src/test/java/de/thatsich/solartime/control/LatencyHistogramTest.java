@@ -0,0 +1,69 @@
+package de.thatsich.solartime.control;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("every duration lies within the bounds of its bucket")
+    void testBuckets() {
+        for (var nanos = 0L; nanos < 1 << 20; nanos++) {
+            final var bucket = LatencyHistogram.bucketOf(nanos);
+
+            Assertions.assertThat(nanos).isLessThanOrEqualTo(LatencyHistogram.upperBoundOf(bucket));
+            if (bucket > 0) {
+                Assertions.assertThat(nanos).isGreaterThan(LatencyHistogram.upperBoundOf(bucket - 1));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("percentiles are at most a quarter too high")
+    void testPercentiles() {
+        final var histogram = new LatencyHistogram();
+        for (var nanos = 1; nanos <= 1000; nanos++) {
+            histogram.record(nanos * 1000L);
+        }
+
+        Assertions.assertThat(histogram.getCount()).isEqualTo(1000);
+        Assertions.assertThat(histogram.getPercentile(0.5)).isBetween(500_000L, 625_000L);
+        Assertions.assertThat(histogram.getPercentile(0.99)).isBetween(990_000L, 1_237_500L);
+        Assertions.assertThat(histogram.getPercentile(0)).isBetween(1000L, 1250L);
+    }
+
+    @Test
+    @DisplayName("no duration is lost by concurrent threads")
+    void testConcurrent() throws InterruptedException, ExecutionException {
+        final var histogram = new LatencyHistogram();
+        final var executor = Executors.newFixedThreadPool(8);
+        try {
+            final var tasks = new ArrayList<Callable<Void>>();
+            for (var thread = 0; thread < 8; thread++) {
+                tasks.add(() -> {
+                    for (var nanos = 0; nanos < 100_000; nanos++) {
+                        histogram.record(nanos);
+                    }
+                    return null;
+                });
+            }
+            for (final Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Assertions.assertThat(histogram.getCount()).isEqualTo(800_000);
+        histogram.reset();
+        Assertions.assertThat(histogram.getCount()).isZero();
+        Assertions.assertThat(histogram.getPercentile(0.99)).isZero();
+    }
+}
@@ -0,0 +1,110 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.Altitude;
+import de.thatsich.solartime.entity.PolarSentinel;
+import de.thatsich.solartime.entity.PolarStatus;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+class PolarSeasonTableTest {
+
+    private static final long FIRST_EPOCH_SECOND = Instant.parse("1900-01-01T00:00:00Z").getEpochSecond();
+    private static final long LAST_EPOCH_SECOND = Instant.parse("2100-12-31T23:59:59Z").getEpochSecond();
+    // a prime number of seconds more than 11 days, moves through the days and hours
+    private static final long STEP = 982_451;
+    private static final double[] LONGITUDES = {-179.9, -62.3, 0, 18.9, 151.2, 180};
+
+    private final DateConverter dateConverter = new DateConverter();
+    private final HourAngleCalculator hourAngleCalculator = new HourAngleCalculator();
+
+    @Test
+    @DisplayName("every certain status agrees with the events and the 24 hour checks of the formulas")
+    void testAgreesWithFormulas() {
+        this.assertAgreesWithFormulas(new SolarEquationVariableCalculator(this.dateConverter), STEP);
+    }
+
+    @Test
+    @DisplayName("every certain status agrees with the events and the 24 hour checks of the precise tier")
+    void testAgreesWithPreciseTier() {
+        // the refinements are slow, fewer days do
+        this.assertAgreesWithFormulas(new PreciseSolarEquationVariableCalculator(this.dateConverter), 5 * STEP);
+    }
+
+    @Test
+    @DisplayName("at 80 degrees almost every day is decided without any event")
+    void testDecidesArcticDays() {
+        final var table = new PolarSeasonTable(new SolarEquationVariableCalculator(this.dateConverter), this.dateConverter);
+        final var first = Instant.parse("2019-01-01T00:00:00Z").getEpochSecond();
+
+        var decided = 0;
+        for (var day = 0; day < 365; day++) {
+            if (table.classify(first + day * 86400L, 80, Altitude.SUNRISE_SUNSET) != PolarSeasonTable.UNKNOWN) {
+                decided++;
+            }
+        }
+
+        Assertions.assertThat(decided).isGreaterThan(350);
+    }
+
+    @Test
+    @DisplayName("instants outside of the sampled years and invalid latitudes are unknown")
+    void testUnknown() {
+        final var table = new PolarSeasonTable(new SolarEquationVariableCalculator(this.dateConverter), this.dateConverter);
+        final var midsummer = Instant.parse("2019-06-21T12:00:00Z").getEpochSecond();
+
+        Assertions.assertThat(table.classify(midsummer, 85, Altitude.SUNRISE_SUNSET)).isEqualTo(PolarStatus.POLAR_DAY);
+        Assertions.assertThat(table.classify(Instant.parse("2150-06-21T12:00:00Z").getEpochSecond(), 85, Altitude.SUNRISE_SUNSET)).isEqualTo(PolarSeasonTable.UNKNOWN);
+        Assertions.assertThat(table.classify(Instant.parse("1850-06-21T12:00:00Z").getEpochSecond(), 85, Altitude.SUNRISE_SUNSET)).isEqualTo(PolarSeasonTable.UNKNOWN);
+        Assertions.assertThat(table.classify(midsummer, 91, Altitude.SUNRISE_SUNSET)).isEqualTo(PolarSeasonTable.UNKNOWN);
+        Assertions.assertThat(table.classifyHorizon(midsummer, Double.NaN)).isEqualTo(PolarSeasonTable.UNKNOWN);
+    }
+
+    private void assertAgreesWithFormulas(SolarEquationVariableCalculator solarCalculator, long step) {
+        final var table = new PolarSeasonTable(solarCalculator, this.dateConverter);
+        final var epochEventCalculator = new EpochEventCalculator(solarCalculator, this.hourAngleCalculator, this.dateConverter);
+
+        var certain = 0;
+        var index = 0;
+        for (var epochSecond = FIRST_EPOCH_SECOND; epochSecond <= LAST_EPOCH_SECOND; epochSecond += step) {
+            for (var latitude = 45.0; latitude <= 90; latitude += 1.5) {
+                for (final var signedLatitude : new double[]{latitude, -latitude}) {
+                    final var longitude = LONGITUDES[index++ % LONGITUDES.length];
+                    for (final var altitude : Altitude.values()) {
+                        final var status = table.classify(epochSecond, signedLatitude, altitude);
+                        if (status != PolarSeasonTable.UNKNOWN) {
+                            certain++;
+                            final var dawn = epochEventCalculator.calculateDawnEvent(epochSecond, signedLatitude, longitude, altitude);
+                            Assertions.assertThat(toStatus(dawn)).as("%s at %s, %s, %s", altitude, Instant.ofEpochSecond(epochSecond), signedLatitude, longitude).isEqualTo(status);
+                        }
+                    }
+
+                    final var horizon = table.classifyHorizon(epochSecond, signedLatitude);
+                    if (horizon != PolarSeasonTable.UNKNOWN) {
+                        final var n = epochEventCalculator.calculateJulianCycle(epochSecond, longitude);
+                        final var declination = solarCalculator.calculateSolarEquationVariables(n, longitude).getDelta();
+                        final var latitudeRad = Math.toRadians(signedLatitude);
+                        Assertions.assertThat(this.hourAngleCalculator.is24HourDayTime(latitudeRad, declination)).isEqualTo(horizon == PolarStatus.POLAR_DAY);
+                        Assertions.assertThat(this.hourAngleCalculator.is24HourNightTime(latitudeRad, declination)).isEqualTo(horizon == PolarStatus.POLAR_NIGHT);
+                    }
+                }
+            }
+        }
+
+        // most of the statuses are certain, otherwise the table would be useless
+        Assertions.assertThat(certain).isGreaterThan(index * Altitude.values().length * 9 / 10);
+    }
+
+    private static byte toStatus(long epochSecond) {
+        if (epochSecond == PolarSentinel.POLAR_DAY) {
+            return PolarStatus.POLAR_DAY;
+        }
+        if (epochSecond == PolarSentinel.POLAR_NIGHT) {
+            return PolarStatus.POLAR_NIGHT;
+        }
+
+        return PolarStatus.NONE;
+    }
+}
@@ -0,0 +1,112 @@
+package de.thatsich.solartime.control;
+
+import de.thatsich.solartime.entity.EvictionPolicy;
+import de.thatsich.solartime.entity.SolarEquationVariables;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class SolarEquationVariablesCacheTest {
+
+    private final SolarEquationVariableCalculator calculator = new SolarEquationVariableCalculator(new DateConverter());
+
+    @Test
+    @DisplayName("hits and misses are counted")
+    void testCounters() {
+        final var cache = new SolarEquationVariablesCache(16, EvictionPolicy.LEAST_RECENTLY_USED);
+        final var variables = this.calculator.calculateSolarEquationVariables(7000, 13.4);
+
+        Assertions.assertThat(cache.get(7000, 13.4)).isNull();
+        cache.put(7000, 13.4, variables);
+        Assertions.assertThat(cache.get(7000, 13.4)).isSameAs(variables);
+        Assertions.assertThat(cache.get(7000, 13.5)).isNull();
+
+        Assertions.assertThat(cache.getHitCount()).isEqualTo(1);
+        Assertions.assertThat(cache.getMissCount()).isEqualTo(2);
+    }
+
+    @DisplayName("never holds more entries than its capacity")
+    @ParameterizedTest(name = "{index}. evictionPolicy={0}")
+    @EnumSource(EvictionPolicy.class)
+    void testBounded(EvictionPolicy evictionPolicy) {
+        final var cache = new SolarEquationVariablesCache(100, evictionPolicy);
+        for (var n = 0; n < 10_000; n++) {
+            cache.put(n, 0, this.calculator.calculateSolarEquationVariables(n, 0));
+        }
+
+        var retained = 0;
+        for (var n = 0; n < 10_000; n++) {
+            if (cache.get(n, 0) != null) {
+                retained++;
+            }
+        }
+
+        Assertions.assertThat(cache.getCapacity()).isEqualTo(128);
+        Assertions.assertThat(retained).isLessThanOrEqualTo(128);
+        Assertions.assertThat(cache.getEvictionCount()).isEqualTo(10_000 - retained);
+    }
+
+    @DisplayName("full set replaces the oldest or the least recently used entry")
+    @ParameterizedTest(name = "{index}. evictionPolicy={0}")
+    @EnumSource(EvictionPolicy.class)
+    void testEviction(EvictionPolicy evictionPolicy) {
+        // a single set of four slots
+        final var cache = new SolarEquationVariablesCache(4, evictionPolicy);
+        for (var n = 0; n < 4; n++) {
+            cache.put(n, 0, this.calculator.calculateSolarEquationVariables(n, 0));
+        }
+
+        cache.get(0, 0);
+        cache.put(4, 0, this.calculator.calculateSolarEquationVariables(4, 0));
+
+        final var evicted = evictionPolicy == EvictionPolicy.LEAST_RECENTLY_USED ? 1 : 0;
+        for (var n = 0; n <= 4; n++) {
+            if (n == evicted) {
+                Assertions.assertThat(cache.get(n, 0)).isNull();
+            } else {
+                Assertions.assertThat(cache.get(n, 0)).isNotNull();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("concurrent callers always get the variables of their key")
+    void testConcurrentAccess() throws InterruptedException, ExecutionException {
+        final var cache = new SolarEquationVariablesCache(64, EvictionPolicy.LEAST_RECENTLY_USED);
+        final var cachingCalculator = new CachingSolarEquationVariableCalculator(new DateConverter(), cache);
+        final var executor = Executors.newFixedThreadPool(4);
+        try {
+            final var tasks = new ArrayList<Callable<Boolean>>();
+            for (var thread = 0; thread < 4; thread++) {
+                final var seed = thread;
+                tasks.add(() -> {
+                    for (var i = 0; i < 20_000; i++) {
+                        final var n = 7000 + (i * 7 + seed) % 200;
+                        final var longitude = (i % 3) * 10.5;
+                        final SolarEquationVariables variables = cachingCalculator.calculateSolarEquationVariables(n, longitude);
+                        if (variables.getN() != n || variables.getJtransit() != this.calculator.calculateSolarEquationVariables(n, longitude).getJtransit()) {
+                            return false;
+                        }
+                    }
+                    return true;
+                });
+            }
+
+            for (final Future<Boolean> result : executor.invokeAll(tasks)) {
+                Assertions.assertThat(result.get()).isTrue();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Assertions.assertThat(cache.getHitCount() + cache.getMissCount()).isEqualTo(80_000);
+    }
+}
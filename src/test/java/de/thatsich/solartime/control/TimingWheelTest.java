@@ -0,0 +1,86 @@
+package de.thatsich.solartime.control;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+class TimingWheelTest {
+
+    private static final class Timer extends TimingWheel.Entry {
+
+        private long expiredAt = -1;
+    }
+
+    @Test
+    @DisplayName("entries expire exactly at their deadline across all levels, in order of their deadline")
+    void testExpiresAtDeadline() {
+        final var random = new Random(42);
+        final var start = 1_560_000_000L;
+        final var wheel = new TimingWheel<Timer>(start);
+        final var timers = new ArrayList<Timer>();
+        for (var i = 0; i < 10_000; i++) {
+            final var timer = new Timer();
+            // spread over seconds, minutes, hours, days and a year
+            final var delay = 1 + (long) (Math.pow(random.nextDouble(), 4) * 366 * 86400);
+            Assertions.assertThat(wheel.schedule(timer, start + delay)).isTrue();
+            timers.add(timer);
+        }
+        Assertions.assertThat(wheel.size()).isEqualTo(timers.size());
+
+        final var expired = new ArrayList<Timer>();
+        var now = start;
+        while (now < start + 367 * 86400) {
+            now += 1 + random.nextInt(5000);
+            final var to = now;
+            wheel.advance(to, timer -> {
+                timer.expiredAt = wheel.getNow();
+                expired.add(timer);
+            });
+        }
+
+        Assertions.assertThat(wheel.size()).isZero();
+        Assertions.assertThat(expired).hasSameSizeAs(timers);
+        Assertions.assertThat(timers).allSatisfy(timer -> Assertions.assertThat(timer.expiredAt).isEqualTo(timer.getDeadline()));
+        Assertions.assertThat(expired).isSortedAccordingTo((first, second) -> Long.compare(first.getDeadline(), second.getDeadline()));
+    }
+
+    @Test
+    @DisplayName("cancelled entries do not expire and may be scheduled again")
+    void testCancel() {
+        final var wheel = new TimingWheel<Timer>(0);
+        final var cancelled = new Timer();
+        final var kept = new Timer();
+        wheel.schedule(cancelled, 100_000);
+        wheel.schedule(kept, 100_000);
+
+        Assertions.assertThat(wheel.cancel(cancelled)).isTrue();
+        Assertions.assertThat(wheel.cancel(cancelled)).isFalse();
+        Assertions.assertThat(cancelled.isScheduled()).isFalse();
+
+        final List<Timer> expired = new ArrayList<>();
+        wheel.advance(100_000, expired::add);
+        Assertions.assertThat(expired).containsExactly(kept);
+
+        Assertions.assertThat(wheel.schedule(cancelled, 100_001)).isTrue();
+        wheel.advance(100_001, expired::add);
+        Assertions.assertThat(expired).containsExactly(kept, cancelled);
+    }
+
+    @Test
+    @DisplayName("deadlines which are not in the future or out of range are rejected")
+    void testInvalidDeadlines() {
+        final var wheel = new TimingWheel<Timer>(1000);
+        final var timer = new Timer();
+
+        Assertions.assertThat(wheel.schedule(timer, 1000)).isFalse();
+        Assertions.assertThat(timer.isScheduled()).isFalse();
+        Assertions.assertThatIllegalArgumentException().isThrownBy(() -> wheel.schedule(timer, 1000 + (1L << 32)));
+
+        wheel.schedule(timer, 2000);
+        Assertions.assertThatIllegalArgumentException().isThrownBy(() -> wheel.schedule(timer, 3000));
+    }
+}